@@ -0,0 +1,58 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Back of field, 3 balls - shared by AutoRedBack3Ball and AutoBlueBack3Ball.
+ *
+ *   1. Waits WAIT_BEFORE_SHOOT_SEC (leaves the field to the partner's auto)
+ *   2. Drives to the shooting position and shoots 3 preloaded balls
+ *   3. Parks out of the starting zone
+ *
+ * Written from the Red side; the Blue OpMode compiles it mirrored (turns
+ * negated, strafes swapped).
+ */
+
+package org.firstinspires.ftc.teamcode.auto;
+
+import com.acmerobotics.dashboard.config.Config;
+
+import org.firstinspires.ftc.teamcode.routine.RoutineBuilder;
+
+@Config
+public final class Back3BallRoutine {
+
+    // ========== CONSTANTS - SHOOTER ==========
+    public static double SHOOTER_VELOCITY_MAIN = 1520.0;
+
+    // ========== SEQUENCE CONSTANTS ==========
+    public static int WAIT_BEFORE_SHOOT_SEC = 15;             // Seconds to wait before shooting (0 = no wait)
+    public static double DRIVE_TO_SHOOT = 5.0;
+    public static double DRIVE_POWER_APPROACH = 0.5;
+    public static double TURN_TO_GOAL = 25.0;
+    public static double PARK_STRAFE = 30.0;
+
+    private Back3BallRoutine() {
+    }
+
+    public static RoutineBuilder build() {
+        RoutineBuilder routine = new RoutineBuilder("back3");
+
+        // Read at START, so Dashboard edits made after INIT still count
+        routine.step("Phase 1", "Waiting to shoot")
+                .waitSec(() -> WAIT_BEFORE_SHOOT_SEC);
+
+        // ===== PHASE 1: Shoot 3 preloaded balls =====
+        routine.step("Phase 1", "Driving to shooting position")
+                .spinUp(SHOOTER_VELOCITY_MAIN)
+                .holdHeading(0)
+                .drive(DRIVE_TO_SHOOT, DRIVE_POWER_APPROACH)
+                .turn(TURN_TO_GOAL)
+                .step("Phase 1", "Shooting balls 1-3")
+                .shoot(3, SHOOTER_VELOCITY_MAIN);
+
+        // ===== PHASE 2: Park =====
+        return routine.step("Phase 2", "Parking")
+                .turn(-TURN_TO_GOAL)
+                .holdCurrentHeading()
+                .strafeRight(PARK_STRAFE)
+                .step("Complete", "3 balls scored!");
+    }
+}
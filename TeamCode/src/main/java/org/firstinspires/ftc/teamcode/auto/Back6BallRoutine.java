@@ -0,0 +1,118 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Back of field, 6 or 9 balls - shared by AutoRedBack6Ball and AutoBlueBack6Ball.
+ *
+ *   Phase 1: Drive to the shooting position, shoot 3 preloaded balls
+ *   Phase 2: Collect 3 balls from the first stack, return and shoot
+ *   Phase 3: (Optional) Collect 3 balls from the second stack, return and shoot
+ *   Phase 4: Park out of the starting zone
+ *
+ * Set ENABLE_PHASE_3 = 1 to run Phase 3 (9 balls), 0 to skip (6 balls).
+ *
+ * Written from the Red side; the Blue OpMode compiles it mirrored (turns
+ * negated, strafes swapped).
+ */
+
+package org.firstinspires.ftc.teamcode.auto;
+
+import com.acmerobotics.dashboard.config.Config;
+
+import org.firstinspires.ftc.teamcode.routine.RoutineBuilder;
+
+@Config
+public final class Back6BallRoutine {
+
+    // ========== CONSTANTS - SHOOTER ==========
+    public static double SHOOTER_VELOCITY_MAIN = 1520.0;
+
+    // ========== SEQUENCE CONSTANTS - PHASE 1 ==========
+    public static double PHASE1_DRIVE_TO_SHOOT = 5.0;
+    public static double PHASE1_DRIVE_POWER = 0.5;
+    public static double PHASE1_TURN_TO_GOAL = 25.0;
+
+    // ========== SEQUENCE CONSTANTS - PHASE 2 ==========
+    public static double PHASE2_DRIVE_FORWARD = 14.0;
+    public static double PHASE2_TURN_TO_BALLS = 90.0;
+    public static double PHASE2_DRIVE_TO_BALLS = 35.0;
+    public static double PHASE2_TURN_BACK = -90.0;
+    public static double PHASE2_DRIVE_BACK = -14.0;
+
+    // ========== SEQUENCE CONSTANTS - PHASE 3 ==========
+    public static int ENABLE_PHASE_3 = 0;                     // 0 = skip Phase 3, 1 = run Phase 3
+    public static double PHASE3_TURN_TO_BALLS = 65.0;
+    public static double PHASE3_STRAFE_ADJUST = 4.0;
+    public static double PHASE3_DRIVE_TO_BALLS = 45.0;
+    public static int PHASE3_INTAKE_WAIT_MS = 500;
+    public static double PHASE3_TURN_BACK = -90.0;
+    public static double PHASE3_DRIVE_ADJUST = 4.0;
+    public static double PHASE3_RETURN_POWER = 0.8;
+
+    // ========== SEQUENCE CONSTANTS - PARKING ==========
+    public static double PARK_STRAFE = 30.0;
+
+    private Back6BallRoutine() {
+    }
+
+    public static RoutineBuilder build() {
+        RoutineBuilder routine = new RoutineBuilder("back6");
+
+        // ===== PHASE 1: Shoot 3 preloaded balls =====
+        routine.step("Phase 1", "Driving to shooting position")
+                .spinUp(SHOOTER_VELOCITY_MAIN)
+                .holdHeading(0)
+                .drive(PHASE1_DRIVE_TO_SHOOT, PHASE1_DRIVE_POWER)
+                .turn(PHASE1_TURN_TO_GOAL)
+                .step("Phase 1", "Shooting balls 1-3")
+                .shoot(3, SHOOTER_VELOCITY_MAIN);
+
+        // ===== PHASE 2: Collect and shoot balls 4-6 =====
+        routine.step("Phase 2", "Navigating to first ball stack")
+                .turn(-PHASE1_TURN_TO_GOAL)
+                .holdHeading(0)
+                .drive(PHASE2_DRIVE_FORWARD, PHASE1_DRIVE_POWER)
+                .turn(PHASE2_TURN_TO_BALLS)
+                .step("Phase 2", "Collecting balls 4-6")
+                .holdCurrentHeading()
+                .collect()
+                .drive(PHASE2_DRIVE_TO_BALLS, PHASE1_DRIVE_POWER)
+                .step("Phase 2", "Returning to shoot position")
+                .holdCurrentHeading()
+                .drive(-PHASE2_DRIVE_TO_BALLS, PHASE1_DRIVE_POWER)
+                .turn(PHASE2_TURN_BACK)
+                .holdHeading(0)
+                .drive(PHASE2_DRIVE_BACK, PHASE1_DRIVE_POWER)
+                .turn(PHASE1_TURN_TO_GOAL)
+                .step("Phase 2", "Shooting balls 4-6")
+                .shoot(3, SHOOTER_VELOCITY_MAIN);
+
+        // ===== PHASE 3: Collect and shoot balls 7-9 (optional) =====
+        if (ENABLE_PHASE_3 == 1) {
+            routine.step("Phase 3", "Navigating to second ball stack")
+                    .turn(PHASE3_TURN_TO_BALLS)
+                    .holdCurrentHeading()
+                    .strafeRight(PHASE3_STRAFE_ADJUST)
+                    .step("Phase 3", "Collecting balls 7-9")
+                    .holdCurrentHeading()
+                    .collect()
+                    .drive(PHASE3_DRIVE_TO_BALLS, PHASE1_DRIVE_POWER)
+                    .waitMs(PHASE3_INTAKE_WAIT_MS)
+                    .step("Phase 3", "Returning to shoot position")
+                    .holdCurrentHeading()
+                    .drive(-PHASE3_DRIVE_TO_BALLS, PHASE3_RETURN_POWER)
+                    .turn(PHASE3_TURN_BACK)
+                    .holdCurrentHeading()
+                    .drive(PHASE3_DRIVE_ADJUST, PHASE3_RETURN_POWER)
+                    .turn(PHASE1_TURN_TO_GOAL)
+                    .step("Phase 3", "Shooting balls 7-9")
+                    .shoot(3, SHOOTER_VELOCITY_MAIN);
+        } else {
+            routine.step("Phase 3", "Skipped");
+        }
+
+        // ===== PHASE 4: Park =====
+        return routine.step("Phase 4", "Parking")
+                .holdHeading(0)
+                .strafeRight(PARK_STRAFE)
+                .step("Complete", ENABLE_PHASE_3 == 1 ? "9 balls scored!" : "6 balls scored!");
+    }
+}
@@ -0,0 +1,177 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Front of field, 9 balls - shared by AutoRedFront and AutoBlueFront.
+ *
+ *   Phase 1: Drive back to the shooting position, shoot 3 preloaded balls
+ *   Phase 2: Collect 3 balls from the first stack, return and shoot
+ *   Phase 3: Collect 3 balls from the second stack, return and shoot
+ *   Park
+ *
+ * Written from the Red side; the Blue OpMode compiles it mirrored (turns
+ * negated, strafes swapped). The two values Blue was tuned differently on
+ * keep separate _RED / _BLUE constants.
+ *
+ * USE_PATH_FOLLOWER runs each collect-and-return as one continuous path
+ * (curve to the stack, straight collect, curve back) instead of
+ * turn/strafe/drive/drive/strafe/turn with a stop and settle after each.
+ */
+
+package org.firstinspires.ftc.teamcode.auto;
+
+import com.acmerobotics.dashboard.config.Config;
+
+import org.firstinspires.ftc.teamcode.path.Path;
+import org.firstinspires.ftc.teamcode.routine.RoutineBuilder;
+import org.firstinspires.ftc.teamcode.routine.RoutineRunner;
+
+@Config
+public final class Front9BallRoutine {
+
+    // ========== SEQUENCE CONSTANTS - SHOOTER VELOCITIES ==========
+    public static double SHOOTER_VELOCITY_MAIN = 1180.0;      // Main shooting velocity (ticks/sec)
+
+    // ========== SEQUENCE CONSTANTS - PHASE 1 (First 3 balls) ==========
+    public static double PHASE1_DRIVE_TO_SHOOT = -20.0;       // Drive backward to shooting position
+    public static double PHASE1_DRIVE_POWER = 0.5;            // Slower drive for accuracy
+
+    // ========== SEQUENCE CONSTANTS - PHASE 2 (Balls 4-6) ==========
+    public static double PHASE2_TURN_ANGLE = 45.0;            // Turn toward first ball stack
+    public static double PHASE2_STRAFE_TO_BALLS = 25.0;       // Strafe right to align with balls
+    public static double PHASE2_DRIVE_TO_BALLS = 22.0;        // Drive forward to collect balls
+    public static double PHASE2_DRIVE_POWER_COLLECT = 0.5;    // Slower drive while collecting
+    public static double PHASE2_DRIVE_BACK = -20.0;           // Drive backward after collecting
+    public static double PHASE2_DRIVE_BACK_POWER = 0.8;       // Faster drive when returning
+    public static double PHASE2_STRAFE_BACK = 20.0;           // Strafe left to shooting position
+
+    // ========== SEQUENCE CONSTANTS - PHASE 3 (Balls 7-9) ==========
+    public static double PHASE3_STRAFE_TO_BALLS = 42.0;       // Strafe right to second ball stack
+    public static double PHASE3_DRIVE_TO_BALLS_RED = 26.0;    // Drive forward to collect balls
+    public static double PHASE3_DRIVE_TO_BALLS_BLUE = 28.0;
+    public static double PHASE3_DRIVE_BACK = -24.0;           // Drive backward after collecting
+    public static double PHASE3_STRAFE_BACK = 42.0;           // Strafe left to shooting position
+    public static double PHASE3_TURN_BACK_RED = 45.0;         // Turn back to the goal after collecting
+    public static double PHASE3_TURN_BACK_BLUE = 47.0;
+
+    // ========== PATH FOLLOWING ==========
+    public static boolean USE_PATH_FOLLOWER = true;           // false = original stop-and-go moves
+    private static final int COLLECT_WAYPOINT = 1;            // Stack entry - intakes start here
+
+    // ========== SEQUENCE CONSTANTS - PARKING ==========
+    public static double PARK_STRAFE = 25.0;                  // Final strafe to park
+
+    private Front9BallRoutine() {
+    }
+
+    /**
+     * @param blue Picks the Blue-tuned phase 3 values (mirroring itself happens at compile)
+     */
+    public static RoutineBuilder build(boolean blue) {
+        double phase3DriveToBalls = blue ? PHASE3_DRIVE_TO_BALLS_BLUE : PHASE3_DRIVE_TO_BALLS_RED;
+        double phase3TurnBack = blue ? PHASE3_TURN_BACK_BLUE : PHASE3_TURN_BACK_RED;
+
+        RoutineBuilder routine = new RoutineBuilder("front");
+
+        // ===== PHASE 1: Shoot 3 preloaded balls =====
+        routine.step("Phase 1", "Driving to shooting position")
+                .spinUp(SHOOTER_VELOCITY_MAIN)                // Start early so it's at speed on arrival
+                .holdHeading(0)
+                .drive(PHASE1_DRIVE_TO_SHOOT, PHASE1_DRIVE_POWER)
+                .step("Phase 1", "Shooting 3 preloaded balls")
+                .shoot(3, SHOOTER_VELOCITY_MAIN);
+
+        // ===== PHASE 2: Collect and shoot balls 4-6 =====
+        Path.Builder phase2Path = buildCollectPath(PHASE1_DRIVE_TO_SHOOT, 0, 0, PHASE2_TURN_ANGLE,
+                PHASE2_STRAFE_TO_BALLS, PHASE2_DRIVE_TO_BALLS, PHASE2_DRIVE_BACK,
+                -PHASE2_STRAFE_BACK, -PHASE2_TURN_ANGLE);
+        if (USE_PATH_FOLLOWER) {
+            routine.step("Phase 2", "Collecting balls 4-6 (path)")
+                    .follow(phase2Path, COLLECT_WAYPOINT);
+        } else {
+            collect(routine, "Phase 2", "Collecting balls 4-6", PHASE2_TURN_ANGLE, PHASE2_STRAFE_TO_BALLS,
+                    PHASE2_DRIVE_TO_BALLS, PHASE2_DRIVE_BACK, PHASE2_STRAFE_BACK, PHASE2_TURN_ANGLE);
+        }
+        routine.holdCurrentHeading()
+                .step("Phase 2", "Shooting balls 4-6")
+                .shoot(3, SHOOTER_VELOCITY_MAIN);
+
+        // ===== PHASE 3: Collect and shoot balls 7-9 =====
+        if (USE_PATH_FOLLOWER) {
+            Path.Builder phase3Path = buildCollectPath(phase2Path.getEndX(), phase2Path.getEndY(),
+                    Math.toDegrees(phase2Path.getEndHeading()), PHASE2_TURN_ANGLE,
+                    PHASE3_STRAFE_TO_BALLS, phase3DriveToBalls, PHASE3_DRIVE_BACK,
+                    -PHASE3_STRAFE_BACK, -phase3TurnBack);
+            routine.step("Phase 3", "Collecting balls 7-9 (path)")
+                    .follow(phase3Path, COLLECT_WAYPOINT);
+        } else {
+            collect(routine, "Phase 3", "Collecting balls 7-9", PHASE2_TURN_ANGLE, PHASE3_STRAFE_TO_BALLS,
+                    phase3DriveToBalls, PHASE3_DRIVE_BACK, PHASE3_STRAFE_BACK, phase3TurnBack);
+        }
+        routine.holdCurrentHeading()
+                .step("Phase 3", "Shooting balls 7-9")
+                .shoot(3, SHOOTER_VELOCITY_MAIN);
+
+        // ===== PARKING =====
+        return routine.step("Parking", "Moving to park position")
+                .strafeRight(PARK_STRAFE)
+                .step("Complete", "Auto finished - 9 balls scored!");
+    }
+
+    /**
+     * Stop-and-go collect: turn to the stack, strafe right onto it, drive
+     * through with the intakes on, back out, strafe left and turn back.
+     */
+    private static void collect(RoutineBuilder routine, String phase, String step, double turnDeg,
+                                double strafeIn, double collectIn, double backIn,
+                                double strafeBackIn, double turnBackDeg) {
+        routine.step(phase, "Turning to ball stack")
+                .turn(turnDeg)
+                .holdCurrentHeading()                         // Actual IMU heading after the turn
+                .strafeRight(strafeIn)
+                .step(phase, step)
+                .collect()
+                .drive(collectIn, PHASE2_DRIVE_POWER_COLLECT)
+                .drive(backIn, PHASE2_DRIVE_BACK_POWER)
+                .strafeLeft(strafeBackIn)
+                .turn(-turnBackDeg);
+    }
+
+    /**
+     * Describes one collect-and-return path from the stop-and-go move constants.
+     * Waypoints: start -> stack entry (after the strafe) -> end of collect ->
+     * back-off point -> shooting spot. The collect leg is a straight line at
+     * collect power; everything else is splined and driven through without stopping.
+     *
+     * @param startHeadingDeg Heading at the start (degrees, start frame)
+     * @param turnDeg         Turn toward the stack (positive = left)
+     * @param strafeIn        Strafe to the stack (positive = right)
+     * @param collectIn       Drive forward through the stack
+     * @param backIn          Drive back after collecting (negative)
+     * @param strafeBackIn    Strafe back toward the shooting spot (positive = right)
+     * @param returnTurnDeg   Turn back toward the goal (positive = left)
+     */
+    private static Path.Builder buildCollectPath(double startX, double startY, double startHeadingDeg,
+                                                 double turnDeg, double strafeIn, double collectIn,
+                                                 double backIn, double strafeBackIn, double returnTurnDeg) {
+        double start = Math.toRadians(startHeadingDeg);
+        double stack = Math.toRadians(startHeadingDeg + turnDeg);
+        double end = Math.toRadians(startHeadingDeg + turnDeg + returnTurnDeg);
+
+        // Robot forward and right unit vectors while facing the stack
+        double forwardX = Math.cos(stack), forwardY = Math.sin(stack);
+        double rightX = Math.sin(stack), rightY = -Math.cos(stack);
+
+        double entryX = startX + rightX * strafeIn, entryY = startY + rightY * strafeIn;
+        double collectX = entryX + forwardX * collectIn, collectY = entryY + forwardY * collectIn;
+        double backX = collectX + forwardX * backIn, backY = collectY + forwardY * backIn;
+        double shootX = backX + rightX * strafeBackIn, shootY = backY + rightY * strafeBackIn;
+
+        return new Path.Builder(startX, startY, start)
+                .maxPower(RoutineRunner.DRIVE_POWER)
+                .splineTo(entryX, entryY, stack)
+                .maxPower(PHASE2_DRIVE_POWER_COLLECT)
+                .lineTo(collectX, collectY, stack)
+                .maxPower(PHASE2_DRIVE_BACK_POWER)
+                .splineTo(backX, backY, stack)
+                .splineTo(shootX, shootY, end);
+    }
+}
@@ -0,0 +1,436 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Replays a TeleOp run recorded by Penguinauts_FieldRelativeDrive (RECORD_ENABLED).
+ *
+ * Drive it once in TeleOp, then run the same path as an autonomous:
+ *
+ * TRACK_POSE = true (default):
+ *   The robot follows the recorded odometry trajectory in time. Each cycle the
+ *   recorded pose is interpolated at the current replay time; the drive command
+ *   is the recorded velocity (feedforward) plus a P correction on the position
+ *   error, and HeadingController tracks the recorded heading. This corrects for
+ *   wheel slip and battery differences, so it repeats much better.
+ *
+ * TRACK_POSE = false:
+ *   The recorded sticks are fed through GamepadInput, TeleOp's HeadingHold and
+ *   the same field-relative mecanum code as TeleOp, so Back re-zeros, heading
+ *   hold, d-pad snaps and shoot-sequence aiming (goal heading from odometry)
+ *   are re-run too. Open loop - any slip or voltage difference adds up.
+ *
+ * In both modes the recorded button states drive the mechanisms exactly as in
+ * TeleOp (zone select, stop, trap door, hold-to-run intakes, one-button shoot),
+ * starting from TeleOp's initial state (trap door open). The recorded driver
+ * sticks cancel a shot as in TeleOp; operator sticks are not recorded, so an
+ * operator stick cancel is not replayed.
+ *
+ * At the end the original and replay durations and the pose tracking error are
+ * shown on telemetry and written to the robot log.
+ *
+ * The robot must start at the pose where the recording started.
+ */
+
+package org.firstinspires.ftc.teamcode.auto;
+
+import com.acmerobotics.dashboard.FtcDashboard;
+import com.acmerobotics.dashboard.config.Config;
+import com.acmerobotics.dashboard.telemetry.MultipleTelemetry;
+import com.qualcomm.hardware.rev.RevHubOrientationOnRobot;
+import com.qualcomm.robotcore.eventloop.opmode.Autonomous;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+import com.qualcomm.robotcore.hardware.IMU;
+import com.qualcomm.robotcore.hardware.Servo;
+import com.qualcomm.robotcore.util.ElapsedTime;
+import com.qualcomm.robotcore.util.RobotLog;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.teamcode.control.AimController;
+import org.firstinspires.ftc.teamcode.control.HeadingController;
+import org.firstinspires.ftc.teamcode.control.HeadingHold;
+import org.firstinspires.ftc.teamcode.control.MecanumDriveBase;
+import org.firstinspires.ftc.teamcode.control.ShootSequence;
+import org.firstinspires.ftc.teamcode.input.GamepadInput;
+import org.firstinspires.ftc.teamcode.input.GamepadInput.Button;
+import org.firstinspires.ftc.teamcode.input.InputRecording;
+import org.firstinspires.ftc.teamcode.localization.WheelOdometry;
+import org.firstinspires.ftc.teamcode.teleop.Penguinauts_FieldRelativeDrive;
+import org.firstinspires.ftc.teamcode.util.FieldOverlay;
+import org.firstinspires.ftc.teamcode.util.TeamStorage;
+
+import java.io.File;
+import java.io.IOException;
+
+@Config
+@Autonomous(name = "Penguinauts: Replay Auto", group = "Penguinauts")
+public class Penguinauts_ReplayAuto extends LinearOpMode {
+
+    // ========== CONFIGURATION - FTC DASHBOARD ==========
+    public static String RECORDING_NAME = "teleop_run";        // File in /sdcard/FIRST/penguinauts/recordings
+    public static boolean TRACK_POSE = true;                   // false = replay raw stick input
+    public static double MAX_SPEED_IN_PER_S = 50.0;            // Drive speed at full power (feedforward scale)
+    public static double TRANSLATION_KP = 0.05;                // Power per inch of position error
+    public static double MAX_CORRECTION = 0.3;                 // Clamp on the position correction
+
+    // ========== CONSTANTS - SHOOTER ==========
+    public static double P = 10.0;                             // PIDF proportional coefficient
+    public static double I = 0.0;                              // PIDF integral coefficient
+    public static double D = 0.0;                              // PIDF derivative coefficient
+    public static double F = 13.5;                             // PIDF feedforward coefficient
+    public static double INTAKE_POWER = 1.0;
+    public static double BACK_INTAKE_SLOW_REVERSE = 0.2;
+    public static double TRAP_DOOR_CLOSED = 1.0;
+    public static double TRAP_DOOR_OPEN = 0.85;
+
+    private static final String TAG = "ReplayAuto";
+    private static final int PATH_POINTS = 200;                // Points drawn for the recorded path
+
+    // ========== HARDWARE ==========
+    private MecanumDriveBase drive;
+    private DcMotorEx shooterLeft, shooterRight;
+    private DcMotor intakeFront, intakeBack;
+    private Servo trapDoor;
+    private IMU imu;
+
+    // ========== REPLAY STATE ==========
+    private final GamepadInput driver = new GamepadInput();
+    private final GamepadInput operator = new GamepadInput();
+    private final HeadingController headingController = new HeadingController();
+    private final HeadingHold headingHold = new HeadingHold();
+    private final AimController aim = new AimController(null, Penguinauts_FieldRelativeDrive.RED_ALLIANCE);
+    private double driverYawOffset = 0.0;                      // Mirrors TeleOp's Back re-zero
+    private final WheelOdometry odometry = new WheelOdometry();
+    private final FieldOverlay fieldOverlay = new FieldOverlay();
+    private ShootSequence shootSequence;
+    private double selectedShooterVelocity = Penguinauts_FieldRelativeDrive.SHOOTER_VELOCITY_FRONT;
+
+    private double maxErrorIn = 0.0;
+    private double sumSquaredErrorIn = 0.0;
+    private int errorSamples = 0;
+
+    @Override
+    public void runOpMode() {
+        telemetry = new MultipleTelemetry(telemetry, FtcDashboard.getInstance().getTelemetry());
+        initHardware();
+
+        // Decode the whole recording during init so the loop only indexes arrays
+        InputRecording recording;
+        File file = TeamStorage.file("recordings", RECORDING_NAME + ".rec");
+        try {
+            recording = InputRecording.load(file);
+        } catch (IOException e) {
+            telemetry.addData("ERROR", "Cannot load %s", file.getAbsolutePath());
+            telemetry.addData("Reason", e.getMessage());
+            telemetry.update();
+            RobotLog.ee(TAG, e, "Cannot load %s", file.getAbsolutePath());
+            waitForStart();
+            return;
+        }
+        if (recording.frameCount == 0) {
+            telemetry.addData("ERROR", "%s has no frames", file.getName());
+            telemetry.update();
+            waitForStart();
+            return;
+        }
+
+        showRecordedPath(recording);
+        registerInputHandlers();
+
+        telemetry.addLine("=== Replay Auto ===");
+        telemetry.addData("Recording", "%s - %d frames, %.1f s", file.getName(),
+                recording.frameCount, recording.getDurationMs() / 1000.0);
+        telemetry.addData("Mode", TRACK_POSE ? "TRACK POSE" : "RAW INPUT");
+        telemetry.addData("Start Pose", "X: %.1f, Y: %.1f in, %.0f deg",
+                recording.x[0], recording.y[0], Math.toDegrees(recording.heading[0]));
+        telemetry.update();
+
+        waitForStart();
+        if (isStopRequested()) return;
+
+        imu.resetYaw();
+        odometry.rebase(drive.frontLeft.getCurrentPosition(), drive.frontRight.getCurrentPosition(),
+                drive.backLeft.getCurrentPosition(), drive.backRight.getCurrentPosition(), 0.0);
+        odometry.setPose(recording.x[0], recording.y[0], recording.heading[0]);
+
+        ElapsedTime runtime = new ElapsedTime();
+        int frame = 0;
+        int lastFrame = recording.frameCount - 1;
+        long endMs = recording.getDurationMs();
+
+        while (opModeIsActive()) {
+            long nowMs = (long) runtime.milliseconds();
+            frame = recording.frameAt(nowMs, frame);
+
+            // Single IMU read per cycle, shared by odometry and drive
+            double yaw = imu.getRobotYawPitchRollAngles().getYaw(AngleUnit.RADIANS);
+            drive.updateOdometry(odometry, yaw);
+
+            // ========== DRIVE ==========
+            if (TRACK_POSE) {
+                // Buttons only - sticks are replaced by pose tracking
+                driver.update(0f, 0f, 0f, 0f, recording.leftTrigger[frame], recording.rightTrigger[frame],
+                        recording.driverButtons[frame]);
+                trackPose(recording, frame, nowMs);
+            } else {
+                driver.update(recording.leftStickX[frame], recording.leftStickY[frame],
+                        recording.rightStickX[frame], recording.rightStickY[frame],
+                        recording.leftTrigger[frame], recording.rightTrigger[frame],
+                        recording.driverButtons[frame]);
+                driveRawInput(yaw);
+                recordError(recording, frame);
+            }
+            operator.update(0f, 0f, 0f, 0f, 0f, 0f, recording.operatorButtons[frame]);
+
+            // ========== MECHANISMS ==========
+            // Same stick cancel as TeleOp, from the recorded sticks (pose tracking zeroes the live ones)
+            if (shootSequence.isActive()
+                    && shootSequence.getRunningMs() >= Penguinauts_FieldRelativeDrive.SHOOT_CANCEL_GRACE_MS
+                    && recordedSticksActive(recording, frame, Penguinauts_FieldRelativeDrive.SHOOT_CANCEL_DEADBAND)) {
+                shootSequence.cancel();
+            }
+            double shooterVelocity = shooterLeft != null ? shooterLeft.getVelocity() : 0.0;
+            if (TRACK_POSE) {
+                shootSequence.update(shooterVelocity);
+            } else {
+                shootSequence.update(shooterVelocity, !Penguinauts_FieldRelativeDrive.AUTO_AIM || aim.isAimed());
+            }
+            updateIntakes();
+
+            fieldOverlay.setRobotPose(odometry.getX(), odometry.getY(), odometry.getHeading());
+            fieldOverlay.sendIfDue();
+
+            telemetry.addData("Replay", "%.1f / %.1f s (frame %d/%d)", nowMs / 1000.0, endMs / 1000.0,
+                    frame, lastFrame);
+            telemetry.addData("Pose", "X: %.1f, Y: %.1f in, %.0f deg", odometry.getX(), odometry.getY(),
+                    Math.toDegrees(odometry.getHeading()));
+            telemetry.addData("Error", "max %.1f in, rms %.1f in", maxErrorIn, rmsErrorIn());
+            telemetry.addData("Shoot", "%s (%d balls)", shootSequence.getState(), shootSequence.getBallsFed());
+            telemetry.update();
+
+            // Done once the last frame is reached and any shoot sequence has finished
+            if (frame == lastFrame && nowMs >= endMs && !shootSequence.isActive()) break;
+        }
+
+        double replayMs = runtime.milliseconds();
+        drive.stop();
+        shootSequence.cancel();
+        if (intakeFront != null) intakeFront.setPower(0);
+        if (intakeBack != null) intakeBack.setPower(0);
+        if (shooterLeft != null) shooterLeft.setVelocity(0);
+        if (shooterRight != null) shooterRight.setVelocity(0);
+
+        RobotLog.ii(TAG, "%s replay of %s: original %.2f s, replay %.2f s, max error %.2f in, rms %.2f in",
+                TRACK_POSE ? "Pose" : "Input", RECORDING_NAME, endMs / 1000.0, replayMs / 1000.0,
+                maxErrorIn, rmsErrorIn());
+
+        while (opModeIsActive()) {
+            telemetry.addLine("=== Replay Complete ===");
+            telemetry.addData("Original", "%.2f s", endMs / 1000.0);
+            telemetry.addData("Replay", "%.2f s (%+.2f s)", replayMs / 1000.0, (replayMs - endMs) / 1000.0);
+            telemetry.addData("Pose Error", "max %.1f in, rms %.1f in", maxErrorIn, rmsErrorIn());
+            telemetry.update();
+            sleep(100);
+        }
+    }
+
+    // ========== POSE TRACKING ==========
+
+    /**
+     * Drives toward the recorded pose at this instant: recorded velocity as
+     * feedforward plus a clamped P correction on position, heading via HeadingController.
+     */
+    private void trackPose(InputRecording recording, int frame, long nowMs) {
+        int next = Math.min(frame + 1, recording.frameCount - 1);
+        double targetX = recording.x[frame];
+        double targetY = recording.y[frame];
+        double targetHeading = recording.heading[frame];
+        double feedX = 0.0;
+        double feedY = 0.0;
+
+        int spanMs = recording.timeMs[next] - recording.timeMs[frame];
+        if (spanMs > 0) {
+            double t = Math.min(1.0, (nowMs - recording.timeMs[frame]) / (double) spanMs);
+            double dx = recording.x[next] - recording.x[frame];
+            double dy = recording.y[next] - recording.y[frame];
+            targetX += dx * t;
+            targetY += dy * t;
+            targetHeading = AngleUnit.normalizeRadians(targetHeading
+                    + AngleUnit.normalizeRadians(recording.heading[next] - recording.heading[frame]) * t);
+            feedX = dx / (spanMs / 1000.0) / MAX_SPEED_IN_PER_S;
+            feedY = dy / (spanMs / 1000.0) / MAX_SPEED_IN_PER_S;
+        }
+
+        double errorX = targetX - odometry.getX();
+        double errorY = targetY - odometry.getY();
+        double correctX = clamp(TRANSLATION_KP * errorX, MAX_CORRECTION);
+        double correctY = clamp(TRANSLATION_KP * errorY, MAX_CORRECTION);
+        recordError(Math.hypot(errorX, errorY));
+
+        headingController.setTarget(targetHeading);
+        double turn = -headingController.update(odometry.getHeading());
+
+        // Field +Y is left, drive lateral is right
+        drive.driveFieldRelative(feedX + correctX, -(feedY + correctY), turn, 1.0, odometry.getHeading());
+    }
+
+    // ========== RAW INPUT ==========
+
+    /**
+     * Drives the recorded sticks the way TeleOp did: heading hold and snaps in
+     * the driver frame, aiming at the goal while the shoot sequence runs.
+     */
+    private void driveRawInput(double yaw) {
+        aim.update(yaw, odometry.getX(), odometry.getY(), odometry.getHeading());
+        double botHeading = AngleUnit.normalizeRadians(yaw - driverYawOffset);
+        double goalHeading = aim.hasTarget() ? aim.getTarget() - driverYawOffset : Double.NaN;
+        double turn = headingHold.update(driver.rightStickX, botHeading, driver, goalHeading,
+                Penguinauts_FieldRelativeDrive.AUTO_AIM && shootSequence.isActive());
+        drive.driveFieldRelative(-driver.leftStickY, driver.leftStickX, turn, 1.0, botHeading);
+    }
+
+    private void recordError(InputRecording recording, int frame) {
+        recordError(Math.hypot(recording.x[frame] - odometry.getX(), recording.y[frame] - odometry.getY()));
+    }
+
+    private void recordError(double errorIn) {
+        maxErrorIn = Math.max(maxErrorIn, errorIn);
+        sumSquaredErrorIn += errorIn * errorIn;
+        errorSamples++;
+    }
+
+    private double rmsErrorIn() {
+        return errorSamples > 0 ? Math.sqrt(sumSquaredErrorIn / errorSamples) : 0.0;
+    }
+
+    private static boolean recordedSticksActive(InputRecording recording, int frame, double deadband) {
+        return Math.abs(recording.leftStickX[frame]) > deadband || Math.abs(recording.leftStickY[frame]) > deadband
+                || Math.abs(recording.rightStickX[frame]) > deadband
+                || Math.abs(recording.rightStickY[frame]) > deadband;
+    }
+
+    private static double clamp(double value, double limit) {
+        return Math.max(-limit, Math.min(limit, value));
+    }
+
+    /**
+     * Draws a decimated copy of the recorded path on the Dashboard field.
+     */
+    private void showRecordedPath(InputRecording recording) {
+        int step = Math.max(1, recording.frameCount / PATH_POINTS);
+        int count = (recording.frameCount + step - 1) / step;
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        for (int i = 0, p = 0; p < count; i += step, p++) {
+            xs[p] = recording.x[i];
+            ys[p] = recording.y[i];
+        }
+        fieldOverlay.setPath(xs, ys, count);
+        fieldOverlay.setRobotPose(recording.x[0], recording.y[0], recording.heading[0]);
+        fieldOverlay.sendIfDue();
+    }
+
+    // ========== MECHANISMS (same mapping as TeleOp) ==========
+
+    private void registerInputHandlers() {
+        driver.onPress(Button.BACK, () -> {
+            driverYawOffset = imu.getRobotYawPitchRollAngles().getYaw(AngleUnit.RADIANS);
+            headingHold.release();
+        });
+        bindMechanism(Button.LEFT_TRIGGER, () -> {
+            selectedShooterVelocity = Penguinauts_FieldRelativeDrive.SHOOTER_VELOCITY_BACK;
+            setShooterVelocity(selectedShooterVelocity);
+        });
+        bindMechanism(Button.LEFT_BUMPER, () -> {
+            selectedShooterVelocity = Penguinauts_FieldRelativeDrive.SHOOTER_VELOCITY_FRONT;
+            setShooterVelocity(selectedShooterVelocity);
+        });
+        bindMechanism(Button.B, () -> setShooterVelocity(0));
+        bindMechanism(Button.X, () -> setTrapDoor(false));
+        bindMechanism(Button.START, () -> setTrapDoor(true));
+        driver.onPress(Button.RIGHT_STICK_BUTTON, () -> shootSequence.start(selectedShooterVelocity));
+        operator.onPress(Button.RIGHT_STICK_BUTTON, () -> shootSequence.start(selectedShooterVelocity));
+    }
+
+    private void bindMechanism(Button button, Runnable action) {
+        Runnable cancelThen = () -> {
+            shootSequence.cancel();
+            action.run();
+        };
+        driver.onPress(button, cancelThen);
+        operator.onPress(button, cancelThen);
+    }
+
+    private boolean mechanismDown(Button button) {
+        return driver.isDown(button) || operator.isDown(button);
+    }
+
+    /**
+     * Hold-to-run intake controls, skipped while the shoot sequence owns the intakes.
+     */
+    private void updateIntakes() {
+        if (shootSequence.isActive()) return;
+
+        if (intakeFront != null) {
+            if (mechanismDown(Button.RIGHT_TRIGGER)) {
+                intakeFront.setPower(INTAKE_POWER);
+            } else if (mechanismDown(Button.Y)) {
+                intakeFront.setPower(-INTAKE_POWER);
+            } else {
+                intakeFront.setPower(0);
+            }
+        }
+
+        if (mechanismDown(Button.RIGHT_BUMPER)) {
+            setShooterVelocity(selectedShooterVelocity);
+            if (intakeBack != null) intakeBack.setPower(INTAKE_POWER);
+        } else if (intakeBack != null) {
+            if (mechanismDown(Button.A)) {
+                intakeBack.setPower(-INTAKE_POWER);
+            } else if (mechanismDown(Button.RIGHT_TRIGGER)) {
+                intakeBack.setPower(-BACK_INTAKE_SLOW_REVERSE);
+            } else {
+                intakeBack.setPower(0);
+            }
+        }
+    }
+
+    private void setShooterVelocity(double velocity) {
+        if (shooterLeft != null) shooterLeft.setVelocity(velocity);
+        if (shooterRight != null) shooterRight.setVelocity(velocity);
+    }
+
+    private void setTrapDoor(boolean open) {
+        if (trapDoor != null) trapDoor.setPosition(open ? TRAP_DOOR_OPEN : TRAP_DOOR_CLOSED);
+    }
+
+    // ========== HARDWARE ==========
+
+    private void initHardware() {
+        drive = MecanumDriveBase.fromHardwareMap(hardwareMap);
+
+        shooterLeft = hardwareMap.tryGet(DcMotorEx.class, "SL");
+        shooterRight = hardwareMap.tryGet(DcMotorEx.class, "SR");
+        if (shooterLeft != null) {
+            shooterLeft.setDirection(DcMotor.Direction.REVERSE);
+            shooterLeft.setMode(DcMotor.RunMode.RUN_USING_ENCODER);
+            shooterLeft.setVelocityPIDFCoefficients(P, I, D, F);
+        }
+        if (shooterRight != null) {
+            shooterRight.setDirection(DcMotor.Direction.FORWARD);
+            shooterRight.setMode(DcMotor.RunMode.RUN_USING_ENCODER);
+            shooterRight.setVelocityPIDFCoefficients(P, I, D, F);
+        }
+
+        intakeFront = hardwareMap.tryGet(DcMotor.class, "IF");
+        intakeBack = hardwareMap.tryGet(DcMotor.class, "IB");
+        trapDoor = hardwareMap.tryGet(Servo.class, "TD");
+        if (trapDoor != null) trapDoor.setPosition(TRAP_DOOR_OPEN);   // TeleOp starts with the door open
+
+        shootSequence = new ShootSequence(shooterLeft, shooterRight, intakeFront, intakeBack, trapDoor);
+
+        imu = hardwareMap.get(IMU.class, "imu");
+        imu.initialize(new IMU.Parameters(new RevHubOrientationOnRobot(
+                RevHubOrientationOnRobot.LogoFacingDirection.RIGHT,
+                RevHubOrientationOnRobot.UsbFacingDirection.UP)));
+    }
+}
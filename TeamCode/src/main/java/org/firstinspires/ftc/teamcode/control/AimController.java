@@ -0,0 +1,215 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Works out the heading that points the robot at the alliance goal, and
+ * says when the robot is on it ("aim locked").
+ *
+ * The target comes from, in order:
+ *
+ *   TAG   The alliance goal tag in a tag frame newer than TAG_STALE_MS. Its
+ *         bearing and range are moved from the camera to the robot center
+ *         (AprilTagLocalizer's CAMERA_X / CAMERA_Y / CAMERA_YAW) and added to
+ *         the heading the robot had when the frame was captured. That
+ *         heading comes from a short history of update() samples, so a
+ *         robot that is already turning is not over-corrected by the
+ *         camera's latency.
+ *   POSE  The goal's direction from the fused field pose, when the caller
+ *         has one (TeleOp).
+ *   NONE  Nothing to aim at (auto with the tag out of view).
+ *
+ * Locked means within LOCK_TOLERANCE_DEG of the target and turning slower
+ * than LOCK_MAX_RATE_DEG. The caller turns the robot with a
+ * HeadingController toward getTarget(), and gates feeding on isAimed()
+ * together with flywheel speed, so aiming happens during spin-up rather
+ * than before it.
+ *
+ * Headings are in the caller's IMU frame (radians, counter-clockwise
+ * positive). No allocation in update().
+ */
+
+package org.firstinspires.ftc.teamcode.control;
+
+import com.acmerobotics.dashboard.config.Config;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.teamcode.util.FieldConstants;
+import org.firstinspires.ftc.teamcode.vision.AprilTagLocalizer;
+import org.firstinspires.ftc.teamcode.vision.VisionBridge;
+
+@Config
+public class AimController {
+
+    // ========== TARGET - FTC DASHBOARD ==========
+    public static int RED_GOAL_TAG_ID = 24;
+    public static int BLUE_GOAL_TAG_ID = 20;
+    public static int TAG_STALE_MS = 300;                     // Older tag frames fall back to the pose
+    public static double AIM_OFFSET_DEG = 0.0;                // Added to the target (shots that pull to one side)
+
+    // ========== LOCK - FTC DASHBOARD ==========
+    public static double LOCK_TOLERANCE_DEG = 2.0;
+    public static double LOCK_MAX_RATE_DEG = 30.0;            // deg/sec - still turning faster = not locked
+
+    public enum Source {
+        NONE, TAG, POSE
+    }
+
+    private static final int HISTORY_SIZE = 64;               // ~0.6 s of loops at 10 ms
+
+    private final VisionBridge bridge;
+    private final boolean redAlliance;
+
+    // Heading samples, for the heading at a tag frame's capture time
+    private final long[] historyNanos = new long[HISTORY_SIZE];
+    private final double[] historyHeading = new double[HISTORY_SIZE];
+    private int newest = -1;
+    private int historyCount = 0;
+
+    private long lastSequence = 0;
+    private long tagCaptureNanos = 0;
+    private double tagTarget = 0.0;
+
+    private Source source = Source.NONE;
+    private double target = 0.0;
+    private double error = 0.0;
+    private double rateDeg = 0.0;
+    private boolean locked = false;
+
+    /**
+     * @param bridge      Tag results (Vision.getBridge()), or null to aim from the pose only
+     * @param redAlliance Selects the goal tag and goal position
+     */
+    public AimController(VisionBridge bridge, boolean redAlliance) {
+        this.bridge = bridge;
+        this.redAlliance = redAlliance;
+    }
+
+    /**
+     * Updates the target and the lock without a field pose (autonomous).
+     *
+     * @return true if there is a target
+     */
+    public boolean update(double headingRad) {
+        return update(headingRad, Double.NaN, Double.NaN, Double.NaN);
+    }
+
+    /**
+     * Updates the target and the lock. Call once per loop, including while
+     * not shooting, so the heading history stays current.
+     *
+     * @param headingRad  Heading sampled this cycle (IMU frame)
+     * @param poseX       Fused field X (inches), NaN for no pose
+     * @param poseY       Fused field Y (inches)
+     * @param poseHeading Fused field heading (radians)
+     * @return true if there is a target
+     */
+    public boolean update(double headingRad, double poseX, double poseY, double poseHeading) {
+        long now = System.nanoTime();
+        if (newest >= 0) {
+            double dt = (now - historyNanos[newest]) / 1e9;
+            if (dt > 0) {
+                rateDeg = Math.toDegrees(AngleUnit.normalizeRadians(headingRad - historyHeading[newest])) / dt;
+            }
+        }
+        newest = (newest + 1) % HISTORY_SIZE;
+        historyNanos[newest] = now;
+        historyHeading[newest] = headingRad;
+        if (historyCount < HISTORY_SIZE) historyCount++;
+
+        if (bridge != null) readTag();
+
+        if (tagCaptureNanos != 0 && now - tagCaptureNanos <= TAG_STALE_MS * 1_000_000L) {
+            source = Source.TAG;
+            target = tagTarget;
+        } else if (!Double.isNaN(poseX)) {
+            source = Source.POSE;
+            double fieldAngle = Math.atan2(FieldConstants.goalY(redAlliance) - poseY,
+                    FieldConstants.goalX(redAlliance) - poseX);
+            // Fused heading = IMU yaw + offset (+ tag corrections), so remove the offset
+            target = fieldAngle - (poseHeading - headingRad);
+        } else {
+            source = Source.NONE;
+        }
+        if (source != Source.NONE) target = AngleUnit.normalizeRadians(target + Math.toRadians(AIM_OFFSET_DEG));
+
+        error = source == Source.NONE ? 0.0 : AngleUnit.normalizeRadians(target - headingRad);
+        locked = source != Source.NONE && Math.abs(error) < Math.toRadians(LOCK_TOLERANCE_DEG)
+                && Math.abs(rateDeg) < LOCK_MAX_RATE_DEG;
+        return source != Source.NONE;
+    }
+
+    /**
+     * Turns a new frame's goal tag into a target heading.
+     */
+    private void readTag() {
+        VisionBridge.TagFrame frame = bridge.tags();
+        if (frame.sequence == lastSequence) return;
+        lastSequence = frame.sequence;
+
+        int goalId = redAlliance ? RED_GOAL_TAG_ID : BLUE_GOAL_TAG_ID;
+        for (int i = 0; i < frame.count; i++) {
+            if (frame.id[i] != goalId || frame.range[i] <= 0.0) continue;
+
+            // Tag in robot coordinates (forward, left) from the camera's mounting
+            double angle = Math.toRadians(AprilTagLocalizer.CAMERA_YAW + frame.bearing[i]);
+            double forward = AprilTagLocalizer.CAMERA_Y + frame.range[i] * Math.cos(angle);
+            double left = -AprilTagLocalizer.CAMERA_X + frame.range[i] * Math.sin(angle);
+            tagTarget = headingAt(frame.captureNanos) + Math.atan2(left, forward);
+            tagCaptureNanos = frame.captureNanos;
+            return;
+        }
+    }
+
+    /**
+     * Heading from the newest sample at or before the given time (the oldest if none is).
+     */
+    private double headingAt(long nanos) {
+        int index = newest;
+        for (int step = 1; step < historyCount && historyNanos[index] > nanos; step++) {
+            index = (index - 1 + HISTORY_SIZE) % HISTORY_SIZE;
+        }
+        return historyHeading[index];
+    }
+
+    public boolean hasTarget() {
+        return source != Source.NONE;
+    }
+
+    /**
+     * Heading to turn to (IMU frame, radians). Only meaningful while hasTarget().
+     */
+    public double getTarget() {
+        return target;
+    }
+
+    /**
+     * Target minus heading from the last update() (radians).
+     */
+    public double getError() {
+        return error;
+    }
+
+    public boolean isLocked() {
+        return locked;
+    }
+
+    /**
+     * true when locked, or when there is nothing to aim at - feeding then
+     * waits for flywheel speed alone.
+     */
+    public boolean isAimed() {
+        return locked || source == Source.NONE;
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    public void addTelemetry(Telemetry telemetry) {
+        if (source == Source.NONE) {
+            telemetry.addData("Aim", "no target");
+        } else {
+            telemetry.addData("Aim", "%s from %s, error %.1f deg, %.0f deg/s", locked ? "LOCKED" : "aiming",
+                    source, Math.toDegrees(error), rateDeg);
+        }
+    }
+}
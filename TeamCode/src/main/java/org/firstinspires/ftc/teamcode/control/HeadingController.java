@@ -0,0 +1,106 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * PD controller that holds the robot at a target heading.
+ *
+ * The caller passes in the heading it already sampled this cycle, so the
+ * controller never reads the IMU itself. The derivative term is taken on the
+ * measured heading (not the error) so changing the target does not cause a
+ * derivative kick.
+ *
+ * Output is a turn command in the heading-positive direction (counter-clockwise),
+ * clamped to MAX_OUTPUT. Negate it for drive code where positive yaw turns right.
+ */
+
+package org.firstinspires.ftc.teamcode.control;
+
+import com.acmerobotics.dashboard.config.Config;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+
+@Config
+public class HeadingController {
+
+    // ========== CONFIGURATION - FTC DASHBOARD ==========
+    public static double KP = 1.2;                            // Turn power per radian of error
+    public static double KD = 0.08;                           // Turn power per rad/sec of rotation
+    public static double MAX_OUTPUT = 0.6;                    // Clamp on the turn command
+    public static double TOLERANCE_DEG = 1.0;                 // Error treated as on-target
+
+    private double targetHeading = 0.0;
+    private boolean active = false;
+
+    private double lastHeading = 0.0;
+    private long lastNanos = 0;
+    private double lastError = 0.0;
+
+    /**
+     * Starts holding the given heading.
+     *
+     * @param headingRad Target heading in radians
+     */
+    public void setTarget(double headingRad) {
+        targetHeading = AngleUnit.normalizeRadians(headingRad);
+        active = true;
+    }
+
+    /**
+     * Stops holding. update() returns 0 until a new target is set.
+     */
+    public void release() {
+        active = false;
+        lastNanos = 0;
+    }
+
+    /**
+     * Computes the turn command for this cycle.
+     *
+     * @param headingRad Current heading in radians, sampled once this cycle
+     * @return Turn command (counter-clockwise positive), 0 when not active
+     */
+    public double update(double headingRad) {
+        if (!active) return 0.0;
+
+        long now = System.nanoTime();
+        double error = AngleUnit.normalizeRadians(targetHeading - headingRad);
+
+        double rate = 0.0;
+        if (lastNanos != 0) {
+            double dt = (now - lastNanos) / 1e9;
+            if (dt > 0) {
+                rate = AngleUnit.normalizeRadians(headingRad - lastHeading) / dt;
+            }
+        }
+        lastHeading = headingRad;
+        lastNanos = now;
+        lastError = error;
+
+        if (Math.abs(error) < Math.toRadians(TOLERANCE_DEG)) {
+            return 0.0;
+        }
+
+        double output = KP * error - KD * rate;
+        return Math.max(-MAX_OUTPUT, Math.min(MAX_OUTPUT, output));
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public double getTarget() {
+        return targetHeading;
+    }
+
+    /**
+     * Returns the error from the last update() call, in radians.
+     */
+    public double getError() {
+        return lastError;
+    }
+
+    /**
+     * Returns true when holding and the last error was within TOLERANCE_DEG.
+     */
+    public boolean atTarget() {
+        return active && Math.abs(lastError) < Math.toRadians(TOLERANCE_DEG);
+    }
+}
@@ -0,0 +1,126 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * TeleOp heading hold: turns the driver's right stick into a rotation command.
+ *
+ * While the right stick is in use the driver has full control. Once it is
+ * released for HOLD_LATCH_DELAY_MS the current heading is latched and held
+ * with a HeadingController. The d-pad snaps to preset headings:
+ *
+ *   Up    downfield (0 degrees)
+ *   Down  toward the driver (180 degrees)
+ *   Left  the alliance goal (the caller's goal heading)
+ *   Right the intake stack (SNAP_INTAKE_HEADING)
+ *
+ * While the caller asks it to follow the goal (shoot sequence aiming), the
+ * held heading tracks the goal heading instead.
+ *
+ * TeleOp and the raw-input replay both drive through this class, so a replay
+ * turns exactly as the recorded run did. Headings are in the driver's frame
+ * (radians, counter-clockwise positive).
+ */
+
+package org.firstinspires.ftc.teamcode.control;
+
+import com.acmerobotics.dashboard.config.Config;
+import com.qualcomm.robotcore.util.ElapsedTime;
+
+import org.firstinspires.ftc.teamcode.input.GamepadInput;
+import org.firstinspires.ftc.teamcode.input.GamepadInput.Button;
+
+@Config
+public class HeadingHold {
+
+    // ========== CONFIGURATION - FTC DASHBOARD (gains live in HeadingController) ==========
+    public static boolean ENABLED = true;
+    public static double ROTATE_DEADBAND = 0.05;              // Right stick below this counts as released
+    public static int HOLD_LATCH_DELAY_MS = 200;              // Let rotation coast down before latching heading
+    public static double SNAP_INTAKE_HEADING = 45.0;          // degrees - D-Pad Right preset
+
+    private final HeadingController controller = new HeadingController();
+    private final ElapsedTime releaseTimer = new ElapsedTime();
+    private boolean rotating = false;
+
+    /**
+     * Computes this cycle's rotation command.
+     *
+     * @param yaw         Right stick rotation input (clockwise positive)
+     * @param heading     Robot heading in radians, sampled once this cycle
+     * @param driver      Driver gamepad snapshot, for the d-pad snaps
+     * @param goalHeading Heading that faces the goal, NaN if unknown
+     * @param followGoal  Hold goalHeading instead of the latched heading
+     * @return Rotation command to send to the drive (clockwise positive)
+     */
+    public double update(double yaw, double heading, GamepadInput driver, double goalHeading,
+                         boolean followGoal) {
+        if (!ENABLED) {
+            controller.release();
+            return yaw;
+        }
+
+        // Driver is rotating - give full control and restart the latch delay
+        if (Math.abs(yaw) > ROTATE_DEADBAND) {
+            controller.release();
+            rotating = true;
+            releaseTimer.reset();
+            return yaw;
+        }
+
+        // Snap presets (in the frame the driver set with Back)
+        if (driver.isDown(Button.DPAD_UP)) {
+            controller.setTarget(0.0);
+        } else if (driver.isDown(Button.DPAD_DOWN)) {
+            controller.setTarget(Math.PI);
+        } else if (driver.isDown(Button.DPAD_LEFT) && !Double.isNaN(goalHeading)) {
+            controller.setTarget(goalHeading);
+        } else if (driver.isDown(Button.DPAD_RIGHT)) {
+            controller.setTarget(Math.toRadians(SNAP_INTAKE_HEADING));
+        }
+
+        // Stick just released - latch the heading once rotation has coasted down
+        if (rotating && !controller.isActive()) {
+            if (releaseTimer.milliseconds() < HOLD_LATCH_DELAY_MS) {
+                return 0.0;
+            }
+            controller.setTarget(heading);
+        }
+        rotating = false;
+
+        // Follow the goal (e.g. while the flywheel spins up)
+        if (followGoal && !Double.isNaN(goalHeading)) {
+            controller.setTarget(goalHeading);
+        }
+
+        if (!controller.isActive()) {
+            controller.setTarget(heading);
+        }
+
+        // Controller output is counter-clockwise positive, drive yaw is clockwise positive
+        return -controller.update(heading);
+    }
+
+    /**
+     * Drops the held heading, e.g. after the driver re-zeroes the field frame.
+     */
+    public void release() {
+        controller.release();
+    }
+
+    public boolean isActive() {
+        return controller.isActive();
+    }
+
+    public boolean isRotating() {
+        return rotating;
+    }
+
+    public double getTarget() {
+        return controller.getTarget();
+    }
+
+    /**
+     * Returns the error from the last update() call, in radians.
+     */
+    public double getError() {
+        return controller.getError();
+    }
+}
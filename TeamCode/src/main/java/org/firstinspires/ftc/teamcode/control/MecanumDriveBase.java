@@ -0,0 +1,137 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Mecanum drive kinematics shared by TeleOp, replay and path following.
+ *
+ * Uses the same power mixing and normalization as the original TeleOp code,
+ * so any OpMode that drives through this class behaves exactly like the
+ * driver's TeleOp for the same inputs.
+ *
+ * Motor Configuration (as seen from behind the robot):
+ *   Back Left   (port 0) - "BL"
+ *   Back Right  (port 1) - "BR"
+ *   Front Left  (port 2) - "FL"
+ *   Front Right (port 3) - "FR"
+ */
+
+package org.firstinspires.ftc.teamcode.control;
+
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+
+import org.firstinspires.ftc.teamcode.localization.WheelOdometry;
+
+public class MecanumDriveBase {
+
+    public final DcMotor frontLeft;
+    public final DcMotor frontRight;
+    public final DcMotor backLeft;
+    public final DcMotor backRight;
+
+    /**
+     * Wraps motors that the OpMode has already mapped and configured.
+     */
+    public MecanumDriveBase(DcMotor frontLeft, DcMotor frontRight, DcMotor backLeft, DcMotor backRight) {
+        this.frontLeft = frontLeft;
+        this.frontRight = frontRight;
+        this.backLeft = backLeft;
+        this.backRight = backRight;
+    }
+
+    /**
+     * Maps and configures the drive motors the same way as the TeleOps:
+     * left side reversed, brake at zero power, RUN_USING_ENCODER with fresh encoders.
+     */
+    public static MecanumDriveBase fromHardwareMap(HardwareMap hardwareMap) {
+        DcMotor fl = hardwareMap.get(DcMotor.class, "FL");
+        DcMotor fr = hardwareMap.get(DcMotor.class, "FR");
+        DcMotor bl = hardwareMap.get(DcMotor.class, "BL");
+        DcMotor br = hardwareMap.get(DcMotor.class, "BR");
+
+        fl.setDirection(DcMotor.Direction.REVERSE);
+        bl.setDirection(DcMotor.Direction.REVERSE);
+        fr.setDirection(DcMotor.Direction.FORWARD);
+        br.setDirection(DcMotor.Direction.FORWARD);
+
+        MecanumDriveBase drive = new MecanumDriveBase(fl, fr, bl, br);
+        drive.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
+        drive.setMode(DcMotor.RunMode.STOP_AND_RESET_ENCODER);
+        drive.setMode(DcMotor.RunMode.RUN_USING_ENCODER);
+        return drive;
+    }
+
+    /**
+     * Drives relative to the field. Rotates the (axial, lateral) request by the robot heading.
+     *
+     * @param axial      Field forward (+X) command
+     * @param lateral    Field right (-Y) command
+     * @param yaw        Rotation command (positive = clockwise)
+     * @param speed      Output scale (0.0 to 1.0)
+     * @param headingRad Robot heading in radians, sampled once this cycle
+     */
+    public void driveFieldRelative(double axial, double lateral, double yaw, double speed, double headingRad) {
+        double rotX = lateral * Math.cos(-headingRad) - axial * Math.sin(-headingRad);
+        double rotY = lateral * Math.sin(-headingRad) + axial * Math.cos(-headingRad);
+        driveRobotRelative(rotY, rotX, yaw, speed);
+    }
+
+    /**
+     * Drives relative to the robot using mecanum kinematics.
+     *
+     * @param axial   Forward command
+     * @param lateral Strafe right command
+     * @param yaw     Rotation command (positive = clockwise)
+     * @param speed   Output scale (0.0 to 1.0)
+     */
+    public void driveRobotRelative(double axial, double lateral, double yaw, double speed) {
+        double frontLeftPower = axial + lateral + yaw;
+        double frontRightPower = axial - lateral - yaw;
+        double backLeftPower = axial - lateral + yaw;
+        double backRightPower = axial + lateral - yaw;
+
+        // Normalize the values so no wheel power exceeds 1.0
+        double maxPower = Math.max(Math.abs(frontLeftPower), Math.abs(frontRightPower));
+        maxPower = Math.max(maxPower, Math.abs(backLeftPower));
+        maxPower = Math.max(maxPower, Math.abs(backRightPower));
+
+        if (maxPower > 1.0) {
+            frontLeftPower /= maxPower;
+            frontRightPower /= maxPower;
+            backLeftPower /= maxPower;
+            backRightPower /= maxPower;
+        }
+
+        frontLeft.setPower(frontLeftPower * speed);
+        frontRight.setPower(frontRightPower * speed);
+        backLeft.setPower(backLeftPower * speed);
+        backRight.setPower(backRightPower * speed);
+    }
+
+    public void stop() {
+        frontLeft.setPower(0);
+        frontRight.setPower(0);
+        backLeft.setPower(0);
+        backRight.setPower(0);
+    }
+
+    public void setMode(DcMotor.RunMode mode) {
+        frontLeft.setMode(mode);
+        frontRight.setMode(mode);
+        backLeft.setMode(mode);
+        backRight.setMode(mode);
+    }
+
+    public void setZeroPowerBehavior(DcMotor.ZeroPowerBehavior behavior) {
+        frontLeft.setZeroPowerBehavior(behavior);
+        frontRight.setZeroPowerBehavior(behavior);
+        backLeft.setZeroPowerBehavior(behavior);
+        backRight.setZeroPowerBehavior(behavior);
+    }
+
+    /**
+     * Reads the four drive encoders into odometry. One read per motor per call.
+     */
+    public void updateOdometry(WheelOdometry odometry, double headingRad) {
+        odometry.update(frontLeft.getCurrentPosition(), frontRight.getCurrentPosition(),
+                backLeft.getCurrentPosition(), backRight.getCurrentPosition(), headingRad);
+    }
+}
@@ -0,0 +1,285 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Non-blocking one-button shoot cycle for TeleOp.
+ *
+ * start() kicks off the sequence and update() advances it one step per loop:
+ *
+ *   SPIN_UP    -> shooter to target velocity, wait until at speed and aimed
+ *   OPEN_DOOR  -> open trap door, wait DOOR_SETTLE_MS
+ *   FEED       -> run both intakes until the flywheel dips (ball left) or FEED_PULSE_MS
+ *   RECOVER    -> intakes off, wait for the flywheel to get back to speed (and aim)
+ *                 (FEED/RECOVER repeat once per ball, BALL_COUNT times)
+ *   CLOSE_DOOR -> close trap door, wait DOOR_SETTLE_MS, shooter to STANDBY_VELOCITY
+ *
+ * The caller passes in the shooter velocity it already read this cycle, so the
+ * sequence adds no extra encoder reads, and whether AimController has the
+ * robot on the goal. The caller turns the robot while the flywheel spins
+ * up; a ball is only fed once both are ready (or the timeout runs out).
+ * cancel() stops the feed, closes the door and returns to standby from any
+ * state.
+ *
+ * Sequence time (press to standby) and driver cycle time (time between
+ * consecutive sequence starts) are kept for telemetry and written to the
+ * robot log.
+ */
+
+package org.firstinspires.ftc.teamcode.control;
+
+import com.acmerobotics.dashboard.config.Config;
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+import com.qualcomm.robotcore.hardware.Servo;
+import com.qualcomm.robotcore.util.RobotLog;
+
+@Config
+public class ShootSequence {
+
+    // ========== CONFIGURATION - FTC DASHBOARD ==========
+    public static int BALL_COUNT = 3;                         // Balls fed per sequence
+    public static double AT_SPEED_TOLERANCE = 60.0;           // ticks/sec - flywheel counts as at speed
+    public static double SHOT_DROP_VELOCITY = 120.0;          // ticks/sec dip that means a ball left
+    public static double FEED_POWER = 1.0;                    // Intake power while feeding
+    public static double STANDBY_VELOCITY = 0.0;              // Flywheel velocity after the sequence
+    public static int SPIN_UP_TIMEOUT_MS = 3000;              // Feed anyway if spin-up takes longer
+    public static int RECOVERY_TIMEOUT_MS = 1000;             // Feed anyway if recovery takes longer
+    public static int FEED_PULSE_MS = 300;                    // Max feed time per ball
+    public static int DOOR_SETTLE_MS = 150;                   // Servo travel time
+
+    // Trap door servo positions (same as TeleOp defaults)
+    public static double TRAP_DOOR_CLOSED = 1.0;
+    public static double TRAP_DOOR_OPEN = 0.85;
+
+    private static final String TAG = "ShootSequence";
+
+    public enum State { IDLE, SPIN_UP, OPEN_DOOR, FEED, RECOVER, CLOSE_DOOR }
+
+    // ========== HARDWARE (any may be null) ==========
+    private final DcMotorEx shooterLeft;
+    private final DcMotorEx shooterRight;
+    private final DcMotor intakeFront;
+    private final DcMotor intakeBack;
+    private final Servo trapDoor;
+
+    // ========== SEQUENCE STATE ==========
+    private State state = State.IDLE;
+    private double targetVelocity = 0.0;
+    private int ballsFed = 0;
+    private boolean doorOpen = false;
+    private boolean atSpeed = false;                          // From the last update()
+    private boolean aimed = false;
+    private long stateStartNanos = 0;
+    private long sequenceStartNanos = 0;
+    private long previousStartNanos = 0;
+
+    // ========== CYCLE TIME STATS ==========
+    private double lastSequenceMs = 0.0;
+    private double lastDriverCycleMs = 0.0;
+    private int completedCount = 0;
+    private double totalSequenceMs = 0.0;
+
+    public ShootSequence(DcMotorEx shooterLeft, DcMotorEx shooterRight,
+                         DcMotor intakeFront, DcMotor intakeBack, Servo trapDoor) {
+        this.shooterLeft = shooterLeft;
+        this.shooterRight = shooterRight;
+        this.intakeFront = intakeFront;
+        this.intakeBack = intakeBack;
+        this.trapDoor = trapDoor;
+    }
+
+    /**
+     * Starts a shoot cycle at the given velocity. Ignored if one is already running.
+     *
+     * @param velocity Zone shooter velocity in ticks/sec
+     */
+    public void start(double velocity) {
+        if (state != State.IDLE) return;
+
+        long now = System.nanoTime();
+        if (previousStartNanos != 0) {
+            lastDriverCycleMs = (now - previousStartNanos) / 1e6;
+        }
+        previousStartNanos = now;
+        sequenceStartNanos = now;
+
+        targetVelocity = velocity;
+        ballsFed = 0;
+        setShooterVelocity(velocity);
+        enter(State.SPIN_UP, now);
+    }
+
+    /**
+     * Aborts the sequence: feed off, door closed, shooter back to standby.
+     */
+    public void cancel() {
+        if (state == State.IDLE) return;
+        setFeed(0.0);
+        setDoor(false);
+        setShooterVelocity(STANDBY_VELOCITY);
+        RobotLog.ii(TAG, "cancelled in %s after %d balls", state, ballsFed);
+        state = State.IDLE;
+    }
+
+    /**
+     * Advances the sequence without aim gating. Call once per loop.
+     *
+     * @param shooterVelocity Measured flywheel velocity this cycle (ticks/sec)
+     */
+    public void update(double shooterVelocity) {
+        update(shooterVelocity, true);
+    }
+
+    /**
+     * Advances the sequence. Call once per loop.
+     *
+     * @param shooterVelocity Measured flywheel velocity this cycle (ticks/sec)
+     * @param aimed           AimController.isAimed() this cycle
+     */
+    public void update(double shooterVelocity, boolean aimed) {
+        if (state == State.IDLE) return;
+
+        long now = System.nanoTime();
+        double stateMs = (now - stateStartNanos) / 1e6;
+        atSpeed = Math.abs(shooterVelocity - targetVelocity) < AT_SPEED_TOLERANCE;
+        this.aimed = aimed;
+        boolean ready = atSpeed && aimed;
+
+        switch (state) {
+            case SPIN_UP:
+                if (ready || stateMs > SPIN_UP_TIMEOUT_MS) {
+                    if (!ready) RobotLog.ww(TAG, "spin-up timeout (at speed %b, aimed %b)", atSpeed, aimed);
+                    setDoor(true);
+                    enter(State.OPEN_DOOR, now);
+                }
+                break;
+
+            case OPEN_DOOR:
+                if (stateMs > DOOR_SETTLE_MS) {
+                    setFeed(FEED_POWER);
+                    enter(State.FEED, now);
+                }
+                break;
+
+            case FEED:
+                // A velocity dip means the ball went through the flywheel
+                if (shooterVelocity < targetVelocity - SHOT_DROP_VELOCITY || stateMs > FEED_PULSE_MS) {
+                    setFeed(0.0);
+                    ballsFed++;
+                    enter(State.RECOVER, now);
+                }
+                break;
+
+            case RECOVER:
+                if (ready || stateMs > RECOVERY_TIMEOUT_MS) {
+                    if (ballsFed >= BALL_COUNT) {
+                        setDoor(false);
+                        enter(State.CLOSE_DOOR, now);
+                    } else {
+                        setFeed(FEED_POWER);
+                        enter(State.FEED, now);
+                    }
+                }
+                break;
+
+            case CLOSE_DOOR:
+                if (stateMs > DOOR_SETTLE_MS) {
+                    setShooterVelocity(STANDBY_VELOCITY);
+                    finish(now);
+                }
+                break;
+
+            default:
+                break;
+        }
+    }
+
+    // ========== STATUS ==========
+
+    public boolean isActive() {
+        return state != State.IDLE;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Flywheel within AT_SPEED_TOLERANCE at the last update().
+     */
+    public boolean isAtSpeed() {
+        return atSpeed;
+    }
+
+    /**
+     * Aim reported at the last update().
+     */
+    public boolean isAimed() {
+        return aimed;
+    }
+
+    /**
+     * Door position last commanded by the sequence.
+     */
+    public boolean isDoorOpen() {
+        return doorOpen;
+    }
+
+    /**
+     * Time since start() while active, 0 when idle.
+     */
+    public double getRunningMs() {
+        return isActive() ? (System.nanoTime() - sequenceStartNanos) / 1e6 : 0.0;
+    }
+
+    public int getBallsFed() {
+        return ballsFed;
+    }
+
+    /**
+     * Time from button press to standby for the last completed sequence.
+     */
+    public double getLastSequenceMs() {
+        return lastSequenceMs;
+    }
+
+    /**
+     * Time between the last two sequence starts - one full driver collect-and-shoot cycle.
+     */
+    public double getLastDriverCycleMs() {
+        return lastDriverCycleMs;
+    }
+
+    public double getAverageSequenceMs() {
+        return completedCount == 0 ? 0.0 : totalSequenceMs / completedCount;
+    }
+
+    // ========== HELPERS ==========
+
+    private void enter(State next, long now) {
+        state = next;
+        stateStartNanos = now;
+    }
+
+    private void finish(long now) {
+        lastSequenceMs = (now - sequenceStartNanos) / 1e6;
+        totalSequenceMs += lastSequenceMs;
+        completedCount++;
+        RobotLog.ii(TAG, "sequence %.0f ms, driver cycle %.0f ms, %d balls",
+                lastSequenceMs, lastDriverCycleMs, ballsFed);
+        state = State.IDLE;
+    }
+
+    private void setShooterVelocity(double velocity) {
+        if (shooterLeft != null) shooterLeft.setVelocity(velocity);
+        if (shooterRight != null) shooterRight.setVelocity(velocity);
+    }
+
+    private void setFeed(double power) {
+        if (intakeFront != null) intakeFront.setPower(power);
+        if (intakeBack != null) intakeBack.setPower(power);
+    }
+
+    private void setDoor(boolean open) {
+        doorOpen = open;
+        if (trapDoor != null) trapDoor.setPosition(open ? TRAP_DOOR_OPEN : TRAP_DOOR_CLOSED);
+    }
+}
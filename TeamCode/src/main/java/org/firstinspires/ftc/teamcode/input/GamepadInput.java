@@ -0,0 +1,283 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Event-based gamepad input layer.
+ *
+ * Call update() once per loop. It copies the Gamepad state into primitive
+ * fields, works out which buttons changed, and runs the handlers registered
+ * for those changes:
+ *   onPress   - rising edge (button went down)
+ *   onRelease - falling edge (button went up)
+ *   onHold    - fires once when a button has been held for a given time
+ *   onChord   - two buttons down together, fires on the second button's press
+ *
+ * Handlers are registered during init (usually as lambdas) and stored in
+ * fixed arrays, so update() does not allocate. Because press handlers run
+ * only on the edge, an action like imu.resetYaw() runs once per press instead
+ * of every loop the button is held.
+ *
+ * A button change is only accepted once DEBOUNCE_MS has passed since the
+ * previous accepted change of that button. The triggers are treated as
+ * buttons using TRIGGER_THRESHOLD.
+ *
+ * For plain hold-to-run controls, use isDown() on the snapshot instead of a handler.
+ */
+
+package org.firstinspires.ftc.teamcode.input;
+
+import com.acmerobotics.dashboard.config.Config;
+import com.qualcomm.robotcore.hardware.Gamepad;
+
+@Config
+public class GamepadInput {
+
+    // ========== CONFIGURATION - FTC DASHBOARD ==========
+    public static double TRIGGER_THRESHOLD = 0.1;             // Trigger counts as pressed above this
+    public static int DEBOUNCE_MS = 20;                       // Ignore button changes faster than this
+
+    public enum Button {
+        A, B, X, Y,
+        DPAD_UP, DPAD_DOWN, DPAD_LEFT, DPAD_RIGHT,
+        LEFT_BUMPER, RIGHT_BUMPER,
+        LEFT_TRIGGER, RIGHT_TRIGGER,
+        BACK, START, GUIDE,
+        LEFT_STICK_BUTTON, RIGHT_STICK_BUTTON
+    }
+
+    private static final Button[] BUTTONS = Button.values();
+    private static final int BUTTON_COUNT = BUTTONS.length;
+    private static final int MAX_HANDLERS = 32;
+
+    // ========== SNAPSHOT (refreshed by update) ==========
+    public float leftStickX, leftStickY, rightStickX, rightStickY;
+    public float leftTrigger, rightTrigger;
+
+    private final boolean[] down = new boolean[BUTTON_COUNT];
+    private final boolean[] pressed = new boolean[BUTTON_COUNT];
+    private final boolean[] released = new boolean[BUTTON_COUNT];
+    private final boolean[] raw = new boolean[BUTTON_COUNT];
+    private final long[] changeNanos = new long[BUTTON_COUNT];
+    private long nowNanos = 0;
+
+    // ========== HANDLER TABLES ==========
+    private final int[] pressButtons = new int[MAX_HANDLERS];
+    private final Runnable[] pressHandlers = new Runnable[MAX_HANDLERS];
+    private int pressCount = 0;
+
+    private final int[] releaseButtons = new int[MAX_HANDLERS];
+    private final Runnable[] releaseHandlers = new Runnable[MAX_HANDLERS];
+    private int releaseCount = 0;
+
+    private final int[] holdButtons = new int[MAX_HANDLERS];
+    private final long[] holdNanos = new long[MAX_HANDLERS];
+    private final boolean[] holdFired = new boolean[MAX_HANDLERS];
+    private final Runnable[] holdHandlers = new Runnable[MAX_HANDLERS];
+    private int holdCount = 0;
+
+    private final int[] chordFirst = new int[MAX_HANDLERS];
+    private final int[] chordSecond = new int[MAX_HANDLERS];
+    private final Runnable[] chordHandlers = new Runnable[MAX_HANDLERS];
+    private int chordCount = 0;
+
+    // Buttons whose press edge was used by a chord this cycle
+    private final boolean[] consumed = new boolean[BUTTON_COUNT];
+
+    // ========== REGISTRATION (call during init) ==========
+
+    public void onPress(Button button, Runnable handler) {
+        checkCapacity(pressCount);
+        pressButtons[pressCount] = button.ordinal();
+        pressHandlers[pressCount++] = handler;
+    }
+
+    public void onRelease(Button button, Runnable handler) {
+        checkCapacity(releaseCount);
+        releaseButtons[releaseCount] = button.ordinal();
+        releaseHandlers[releaseCount++] = handler;
+    }
+
+    /**
+     * Runs the handler once per press, when the button has been held for holdMs.
+     */
+    public void onHold(Button button, int holdMs, Runnable handler) {
+        checkCapacity(holdCount);
+        holdButtons[holdCount] = button.ordinal();
+        holdNanos[holdCount] = holdMs * 1_000_000L;
+        holdHandlers[holdCount++] = handler;
+    }
+
+    /**
+     * Runs the handler when both buttons are down, on the press of whichever came second.
+     * That press is consumed, so press handlers for it do not also run.
+     */
+    public void onChord(Button first, Button second, Runnable handler) {
+        checkCapacity(chordCount);
+        chordFirst[chordCount] = first.ordinal();
+        chordSecond[chordCount] = second.ordinal();
+        chordHandlers[chordCount++] = handler;
+    }
+
+    private static void checkCapacity(int count) {
+        if (count >= MAX_HANDLERS) {
+            throw new IllegalStateException("GamepadInput supports at most " + MAX_HANDLERS + " handlers per type");
+        }
+    }
+
+    // ========== UPDATE ==========
+
+    /**
+     * Snapshots the gamepad and dispatches events. Call exactly once per loop.
+     *
+     * @param gamepad gamepad1 or gamepad2
+     */
+    public void update(Gamepad gamepad) {
+        nowNanos = System.nanoTime();
+
+        leftStickX = gamepad.left_stick_x;
+        leftStickY = gamepad.left_stick_y;
+        rightStickX = gamepad.right_stick_x;
+        rightStickY = gamepad.right_stick_y;
+        leftTrigger = gamepad.left_trigger;
+        rightTrigger = gamepad.right_trigger;
+
+        raw[Button.A.ordinal()] = gamepad.a;
+        raw[Button.B.ordinal()] = gamepad.b;
+        raw[Button.X.ordinal()] = gamepad.x;
+        raw[Button.Y.ordinal()] = gamepad.y;
+        raw[Button.DPAD_UP.ordinal()] = gamepad.dpad_up;
+        raw[Button.DPAD_DOWN.ordinal()] = gamepad.dpad_down;
+        raw[Button.DPAD_LEFT.ordinal()] = gamepad.dpad_left;
+        raw[Button.DPAD_RIGHT.ordinal()] = gamepad.dpad_right;
+        raw[Button.LEFT_BUMPER.ordinal()] = gamepad.left_bumper;
+        raw[Button.RIGHT_BUMPER.ordinal()] = gamepad.right_bumper;
+        raw[Button.LEFT_TRIGGER.ordinal()] = leftTrigger > TRIGGER_THRESHOLD;
+        raw[Button.RIGHT_TRIGGER.ordinal()] = rightTrigger > TRIGGER_THRESHOLD;
+        raw[Button.BACK.ordinal()] = gamepad.back;
+        raw[Button.START.ordinal()] = gamepad.start;
+        raw[Button.GUIDE.ordinal()] = gamepad.guide;
+        raw[Button.LEFT_STICK_BUTTON.ordinal()] = gamepad.left_stick_button;
+        raw[Button.RIGHT_STICK_BUTTON.ordinal()] = gamepad.right_stick_button;
+
+        process();
+    }
+
+    /**
+     * Feeds a recorded snapshot instead of a live Gamepad (used by replay).
+     * Runs the same edge detection and handlers as update().
+     *
+     * @param buttonMask Button states as returned by getButtonMask()
+     */
+    public void update(float leftX, float leftY, float rightX, float rightY,
+                       float leftTrig, float rightTrig, int buttonMask) {
+        nowNanos = System.nanoTime();
+
+        leftStickX = leftX;
+        leftStickY = leftY;
+        rightStickX = rightX;
+        rightStickY = rightY;
+        leftTrigger = leftTrig;
+        rightTrigger = rightTrig;
+
+        for (int i = 0; i < BUTTON_COUNT; i++) {
+            raw[i] = (buttonMask & (1 << i)) != 0;
+        }
+
+        process();
+    }
+
+    private void process() {
+        // Edge detection with debounce
+        long debounceNanos = DEBOUNCE_MS * 1_000_000L;
+        for (int i = 0; i < BUTTON_COUNT; i++) {
+            pressed[i] = false;
+            released[i] = false;
+            consumed[i] = false;
+            if (raw[i] != down[i] && nowNanos - changeNanos[i] >= debounceNanos) {
+                down[i] = raw[i];
+                changeNanos[i] = nowNanos;
+                if (raw[i]) {
+                    pressed[i] = true;
+                } else {
+                    released[i] = true;
+                }
+            }
+        }
+
+        dispatch();
+    }
+
+    private void dispatch() {
+        // Chords first so they can consume the press of their second button
+        for (int i = 0; i < chordCount; i++) {
+            int a = chordFirst[i];
+            int b = chordSecond[i];
+            if (down[a] && down[b] && (pressed[a] || pressed[b])) {
+                consumed[pressed[b] ? b : a] = true;
+                chordHandlers[i].run();
+            }
+        }
+
+        for (int i = 0; i < pressCount; i++) {
+            int button = pressButtons[i];
+            if (pressed[button] && !consumed[button]) {
+                pressHandlers[i].run();
+            }
+        }
+
+        for (int i = 0; i < releaseCount; i++) {
+            if (released[releaseButtons[i]]) {
+                releaseHandlers[i].run();
+            }
+        }
+
+        for (int i = 0; i < holdCount; i++) {
+            int button = holdButtons[i];
+            if (!down[button]) {
+                holdFired[i] = false;
+            } else if (!holdFired[i] && nowNanos - changeNanos[button] >= holdNanos[i]) {
+                holdFired[i] = true;
+                holdHandlers[i].run();
+            }
+        }
+    }
+
+    // ========== QUERIES (state from the last update) ==========
+
+    /**
+     * Debounced button states packed one bit per Button ordinal.
+     */
+    public int getButtonMask() {
+        int mask = 0;
+        for (int i = 0; i < BUTTON_COUNT; i++) {
+            if (down[i]) mask |= 1 << i;
+        }
+        return mask;
+    }
+
+    public boolean isDown(Button button) {
+        return down[button.ordinal()];
+    }
+
+    public boolean wasPressed(Button button) {
+        return pressed[button.ordinal()];
+    }
+
+    public boolean wasReleased(Button button) {
+        return released[button.ordinal()];
+    }
+
+    /**
+     * How long the button has been held, or 0 if it is up.
+     */
+    public double heldMillis(Button button) {
+        int i = button.ordinal();
+        return down[i] ? (nowNanos - changeNanos[i]) / 1e6 : 0.0;
+    }
+
+    /**
+     * True if any stick is outside the deadband - used to let the driver cancel automation.
+     */
+    public boolean sticksActive(double deadband) {
+        return Math.abs(leftStickX) > deadband || Math.abs(leftStickY) > deadband
+                || Math.abs(rightStickX) > deadband || Math.abs(rightStickY) > deadband;
+    }
+}
@@ -0,0 +1,181 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Records one frame per TeleOp cycle into a compact binary file.
+ *
+ * Each frame holds the driver's sticks and triggers, both gamepads' button
+ * masks, and the odometry pose. Every channel is stored as an integer delta
+ * from the previous frame (zigzag varint), so a typical frame is 12-16 bytes
+ * and a full 2:30 match fits in well under a megabyte.
+ *
+ *   Channel        Units                 Delta
+ *   time           ms since start        difference
+ *   sticks         value * 127           difference
+ *   triggers       value * 255           difference
+ *   button masks   GamepadInput bits     XOR with previous
+ *   x, y           0.01 in               difference
+ *   heading        0.01 deg              difference, wrapped to +/-180
+ *
+ * The buffer is preallocated, so record() does not allocate. When it fills,
+ * recording stops and isFull() reports it. save() is called once after the
+ * OpMode loop ends. Read files back with InputRecording.load().
+ */
+
+package org.firstinspires.ftc.teamcode.input;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+public class InputRecorder {
+
+    public static final int MAGIC = 0x50475243;                // "PGRC"
+    public static final int VERSION = 1;
+
+    // Channel order within a frame
+    static final int CH_TIME = 0;
+    static final int CH_LEFT_X = 1;
+    static final int CH_LEFT_Y = 2;
+    static final int CH_RIGHT_X = 3;
+    static final int CH_RIGHT_Y = 4;
+    static final int CH_LEFT_TRIGGER = 5;
+    static final int CH_RIGHT_TRIGGER = 6;
+    static final int CH_DRIVER_BUTTONS = 7;
+    static final int CH_OPERATOR_BUTTONS = 8;
+    static final int CH_X = 9;
+    static final int CH_Y = 10;
+    static final int CH_HEADING = 11;
+    static final int CHANNELS = 12;
+
+    static final double STICK_SCALE = 127.0;
+    static final double TRIGGER_SCALE = 255.0;
+    static final double POSITION_SCALE = 100.0;                // counts per inch
+    static final double HEADING_SCALE = 100.0;                 // counts per degree
+    static final int HALF_TURN = 18000;                        // 180 deg in heading counts
+
+    private static final int MAX_FRAME_BYTES = CHANNELS * 5;   // Worst case varint size
+    private static final int DEFAULT_CAPACITY = 1 << 20;       // 1 MB
+
+    private final byte[] buffer;
+    private int length = 0;
+    private int frameCount = 0;
+    private boolean full = false;
+
+    private final int[] previous = new int[CHANNELS];
+    private final int[] current = new int[CHANNELS];
+
+    public InputRecorder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public InputRecorder(int capacityBytes) {
+        buffer = new byte[capacityBytes];
+    }
+
+    /**
+     * Appends one frame. Call once per cycle after the gamepads and odometry are updated.
+     *
+     * @param timeMs     Milliseconds since the recording started
+     * @param driver     Driver snapshot (sticks, triggers, buttons)
+     * @param operator   Operator snapshot (buttons only), or null
+     * @param xIn        Odometry X in inches
+     * @param yIn        Odometry Y in inches
+     * @param headingRad Odometry heading in radians
+     */
+    public void record(long timeMs, GamepadInput driver, GamepadInput operator,
+                       double xIn, double yIn, double headingRad) {
+        if (full) return;
+        if (length + MAX_FRAME_BYTES > buffer.length) {
+            full = true;
+            return;
+        }
+
+        current[CH_TIME] = (int) timeMs;
+        current[CH_LEFT_X] = (int) Math.round(driver.leftStickX * STICK_SCALE);
+        current[CH_LEFT_Y] = (int) Math.round(driver.leftStickY * STICK_SCALE);
+        current[CH_RIGHT_X] = (int) Math.round(driver.rightStickX * STICK_SCALE);
+        current[CH_RIGHT_Y] = (int) Math.round(driver.rightStickY * STICK_SCALE);
+        current[CH_LEFT_TRIGGER] = (int) Math.round(driver.leftTrigger * TRIGGER_SCALE);
+        current[CH_RIGHT_TRIGGER] = (int) Math.round(driver.rightTrigger * TRIGGER_SCALE);
+        current[CH_DRIVER_BUTTONS] = driver.getButtonMask();
+        current[CH_OPERATOR_BUTTONS] = operator != null ? operator.getButtonMask() : 0;
+        current[CH_X] = (int) Math.round(xIn * POSITION_SCALE);
+        current[CH_Y] = (int) Math.round(yIn * POSITION_SCALE);
+        current[CH_HEADING] = (int) Math.round(Math.toDegrees(headingRad) * HEADING_SCALE);
+
+        for (int ch = 0; ch < CHANNELS; ch++) {
+            int delta;
+            if (ch == CH_DRIVER_BUTTONS || ch == CH_OPERATOR_BUTTONS) {
+                delta = current[ch] ^ previous[ch];
+            } else if (ch == CH_HEADING) {
+                delta = wrapHeading(current[ch] - previous[ch]);
+            } else {
+                delta = current[ch] - previous[ch];
+            }
+            writeVarint(zigzag(delta));
+            previous[ch] = current[ch];
+        }
+        frameCount++;
+    }
+
+    /**
+     * Writes the header and all recorded frames to a file.
+     */
+    public void save(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeInt(frameCount);
+            out.writeInt(length);
+            out.write(buffer, 0, length);
+        }
+    }
+
+    /**
+     * Discards all frames so the recorder can be reused.
+     */
+    public void reset() {
+        length = 0;
+        frameCount = 0;
+        full = false;
+        for (int ch = 0; ch < CHANNELS; ch++) previous[ch] = 0;
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    public int getByteCount() {
+        return length;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    // ========== ENCODING ==========
+
+    static int wrapHeading(int delta) {
+        while (delta > HALF_TURN) delta -= 2 * HALF_TURN;
+        while (delta <= -HALF_TURN) delta += 2 * HALF_TURN;
+        return delta;
+    }
+
+    static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private void writeVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[length++] = (byte) value;
+    }
+}
@@ -0,0 +1,122 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * A recording written by InputRecorder, decoded into primitive arrays.
+ *
+ * Decoding happens once in init; replay then indexes the arrays directly.
+ * Heading is returned unwrapped (continuous across +/-180 degrees) so it can
+ * be interpolated between frames without a jump.
+ */
+
+package org.firstinspires.ftc.teamcode.input;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+public class InputRecording {
+
+    public final int frameCount;
+    public final int[] timeMs;
+    public final float[] leftStickX, leftStickY, rightStickX, rightStickY;
+    public final float[] leftTrigger, rightTrigger;
+    public final int[] driverButtons, operatorButtons;
+    public final double[] x, y, heading;                       // inches, inches, radians
+
+    private InputRecording(int frameCount) {
+        this.frameCount = frameCount;
+        timeMs = new int[frameCount];
+        leftStickX = new float[frameCount];
+        leftStickY = new float[frameCount];
+        rightStickX = new float[frameCount];
+        rightStickY = new float[frameCount];
+        leftTrigger = new float[frameCount];
+        rightTrigger = new float[frameCount];
+        driverButtons = new int[frameCount];
+        operatorButtons = new int[frameCount];
+        x = new double[frameCount];
+        y = new double[frameCount];
+        heading = new double[frameCount];
+    }
+
+    /**
+     * Reads and decodes a recording file.
+     *
+     * @throws IOException if the file is missing, truncated or not a recording
+     */
+    public static InputRecording load(File file) throws IOException {
+        byte[] data;
+        int frames;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != InputRecorder.MAGIC) {
+                throw new IOException(file.getName() + " is not an input recording");
+            }
+            int version = in.readShort();
+            if (version != InputRecorder.VERSION) {
+                throw new IOException("Unsupported recording version " + version);
+            }
+            frames = in.readInt();
+            data = new byte[in.readInt()];
+            in.readFully(data);
+        }
+
+        InputRecording recording = new InputRecording(frames);
+        int[] value = new int[InputRecorder.CHANNELS];
+        int pos = 0;
+        for (int i = 0; i < frames; i++) {
+            for (int ch = 0; ch < InputRecorder.CHANNELS; ch++) {
+                // Inline varint read
+                int raw = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    if (pos >= data.length) throw new IOException("Recording truncated at frame " + i);
+                    b = data[pos++];
+                    raw |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while ((b & 0x80) != 0);
+
+                int delta = InputRecorder.unzigzag(raw);
+                if (ch == InputRecorder.CH_DRIVER_BUTTONS || ch == InputRecorder.CH_OPERATOR_BUTTONS) {
+                    value[ch] ^= delta;
+                } else {
+                    value[ch] += delta;
+                }
+            }
+            recording.store(i, value);
+        }
+        return recording;
+    }
+
+    private void store(int i, int[] value) {
+        timeMs[i] = value[InputRecorder.CH_TIME];
+        leftStickX[i] = (float) (value[InputRecorder.CH_LEFT_X] / InputRecorder.STICK_SCALE);
+        leftStickY[i] = (float) (value[InputRecorder.CH_LEFT_Y] / InputRecorder.STICK_SCALE);
+        rightStickX[i] = (float) (value[InputRecorder.CH_RIGHT_X] / InputRecorder.STICK_SCALE);
+        rightStickY[i] = (float) (value[InputRecorder.CH_RIGHT_Y] / InputRecorder.STICK_SCALE);
+        leftTrigger[i] = (float) (value[InputRecorder.CH_LEFT_TRIGGER] / InputRecorder.TRIGGER_SCALE);
+        rightTrigger[i] = (float) (value[InputRecorder.CH_RIGHT_TRIGGER] / InputRecorder.TRIGGER_SCALE);
+        driverButtons[i] = value[InputRecorder.CH_DRIVER_BUTTONS];
+        operatorButtons[i] = value[InputRecorder.CH_OPERATOR_BUTTONS];
+        x[i] = value[InputRecorder.CH_X] / InputRecorder.POSITION_SCALE;
+        y[i] = value[InputRecorder.CH_Y] / InputRecorder.POSITION_SCALE;
+        heading[i] = Math.toRadians(value[InputRecorder.CH_HEADING] / InputRecorder.HEADING_SCALE);
+    }
+
+    /**
+     * Last frame whose time is at or before timeMs, searching forward from a hint.
+     * Replay passes the previous result as the hint, so each call is O(1) amortized.
+     */
+    public int frameAt(long timeMs, int hint) {
+        int i = Math.max(0, Math.min(hint, frameCount - 1));
+        while (i > 0 && this.timeMs[i] > timeMs) i--;
+        while (i + 1 < frameCount && this.timeMs[i + 1] <= timeMs) i++;
+        return i;
+    }
+
+    public int getDurationMs() {
+        return frameCount > 0 ? timeMs[frameCount - 1] : 0;
+    }
+}
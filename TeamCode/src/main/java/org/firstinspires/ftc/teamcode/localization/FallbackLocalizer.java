@@ -0,0 +1,202 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Runs a sensor localizer with wheel odometry as a backup.
+ *
+ * Both are updated every cycle. While the primary is healthy its pose is
+ * reported. When it faults, the backup is set to the last good pose and
+ * reported instead, so the pose carries on through the fault. Once the
+ * primary has been healthy for RECOVER_CYCLES in a row it is set to the
+ * backup's pose and takes over again.
+ *
+ * Sensors report not-ready until their first sample (Pinpoint's NOT_READY),
+ * so startup is a warm-up rather than a fault: the backup's pose is reported
+ * until the primary first turns healthy, then the primary takes over at
+ * once. Only a primary still not ready after WARMUP_MS counts as a fault.
+ *
+ * On the cycle the primary faults, its reading is not trusted, so the motion
+ * deltas come from the backup, which was tracking throughout. PoseEstimator
+ * never sees the switch as a jump.
+ */
+
+package org.firstinspires.ftc.teamcode.localization;
+
+import com.acmerobotics.dashboard.config.Config;
+import com.qualcomm.robotcore.util.RobotLog;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+@Config
+public class FallbackLocalizer implements Localizer {
+
+    private static final String TAG = "FallbackLocalizer";
+
+    // ========== RECOVERY - FTC DASHBOARD ==========
+    public static int RECOVER_CYCLES = 25;                    // Healthy cycles before trusting the sensor again
+    public static int WARMUP_MS = 1000;                       // Startup time the sensor may take to become ready
+
+    private final Localizer primary;
+    private final Localizer backup;
+    private final String fallbackName;
+
+    private Localizer source;                                 // Localizer whose pose is reported
+    private Localizer deltaSource;                            // Localizer whose motion is reported this cycle
+    private double x, y, heading;
+    private int healthyCycles = 0;
+    private int fallbackCount = 0;
+    private boolean warmingUp = true;                         // Primary not healthy yet since startup
+    private long startNanos = 0;
+
+    public FallbackLocalizer(Localizer primary, Localizer backup) {
+        this.primary = primary;
+        this.backup = backup;
+        source = backup;                                      // Until the primary warms up
+        deltaSource = backup;
+        fallbackName = primary.getName() + " (fallback: " + backup.getName() + ")";
+    }
+
+    @Override
+    public void update(double imuHeadingRad) {
+        long now = System.nanoTime();
+        if (startNanos == 0) startNanos = now;
+        primary.update(imuHeadingRad);
+        backup.update(imuHeadingRad);
+        deltaSource = source;
+
+        if (warmingUp) {
+            if (primary.isHealthy()) {
+                // First good sample - hand over without waiting RECOVER_CYCLES
+                primary.setPose(backup.getX(), backup.getY(), backup.getHeading());
+                source = primary;
+                warmingUp = false;
+                RobotLog.ii(TAG, "%s ready after %.0f ms", primary.getName(), (now - startNanos) / 1e6);
+            } else if (now - startNanos > WARMUP_MS * 1_000_000L) {
+                warmingUp = false;
+                fallbackCount++;
+                RobotLog.ww(TAG, "%s not ready after %d ms - using %s", primary.getName(), WARMUP_MS,
+                        backup.getName());
+            }
+        } else if (source == backup) {
+            healthyCycles = primary.isHealthy() ? healthyCycles + 1 : 0;
+            if (healthyCycles >= RECOVER_CYCLES) {
+                primary.setPose(backup.getX(), backup.getY(), backup.getHeading());
+                source = primary;
+                RobotLog.ii(TAG, "%s recovered after %d cycles", primary.getName(), healthyCycles);
+            }
+        } else if (!primary.isHealthy()) {
+            // Continue from the last pose reported before the fault
+            backup.setPose(x, y, heading);
+            source = backup;
+            deltaSource = backup;
+            healthyCycles = 0;
+            fallbackCount++;
+            RobotLog.ww(TAG, "%s faulted - using %s", primary.getName(), backup.getName());
+        }
+
+        x = source.getX();
+        y = source.getY();
+        heading = source.getHeading();
+    }
+
+    @Override
+    public boolean isHealthy() {
+        return source.isHealthy();
+    }
+
+    @Override
+    public void setPose(double xIn, double yIn, double headingRad) {
+        primary.setPose(xIn, yIn, headingRad);
+        backup.setPose(xIn, yIn, headingRad);
+        x = source.getX();
+        y = source.getY();
+        heading = source.getHeading();
+    }
+
+    @Override
+    public double getX() {
+        return x;
+    }
+
+    @Override
+    public double getY() {
+        return y;
+    }
+
+    @Override
+    public double getHeading() {
+        return heading;
+    }
+
+    @Override
+    public double getXVelocity() {
+        return source.getXVelocity();
+    }
+
+    @Override
+    public double getYVelocity() {
+        return source.getYVelocity();
+    }
+
+    @Override
+    public double getHeadingVelocity() {
+        return source.getHeadingVelocity();
+    }
+
+    @Override
+    public double getForwardDelta() {
+        return deltaSource.getForwardDelta();
+    }
+
+    @Override
+    public double getLeftDelta() {
+        return deltaSource.getLeftDelta();
+    }
+
+    @Override
+    public double getHeadingDelta() {
+        return deltaSource.getHeadingDelta();
+    }
+
+    @Override
+    public long getTimestampNanos() {
+        return deltaSource.getTimestampNanos();
+    }
+
+    @Override
+    public String getName() {
+        return source == primary ? primary.getName() : fallbackName;
+    }
+
+    /**
+     * Read cost of the primary sensor (the backup's is reported separately in telemetry).
+     */
+    @Override
+    public double getReadPercentileMicros(double percentile) {
+        return primary.getReadPercentileMicros(percentile);
+    }
+
+    public boolean isUsingBackup() {
+        return source == backup;
+    }
+
+    public boolean isWarmingUp() {
+        return warmingUp;
+    }
+
+    public int getFallbackCount() {
+        return fallbackCount;
+    }
+
+    @Override
+    public void addTelemetry(Telemetry telemetry) {
+        primary.addTelemetry(telemetry);
+        telemetry.addData("Fallback", "%s, %d faults, %s read p50 %.0f us",
+                warmingUp ? "warming up" : source == primary ? "standby" : "ACTIVE", fallbackCount,
+                backup.getName(), backup.getReadPercentileMicros(50));
+    }
+
+    @Override
+    public void close() {
+        primary.close();
+        backup.close();
+    }
+}
@@ -0,0 +1,100 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * A source of robot pose that the control loop polls once per cycle.
+ *
+ * Implementations: WheelLocalizer (drive motor encoders + IMU),
+ * PinpointLocalizer (goBILDA Pinpoint dead wheels, read on its own thread),
+ * OctoQuadLocalizer (OctoQuad onboard localizer, one block read) and
+ * OtosLocalizer (SparkFun optical sensor). Pick one with Localizers.create()
+ * so OpModes don't care which is fitted; sensor localizers come wrapped in a
+ * FallbackLocalizer that switches to the wheels while the sensor is faulted.
+ *
+ * update() must never stall the loop: a localizer either reads its sensor
+ * in one short transaction or keeps the read on its own thread and returns
+ * its latest sample. Besides the field pose and velocity, every localizer reports the
+ * robot-frame motion since its previous update, which is what PoseEstimator
+ * predicts from.
+ *
+ * Field frame: inches, +X = robot forward at heading 0, +Y = robot left,
+ * heading in radians, counter-clockwise positive.
+ */
+
+package org.firstinspires.ftc.teamcode.localization;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+public interface Localizer {
+
+    /**
+     * Takes this cycle's sample. Call once per loop.
+     *
+     * @param imuHeadingRad IMU yaw the OpMode read this cycle (radians); localizers
+     *                      with their own heading sensor ignore it
+     */
+    void update(double imuHeadingRad);
+
+    /**
+     * false while the sensor reports a fault and its pose should not be trusted.
+     */
+    boolean isHealthy();
+
+    /**
+     * Overrides the current pose, e.g. with the known starting position.
+     */
+    void setPose(double x, double y, double headingRad);
+
+    double getX();
+
+    double getY();
+
+    double getHeading();
+
+    double getXVelocity();
+
+    double getYVelocity();
+
+    double getHeadingVelocity();
+
+    /**
+     * Robot-relative forward motion since the previous update (inches).
+     */
+    double getForwardDelta();
+
+    /**
+     * Robot-relative leftward motion since the previous update (inches).
+     */
+    double getLeftDelta();
+
+    /**
+     * Heading change since the previous update (radians, counter-clockwise positive).
+     */
+    double getHeadingDelta();
+
+    /**
+     * System.nanoTime() when the current sample was taken from the sensor.
+     */
+    long getTimestampNanos();
+
+    /**
+     * Short name for telemetry, e.g. "wheel" or "pinpoint".
+     */
+    String getName();
+
+    /**
+     * Time update() spends reading the sensor, as a percentile over the OpMode
+     * so far (microseconds). For comparing localizers on the same test.
+     *
+     * @param percentile Percentile between 0 and 100
+     */
+    double getReadPercentileMicros(double percentile);
+
+    /**
+     * Adds sensor diagnostics (status, read time) to telemetry.
+     */
+    void addTelemetry(Telemetry telemetry);
+
+    /**
+     * Releases threads or devices. Call when the OpMode ends.
+     */
+    void close();
+}
@@ -0,0 +1,57 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Picks the Localizer implementation for an OpMode.
+ *
+ * OpModes expose a Type as a Dashboard setting and call create() during
+ * init. If the selected sensor is not in the robot configuration the drive
+ * encoders are used instead, so a missing device never stops the OpMode.
+ * A sensor that is present is wrapped in a FallbackLocalizer, so the drive
+ * encoders also take over while it reports a fault.
+ */
+
+package org.firstinspires.ftc.teamcode.localization;
+
+import com.qualcomm.robotcore.hardware.HardwareMap;
+import com.qualcomm.robotcore.util.RobotLog;
+
+import org.firstinspires.ftc.teamcode.control.MecanumDriveBase;
+
+public final class Localizers {
+
+    private static final String TAG = "Localizers";
+
+    public enum Type {
+        WHEEL,                                                // Drive motor encoders + IMU
+        PINPOINT,                                             // goBILDA Pinpoint dead wheels
+        OCTOQUAD,                                             // OctoQuad onboard dead-wheel localizer
+        OTOS                                                  // SparkFun optical tracking sensor
+    }
+
+    private Localizers() {
+    }
+
+    /**
+     * @param drive Drive base whose encoders back the wheel localizer (also the fallback)
+     */
+    public static Localizer create(Type type, HardwareMap hardwareMap, MecanumDriveBase drive) {
+        Localizer localizer = null;
+        switch (type) {
+            case PINPOINT:
+                localizer = PinpointLocalizer.create(hardwareMap);
+                break;
+            case OCTOQUAD:
+                localizer = OctoQuadLocalizer.create(hardwareMap);
+                break;
+            case OTOS:
+                localizer = OtosLocalizer.create(hardwareMap);
+                break;
+            case WHEEL:
+                break;
+        }
+        if (localizer != null) {
+            return new FallbackLocalizer(localizer, new WheelLocalizer(drive));
+        }
+        if (type != Type.WHEEL) RobotLog.ww(TAG, "%s unavailable - using wheel odometry", type);
+        return new WheelLocalizer(drive);
+    }
+}
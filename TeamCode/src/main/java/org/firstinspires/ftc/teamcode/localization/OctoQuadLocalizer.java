@@ -0,0 +1,270 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Localizer on the OctoQuad's onboard dead-wheel localizer, configured as
+ * in the SDK's SensorOctoQuadLocalization sample.
+ *
+ * The OctoQuad integrates the two odometry pods and its own IMU at kHz
+ * rates on the coprocessor. update() fetches the finished pose and velocity
+ * with one readLocalizerData() call, which is a single I2C block read, and
+ * times it: read latency percentiles are shown on telemetry so the cost can
+ * be compared with the other localizers. A packet with a bad CRC (ESD on
+ * the I2C wires) is discarded and the previous pose kept.
+ *
+ * Device: I2C port, configured as "OctoQuad" named "octoquad". Pods must
+ * count up when the robot is pushed forward (X) and left (Y); flip them
+ * with X_POD_REVERSED / Y_POD_REVERSED. Configuration is applied at reset,
+ * so changes made on Dashboard take effect on the next INIT.
+ */
+
+package org.firstinspires.ftc.teamcode.localization;
+
+import com.acmerobotics.dashboard.config.Config;
+import com.qualcomm.hardware.digitalchickenlabs.OctoQuad;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+import com.qualcomm.robotcore.util.RobotLog;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.teamcode.util.LatencyHistogram;
+
+@Config
+public class OctoQuadLocalizer implements Localizer {
+
+    private static final String TAG = "OctoQuadLocalizer";
+    private static final double MM_PER_INCH = 25.4;
+
+    // ========== DEVICE - FTC DASHBOARD (read when the OpMode initializes) ==========
+    public static String DEVICE_NAME = "octoquad";
+    public static int X_POD_PORT = 0;                         // Encoder port of the forward pod
+    public static int Y_POD_PORT = 1;                         // Encoder port of the strafe pod
+    public static boolean X_POD_REVERSED = false;
+    public static boolean Y_POD_REVERSED = true;
+    public static double X_TICKS_PER_MM = 19.89;              // goBILDA 4-Bar pod
+    public static double Y_TICKS_PER_MM = 19.89;
+    public static double TCP_OFFSET_X_MM = 147.0;             // Tracking point offsets (OctoQuad QuickStart Guide)
+    public static double TCP_OFFSET_Y_MM = -158.0;
+    public static double IMU_HEADING_SCALAR = 1.0;            // Tune so 10 turns read exactly 3600 degrees
+    public static int VELOCITY_INTERVAL_MS = 25;              // Velocity averaging window on the OctoQuad
+
+    private final OctoQuad octoQuad;
+    private final OctoQuad.LocalizerDataBlock data = new OctoQuad.LocalizerDataBlock();
+    private final LatencyHistogram readTimes = new LatencyHistogram();
+
+    private double x, y, heading;
+    private double xVelocity, yVelocity, headingVelocity;
+    private double forwardDelta, leftDelta, headingDelta;
+    private long timestampNanos = 0;
+    private long lastReadNanos = 0;
+    private boolean haveSample = false;
+    private boolean posePending = false;                      // setPose() before calibration finished
+    private int pendingX, pendingY;
+    private float pendingHeading;
+    private int badPackets = 0;
+    private OctoQuad.LocalizerStatus status = OctoQuad.LocalizerStatus.NOT_INITIALIZED;
+
+    private OctoQuadLocalizer(OctoQuad octoQuad) {
+        this.octoQuad = octoQuad;
+    }
+
+    /**
+     * Applies the pod configuration and starts IMU calibration (the robot must
+     * be still). Does not wait: poses are reported once the status is RUNNING.
+     *
+     * @return null if no device named DEVICE_NAME is configured
+     */
+    public static OctoQuadLocalizer create(HardwareMap hardwareMap) {
+        OctoQuad octoQuad = hardwareMap.tryGet(OctoQuad.class, DEVICE_NAME);
+        if (octoQuad == null) {
+            RobotLog.ww(TAG, "No OctoQuad \"%s\" configured", DEVICE_NAME);
+            return null;
+        }
+
+        octoQuad.setSingleEncoderDirection(X_POD_PORT,
+                X_POD_REVERSED ? OctoQuad.EncoderDirection.REVERSE : OctoQuad.EncoderDirection.FORWARD);
+        octoQuad.setSingleEncoderDirection(Y_POD_PORT,
+                Y_POD_REVERSED ? OctoQuad.EncoderDirection.REVERSE : OctoQuad.EncoderDirection.FORWARD);
+        octoQuad.setLocalizerPortX(X_POD_PORT);
+        octoQuad.setLocalizerPortY(Y_POD_PORT);
+        octoQuad.setLocalizerCountsPerMM_X((float) X_TICKS_PER_MM);
+        octoQuad.setLocalizerCountsPerMM_Y((float) Y_TICKS_PER_MM);
+        octoQuad.setLocalizerTcpOffsetMM_X((float) TCP_OFFSET_X_MM);
+        octoQuad.setLocalizerTcpOffsetMM_Y((float) TCP_OFFSET_Y_MM);
+        octoQuad.setLocalizerImuHeadingScalar((float) IMU_HEADING_SCALAR);
+        octoQuad.setLocalizerVelocityIntervalMS(VELOCITY_INTERVAL_MS);
+        octoQuad.setI2cRecoveryMode(OctoQuad.I2cRecoveryMode.MODE_1_PERIPH_RST_ON_FRAME_ERR);
+
+        // Applies the settings above; IMU calibration continues in the background
+        octoQuad.resetLocalizerAndCalibrateIMU();
+        return new OctoQuadLocalizer(octoQuad);
+    }
+
+    /**
+     * Reads the pose and velocity block in one I2C transaction. The IMU heading is unused.
+     */
+    @Override
+    public void update(double imuHeadingRad) {
+        forwardDelta = 0.0;
+        leftDelta = 0.0;
+        headingDelta = 0.0;
+
+        long start = System.nanoTime();
+        octoQuad.readLocalizerData(data);
+        long end = System.nanoTime();
+        lastReadNanos = end - start;
+        readTimes.record(lastReadNanos);
+
+        if (!data.crcOk) {
+            badPackets++;
+            return;
+        }
+        status = data.localizerStatus;
+        if (status != OctoQuad.LocalizerStatus.RUNNING) return;
+        if (posePending) {
+            // Calibration resets the pose, so a pose set during it is applied now
+            octoQuad.setLocalizerPose(pendingX, pendingY, pendingHeading);
+            posePending = false;
+            return;
+        }
+
+        double sampleX = data.posX_mm / MM_PER_INCH;
+        double sampleY = data.posY_mm / MM_PER_INCH;
+        double sampleHeading = data.heading_rad;
+
+        if (haveSample) {
+            // Field motion since the last read, rotated back into the robot frame at mid-heading
+            headingDelta = AngleUnit.normalizeRadians(sampleHeading - heading);
+            double midHeading = heading + headingDelta / 2.0;
+            double cos = Math.cos(midHeading);
+            double sin = Math.sin(midHeading);
+            double dx = sampleX - x;
+            double dy = sampleY - y;
+            forwardDelta = dx * cos + dy * sin;
+            leftDelta = -dx * sin + dy * cos;
+        }
+        haveSample = true;
+
+        x = sampleX;
+        y = sampleY;
+        heading = sampleHeading;
+        xVelocity = data.velX_mmS / MM_PER_INCH;
+        yVelocity = data.velY_mmS / MM_PER_INCH;
+        headingVelocity = data.velHeading_radS;
+        timestampNanos = start + (end - start) / 2;
+    }
+
+    /**
+     * Teleports the OctoQuad's pose. It stores whole millimetres, so the
+     * position is rounded to about 0.04 in. While the IMU is still calibrating
+     * the pose is held and sent once the localizer is running.
+     */
+    @Override
+    public void setPose(double xIn, double yIn, double headingRad) {
+        pendingX = (int) Math.round(xIn * MM_PER_INCH);
+        pendingY = (int) Math.round(yIn * MM_PER_INCH);
+        pendingHeading = (float) AngleUnit.normalizeRadians(headingRad);
+        if (status == OctoQuad.LocalizerStatus.RUNNING) {
+            octoQuad.setLocalizerPose(pendingX, pendingY, pendingHeading);
+        } else {
+            posePending = true;
+        }
+        x = xIn;
+        y = yIn;
+        heading = AngleUnit.normalizeRadians(headingRad);
+        haveSample = false;
+    }
+
+    @Override
+    public boolean isHealthy() {
+        return status == OctoQuad.LocalizerStatus.RUNNING;
+    }
+
+    @Override
+    public double getX() {
+        return x;
+    }
+
+    @Override
+    public double getY() {
+        return y;
+    }
+
+    @Override
+    public double getHeading() {
+        return heading;
+    }
+
+    @Override
+    public double getXVelocity() {
+        return xVelocity;
+    }
+
+    @Override
+    public double getYVelocity() {
+        return yVelocity;
+    }
+
+    @Override
+    public double getHeadingVelocity() {
+        return headingVelocity;
+    }
+
+    @Override
+    public double getForwardDelta() {
+        return forwardDelta;
+    }
+
+    @Override
+    public double getLeftDelta() {
+        return leftDelta;
+    }
+
+    @Override
+    public double getHeadingDelta() {
+        return headingDelta;
+    }
+
+    @Override
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+
+    @Override
+    public String getName() {
+        return "octoquad";
+    }
+
+    // ========== DIAGNOSTICS ==========
+
+    /**
+     * Duration of the last readLocalizerData() call (microseconds).
+     */
+    public double getReadMicros() {
+        return lastReadNanos / 1e3;
+    }
+
+    @Override
+    public double getReadPercentileMicros(double percentile) {
+        return readTimes.percentile(percentile) / 1e3;
+    }
+
+    /**
+     * Packets discarded for a bad CRC.
+     */
+    public int getBadPacketCount() {
+        return badPackets;
+    }
+
+    public OctoQuad.LocalizerStatus getStatus() {
+        return status;
+    }
+
+    @Override
+    public void addTelemetry(Telemetry telemetry) {
+        telemetry.addData("OctoQuad", "%s, read p50 %.0f us p99 %.0f us, %d bad CRC", status,
+                getReadPercentileMicros(50), getReadPercentileMicros(99), badPackets);
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,285 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Localizer on the SparkFun Optical Tracking Odometry Sensor (OTOS),
+ * configured as in the SDK's SensorSparkFunOTOS sample.
+ *
+ * Each update() makes two short I2C reads: getPosVelAcc() (one burst for
+ * pose, velocity and acceleration) and getStatus(). Both are timed into a
+ * LatencyHistogram so read cost can be compared with the other localizers.
+ * isHealthy() goes false while the sensor flags a tracking fault (lifted or
+ * tilted, poor surface, chip error); Localizers wraps this localizer in a
+ * FallbackLocalizer so wheel odometry carries the pose through those.
+ *
+ * Linear and angular scalars come from the "Penguinauts: OTOS Calibration"
+ * OpMode, saved to /sdcard/FIRST/penguinauts/calibration/otos.properties and
+ * applied at every startup. Without that file the Dashboard values are used.
+ *
+ * Device: I2C port, configured as "SparkFun OTOS" named "sensor_otos".
+ */
+
+package org.firstinspires.ftc.teamcode.localization;
+
+import com.acmerobotics.dashboard.config.Config;
+import com.qualcomm.hardware.sparkfun.SparkFunOTOS;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+import com.qualcomm.robotcore.util.RobotLog;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.DistanceUnit;
+import org.firstinspires.ftc.teamcode.util.LatencyHistogram;
+import org.firstinspires.ftc.teamcode.util.TeamStorage;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+@Config
+public class OtosLocalizer implements Localizer {
+
+    private static final String TAG = "OtosLocalizer";
+
+    // ========== DEVICE - FTC DASHBOARD (read when the OpMode initializes) ==========
+    public static String DEVICE_NAME = "sensor_otos";
+    public static double OFFSET_X = 0.0;                      // Sensor position on the robot (inches, OTOS axes)
+    public static double OFFSET_Y = 0.0;
+    public static double OFFSET_HEADING_DEG = 0.0;            // Mounting rotation (degrees)
+    public static double LINEAR_SCALAR = 1.0;                 // Used only when no calibration file exists
+    public static double ANGULAR_SCALAR = 1.0;
+
+    // ========== CALIBRATION FILE ==========
+    public static final double MIN_SCALAR = 0.872;            // Range the sensor accepts
+    public static final double MAX_SCALAR = 1.127;
+    private static final String CALIBRATION_CATEGORY = "calibration";
+    private static final String CALIBRATION_FILE = "otos.properties";
+    private static final String LINEAR_KEY = "linearScalar";
+    private static final String ANGULAR_KEY = "angularScalar";
+
+    private final SparkFunOTOS otos;
+    private final SparkFunOTOS.Pose2D position = new SparkFunOTOS.Pose2D();
+    private final SparkFunOTOS.Pose2D velocity = new SparkFunOTOS.Pose2D();
+    private final SparkFunOTOS.Pose2D acceleration = new SparkFunOTOS.Pose2D();
+    private final LatencyHistogram readTimes = new LatencyHistogram();
+    private final double linearScalar;
+    private final double angularScalar;
+
+    private double x, y, heading;
+    private double xVelocity, yVelocity, headingVelocity;
+    private double forwardDelta, leftDelta, headingDelta;
+    private long timestampNanos = 0;
+    private boolean haveSample = false;
+    private boolean healthy = true;
+    private int faultCount = 0;
+    private String lastFault = "none";
+
+    private OtosLocalizer(SparkFunOTOS otos, double linearScalar, double angularScalar) {
+        this.otos = otos;
+        this.linearScalar = linearScalar;
+        this.angularScalar = angularScalar;
+    }
+
+    /**
+     * Configures the OTOS with the saved scalars, calibrates its IMU (the robot
+     * must be still, about 0.6 s) and resets tracking to the origin.
+     *
+     * @return null if no device named DEVICE_NAME is configured
+     */
+    public static OtosLocalizer create(HardwareMap hardwareMap) {
+        SparkFunOTOS otos = hardwareMap.tryGet(SparkFunOTOS.class, DEVICE_NAME);
+        if (otos == null) {
+            RobotLog.ww(TAG, "No OTOS \"%s\" configured", DEVICE_NAME);
+            return null;
+        }
+        double[] scalars = loadCalibration();
+        configure(otos, scalars[0], scalars[1]);
+        otos.calibrateImu();
+        otos.resetTracking();
+        return new OtosLocalizer(otos, scalars[0], scalars[1]);
+    }
+
+    /**
+     * Units (inches, radians), mounting offset and scalars. None of these survive
+     * a power cycle of the sensor, so this runs every INIT.
+     */
+    public static void configure(SparkFunOTOS otos, double linearScalar, double angularScalar) {
+        otos.setLinearUnit(DistanceUnit.INCH);
+        otos.setAngularUnit(AngleUnit.RADIANS);
+        otos.setOffset(new SparkFunOTOS.Pose2D(OFFSET_X, OFFSET_Y, Math.toRadians(OFFSET_HEADING_DEG)));
+        otos.setLinearScalar(linearScalar);
+        otos.setAngularScalar(angularScalar);
+    }
+
+    // ========== CALIBRATION FILE ==========
+
+    /**
+     * @return {linear, angular} scalars from the calibration file, or the Dashboard values
+     */
+    public static double[] loadCalibration() {
+        double[] scalars = {LINEAR_SCALAR, ANGULAR_SCALAR};
+        File file = TeamStorage.file(CALIBRATION_CATEGORY, CALIBRATION_FILE);
+        if (!file.isFile()) return scalars;
+
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+            scalars[0] = clampScalar(Double.parseDouble(properties.getProperty(LINEAR_KEY, "1.0")));
+            scalars[1] = clampScalar(Double.parseDouble(properties.getProperty(ANGULAR_KEY, "1.0")));
+        } catch (IOException | NumberFormatException e) {
+            RobotLog.ee(TAG, e, "Bad calibration file %s - using Dashboard scalars", file.getAbsolutePath());
+            scalars[0] = LINEAR_SCALAR;
+            scalars[1] = ANGULAR_SCALAR;
+        }
+        return scalars;
+    }
+
+    public static File saveCalibration(double linearScalar, double angularScalar) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(LINEAR_KEY, String.valueOf(clampScalar(linearScalar)));
+        properties.setProperty(ANGULAR_KEY, String.valueOf(clampScalar(angularScalar)));
+        File file = TeamStorage.file(CALIBRATION_CATEGORY, CALIBRATION_FILE);
+        try (OutputStream out = new FileOutputStream(file)) {
+            properties.store(out, "SparkFun OTOS scalars - written by Penguinauts: OTOS Calibration");
+        }
+        return file;
+    }
+
+    public static double clampScalar(double scalar) {
+        return Math.max(MIN_SCALAR, Math.min(MAX_SCALAR, scalar));
+    }
+
+    // ========== LOCALIZER ==========
+
+    /**
+     * Reads pose, velocity and status. The IMU heading is unused.
+     */
+    @Override
+    public void update(double imuHeadingRad) {
+        forwardDelta = 0.0;
+        leftDelta = 0.0;
+        headingDelta = 0.0;
+
+        long start = System.nanoTime();
+        otos.getPosVelAcc(position, velocity, acceleration);
+        long read = System.nanoTime();
+        SparkFunOTOS.Status status = otos.getStatus();
+        long end = System.nanoTime();
+        readTimes.record(end - start);
+
+        healthy = !(status.errorLsm || status.errorPaa || status.warnOpticalTracking || status.warnTiltAngle);
+        if (!healthy) {
+            faultCount++;
+            lastFault = status.errorLsm ? "IMU error" : status.errorPaa ? "optical chip error"
+                    : status.warnOpticalTracking ? "optical tracking" : "tilt";
+            return;
+        }
+
+        if (haveSample) {
+            // Field motion since the last read, rotated back into the robot frame at mid-heading
+            headingDelta = AngleUnit.normalizeRadians(position.h - heading);
+            double midHeading = heading + headingDelta / 2.0;
+            double cos = Math.cos(midHeading);
+            double sin = Math.sin(midHeading);
+            double dx = position.x - x;
+            double dy = position.y - y;
+            forwardDelta = dx * cos + dy * sin;
+            leftDelta = -dx * sin + dy * cos;
+        }
+        haveSample = true;
+
+        x = position.x;
+        y = position.y;
+        heading = position.h;
+        xVelocity = velocity.x;
+        yVelocity = velocity.y;
+        headingVelocity = velocity.h;
+        timestampNanos = start + (read - start) / 2;
+    }
+
+    @Override
+    public void setPose(double xIn, double yIn, double headingRad) {
+        otos.setPosition(new SparkFunOTOS.Pose2D(xIn, yIn, AngleUnit.normalizeRadians(headingRad)));
+        x = xIn;
+        y = yIn;
+        heading = AngleUnit.normalizeRadians(headingRad);
+        haveSample = false;
+    }
+
+    @Override
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    @Override
+    public double getX() {
+        return x;
+    }
+
+    @Override
+    public double getY() {
+        return y;
+    }
+
+    @Override
+    public double getHeading() {
+        return heading;
+    }
+
+    @Override
+    public double getXVelocity() {
+        return xVelocity;
+    }
+
+    @Override
+    public double getYVelocity() {
+        return yVelocity;
+    }
+
+    @Override
+    public double getHeadingVelocity() {
+        return headingVelocity;
+    }
+
+    @Override
+    public double getForwardDelta() {
+        return forwardDelta;
+    }
+
+    @Override
+    public double getLeftDelta() {
+        return leftDelta;
+    }
+
+    @Override
+    public double getHeadingDelta() {
+        return headingDelta;
+    }
+
+    @Override
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+
+    @Override
+    public String getName() {
+        return "otos";
+    }
+
+    @Override
+    public double getReadPercentileMicros(double percentile) {
+        return readTimes.percentile(percentile) / 1e3;
+    }
+
+    @Override
+    public void addTelemetry(Telemetry telemetry) {
+        telemetry.addData("OTOS", "%s, scalars %.3f / %.3f, %d faults (last: %s)",
+                healthy ? "tracking" : "FAULT", linearScalar, angularScalar, faultCount, lastFault);
+    }
+
+    @Override
+    public void close() {
+    }
+}
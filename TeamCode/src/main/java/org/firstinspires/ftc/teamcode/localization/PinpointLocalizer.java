@@ -0,0 +1,349 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Localizer on the goBILDA Pinpoint odometry computer (two dead-wheel pods
+ * plus its own IMU), configured as in the SDK's SensorGoBildaPinpoint sample.
+ *
+ * A Pinpoint read is an I2C transaction that takes around a millisecond, so
+ * it never runs on the control loop. A dedicated thread calls
+ * pinpoint.update() back to back and publishes each result as an immutable
+ * Snapshot through a volatile field. The control loop's update() only reads
+ * that reference - no locks, no I2C, no waiting. New poses from setPose()
+ * travel the other way through an AtomicReference the thread applies before
+ * its next read.
+ *
+ * Device: I2C port, configured as "goBILDA Pinpoint Odometry Computer" named "pinpoint".
+ * Pinpoint's frame matches ours (+X forward, +Y left, heading CCW positive).
+ */
+
+package org.firstinspires.ftc.teamcode.localization;
+
+import com.acmerobotics.dashboard.config.Config;
+import com.qualcomm.hardware.gobilda.GoBildaPinpointDriver;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+import com.qualcomm.robotcore.util.RobotLog;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.DistanceUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.Pose2D;
+import org.firstinspires.ftc.robotcore.external.navigation.UnnormalizedAngleUnit;
+import org.firstinspires.ftc.teamcode.util.LatencyHistogram;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+@Config
+public class PinpointLocalizer implements Localizer {
+
+    private static final String TAG = "PinpointLocalizer";
+
+    // ========== DEVICE - FTC DASHBOARD (read when the OpMode initializes) ==========
+    public static String DEVICE_NAME = "pinpoint";
+    public static double X_POD_OFFSET_MM = -84.0;             // Forward pod: left of center is positive
+    public static double Y_POD_OFFSET_MM = -168.0;            // Strafe pod: forward of center is positive
+    public static GoBildaPinpointDriver.GoBildaOdometryPods POD_TYPE =
+            GoBildaPinpointDriver.GoBildaOdometryPods.goBILDA_4_BAR_POD;
+    public static boolean X_POD_REVERSED = false;             // Forward pod must count up driving forward
+    public static boolean Y_POD_REVERSED = false;             // Strafe pod must count up driving left
+
+    // ========== POLLING - FTC DASHBOARD ==========
+    public static int POLL_PERIOD_US = 0;                     // 0 = read as fast as the I2C bus allows
+
+    /**
+     * One complete Pinpoint read. Never modified after it is published.
+     */
+    private static final class Snapshot {
+        final double x, y, heading;
+        final double xVelocity, yVelocity, headingVelocity;
+        final long timestampNanos;                            // Midpoint of the I2C read
+        final long readNanos;                                 // Duration of pinpoint.update()
+        final long sequence;
+        final int generation;                                 // Count of setPose() requests applied
+        final GoBildaPinpointDriver.DeviceStatus status;
+
+        Snapshot(GoBildaPinpointDriver pinpoint, long timestampNanos, long readNanos, long sequence,
+                 int generation) {
+            x = pinpoint.getPosX(DistanceUnit.INCH);
+            y = pinpoint.getPosY(DistanceUnit.INCH);
+            heading = pinpoint.getHeading(AngleUnit.RADIANS);
+            xVelocity = pinpoint.getVelX(DistanceUnit.INCH);
+            yVelocity = pinpoint.getVelY(DistanceUnit.INCH);
+            headingVelocity = pinpoint.getHeadingVelocity(UnnormalizedAngleUnit.RADIANS);
+            status = pinpoint.getDeviceStatus();
+            this.timestampNanos = timestampNanos;
+            this.readNanos = readNanos;
+            this.sequence = sequence;
+            this.generation = generation;
+        }
+    }
+
+    private static final class PoseRequest {
+        final Pose2D pose;
+        final int generation;
+
+        PoseRequest(Pose2D pose, int generation) {
+            this.pose = pose;
+            this.generation = generation;
+        }
+    }
+
+    private final GoBildaPinpointDriver pinpoint;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile Snapshot latest = null;
+    private final AtomicReference<PoseRequest> pendingPose = new AtomicReference<>();
+
+    // ========== CONTROL LOOP STATE (loop thread only) ==========
+    private double x, y, heading;
+    private double xVelocity, yVelocity, headingVelocity;
+    private double forwardDelta, leftDelta, headingDelta;
+    private long timestampNanos = 0;
+    private long lastSequence = -1;
+    private int requestedGeneration = 0;
+    private boolean haveSample = false;
+    private final LatencyHistogram readTimes = new LatencyHistogram();  // Thread's reads, recorded as consumed
+
+    // Sample rate, measured over RATE_WINDOW_NANOS
+    private static final long RATE_WINDOW_NANOS = 500_000_000L;
+    private long rateWindowStart = 0;
+    private long rateWindowSequence = 0;
+    private double sampleRateHz = 0.0;
+
+    private PinpointLocalizer(GoBildaPinpointDriver pinpoint) {
+        this.pinpoint = pinpoint;
+        thread = new Thread(this::poll, TAG);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Configures the Pinpoint, recalibrates its IMU (the robot must be still)
+     * and starts the polling thread.
+     *
+     * @return null if no device named DEVICE_NAME is configured
+     */
+    public static PinpointLocalizer create(HardwareMap hardwareMap) {
+        GoBildaPinpointDriver pinpoint = hardwareMap.tryGet(GoBildaPinpointDriver.class, DEVICE_NAME);
+        if (pinpoint == null) {
+            RobotLog.ww(TAG, "No Pinpoint \"%s\" configured", DEVICE_NAME);
+            return null;
+        }
+
+        pinpoint.setOffsets(X_POD_OFFSET_MM, Y_POD_OFFSET_MM, DistanceUnit.MM);
+        pinpoint.setEncoderResolution(POD_TYPE);
+        pinpoint.setEncoderDirections(
+                X_POD_REVERSED ? GoBildaPinpointDriver.EncoderDirection.REVERSED
+                        : GoBildaPinpointDriver.EncoderDirection.FORWARD,
+                Y_POD_REVERSED ? GoBildaPinpointDriver.EncoderDirection.REVERSED
+                        : GoBildaPinpointDriver.EncoderDirection.FORWARD);
+        pinpoint.resetPosAndIMU();
+        return new PinpointLocalizer(pinpoint);
+    }
+
+    // ========== POLLING THREAD ==========
+
+    private void poll() {
+        long sequence = 0;
+        int generation = 0;
+        try {
+            while (running) {
+                PoseRequest request = pendingPose.getAndSet(null);
+                if (request != null) {
+                    pinpoint.setPosition(request.pose);
+                    generation = request.generation;
+                }
+
+                long start = System.nanoTime();
+                pinpoint.update();
+                long end = System.nanoTime();
+                latest = new Snapshot(pinpoint, start + (end - start) / 2, end - start, ++sequence, generation);
+
+                if (POLL_PERIOD_US > 0) {
+                    long remaining = POLL_PERIOD_US * 1000L - (System.nanoTime() - start);
+                    if (remaining > 0) Thread.sleep(remaining / 1_000_000L, (int) (remaining % 1_000_000L));
+                }
+            }
+        } catch (InterruptedException e) {
+            // close() - fall through and exit
+        } catch (RuntimeException e) {
+            // The SDK throws once the OpMode is stopping; anything else is worth a log line
+            if (running) RobotLog.ee(TAG, e, "Pinpoint polling stopped");
+        }
+    }
+
+    // ========== CONTROL LOOP ==========
+
+    /**
+     * Picks up the newest Pinpoint sample. Never blocks; the IMU heading is unused.
+     */
+    @Override
+    public void update(double imuHeadingRad) {
+        forwardDelta = 0.0;
+        leftDelta = 0.0;
+        headingDelta = 0.0;
+
+        Snapshot sample = latest;
+        long now = System.nanoTime();
+        if (rateWindowStart == 0) {
+            rateWindowStart = now;
+        } else if (now - rateWindowStart >= RATE_WINDOW_NANOS) {
+            long sequence = sample != null ? sample.sequence : 0;
+            sampleRateHz = (sequence - rateWindowSequence) * 1e9 / (now - rateWindowStart);
+            rateWindowSequence = sequence;
+            rateWindowStart = now;
+        }
+
+        // Nothing new, or still from before the last setPose()
+        if (sample == null || sample.sequence == lastSequence || sample.generation != requestedGeneration) {
+            return;
+        }
+        lastSequence = sample.sequence;
+        readTimes.record(sample.readNanos);
+
+        if (haveSample) {
+            // Field motion since the last sample, rotated back into the robot frame at mid-heading
+            headingDelta = AngleUnit.normalizeRadians(sample.heading - heading);
+            double midHeading = heading + headingDelta / 2.0;
+            double cos = Math.cos(midHeading);
+            double sin = Math.sin(midHeading);
+            double dx = sample.x - x;
+            double dy = sample.y - y;
+            forwardDelta = dx * cos + dy * sin;
+            leftDelta = -dx * sin + dy * cos;
+        }
+        haveSample = true;
+
+        x = sample.x;
+        y = sample.y;
+        heading = sample.heading;
+        xVelocity = sample.xVelocity;
+        yVelocity = sample.yVelocity;
+        headingVelocity = sample.headingVelocity;
+        timestampNanos = sample.timestampNanos;
+    }
+
+    /**
+     * Sends a new pose to the Pinpoint. Samples read before it is applied are ignored.
+     */
+    @Override
+    public void setPose(double xIn, double yIn, double headingRad) {
+        requestedGeneration++;
+        pendingPose.set(new PoseRequest(
+                new Pose2D(DistanceUnit.INCH, xIn, yIn, AngleUnit.RADIANS, headingRad), requestedGeneration));
+        x = xIn;
+        y = yIn;
+        heading = AngleUnit.normalizeRadians(headingRad);
+        haveSample = false;
+    }
+
+    /**
+     * Only READY counts: calibrating, missing pods and IMU runaway are all faults.
+     */
+    @Override
+    public boolean isHealthy() {
+        return getStatus() == GoBildaPinpointDriver.DeviceStatus.READY;
+    }
+
+    @Override
+    public double getX() {
+        return x;
+    }
+
+    @Override
+    public double getY() {
+        return y;
+    }
+
+    @Override
+    public double getHeading() {
+        return heading;
+    }
+
+    @Override
+    public double getXVelocity() {
+        return xVelocity;
+    }
+
+    @Override
+    public double getYVelocity() {
+        return yVelocity;
+    }
+
+    @Override
+    public double getHeadingVelocity() {
+        return headingVelocity;
+    }
+
+    @Override
+    public double getForwardDelta() {
+        return forwardDelta;
+    }
+
+    @Override
+    public double getLeftDelta() {
+        return leftDelta;
+    }
+
+    @Override
+    public double getHeadingDelta() {
+        return headingDelta;
+    }
+
+    @Override
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+
+    @Override
+    public String getName() {
+        return "pinpoint";
+    }
+
+    // ========== DIAGNOSTICS ==========
+
+    /**
+     * Pinpoint reads per second on the polling thread.
+     */
+    public double getSampleRateHz() {
+        return sampleRateHz;
+    }
+
+    /**
+     * Duration of the last I2C read (microseconds).
+     */
+    public double getReadMicros() {
+        Snapshot sample = latest;
+        return sample == null ? 0.0 : sample.readNanos / 1e3;
+    }
+
+    /**
+     * The I2C read happens on the polling thread, so this is its cost off the loop.
+     */
+    @Override
+    public double getReadPercentileMicros(double percentile) {
+        return readTimes.percentile(percentile) / 1e3;
+    }
+
+    public GoBildaPinpointDriver.DeviceStatus getStatus() {
+        Snapshot sample = latest;
+        return sample == null ? GoBildaPinpointDriver.DeviceStatus.NOT_READY : sample.status;
+    }
+
+    @Override
+    public void addTelemetry(Telemetry telemetry) {
+        telemetry.addData("Pinpoint", "%s, %.0f Hz, read %.0f us", getStatus(), sampleRateHz, getReadMicros());
+    }
+
+    /**
+     * Stops the polling thread and waits briefly for it to exit.
+     */
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
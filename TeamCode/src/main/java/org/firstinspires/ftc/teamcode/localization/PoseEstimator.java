@@ -0,0 +1,433 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Extended Kalman filter fusing wheel odometry, IMU yaw and AprilTag poses.
+ *
+ * State is the field pose [x, y, heading] with a 3x3 covariance. Every loop
+ * predict() integrates the robot-frame motion and heading change reported
+ * by a Localizer, growing the covariance with distance travelled and time.
+ * correct() folds in an absolute pose from an AprilTag (AprilTagLocalizer)
+ * that was captured some time in the past:
+ *
+ *   1. Rewind to the newest history entry at or before the frame's capture time
+ *   2. Gate the measurement by its Mahalanobis distance (outliers are dropped)
+ *   3. Apply the Kalman update there
+ *   4. Replay the odometry inputs recorded since, up to now
+ *
+ * History is a fixed ring buffer, so nothing allocates after construction.
+ * A frame older than the buffer is dropped. Timestamps are System.nanoTime(),
+ * the same clock as AprilTagDetection.frameAcquisitionNanoTime.
+ *
+ * Field frame: same as WheelOdometry (inches, heading radians CCW positive).
+ */
+
+package org.firstinspires.ftc.teamcode.localization;
+
+import com.acmerobotics.dashboard.config.Config;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+
+@Config
+public class PoseEstimator {
+
+    // ========== PROCESS NOISE - FTC DASHBOARD ==========
+    public static double ODOMETRY_VARIANCE_PER_IN = 0.02;     // in^2 of position drift per inch driven
+    public static double HEADING_VARIANCE_PER_RAD = 0.0004;   // rad^2 per radian turned (IMU scale error)
+    public static double HEADING_DRIFT_VARIANCE = 1e-6;       // rad^2 per second (IMU bias drift)
+
+    // ========== MEASUREMENT NOISE - FTC DASHBOARD ==========
+    public static double TAG_XY_STD = 1.0;                    // inches at zero range
+    public static double TAG_XY_STD_PER_IN = 0.03;            // extra inches per inch of tag range
+    public static double TAG_HEADING_STD_DEG = 3.0;           // degrees
+
+    // ========== GATING - FTC DASHBOARD ==========
+    public static double MAHALANOBIS_GATE = 11.34;            // Squared distance, chi-square 3 DOF at 99%
+    public static int REJECT_RESET_COUNT = 15;                // Consecutive rejects before trusting tags again
+
+    // ========== INITIAL UNCERTAINTY ==========
+    public static double INITIAL_XY_STD = 2.0;                // inches - how well the start pose is known
+    public static double INITIAL_HEADING_STD_DEG = 2.0;       // degrees
+
+    private static final int HISTORY_SIZE = 128;              // ~1.3 s of loops at 10 ms
+
+    // ========== STATE ==========
+    private double x = 0.0;
+    private double y = 0.0;
+    private double heading = 0.0;
+    private final double[] p = new double[9];                 // Covariance, row major
+
+    // ========== HISTORY (ring buffer, posterior after each predict) ==========
+    private final long[] historyNanos = new long[HISTORY_SIZE];
+    private final double[] historyForward = new double[HISTORY_SIZE];
+    private final double[] historyLeft = new double[HISTORY_SIZE];
+    private final double[] historyTurn = new double[HISTORY_SIZE];
+    private final double[] historyX = new double[HISTORY_SIZE];
+    private final double[] historyY = new double[HISTORY_SIZE];
+    private final double[] historyHeading = new double[HISTORY_SIZE];
+    private final double[] historyP = new double[HISTORY_SIZE * 9];
+    private int newest = -1;
+    private int historyCount = 0;
+
+    // ========== UPDATE SCRATCH ==========
+    private final double[] sInverse = new double[9];
+    private final double[] gain = new double[9];
+    private final double[] scratch = new double[9];
+    private final double[] r = new double[9];
+
+    // ========== STATISTICS ==========
+    private int acceptedCount = 0;
+    private int rejectedCount = 0;
+    private int staleCount = 0;
+    private int rejectStreak = 0;
+    private double lastDistanceSquared = 0.0;
+
+    public PoseEstimator() {
+        reset(0.0, 0.0, 0.0, System.nanoTime());
+    }
+
+    /**
+     * Sets a known pose (e.g. the starting position) and clears the history.
+     */
+    public void reset(double xIn, double yIn, double headingRad, long timestampNanos) {
+        x = xIn;
+        y = yIn;
+        heading = AngleUnit.normalizeRadians(headingRad);
+        double xyVariance = INITIAL_XY_STD * INITIAL_XY_STD;
+        double headingStd = Math.toRadians(INITIAL_HEADING_STD_DEG);
+        setDiagonal(p, xyVariance, xyVariance, headingStd * headingStd);
+
+        historyCount = 0;
+        newest = -1;
+        rejectStreak = 0;
+        record(timestampNanos, 0.0, 0.0, 0.0);
+    }
+
+    // ========== PREDICT ==========
+
+    /**
+     * Advances the pose by one cycle of odometry.
+     *
+     * @param forward        Robot-relative forward motion (inches)
+     * @param left           Robot-relative leftward motion (inches)
+     * @param headingDelta   Heading change from the IMU (radians, CCW positive)
+     * @param timestampNanos System.nanoTime() when the inputs were sampled
+     */
+    public void predict(double forward, double left, double headingDelta, long timestampNanos) {
+        double dt = (timestampNanos - historyNanos[newest]) / 1e9;
+        propagate(forward, left, headingDelta, dt);
+        record(timestampNanos, forward, left, headingDelta);
+    }
+
+    /**
+     * Advances the pose by the localizer's latest sample. Does nothing if the
+     * localizer has no sample newer than the last one (e.g. a slow sensor thread).
+     */
+    public void predict(Localizer localizer) {
+        long timestampNanos = localizer.getTimestampNanos();
+        if (timestampNanos <= historyNanos[newest]) return;
+        predict(localizer.getForwardDelta(), localizer.getLeftDelta(), localizer.getHeadingDelta(), timestampNanos);
+    }
+
+    /**
+     * Mid-heading integration plus covariance growth: P = F P F^T + Q.
+     */
+    private void propagate(double forward, double left, double headingDelta, double dt) {
+        double midHeading = heading + headingDelta / 2.0;
+        double cos = Math.cos(midHeading);
+        double sin = Math.sin(midHeading);
+        double dx = forward * cos - left * sin;
+        double dy = forward * sin + left * cos;
+        x += dx;
+        y += dy;
+        heading = AngleUnit.normalizeRadians(heading + headingDelta);
+
+        // F = [[1, 0, -dy], [0, 1, dx], [0, 0, 1]] - only the heading column couples
+        double p02 = p[2] - dy * p[8];
+        double p12 = p[5] + dx * p[8];
+        double p00 = p[0] - 2.0 * dy * p[2] + dy * dy * p[8];
+        double p11 = p[4] + 2.0 * dx * p[5] + dx * dx * p[8];
+        double p01 = p[1] + dx * p[2] - dy * p[5] - dx * dy * p[8];
+
+        double distance = Math.sqrt(forward * forward + left * left);
+        double xyNoise = ODOMETRY_VARIANCE_PER_IN * distance;
+        double headingNoise = HEADING_VARIANCE_PER_RAD * Math.abs(headingDelta)
+                + HEADING_DRIFT_VARIANCE * Math.max(dt, 0.0);
+
+        p[0] = p00 + xyNoise;
+        p[1] = p01;
+        p[2] = p02;
+        p[3] = p01;
+        p[4] = p11 + xyNoise;
+        p[5] = p12;
+        p[6] = p02;
+        p[7] = p12;
+        p[8] += headingNoise;
+    }
+
+    // ========== CORRECT ==========
+
+    /**
+     * Fuses an absolute field pose measured at a past time.
+     *
+     * @param measuredX       Field X (inches)
+     * @param measuredY       Field Y (inches)
+     * @param measuredHeading Field heading (radians)
+     * @param rangeIn         Distance to the tag, scales the position noise
+     * @param captureNanos    System.nanoTime() when the camera frame was captured
+     * @return true if the measurement was applied, false if gated out or too old
+     */
+    public boolean correct(double measuredX, double measuredY, double measuredHeading,
+                           double rangeIn, long captureNanos) {
+        double xyStd = TAG_XY_STD + TAG_XY_STD_PER_IN * Math.max(rangeIn, 0.0);
+        double headingStd = Math.toRadians(TAG_HEADING_STD_DEG);
+        setDiagonal(r, xyStd * xyStd, xyStd * xyStd, headingStd * headingStd);
+        return correctWithNoise(measuredX, measuredY, measuredHeading, captureNanos);
+    }
+
+    /**
+     * Fuses an absolute field pose with its own measurement covariance
+     * (MultiTagSolver), in place of the range-based TAG_* noise.
+     *
+     * @param covariance   3x3 row major over x (in), y (in), heading (rad)
+     * @param captureNanos System.nanoTime() when the camera frame was captured
+     * @return true if the measurement was applied, false if gated out or too old
+     */
+    public boolean correct(double measuredX, double measuredY, double measuredHeading,
+                           double[] covariance, long captureNanos) {
+        System.arraycopy(covariance, 0, r, 0, 9);
+        return correctWithNoise(measuredX, measuredY, measuredHeading, captureNanos);
+    }
+
+    /**
+     * Shared Kalman update; the measurement covariance is already in r.
+     */
+    private boolean correctWithNoise(double measuredX, double measuredY, double measuredHeading,
+                                     long captureNanos) {
+        // Find the newest entry at or before the capture time
+        int index = newest;
+        int stepsBack = 0;
+        while (historyNanos[index] > captureNanos) {
+            if (++stepsBack >= historyCount) {
+                staleCount++;
+                return false;
+            }
+            index = (index - 1 + HISTORY_SIZE) % HISTORY_SIZE;
+        }
+        load(index);
+
+        double vx = measuredX - x;
+        double vy = measuredY - y;
+        double vh = AngleUnit.normalizeRadians(measuredHeading - heading);
+
+        // Innovation covariance S = P + R (H = identity), and its inverse
+        for (int i = 0; i < 9; i++) scratch[i] = p[i] + r[i];
+        if (!invert(scratch, sInverse)) {
+            restoreNewest();
+            rejectedCount++;
+            return false;
+        }
+
+        lastDistanceSquared = vx * (sInverse[0] * vx + sInverse[1] * vy + sInverse[2] * vh)
+                + vy * (sInverse[3] * vx + sInverse[4] * vy + sInverse[5] * vh)
+                + vh * (sInverse[6] * vx + sInverse[7] * vy + sInverse[8] * vh);
+
+        if (lastDistanceSquared > MAHALANOBIS_GATE) {
+            rejectedCount++;
+            if (++rejectStreak < REJECT_RESET_COUNT) {
+                restoreNewest();
+                return false;
+            }
+            // Odometry has disagreed with every tag for a while - it is the one that is lost
+            x = measuredX;
+            y = measuredY;
+            heading = AngleUnit.normalizeRadians(measuredHeading);
+            System.arraycopy(r, 0, p, 0, 9);
+        } else {
+            // K = P S^-1, x += K v
+            multiply(p, sInverse, gain);
+            x += gain[0] * vx + gain[1] * vy + gain[2] * vh;
+            y += gain[3] * vx + gain[4] * vy + gain[5] * vh;
+            heading = AngleUnit.normalizeRadians(heading + gain[6] * vx + gain[7] * vy + gain[8] * vh);
+            josephUpdate();
+            acceptedCount++;
+        }
+        rejectStreak = 0;
+
+        store(index);
+        replay(index);
+        return true;
+    }
+
+    /**
+     * Re-runs the recorded odometry from the corrected entry up to the newest.
+     */
+    private void replay(int index) {
+        while (index != newest) {
+            int next = (index + 1) % HISTORY_SIZE;
+            double dt = (historyNanos[next] - historyNanos[index]) / 1e9;
+            propagate(historyForward[next], historyLeft[next], historyTurn[next], dt);
+            store(next);
+            index = next;
+        }
+    }
+
+    /**
+     * Covariance update in Joseph form, P = (I - K) P (I - K)^T + K R K^T,
+     * which stays symmetric and positive definite under rounding.
+     */
+    private void josephUpdate() {
+        // scratch = I - K
+        for (int i = 0; i < 9; i++) scratch[i] = -gain[i];
+        scratch[0] += 1.0;
+        scratch[4] += 1.0;
+        scratch[8] += 1.0;
+
+        // sInverse (no longer needed) holds (I - K) P (I - K)^T
+        multiplyTransposed(scratch, p, sInverse);
+        // p holds K R K^T
+        multiplyTransposed(gain, r, p);
+        for (int i = 0; i < 9; i++) p[i] += sInverse[i];
+    }
+
+    // ========== HISTORY ==========
+
+    private void record(long timestampNanos, double forward, double left, double headingDelta) {
+        newest = (newest + 1) % HISTORY_SIZE;
+        if (historyCount < HISTORY_SIZE) historyCount++;
+        historyNanos[newest] = timestampNanos;
+        historyForward[newest] = forward;
+        historyLeft[newest] = left;
+        historyTurn[newest] = headingDelta;
+        store(newest);
+    }
+
+    private void store(int index) {
+        historyX[index] = x;
+        historyY[index] = y;
+        historyHeading[index] = heading;
+        System.arraycopy(p, 0, historyP, index * 9, 9);
+    }
+
+    private void load(int index) {
+        x = historyX[index];
+        y = historyY[index];
+        heading = historyHeading[index];
+        System.arraycopy(historyP, index * 9, p, 0, 9);
+    }
+
+    private void restoreNewest() {
+        load(newest);
+    }
+
+    // ========== 3x3 MATRIX HELPERS ==========
+
+    private static void setDiagonal(double[] m, double a, double b, double c) {
+        for (int i = 0; i < 9; i++) m[i] = 0.0;
+        m[0] = a;
+        m[4] = b;
+        m[8] = c;
+    }
+
+    /**
+     * out = a * b (out must not alias a or b).
+     */
+    private static void multiply(double[] a, double[] b, double[] out) {
+        for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 3; col++) {
+                out[row * 3 + col] = a[row * 3] * b[col]
+                        + a[row * 3 + 1] * b[3 + col]
+                        + a[row * 3 + 2] * b[6 + col];
+            }
+        }
+    }
+
+    /**
+     * out = a * m * a^T for symmetric m (out must not alias a or m).
+     */
+    private static void multiplyTransposed(double[] a, double[] m, double[] out) {
+        for (int row = 0; row < 3; row++) {
+            // (a m) row, then dot with each row of a
+            double m0 = a[row * 3] * m[0] + a[row * 3 + 1] * m[3] + a[row * 3 + 2] * m[6];
+            double m1 = a[row * 3] * m[1] + a[row * 3 + 1] * m[4] + a[row * 3 + 2] * m[7];
+            double m2 = a[row * 3] * m[2] + a[row * 3 + 1] * m[5] + a[row * 3 + 2] * m[8];
+            for (int col = row; col < 3; col++) {
+                double value = m0 * a[col * 3] + m1 * a[col * 3 + 1] + m2 * a[col * 3 + 2];
+                out[row * 3 + col] = value;
+                out[col * 3 + row] = value;
+            }
+        }
+    }
+
+    /**
+     * Inverts a 3x3 matrix by cofactors.
+     *
+     * @return false if the matrix is singular
+     */
+    private static boolean invert(double[] m, double[] out) {
+        double c00 = m[4] * m[8] - m[5] * m[7];
+        double c01 = m[5] * m[6] - m[3] * m[8];
+        double c02 = m[3] * m[7] - m[4] * m[6];
+        double det = m[0] * c00 + m[1] * c01 + m[2] * c02;
+        if (Math.abs(det) < 1e-12) return false;
+        double inv = 1.0 / det;
+        out[0] = c00 * inv;
+        out[1] = (m[2] * m[7] - m[1] * m[8]) * inv;
+        out[2] = (m[1] * m[5] - m[2] * m[4]) * inv;
+        out[3] = c01 * inv;
+        out[4] = (m[0] * m[8] - m[2] * m[6]) * inv;
+        out[5] = (m[2] * m[3] - m[0] * m[5]) * inv;
+        out[6] = c02 * inv;
+        out[7] = (m[1] * m[6] - m[0] * m[7]) * inv;
+        out[8] = (m[0] * m[4] - m[1] * m[3]) * inv;
+        return true;
+    }
+
+    // ========== GETTERS ==========
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getHeading() {
+        return heading;
+    }
+
+    /**
+     * Position standard deviation (inches), averaged over X and Y.
+     */
+    public double getPositionStd() {
+        return Math.sqrt((p[0] + p[4]) / 2.0);
+    }
+
+    /**
+     * Heading standard deviation (radians).
+     */
+    public double getHeadingStd() {
+        return Math.sqrt(p[8]);
+    }
+
+    public int getAcceptedCount() {
+        return acceptedCount;
+    }
+
+    public int getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Measurements dropped because their frame was older than the history.
+     */
+    public int getStaleCount() {
+        return staleCount;
+    }
+
+    /**
+     * Squared Mahalanobis distance of the last measurement (compare to MAHALANOBIS_GATE).
+     */
+    public double getLastDistanceSquared() {
+        return lastDistanceSquared;
+    }
+}
@@ -0,0 +1,113 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Localizer on the four drive motor encoders plus the IMU heading the
+ * OpMode already reads each cycle (WheelOdometry behind the Localizer
+ * interface). Encoder reads are bulk-cached hub reads, so update() runs
+ * inline on the control loop.
+ */
+
+package org.firstinspires.ftc.teamcode.localization;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.teamcode.control.MecanumDriveBase;
+import org.firstinspires.ftc.teamcode.util.LatencyHistogram;
+
+public class WheelLocalizer implements Localizer {
+
+    private final MecanumDriveBase drive;
+    private final WheelOdometry odometry = new WheelOdometry();
+    private final LatencyHistogram readTimes = new LatencyHistogram();
+    private long timestampNanos = 0;
+
+    public WheelLocalizer(MecanumDriveBase drive) {
+        this.drive = drive;
+    }
+
+    /**
+     * The first call only takes the encoder and IMU baseline.
+     */
+    @Override
+    public void update(double imuHeadingRad) {
+        timestampNanos = System.nanoTime();
+        drive.updateOdometry(odometry, imuHeadingRad);
+        readTimes.record(System.nanoTime() - timestampNanos);
+    }
+
+    @Override
+    public boolean isHealthy() {
+        return true;
+    }
+
+    @Override
+    public void setPose(double x, double y, double headingRad) {
+        odometry.setPose(x, y, headingRad);
+    }
+
+    @Override
+    public double getX() {
+        return odometry.getX();
+    }
+
+    @Override
+    public double getY() {
+        return odometry.getY();
+    }
+
+    @Override
+    public double getHeading() {
+        return odometry.getHeading();
+    }
+
+    @Override
+    public double getXVelocity() {
+        return odometry.getXVelocity();
+    }
+
+    @Override
+    public double getYVelocity() {
+        return odometry.getYVelocity();
+    }
+
+    @Override
+    public double getHeadingVelocity() {
+        return odometry.getHeadingVelocity();
+    }
+
+    @Override
+    public double getForwardDelta() {
+        return odometry.getForwardDelta();
+    }
+
+    @Override
+    public double getLeftDelta() {
+        return odometry.getLeftDelta();
+    }
+
+    @Override
+    public double getHeadingDelta() {
+        return odometry.getHeadingDelta();
+    }
+
+    @Override
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+
+    @Override
+    public String getName() {
+        return "wheel";
+    }
+
+    @Override
+    public double getReadPercentileMicros(double percentile) {
+        return readTimes.percentile(percentile) / 1e3;
+    }
+
+    @Override
+    public void addTelemetry(Telemetry telemetry) {
+    }
+
+    @Override
+    public void close() {
+    }
+}
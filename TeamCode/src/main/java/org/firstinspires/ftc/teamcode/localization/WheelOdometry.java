@@ -0,0 +1,182 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Mecanum wheel odometry from the four drive motor encoders plus IMU heading.
+ *
+ * The caller passes in encoder ticks and heading it has already read this
+ * cycle, so odometry never adds hardware calls of its own. Robot-relative
+ * forward/strafe deltas come from mecanum forward kinematics and are rotated
+ * into the field frame using the average heading over the cycle.
+ *
+ * Field frame: inches, +X = robot forward at heading 0, +Y = robot left,
+ * heading in radians, counter-clockwise positive (same sign as IMU yaw).
+ */
+
+package org.firstinspires.ftc.teamcode.localization;
+
+import com.acmerobotics.dashboard.config.Config;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+
+@Config
+public class WheelOdometry {
+
+    // ========== CONSTANTS - DRIVE ==========
+    public static double TICKS_PER_REV = 537.6;               // GoBilda 312 RPM motor encoder ticks
+    public static double WHEEL_DIAMETER_IN = 3.78;            // Mecanum wheel diameter in inches
+    public static double LATERAL_MULTIPLIER = 1.0;            // Corrects strafe distance for roller slip
+
+    // ========== POSE STATE ==========
+    private double x = 0.0;
+    private double y = 0.0;
+    private double heading = 0.0;
+    private double headingOffset = 0.0;                       // Field heading minus raw IMU yaw
+    private double lastImuHeading = 0.0;
+
+    // ========== VELOCITY STATE (field frame) ==========
+    private double xVelocity = 0.0;
+    private double yVelocity = 0.0;
+    private double headingVelocity = 0.0;
+
+    // ========== LAST CYCLE (robot frame) ==========
+    private double forwardDelta = 0.0;
+    private double leftDelta = 0.0;
+    private double headingDelta = 0.0;
+
+    private int lastFrontLeft, lastFrontRight, lastBackLeft, lastBackRight;
+    private long lastUpdateNanos = 0;
+    private boolean initialized = false;
+
+    /**
+     * Integrates one cycle of encoder and heading samples.
+     *
+     * @param frontLeft   Front left encoder position (ticks)
+     * @param frontRight  Front right encoder position (ticks)
+     * @param backLeft    Back left encoder position (ticks)
+     * @param backRight   Back right encoder position (ticks)
+     * @param headingRad  IMU yaw in radians
+     */
+    public void update(int frontLeft, int frontRight, int backLeft, int backRight, double headingRad) {
+        long now = System.nanoTime();
+
+        forwardDelta = 0.0;
+        leftDelta = 0.0;
+        headingDelta = 0.0;
+        if (!initialized) {
+            rebase(frontLeft, frontRight, backLeft, backRight, headingRad);
+            lastUpdateNanos = now;
+            return;
+        }
+
+        double ticksPerInch = TICKS_PER_REV / (Math.PI * WHEEL_DIAMETER_IN);
+        double dFrontLeft = (frontLeft - lastFrontLeft) / ticksPerInch;
+        double dFrontRight = (frontRight - lastFrontRight) / ticksPerInch;
+        double dBackLeft = (backLeft - lastBackLeft) / ticksPerInch;
+        double dBackRight = (backRight - lastBackRight) / ticksPerInch;
+
+        // Mecanum forward kinematics (matches the drive's power mixing)
+        double forward = (dFrontLeft + dFrontRight + dBackLeft + dBackRight) / 4.0;
+        double strafeRight = (dFrontLeft - dFrontRight - dBackLeft + dBackRight) / 4.0 * LATERAL_MULTIPLIER;
+        double left = -strafeRight;
+
+        // Rotate into the field frame using the mid-cycle heading
+        double fieldHeading = AngleUnit.normalizeRadians(headingRad + headingOffset);
+        headingDelta = AngleUnit.normalizeRadians(fieldHeading - heading);
+        double midHeading = heading + headingDelta / 2.0;
+        double cos = Math.cos(midHeading);
+        double sin = Math.sin(midHeading);
+        double dx = forward * cos - left * sin;
+        double dy = forward * sin + left * cos;
+
+        forwardDelta = forward;
+        leftDelta = left;
+        x += dx;
+        y += dy;
+        heading = fieldHeading;
+        lastImuHeading = headingRad;
+
+        double dt = (now - lastUpdateNanos) / 1e9;
+        if (dt > 0) {
+            xVelocity = dx / dt;
+            yVelocity = dy / dt;
+            headingVelocity = headingDelta / dt;
+        }
+        lastUpdateNanos = now;
+
+        lastFrontLeft = frontLeft;
+        lastFrontRight = frontRight;
+        lastBackLeft = backLeft;
+        lastBackRight = backRight;
+    }
+
+    /**
+     * Takes new encoder readings as the baseline without moving the pose.
+     * Call right after STOP_AND_RESET_ENCODER so the reset is not read as motion.
+     */
+    public void rebase(int frontLeft, int frontRight, int backLeft, int backRight, double headingRad) {
+        lastFrontLeft = frontLeft;
+        lastFrontRight = frontRight;
+        lastBackLeft = backLeft;
+        lastBackRight = backRight;
+        lastImuHeading = headingRad;
+        heading = AngleUnit.normalizeRadians(headingRad + headingOffset);
+        initialized = true;
+    }
+
+    /**
+     * Overrides the current pose, e.g. with the known starting position.
+     * The heading offset from the IMU is kept, so later yaw readings continue from here.
+     */
+    public void setPose(double xIn, double yIn, double headingRad) {
+        x = xIn;
+        y = yIn;
+        heading = AngleUnit.normalizeRadians(headingRad);
+        headingOffset = AngleUnit.normalizeRadians(heading - lastImuHeading);
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getHeading() {
+        return heading;
+    }
+
+    public double getXVelocity() {
+        return xVelocity;
+    }
+
+    public double getYVelocity() {
+        return yVelocity;
+    }
+
+    public double getHeadingVelocity() {
+        return headingVelocity;
+    }
+
+    /**
+     * Robot-relative forward motion integrated by the last update (inches).
+     * Together with getLeftDelta() and getHeadingDelta() this is the odometry
+     * input a PoseEstimator predicts from.
+     */
+    public double getForwardDelta() {
+        return forwardDelta;
+    }
+
+    /**
+     * Robot-relative leftward motion integrated by the last update (inches).
+     */
+    public double getLeftDelta() {
+        return leftDelta;
+    }
+
+    /**
+     * Heading change over the last update (radians, counter-clockwise positive).
+     */
+    public double getHeadingDelta() {
+        return headingDelta;
+    }
+}
@@ -0,0 +1,414 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * A drive path in field coordinates, sampled into primitive arrays.
+ *
+ * Build one during init from waypoints:
+ *
+ *   Path path = new Path.Builder(-20, 0, 0)
+ *           .splineTo(-2, -18, Math.toRadians(45))      // curve to the stack
+ *           .maxPower(0.5)
+ *           .lineTo(13, -3, Math.toRadians(45))         // straight, slow collect
+ *           .maxPower(1.0)
+ *           .splineTo(-18, 2, 0)                        // curve back to shoot
+ *           .build();
+ *
+ * Spline segments are cubic Hermite curves with Catmull-Rom tangents, so a
+ * chain of splineTo() calls passes smoothly through every waypoint. Where a
+ * spline meets a line, the spline takes the line's direction so the joint is
+ * smooth too. Heading is interpolated along each segment from one waypoint's
+ * heading to the next (shortest way round), independent of the direction of
+ * travel - the mecanum base can strafe while it turns.
+ *
+ * A waypoint where the path doubles back (e.g. backing out of a ball stack)
+ * is a cusp: the spline leaves it with zero tangent and the follower stops
+ * there before reversing. Every other waypoint is driven through.
+ *
+ * Each sample stores position, heading, arc length, curvature and the power
+ * cap of its segment. Units: inches, radians (CCW positive), 1/inch.
+ */
+
+package org.firstinspires.ftc.teamcode.path;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+
+public class Path {
+
+    public static final double SAMPLE_SPACING_IN = 0.5;        // Distance between samples
+
+    public final double[] x;
+    public final double[] y;
+    public final double[] heading;
+    public final double[] distance;                            // Arc length from the start
+    public final double[] curvature;                           // Signed, 1/inch (left turn positive)
+    public final double[] maxPower;                            // Power cap of the segment
+    public final int[] stops;                                  // Sample indices of cusps, then the end
+
+    final double[] waypointDistance;                           // Arc length at each waypoint
+
+    Path(double[] x, double[] y, double[] heading, double[] distance, double[] curvature,
+                 double[] maxPower, int[] stops, double[] waypointDistance) {
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+        this.distance = distance;
+        this.curvature = curvature;
+        this.maxPower = maxPower;
+        this.stops = stops;
+        this.waypointDistance = waypointDistance;
+    }
+
+    public int size() {
+        return x.length;
+    }
+
+    public double getLength() {
+        return distance[distance.length - 1];
+    }
+
+    public int getWaypointCount() {
+        return waypointDistance.length;
+    }
+
+    /**
+     * Arc length from the start of the path to a waypoint (0 = the start point).
+     */
+    public double getWaypointDistance(int waypoint) {
+        return waypointDistance[waypoint];
+    }
+
+    public double getStartX() {
+        return x[0];
+    }
+
+    public double getStartY() {
+        return y[0];
+    }
+
+    public double getStartHeading() {
+        return heading[0];
+    }
+
+    public double getEndX() {
+        return x[x.length - 1];
+    }
+
+    public double getEndY() {
+        return y[y.length - 1];
+    }
+
+    public double getEndHeading() {
+        return heading[heading.length - 1];
+    }
+
+    // ========== BUILDER ==========
+
+    public static class Builder {
+
+        private static final int LINE = 0;
+        private static final int SPLINE = 1;
+
+        private double[] px = new double[8];
+        private double[] py = new double[8];
+        private double[] ph = new double[8];
+        private int[] segmentType = new int[8];
+        private double[] segmentPower = new double[8];
+        private int pointCount = 1;
+        private double power = 1.0;
+
+        // Output samples (grown as needed during build)
+        private double[] sx, sy, sh, sd, sp;
+        private int sampleCount;
+
+        /**
+         * Starts a path at the given pose.
+         */
+        public Builder(double startX, double startY, double startHeadingRad) {
+            px[0] = startX;
+            py[0] = startY;
+            ph[0] = startHeadingRad;
+        }
+
+        /**
+         * Power cap (0.0 to 1.0) for the segments added after this call.
+         */
+        public Builder maxPower(double maxPower) {
+            power = maxPower;
+            return this;
+        }
+
+        /**
+         * Straight segment to (x, y), turning to headingRad on the way.
+         */
+        public Builder lineTo(double x, double y, double headingRad) {
+            return add(LINE, x, y, headingRad);
+        }
+
+        /**
+         * Curved segment through (x, y), turning to headingRad on the way.
+         */
+        public Builder splineTo(double x, double y, double headingRad) {
+            return add(SPLINE, x, y, headingRad);
+        }
+
+        public double getEndX() {
+            return px[pointCount - 1];
+        }
+
+        /**
+         * Waypoints so far, including the start point (the built Path's getWaypointCount()).
+         */
+        public int getWaypointCount() {
+            return pointCount;
+        }
+
+        /**
+         * 64-bit hash (FNV-1a) of every waypoint, segment type and power cap.
+         * Two builders with the same hash produce the same Path, so the hash can
+         * key a cache without sampling the path first.
+         */
+        public long hash() {
+            long h = 0xcbf29ce484222325L;
+            h = mix(h, pointCount);
+            for (int i = 0; i < pointCount; i++) {
+                h = mix(h, Double.doubleToLongBits(px[i]));
+                h = mix(h, Double.doubleToLongBits(py[i]));
+                h = mix(h, Double.doubleToLongBits(ph[i]));
+                if (i < pointCount - 1) {
+                    h = mix(h, segmentType[i]);
+                    h = mix(h, Double.doubleToLongBits(segmentPower[i]));
+                }
+            }
+            return h;
+        }
+
+        static long mix(long hash, long value) {
+            for (int i = 0; i < 8; i++) {
+                hash ^= (value >>> (i * 8)) & 0xFF;
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+
+        /**
+         * Copy of this path reflected across the X axis (Y and headings negated) -
+         * the same path driven from the other alliance's side.
+         */
+        public Builder mirrored() {
+            Builder mirror = new Builder(px[0], -py[0], -ph[0]);
+            for (int i = 1; i < pointCount; i++) {
+                mirror.power = segmentPower[i - 1];
+                mirror.add(segmentType[i - 1], px[i], -py[i], -ph[i]);
+            }
+            mirror.power = power;
+            return mirror;
+        }
+
+        public double getEndY() {
+            return py[pointCount - 1];
+        }
+
+        public double getEndHeading() {
+            return ph[pointCount - 1];
+        }
+
+        private Builder add(int type, double x, double y, double headingRad) {
+            if (pointCount == px.length) {
+                px = grow(px);
+                py = grow(py);
+                ph = grow(ph);
+                segmentPower = grow(segmentPower);
+                int[] types = new int[segmentType.length * 2];
+                System.arraycopy(segmentType, 0, types, 0, segmentType.length);
+                segmentType = types;
+            }
+            segmentType[pointCount - 1] = type;
+            segmentPower[pointCount - 1] = power;
+            px[pointCount] = x;
+            py[pointCount] = y;
+            ph[pointCount] = headingRad;
+            pointCount++;
+            return this;
+        }
+
+        /**
+         * Samples every segment. Call during init - this allocates.
+         */
+        public Path build() {
+            if (pointCount < 2) {
+                throw new IllegalStateException("A path needs at least one segment");
+            }
+
+            sx = new double[64];
+            sy = new double[64];
+            sh = new double[64];
+            sd = new double[64];
+            sp = new double[64];
+            sampleCount = 0;
+            double[] waypointDistance = new double[pointCount];
+
+            int[] stopBuffer = new int[pointCount];
+            int stopCount = 0;
+
+            append(px[0], py[0], segmentPower[0]);
+            for (int seg = 0; seg < pointCount - 1; seg++) {
+                int first = sampleCount - 1;
+                if (isCusp(seg)) stopBuffer[stopCount++] = first;
+                if (segmentType[seg] == LINE) {
+                    sampleLine(seg);
+                } else {
+                    sampleSpline(seg);
+                }
+                fillHeading(seg, first);
+                waypointDistance[seg + 1] = sd[sampleCount - 1];
+            }
+            sh[0] = ph[0];
+
+            stopBuffer[stopCount++] = sampleCount - 1;
+            int[] stops = new int[stopCount];
+            System.arraycopy(stopBuffer, 0, stops, 0, stopCount);
+
+            double[] curvature = computeCurvature();
+            return new Path(trim(sx), trim(sy), trim(sh), trim(sd), curvature, trim(sp), stops, waypointDistance);
+        }
+
+        /**
+         * True if the path doubles back at an interior waypoint (turns by clearly more than 90 degrees).
+         */
+        private boolean isCusp(int point) {
+            if (point <= 0 || point >= pointCount - 1) return false;
+            double inX = px[point] - px[point - 1], inY = py[point] - py[point - 1];
+            double outX = px[point + 1] - px[point], outY = py[point + 1] - py[point];
+            double lengths = Math.hypot(inX, inY) * Math.hypot(outX, outY);
+            return inX * outX + inY * outY < -0.1 * lengths;      // Allow square corners
+        }
+
+        private void sampleLine(int seg) {
+            double x0 = px[seg], y0 = py[seg];
+            double dx = px[seg + 1] - x0, dy = py[seg + 1] - y0;
+            int steps = Math.max(1, (int) Math.ceil(Math.hypot(dx, dy) / SAMPLE_SPACING_IN));
+            for (int k = 1; k <= steps; k++) {
+                double t = (double) k / steps;
+                append(x0 + dx * t, y0 + dy * t, segmentPower[seg]);
+            }
+        }
+
+        private void sampleSpline(int seg) {
+            double x0 = px[seg], y0 = py[seg];
+            double x1 = px[seg + 1], y1 = py[seg + 1];
+            double chord = Math.hypot(x1 - x0, y1 - y0);
+
+            // Tangent at the start of the segment
+            double m0x, m0y;
+            if (isCusp(seg)) {
+                m0x = 0.0;                                     // Start from rest after reversing
+                m0y = 0.0;
+            } else if (seg > 0 && segmentType[seg - 1] == LINE) {
+                double len = Math.hypot(x0 - px[seg - 1], y0 - py[seg - 1]);
+                double scale = len > 0.0 ? chord / len : 0.0;     // Zero-length line: no direction to match
+                m0x = (x0 - px[seg - 1]) * scale;
+                m0y = (y0 - py[seg - 1]) * scale;
+            } else if (seg > 0) {
+                m0x = (x1 - px[seg - 1]) * 0.5;
+                m0y = (y1 - py[seg - 1]) * 0.5;
+            } else {
+                m0x = x1 - x0;
+                m0y = y1 - y0;
+            }
+
+            // Tangent at the end of the segment
+            double m1x, m1y;
+            boolean last = seg + 2 >= pointCount;
+            if (isCusp(seg + 1)) {
+                m1x = x1 - x0;                                 // Arrive straight, then reverse
+                m1y = y1 - y0;
+            } else if (!last && segmentType[seg + 1] == LINE) {
+                double len = Math.hypot(px[seg + 2] - x1, py[seg + 2] - y1);
+                double scale = len > 0.0 ? chord / len : 0.0;
+                m1x = (px[seg + 2] - x1) * scale;
+                m1y = (py[seg + 2] - y1) * scale;
+            } else if (!last) {
+                m1x = (px[seg + 2] - x0) * 0.5;
+                m1y = (py[seg + 2] - y0) * 0.5;
+            } else {
+                m1x = x1 - x0;
+                m1y = y1 - y0;
+            }
+
+            // Oversample so the spacing stays near SAMPLE_SPACING_IN on curved sections
+            int steps = Math.max(2, (int) Math.ceil(1.5 * chord / SAMPLE_SPACING_IN));
+            for (int k = 1; k <= steps; k++) {
+                double t = (double) k / steps;
+                double t2 = t * t;
+                double t3 = t2 * t;
+                double h00 = 2 * t3 - 3 * t2 + 1;
+                double h10 = t3 - 2 * t2 + t;
+                double h01 = -2 * t3 + 3 * t2;
+                double h11 = t3 - t2;
+                append(h00 * x0 + h10 * m0x + h01 * x1 + h11 * m1x,
+                        h00 * y0 + h10 * m0y + h01 * y1 + h11 * m1y, segmentPower[seg]);
+            }
+        }
+
+        /**
+         * Interpolates heading by arc length over the samples of one segment.
+         */
+        private void fillHeading(int seg, int first) {
+            double start = sd[first];
+            double length = sd[sampleCount - 1] - start;
+            double delta = AngleUnit.normalizeRadians(ph[seg + 1] - ph[seg]);
+            for (int i = first + 1; i < sampleCount; i++) {
+                double fraction = length > 0 ? (sd[i] - start) / length : 1.0;
+                sh[i] = AngleUnit.normalizeRadians(ph[seg] + delta * fraction);
+            }
+        }
+
+        /**
+         * Signed curvature at each sample: turning angle between the chords either
+         * side of it, divided by their average length. Sharp corners between lines
+         * come out large, which is what the follower needs to slow down for them.
+         */
+        private double[] computeCurvature() {
+            double[] k = new double[sampleCount];
+            for (int i = 1; i < sampleCount - 1; i++) {
+                double ax = sx[i] - sx[i - 1], ay = sy[i] - sy[i - 1];
+                double bx = sx[i + 1] - sx[i], by = sy[i + 1] - sy[i];
+                double span = 0.5 * (Math.hypot(ax, ay) + Math.hypot(bx, by));
+                double turn = Math.atan2(ax * by - ay * bx, ax * bx + ay * by);
+                k[i] = span > 1e-9 ? turn / span : 0.0;
+            }
+            if (sampleCount > 2) {
+                k[0] = k[1];
+                k[sampleCount - 1] = k[sampleCount - 2];
+            }
+            return k;
+        }
+
+        private void append(double x, double y, double maxPower) {
+            if (sampleCount == sx.length) {
+                sx = grow(sx);
+                sy = grow(sy);
+                sh = grow(sh);
+                sd = grow(sd);
+                sp = grow(sp);
+            }
+            sd[sampleCount] = sampleCount == 0 ? 0.0
+                    : sd[sampleCount - 1] + Math.hypot(x - sx[sampleCount - 1], y - sy[sampleCount - 1]);
+            sx[sampleCount] = x;
+            sy[sampleCount] = y;
+            sp[sampleCount] = maxPower;
+            sampleCount++;
+        }
+
+        private double[] trim(double[] values) {
+            double[] out = new double[sampleCount];
+            System.arraycopy(values, 0, out, 0, sampleCount);
+            return out;
+        }
+
+        private static double[] grow(double[] values) {
+            double[] out = new double[values.length * 2];
+            System.arraycopy(values, 0, out, 0, values.length);
+            return out;
+        }
+    }
+}
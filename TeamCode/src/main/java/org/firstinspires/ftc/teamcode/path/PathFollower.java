@@ -0,0 +1,243 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Pure pursuit path follower for the mecanum base.
+ *
+ * Call follow() once, then update() every loop with the pose the OpMode
+ * already read this cycle. Each update:
+ *
+ *   1. Finds the closest path sample (searching forward only, so the robot
+ *      never jumps back to an earlier part of a path that crosses itself)
+ *   2. Picks the lookahead point LOOKAHEAD_IN further along the path
+ *   3. Drives field-relative straight at the lookahead point
+ *   4. Scales speed down for the tightest curve between here and the
+ *      lookahead point, the segment's power cap, and the distance left
+ *   5. Turns toward the path heading at the lookahead point (HeadingController)
+ *
+ * With a Trajectory (follow(path, trajectory)), step 4 instead takes the
+ * planned speed at the closest sample from the time-optimal profile and
+ * converts it to power (feedforward), so acceleration, curves and stops
+ * follow the generated limits rather than the heuristic scaling.
+ *
+ * The robot never stops at ordinary waypoints - corners only slow it down by
+ * their curvature. At a cusp (where the path doubles back) the lookahead and
+ * closest-point search are held at the cusp, so the robot slows into it,
+ * reaches it, then carries on along the next part. update() returns false
+ * once the robot is within the position and heading tolerances of the end of
+ * the path, and stops the drive.
+ *
+ * No allocation after construction.
+ */
+
+package org.firstinspires.ftc.teamcode.path;
+
+import com.acmerobotics.dashboard.config.Config;
+
+import org.firstinspires.ftc.teamcode.control.HeadingController;
+import org.firstinspires.ftc.teamcode.control.MecanumDriveBase;
+
+@Config
+public class PathFollower {
+
+    // ========== CONFIGURATION - FTC DASHBOARD ==========
+    public static double LOOKAHEAD_IN = 10.0;                 // Distance ahead of the robot to steer at
+    public static double MAX_POWER = 0.8;                     // Drive power on straight sections
+    public static double MIN_POWER = 0.15;                    // Keeps the robot moving until the end
+    public static double CURVATURE_GAIN = 8.0;                // Power / (1 + gain * |curvature|)
+    public static double DECEL_DISTANCE_IN = 14.0;            // Ramp down over the last inches
+    public static double POSITION_TOLERANCE_IN = 1.0;         // Done when this close to the end
+    public static double HEADING_TOLERANCE_DEG = 2.0;         // ...and heading is within this
+    public static double KA = 0.0;                            // Power per in/s^2 of planned acceleration
+
+    private static final int SEARCH_WINDOW = 40;              // Samples checked ahead for the closest point
+
+    private final MecanumDriveBase drive;
+    private final HeadingController headingController = new HeadingController();
+
+    private Path path;
+    private Trajectory trajectory;                            // Optional velocity profile
+    private int closestIndex = 0;
+    private int lookaheadIndex = 0;
+    private int stopNumber = 0;                               // Index into path.stops
+    private boolean busy = false;
+
+    // Last cycle's values for telemetry
+    private double crossTrackError = 0.0;
+    private double crossTrackRight = 0.0;
+    private double distanceRemaining = 0.0;
+    private double commandedPower = 0.0;
+
+    public PathFollower(MecanumDriveBase drive) {
+        this.drive = drive;
+    }
+
+    /**
+     * Starts following a path from its first sample.
+     */
+    public void follow(Path path) {
+        follow(path, null);
+    }
+
+    /**
+     * Starts following a path at the speeds of a generated profile (null = heuristic speed).
+     */
+    public void follow(Path path, Trajectory trajectory) {
+        this.path = path;
+        this.trajectory = trajectory;
+        closestIndex = 0;
+        lookaheadIndex = 0;
+        stopNumber = 0;
+        busy = true;
+        headingController.setTarget(path.getStartHeading());
+    }
+
+    /**
+     * Stops following and stops the drive.
+     */
+    public void cancel() {
+        busy = false;
+        headingController.release();
+        drive.stop();
+    }
+
+    /**
+     * Drives one step along the path.
+     *
+     * @param x          Robot X in inches (same frame as the path)
+     * @param y          Robot Y in inches
+     * @param headingRad Robot heading in radians, sampled once this cycle
+     * @return true while still following, false once the end is reached
+     */
+    public boolean update(double x, double y, double headingRad) {
+        if (!busy) return false;
+
+        int last = path.size() - 1;
+
+        // Past a cusp once the robot has reached it
+        int stop = path.stops[stopNumber];
+        if (stop < last && Math.hypot(path.x[stop] - x, path.y[stop] - y) < POSITION_TOLERANCE_IN) {
+            closestIndex = stop;
+            stopNumber++;
+            stop = path.stops[stopNumber];
+        }
+
+        // 1. Closest sample, searching forward from last cycle (not beyond the next stop)
+        int searchEnd = Math.min(stop, closestIndex + SEARCH_WINDOW);
+        double bestDistSq = distanceSq(closestIndex, x, y);
+        for (int i = closestIndex + 1; i <= searchEnd; i++) {
+            double d = distanceSq(i, x, y);
+            if (d < bestDistSq) {
+                bestDistSq = d;
+                closestIndex = i;
+            }
+        }
+        crossTrackError = Math.sqrt(bestDistSq);
+
+        // Which side: offset from the closest sample against the direction of travel there
+        int next = Math.min(closestIndex + 1, last);
+        int prev = Math.max(next - 1, 0);
+        double tx = path.x[next] - path.x[prev];
+        double ty = path.y[next] - path.y[prev];
+        double tangent = Math.hypot(tx, ty);
+        crossTrackRight = tangent > 1e-9
+                ? ((x - path.x[closestIndex]) * ty - (y - path.y[closestIndex]) * tx) / tangent : 0.0;
+
+        // 2. Lookahead point, and the tightest curve before it
+        double here = path.distance[closestIndex];
+        int target = Math.max(closestIndex, lookaheadIndex);
+        while (target < stop && path.distance[target] - here < LOOKAHEAD_IN) target++;
+        lookaheadIndex = target;
+
+        double maxCurvature = 0.0;
+        for (int i = closestIndex; i <= target; i++) {
+            maxCurvature = Math.max(maxCurvature, Math.abs(path.curvature[i]));
+        }
+
+        // 3. Direction to the lookahead point
+        double dx = path.x[target] - x;
+        double dy = path.y[target] - y;
+        double toTarget = Math.hypot(dx, dy);
+        double toEnd = Math.hypot(path.getEndX() - x, path.getEndY() - y);
+        double toStop = Math.hypot(path.x[stop] - x, path.y[stop] - y);
+        distanceRemaining = Math.max(path.getLength() - here, toEnd);
+        double stopDistance = Math.max(path.distance[stop] - here, toStop);
+
+        // 5. Heading toward the path heading at the lookahead point
+        headingController.setTarget(path.heading[target]);
+        double turn = -headingController.update(headingRad);
+
+        // Finished?
+        if (target == last && toEnd < POSITION_TOLERANCE_IN
+                && Math.abs(headingController.getError()) < Math.toRadians(HEADING_TOLERANCE_DEG)) {
+            busy = false;
+            commandedPower = 0.0;
+            headingController.release();
+            drive.stop();
+            return false;
+        }
+
+        // 4. Speed: planned profile, or segment cap, curvature and distance to the next stop
+        double power;
+        if (trajectory != null) {
+            power = trajectory.velocity[closestIndex] / TrajectoryGenerator.MAX_WHEEL_VELOCITY
+                    + KA * trajectory.acceleration[closestIndex];
+        } else {
+            power = Math.min(MAX_POWER, path.maxPower[closestIndex]);
+            power /= 1.0 + CURVATURE_GAIN * maxCurvature;
+            power = Math.min(power, MAX_POWER * stopDistance / DECEL_DISTANCE_IN);
+        }
+        power = Math.max(power, MIN_POWER);
+        if (toEnd < POSITION_TOLERANCE_IN) power = 0.0;      // In position - only finish the turn
+        commandedPower = power;
+
+        double vx = toTarget > 1e-6 ? dx / toTarget * power : 0.0;
+        double vy = toTarget > 1e-6 ? dy / toTarget * power : 0.0;
+
+        // Field +Y is left, drive lateral is right
+        drive.driveFieldRelative(vx, -vy, turn, 1.0, headingRad);
+        return true;
+    }
+
+    private double distanceSq(int i, double x, double y) {
+        double dx = path.x[i] - x;
+        double dy = path.y[i] - y;
+        return dx * dx + dy * dy;
+    }
+
+    public boolean isBusy() {
+        return busy;
+    }
+
+    /**
+     * Arc length along the path at the closest sample - use it to trigger actions mid-path.
+     */
+    public double getDistanceAlong() {
+        return path != null ? path.distance[closestIndex] : 0.0;
+    }
+
+    public double getDistanceRemaining() {
+        return distanceRemaining;
+    }
+
+    public double getCrossTrackError() {
+        return crossTrackError;
+    }
+
+    /**
+     * Signed cross-track error (inches, positive = right of the path, facing along it).
+     */
+    public double getCrossTrackRight() {
+        return crossTrackRight;
+    }
+
+    public double getCommandedPower() {
+        return commandedPower;
+    }
+
+    public double getLookaheadX() {
+        return path.x[lookaheadIndex];
+    }
+
+    public double getLookaheadY() {
+        return path.y[lookaheadIndex];
+    }
+}
@@ -0,0 +1,51 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Velocity profile for a Path, one entry per path sample.
+ *
+ * Produced by TrajectoryGenerator. Index i here is the same point as index i
+ * in the Path, so a follower that knows its closest path sample can read the
+ * planned speed directly. Use sampleAt() to go from time to sample instead.
+ *
+ * Units: seconds, inches/second, inches/second^2.
+ */
+
+package org.firstinspires.ftc.teamcode.path;
+
+public class Trajectory {
+
+    public final Path path;
+    public final double[] time;                                // Time to reach each sample
+    public final double[] velocity;                            // Speed along the path
+    public final double[] acceleration;                        // Along-path acceleration to the next sample
+
+    Trajectory(Path path, double[] time, double[] velocity, double[] acceleration) {
+        this.path = path;
+        this.time = time;
+        this.velocity = velocity;
+        this.acceleration = acceleration;
+    }
+
+    public int size() {
+        return time.length;
+    }
+
+    public double getDuration() {
+        return time[time.length - 1];
+    }
+
+    /**
+     * Last sample at or before timeS, searching from a hint (pass the previous result).
+     */
+    public int sampleAt(double timeS, int hint) {
+        int i = Math.max(0, Math.min(hint, time.length - 1));
+        while (i > 0 && time[i] > timeS) i--;
+        while (i + 1 < time.length && time[i + 1] <= timeS) i++;
+        return i;
+    }
+
+    public double getMaxVelocity() {
+        double max = 0.0;
+        for (double v : velocity) max = Math.max(max, v);
+        return max;
+    }
+}
@@ -0,0 +1,218 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Stores a routine's sampled trajectories on the Control Hub between runs.
+ *
+ * The cache key is a hash of every path builder in the routine (waypoints,
+ * segment types, power caps) plus the TrajectoryGenerator constraints and
+ * the sample spacing. On init:
+ *
+ *   key matches the file  -> memory-map the file and bulk-copy the arrays (hit)
+ *   anything else         -> sample the paths, generate the profiles, write
+ *                            the file for next time (miss)
+ *
+ * So a Dashboard tweak to a constant or constraint regenerates once, and every
+ * later init with the same values skips the work entirely. The file keeps the
+ * generation time from the last miss, so telemetry can show both numbers.
+ *
+ * File: /sdcard/FIRST/penguinauts/trajectories/<name>.traj (big-endian)
+ *   int magic, int version, long key, double generateMs, int count,
+ *   then per trajectory: int samples, int stops, int waypoints,
+ *   double[samples] x, y, heading, distance, curvature, maxPower,
+ *   int[stops] stops, double[waypoints] waypointDistance,
+ *   double[samples] time, velocity, acceleration
+ */
+
+package org.firstinspires.ftc.teamcode.path;
+
+import com.qualcomm.robotcore.util.RobotLog;
+
+import org.firstinspires.ftc.teamcode.util.TeamStorage;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+public class TrajectoryCache {
+
+    private static final String TAG = "TrajectoryCache";
+    private static final int MAGIC = 0x50475452;               // "PGTR"
+    private static final int VERSION = 1;
+
+    private final String name;
+
+    // Stats from the last get()
+    private boolean hit = false;
+    private double loadMs = 0.0;
+    private double generateMs = 0.0;
+
+    /**
+     * @param name Routine name, used as the file name
+     */
+    public TrajectoryCache(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns one trajectory per builder, from the cache file when its key matches.
+     */
+    public Trajectory[] get(Path.Builder... builders) {
+        long start = System.nanoTime();
+        long key = key(builders);
+        File file = TeamStorage.file("trajectories", name + ".traj");
+
+        Trajectory[] trajectories = null;
+        if (file.isFile()) {
+            try {
+                trajectories = read(file, key, builders.length);
+            } catch (IOException | RuntimeException e) {
+                RobotLog.ww(TAG, "Ignoring unreadable cache %s: %s", file.getName(), e.toString());
+            }
+        }
+
+        hit = trajectories != null;
+        if (hit) {
+            loadMs = (System.nanoTime() - start) / 1e6;
+            RobotLog.ii(TAG, "%s: cache hit, loaded in %.2f ms (generation took %.2f ms)", name, loadMs, generateMs);
+            return trajectories;
+        }
+
+        trajectories = new Trajectory[builders.length];
+        for (int i = 0; i < builders.length; i++) {
+            trajectories[i] = TrajectoryGenerator.generate(builders[i].build());
+        }
+        generateMs = (System.nanoTime() - start) / 1e6;
+        loadMs = generateMs;
+
+        try {
+            write(file, key, trajectories);
+        } catch (IOException e) {
+            RobotLog.ee(TAG, e, "Could not write %s", file.getAbsolutePath());
+        }
+        RobotLog.ii(TAG, "%s: cache miss, generated in %.2f ms", name, generateMs);
+        return trajectories;
+    }
+
+    /**
+     * True if the last get() was served from the cache file.
+     */
+    public boolean wasHit() {
+        return hit;
+    }
+
+    /**
+     * Time the last get() took (mapping the file on a hit, generating on a miss).
+     */
+    public double getLoadMs() {
+        return loadMs;
+    }
+
+    /**
+     * Time generation took on the last miss (read back from the file on a hit).
+     */
+    public double getGenerateMs() {
+        return generateMs;
+    }
+
+    // ========== KEY ==========
+
+    private static long key(Path.Builder[] builders) {
+        long h = Path.Builder.mix(0xcbf29ce484222325L, VERSION);
+        h = Path.Builder.mix(h, Double.doubleToLongBits(Path.SAMPLE_SPACING_IN));
+        h = Path.Builder.mix(h, Double.doubleToLongBits(TrajectoryGenerator.MAX_WHEEL_VELOCITY));
+        h = Path.Builder.mix(h, Double.doubleToLongBits(TrajectoryGenerator.MAX_ACCELERATION));
+        h = Path.Builder.mix(h, Double.doubleToLongBits(TrajectoryGenerator.MAX_CENTRIPETAL));
+        h = Path.Builder.mix(h, Double.doubleToLongBits(TrajectoryGenerator.TRACK_WIDTH_IN));
+        h = Path.Builder.mix(h, Double.doubleToLongBits(TrajectoryGenerator.WHEEL_BASE_IN));
+        for (Path.Builder builder : builders) {
+            h = Path.Builder.mix(h, builder.hash());
+        }
+        return h;
+    }
+
+    // ========== FILE FORMAT ==========
+
+    private Trajectory[] read(File file, long key, int expectedCount) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try {
+                if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getLong() != key) {
+                    return null;
+                }
+                double storedGenerateMs = buffer.getDouble();
+                int count = buffer.getInt();
+                if (count != expectedCount) return null;
+
+                Trajectory[] trajectories = new Trajectory[count];
+                for (int t = 0; t < count; t++) {
+                    int samples = buffer.getInt();
+                    int stops = buffer.getInt();
+                    int waypoints = buffer.getInt();
+                    double[] x = readDoubles(buffer, samples);
+                    double[] y = readDoubles(buffer, samples);
+                    double[] heading = readDoubles(buffer, samples);
+                    double[] distance = readDoubles(buffer, samples);
+                    double[] curvature = readDoubles(buffer, samples);
+                    double[] maxPower = readDoubles(buffer, samples);
+                    int[] stopIndices = new int[stops];
+                    buffer.asIntBuffer().get(stopIndices);
+                    buffer.position(buffer.position() + stops * 4);
+                    double[] waypointDistance = readDoubles(buffer, waypoints);
+                    Path path = new Path(x, y, heading, distance, curvature, maxPower, stopIndices, waypointDistance);
+                    trajectories[t] = new Trajectory(path, readDoubles(buffer, samples),
+                            readDoubles(buffer, samples), readDoubles(buffer, samples));
+                }
+                generateMs = storedGenerateMs;
+                return trajectories;
+            } catch (BufferUnderflowException e) {
+                throw new IOException(file.getName() + " is truncated", e);
+            }
+        }
+    }
+
+    private static double[] readDoubles(ByteBuffer buffer, int count) {
+        double[] values = new double[count];
+        buffer.asDoubleBuffer().get(values);
+        buffer.position(buffer.position() + count * 8);
+        return values;
+    }
+
+    private void write(File file, long key, Trajectory[] trajectories) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(key);
+            out.writeDouble(generateMs);
+            out.writeInt(trajectories.length);
+            for (Trajectory trajectory : trajectories) {
+                Path path = trajectory.path;
+                out.writeInt(path.size());
+                out.writeInt(path.stops.length);
+                out.writeInt(path.waypointDistance.length);
+                writeDoubles(out, path.x);
+                writeDoubles(out, path.y);
+                writeDoubles(out, path.heading);
+                writeDoubles(out, path.distance);
+                writeDoubles(out, path.curvature);
+                writeDoubles(out, path.maxPower);
+                for (int stop : path.stops) out.writeInt(stop);
+                writeDoubles(out, path.waypointDistance);
+                writeDoubles(out, trajectory.time);
+                writeDoubles(out, trajectory.velocity);
+                writeDoubles(out, trajectory.acceleration);
+            }
+        }
+    }
+
+    private static void writeDoubles(DataOutputStream out, double[] values) throws IOException {
+        for (double value : values) out.writeDouble(value);
+    }
+}
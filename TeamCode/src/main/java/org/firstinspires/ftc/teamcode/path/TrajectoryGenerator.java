@@ -0,0 +1,124 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Time-optimal velocity profile along a Path.
+ *
+ * For every path sample the fastest allowed speed is the smallest of:
+ *
+ *   wheel limit      - mecanum wheel speed is |vx| + |vy| + |omega| * (TRACK_WIDTH + WHEEL_BASE) / 2
+ *                      in the robot frame. Travelling diagonally to the robot,
+ *                      or turning while driving, uses up wheel speed, so the
+ *                      limit depends on the heading and the heading change per inch.
+ *   centripetal      - v^2 * |curvature| <= MAX_CENTRIPETAL (wheel traction in curves)
+ *   segment cap      - the Path segment's maxPower * MAX_WHEEL_VELOCITY
+ *   stops            - zero at the start, at cusps and at the end
+ *
+ * A forward pass then limits acceleration from each sample to the next, and
+ * a backward pass limits deceleration into the next one. Time between samples
+ * follows from the average speed. This is the standard two-pass
+ * time-parameterization; it is O(n) in the number of samples and runs in
+ * well under a millisecond for a typical collect path.
+ *
+ * Run it during init - it allocates the output arrays.
+ */
+
+package org.firstinspires.ftc.teamcode.path;
+
+import com.acmerobotics.dashboard.config.Config;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+
+@Config
+public final class TrajectoryGenerator {
+
+    // ========== CONFIGURATION - FTC DASHBOARD ==========
+    public static double MAX_WHEEL_VELOCITY = 50.0;           // in/s - wheel surface speed at full power
+    public static double MAX_ACCELERATION = 40.0;             // in/s^2 along the path
+    public static double MAX_CENTRIPETAL = 30.0;              // in/s^2 sideways in curves
+    public static double TRACK_WIDTH_IN = 14.0;               // Left-right wheel spacing
+    public static double WHEEL_BASE_IN = 13.0;                // Front-back wheel spacing
+
+    private TrajectoryGenerator() {
+    }
+
+    /**
+     * Generates the fastest feasible profile with the current Dashboard constraints.
+     */
+    public static Trajectory generate(Path path) {
+        return generate(path, MAX_WHEEL_VELOCITY, MAX_ACCELERATION, MAX_CENTRIPETAL,
+                (TRACK_WIDTH_IN + WHEEL_BASE_IN) / 2.0);
+    }
+
+    /**
+     * Generates the fastest feasible profile with explicit constraints.
+     *
+     * @param maxWheelVelocity Wheel surface speed limit (in/s)
+     * @param maxAcceleration  Along-path acceleration limit (in/s^2)
+     * @param maxCentripetal   Sideways acceleration limit (in/s^2)
+     * @param turnRadius       (track width + wheel base) / 2 - wheel speed per rad/s of turn
+     */
+    public static Trajectory generate(Path path, double maxWheelVelocity, double maxAcceleration,
+                                      double maxCentripetal, double turnRadius) {
+        int n = path.size();
+        double[] velocity = new double[n];
+        double[] time = new double[n];
+        double[] acceleration = new double[n];
+
+        // 1. Speed limit at each sample
+        for (int i = 0; i < n; i++) {
+            int a = i < n - 1 ? i : i - 1;                     // Use the chord leaving the sample (entering at the end)
+            double ds = path.distance[a + 1] - path.distance[a];
+            if (ds <= 1e-9) {
+                velocity[i] = 0.0;
+                continue;
+            }
+
+            // Direction of travel relative to the robot
+            double travel = Math.atan2(path.y[a + 1] - path.y[a], path.x[a + 1] - path.x[a]);
+            double relative = travel - path.heading[i];
+            double turnPerInch = AngleUnit.normalizeRadians(path.heading[a + 1] - path.heading[a]) / ds;
+            double wheelPerSpeed = Math.abs(Math.cos(relative)) + Math.abs(Math.sin(relative))
+                    + Math.abs(turnPerInch) * turnRadius;
+            double limit = maxWheelVelocity / wheelPerSpeed;
+
+            double curvature = Math.abs(path.curvature[i]);
+            if (curvature > 1e-9) {
+                limit = Math.min(limit, Math.sqrt(maxCentripetal / curvature));
+            }
+            limit = Math.min(limit, path.maxPower[i] * maxWheelVelocity);
+            velocity[i] = limit;
+        }
+        for (int stop : path.stops) velocity[stop] = 0.0;
+        velocity[0] = 0.0;
+
+        // 2. Forward pass - acceleration limit
+        for (int i = 0; i < n - 1; i++) {
+            double ds = path.distance[i + 1] - path.distance[i];
+            velocity[i + 1] = Math.min(velocity[i + 1],
+                    Math.sqrt(velocity[i] * velocity[i] + 2 * maxAcceleration * ds));
+        }
+
+        // 3. Backward pass - deceleration limit
+        for (int i = n - 2; i >= 0; i--) {
+            double ds = path.distance[i + 1] - path.distance[i];
+            velocity[i] = Math.min(velocity[i],
+                    Math.sqrt(velocity[i + 1] * velocity[i + 1] + 2 * maxAcceleration * ds));
+        }
+
+        // 4. Time and acceleration between samples
+        for (int i = 0; i < n - 1; i++) {
+            double ds = path.distance[i + 1] - path.distance[i];
+            double sum = velocity[i] + velocity[i + 1];
+            double dt;
+            if (sum > 1e-9) {
+                dt = 2 * ds / sum;
+            } else {
+                dt = Math.sqrt(2 * ds / maxAcceleration);      // Both ends at rest
+            }
+            time[i + 1] = time[i] + dt;
+            acceleration[i] = ds > 1e-9
+                    ? (velocity[i + 1] * velocity[i + 1] - velocity[i] * velocity[i]) / (2 * ds) : 0.0;
+        }
+
+        return new Trajectory(path, time, velocity, acceleration);
+    }
+}
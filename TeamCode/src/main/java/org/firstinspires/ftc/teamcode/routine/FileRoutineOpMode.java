@@ -0,0 +1,47 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Runs a routine file from the Control Hub. Registered by RoutineRegistrar.
+ *
+ * The file is read again every INIT, so an edited routine pushed over adb
+ * takes effect on the next run without restarting the robot. Only adding,
+ * removing or renaming files, or changing a file's alliance, needs a Restart
+ * Robot (to re-register).
+ *
+ * The SDK reuses the registered instance for every run, so it holds nothing
+ * but the file and alliance it was registered with.
+ */
+
+package org.firstinspires.ftc.teamcode.routine;
+
+import java.io.File;
+import java.io.IOException;
+
+public class FileRoutineOpMode extends RoutineOpMode {
+
+    private final File file;
+    private final boolean blue;
+
+    public FileRoutineOpMode(File file, boolean blue) {
+        this.file = file;
+        this.blue = blue;
+    }
+
+    @Override
+    protected RoutineBuilder buildRoutine() {
+        RoutineFile routine;
+        try {
+            routine = RoutineFile.load(file);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read " + file.getName() + ": " + e.getMessage(), e);
+        }
+        if (routine.blue != blue) {
+            throw new IllegalStateException(file.getName() + " changed alliance - Restart Robot to re-register it");
+        }
+        return routine.builder;
+    }
+
+    @Override
+    protected boolean isBlue() {
+        return blue;
+    }
+}
@@ -0,0 +1,120 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * A compiled autonomous routine: a flat instruction array for RoutineRunner.
+ *
+ * Each instruction is one opcode plus ARGS double arguments, stored in two
+ * parallel primitive arrays. Strings (telemetry labels), trajectories and
+ * tunable waits are referenced by index into their own tables. Everything
+ * else is resolved by RoutineBuilder.compile() during init - alliance
+ * mirroring, Dashboard constants, path sampling and velocity profiles - so
+ * the runner only reads numbers while the match is on. A tunable wait is the
+ * one exception: its length is read when the WAIT starts, so a Dashboard edit
+ * made after INIT still counts.
+ *
+ * Opcodes (a, b = arguments):
+ *   DRIVE         a = inches (negative = backward), b = power
+ *   STRAFE        a = inches (positive = right), b = power
+ *   TURN          a = degrees (positive = left / CCW)
+ *   HOLD_HEADING  a = degrees to hold during drives and strafes (NaN = current IMU heading)
+ *   FOLLOW        a = trajectory index, b = waypoint that starts the intakes (-1 = none)
+ *   SPIN_UP       a = shooter velocity (ticks/sec)
+ *   SHOOT         a = ball count, b = shooter velocity
+ *   COLLECT       front intake in, back intake holding
+ *   STOP_INTAKES
+ *   WAIT          a = milliseconds, b = tunable wait index (-1 = use a)
+ *   STEP          a = phase label index, b = step label index
+ */
+
+package org.firstinspires.ftc.teamcode.routine;
+
+import org.firstinspires.ftc.teamcode.path.Trajectory;
+
+import java.util.function.DoubleSupplier;
+
+public final class Routine {
+
+    // ========== OPCODES ==========
+    public static final int DRIVE = 0;
+    public static final int STRAFE = 1;
+    public static final int TURN = 2;
+    public static final int HOLD_HEADING = 3;
+    public static final int FOLLOW = 4;
+    public static final int SPIN_UP = 5;
+    public static final int SHOOT = 6;
+    public static final int COLLECT = 7;
+    public static final int STOP_INTAKES = 8;
+    public static final int WAIT = 9;
+    public static final int STEP = 10;
+
+    static final String[] OP_NAMES = {
+            "DRIVE", "STRAFE", "TURN", "HOLD_HEADING", "FOLLOW", "SPIN_UP",
+            "SHOOT", "COLLECT", "STOP_INTAKES", "WAIT", "STEP"
+    };
+
+    public static final int ARGS = 2;                          // Arguments per instruction
+
+    public final String name;
+    public final boolean mirrored;                             // Compiled for the Blue side
+
+    final int[] ops;
+    final double[] args;                                       // ops.length * ARGS
+    final String[] strings;
+    final Trajectory[] trajectories;
+    final DoubleSupplier[] waits;                              // Seconds, read when the WAIT starts
+
+    // Trajectory cache stats from compile()
+    final boolean trajectoriesCached;
+    final double trajectoryLoadMs;
+    final double trajectoryGenerateMs;
+
+    Routine(String name, boolean mirrored, int[] ops, double[] args, String[] strings,
+            Trajectory[] trajectories, DoubleSupplier[] waits, boolean trajectoriesCached,
+            double trajectoryLoadMs, double trajectoryGenerateMs) {
+        this.name = name;
+        this.mirrored = mirrored;
+        this.ops = ops;
+        this.args = args;
+        this.strings = strings;
+        this.trajectories = trajectories;
+        this.waits = waits;
+        this.trajectoriesCached = trajectoriesCached;
+        this.trajectoryLoadMs = trajectoryLoadMs;
+        this.trajectoryGenerateMs = trajectoryGenerateMs;
+    }
+
+    public int size() {
+        return ops.length;
+    }
+
+    public int getTrajectoryCount() {
+        return trajectories.length;
+    }
+
+    /**
+     * Sum of the planned durations of every FOLLOW instruction (seconds).
+     */
+    public double getPlannedPathSeconds() {
+        double total = 0.0;
+        for (Trajectory trajectory : trajectories) total += trajectory.getDuration();
+        return total;
+    }
+
+    public boolean wereTrajectoriesCached() {
+        return trajectoriesCached;
+    }
+
+    public double getTrajectoryLoadMs() {
+        return trajectoryLoadMs;
+    }
+
+    public double getTrajectoryGenerateMs() {
+        return trajectoryGenerateMs;
+    }
+
+    /**
+     * Opcode name for telemetry and logs.
+     */
+    public static String opName(int op) {
+        return op >= 0 && op < OP_NAMES.length ? OP_NAMES[op] : "?";
+    }
+}
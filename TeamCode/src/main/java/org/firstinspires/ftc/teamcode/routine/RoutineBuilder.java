@@ -0,0 +1,236 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Declarative description of an autonomous routine.
+ *
+ * Routines are written once, from the Red alliance side:
+ *
+ *   new RoutineBuilder("back3")
+ *           .step("Phase 1", "Driving to shooting position")
+ *           .spinUp(1520)
+ *           .holdHeading(0)
+ *           .drive(5, 0.5)
+ *           .turn(25)
+ *           .shoot(3, 1520)
+ *           .compile(blue);
+ *
+ * compile(true) produces the Blue version by negating turns, strafes, held
+ * headings and path Y coordinates - the same rules the hand-mirrored Blue
+ * copies followed. Call compile() during init: it allocates, samples paths
+ * and loads or generates their velocity profiles (TrajectoryCache, keyed by
+ * routine name and alliance). The result is a Routine for RoutineRunner.
+ */
+
+package org.firstinspires.ftc.teamcode.routine;
+
+import org.firstinspires.ftc.teamcode.path.Path;
+import org.firstinspires.ftc.teamcode.path.Trajectory;
+import org.firstinspires.ftc.teamcode.path.TrajectoryCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleSupplier;
+
+public class RoutineBuilder {
+
+    private final String name;
+
+    private int[] ops = new int[32];
+    private double[] args = new double[32 * Routine.ARGS];
+    private int count = 0;
+    private final List<String> strings = new ArrayList<>();
+    private final List<Path.Builder> paths = new ArrayList<>();
+    private final List<DoubleSupplier> waits = new ArrayList<>();
+
+    /**
+     * @param name Routine name - used for the trajectory cache file and telemetry
+     */
+    public RoutineBuilder(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // ========== INSTRUCTIONS ==========
+
+    /**
+     * Sets the Phase and Step lines shown on telemetry.
+     */
+    public RoutineBuilder step(String phase, String step) {
+        return add(Routine.STEP, string(phase), string(step));
+    }
+
+    /**
+     * Drives straight with heading hold and slow approach (negative = backward).
+     */
+    public RoutineBuilder drive(double inches, double power) {
+        return add(Routine.DRIVE, inches, power);
+    }
+
+    /**
+     * Strafes with heading hold and slow approach (positive = right).
+     */
+    public RoutineBuilder strafe(double inches, double power) {
+        return add(Routine.STRAFE, inches, power);
+    }
+
+    public RoutineBuilder strafeRight(double inches) {
+        return strafe(Math.abs(inches), RoutineRunner.DRIVE_POWER);
+    }
+
+    public RoutineBuilder strafeLeft(double inches) {
+        return strafe(-Math.abs(inches), RoutineRunner.DRIVE_POWER);
+    }
+
+    /**
+     * Encoder turn (positive = left / counterclockwise).
+     */
+    public RoutineBuilder turn(double degrees) {
+        return add(Routine.TURN, degrees, 0);
+    }
+
+    /**
+     * Heading (degrees) that following drives and strafes correct toward.
+     */
+    public RoutineBuilder holdHeading(double degrees) {
+        return add(Routine.HOLD_HEADING, degrees, 0);
+    }
+
+    /**
+     * Holds whatever heading the IMU reads when this instruction runs.
+     */
+    public RoutineBuilder holdCurrentHeading() {
+        return add(Routine.HOLD_HEADING, Double.NaN, 0);
+    }
+
+    /**
+     * Follows a path (start frame, Red side) at its time-optimal profile.
+     *
+     * @param path           Path waypoints, sampled at compile time
+     * @param intakeWaypoint Waypoint at which to start the collection intakes (-1 = never)
+     */
+    public RoutineBuilder follow(Path.Builder path, int intakeWaypoint) {
+        paths.add(path);
+        return add(Routine.FOLLOW, paths.size() - 1, intakeWaypoint);
+    }
+
+    public RoutineBuilder spinUp(double velocity) {
+        return add(Routine.SPIN_UP, velocity, 0);
+    }
+
+    /**
+     * Shoots balls, waiting for the flywheels before each one, then stops shooter and intakes.
+     */
+    public RoutineBuilder shoot(int count, double velocity) {
+        return add(Routine.SHOOT, count, velocity);
+    }
+
+    /**
+     * Front intake in, back intake holding balls in the hopper.
+     */
+    public RoutineBuilder collect() {
+        return add(Routine.COLLECT, 0, 0);
+    }
+
+    public RoutineBuilder stopIntakes() {
+        return add(Routine.STOP_INTAKES, 0, 0);
+    }
+
+    public RoutineBuilder waitMs(double milliseconds) {
+        return add(Routine.WAIT, milliseconds, -1);
+    }
+
+    /**
+     * Waits as many seconds as the supplier returns when the wait starts, so
+     * it can follow a Dashboard constant edited after compile (0 = no wait).
+     */
+    public RoutineBuilder waitSec(DoubleSupplier seconds) {
+        waits.add(seconds);
+        return add(Routine.WAIT, 0, waits.size() - 1);
+    }
+
+    // ========== COMPILE ==========
+
+    /**
+     * Resolves the routine into flat arrays for one alliance.
+     *
+     * @param mirror true for the Blue side (turns, strafes, headings and paths mirrored)
+     * @throws IllegalArgumentException if a follow's intake waypoint is not on its path
+     */
+    public Routine compile(boolean mirror) {
+        for (int i = 0; i < count; i++) {
+            if (ops[i] != Routine.FOLLOW) continue;
+            int intakeWaypoint = (int) args[i * Routine.ARGS + 1];
+            int waypoints = paths.get((int) args[i * Routine.ARGS]).getWaypointCount();
+            if (intakeWaypoint < -1 || intakeWaypoint >= waypoints) {
+                throw new IllegalArgumentException(name + " instruction " + (i + 1) + " (" + Routine.opName(ops[i])
+                        + "): intake waypoint " + intakeWaypoint + " is not on a path of " + waypoints + " waypoints");
+            }
+        }
+
+        int[] outOps = new int[count];
+        double[] outArgs = new double[count * Routine.ARGS];
+        System.arraycopy(ops, 0, outOps, 0, count);
+        System.arraycopy(args, 0, outArgs, 0, count * Routine.ARGS);
+
+        if (mirror) {
+            for (int i = 0; i < count; i++) {
+                int op = outOps[i];
+                if (op == Routine.STRAFE || op == Routine.TURN || op == Routine.HOLD_HEADING) {
+                    outArgs[i * Routine.ARGS] = -outArgs[i * Routine.ARGS];
+                }
+            }
+        }
+
+        String fullName = (mirror ? "blue_" : "red_") + name;
+        Path.Builder[] builders = new Path.Builder[paths.size()];
+        for (int i = 0; i < builders.length; i++) {
+            builders[i] = mirror ? paths.get(i).mirrored() : paths.get(i);
+        }
+
+        Trajectory[] trajectories = new Trajectory[0];
+        boolean cached = true;
+        double loadMs = 0.0;
+        double generateMs = 0.0;
+        if (builders.length > 0) {
+            TrajectoryCache cache = new TrajectoryCache(fullName);
+            trajectories = cache.get(builders);
+            cached = cache.wasHit();
+            loadMs = cache.getLoadMs();
+            generateMs = cache.getGenerateMs();
+        }
+
+        return new Routine(fullName, mirror, outOps, outArgs, strings.toArray(new String[0]),
+                trajectories, waits.toArray(new DoubleSupplier[0]), cached, loadMs, generateMs);
+    }
+
+    // ========== STORAGE ==========
+
+    private RoutineBuilder add(int op, double a, double b) {
+        if (count == ops.length) {
+            int[] grownOps = new int[ops.length * 2];
+            System.arraycopy(ops, 0, grownOps, 0, count);
+            ops = grownOps;
+            double[] grownArgs = new double[args.length * 2];
+            System.arraycopy(args, 0, grownArgs, 0, count * Routine.ARGS);
+            args = grownArgs;
+        }
+        ops[count] = op;
+        args[count * Routine.ARGS] = a;
+        args[count * Routine.ARGS + 1] = b;
+        count++;
+        return this;
+    }
+
+    private int string(String value) {
+        int index = strings.indexOf(value);
+        if (index >= 0) return index;
+        strings.add(value);
+        return strings.size() - 1;
+    }
+}
@@ -0,0 +1,259 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Text form of a routine, loaded from the Control Hub at run time.
+ *
+ * One instruction per line, same names and arguments as RoutineBuilder,
+ * written from the Red side. '#' starts a comment; quote labels with spaces.
+ *
+ *   name     Red - Test - Back                # OpMode name (default "Routine: <file name>")
+ *   group    Routines                         # Driver Station group (default "Routines")
+ *   alliance red                              # blue = compile mirrored
+ *
+ *   step     "Phase 1" "Driving to shooting position"
+ *   spinup   1520                             # shooter velocity (ticks/sec)
+ *   hold     0                                # heading to hold (degrees), or "current"
+ *   drive    5 0.5                            # inches (negative = back), power
+ *   strafe   30                               # inches (positive = right), optional power
+ *   turn     25                               # degrees (positive = left)
+ *   shoot    3 1520                           # balls, velocity
+ *   collect
+ *   stopintakes
+ *   wait     500                              # milliseconds
+ *
+ *   path     -20 0 0                          # start x, y (inches), heading (degrees)
+ *   power    0.8                              # cap for the segments that follow
+ *   spline   -2 -18 45                        # curve through x, y, heading
+ *   line     13 -3 45                         # straight to x, y, heading
+ *   follow   1                                # drive the path; optional intake waypoint
+ *
+ * Errors are reported as "<file>:<line>: <problem>".
+ */
+
+package org.firstinspires.ftc.teamcode.routine;
+
+import org.firstinspires.ftc.teamcode.path.Path;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class RoutineFile {
+
+    public static final String EXTENSION = ".routine";
+    public static final String DEFAULT_GROUP = "Routines";
+
+    public final String opModeName;
+    public final String group;
+    public final boolean blue;
+    public final RoutineBuilder builder;
+
+    private RoutineFile(String opModeName, String group, boolean blue, RoutineBuilder builder) {
+        this.opModeName = opModeName;
+        this.group = group;
+        this.blue = blue;
+        this.builder = builder;
+    }
+
+    /**
+     * Reads and parses a routine file.
+     *
+     * @throws IllegalArgumentException on a syntax error, with file and line number
+     */
+    public static RoutineFile load(File file) throws IOException {
+        String fileName = file.getName();
+        String stem = fileName.endsWith(EXTENSION)
+                ? fileName.substring(0, fileName.length() - EXTENSION.length()) : fileName;
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            return parse(fileName, stem, reader);
+        }
+    }
+
+    /**
+     * Parses routine text. The builder is named "file_<stem>" so file routines
+     * never share a trajectory cache with the built-in ones.
+     */
+    static RoutineFile parse(String source, String stem, BufferedReader reader) throws IOException {
+        RoutineBuilder builder = new RoutineBuilder("file_" + stem);
+        String name = "Routine: " + stem;
+        String group = DEFAULT_GROUP;
+        boolean blue = false;
+        Path.Builder path = null;
+
+        List<String> tokens = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            try {
+                tokenize(line, tokens);
+                if (tokens.isEmpty()) continue;
+                String command = tokens.get(0).toLowerCase();
+
+                // Path segments until "follow"
+                if (path != null) {
+                    switch (command) {
+                        case "power":
+                            expect(tokens, 1, 1);
+                            path.maxPower(number(tokens, 1));
+                            continue;
+                        case "line":
+                            expect(tokens, 3, 3);
+                            path.lineTo(number(tokens, 1), number(tokens, 2), Math.toRadians(number(tokens, 3)));
+                            continue;
+                        case "spline":
+                            expect(tokens, 3, 3);
+                            path.splineTo(number(tokens, 1), number(tokens, 2), Math.toRadians(number(tokens, 3)));
+                            continue;
+                        case "follow":
+                            expect(tokens, 0, 1);
+                            int intakeWaypoint = tokens.size() > 1 ? (int) number(tokens, 1) : -1;
+                            if (intakeWaypoint != -1
+                                    && (intakeWaypoint < 0 || intakeWaypoint >= path.getWaypointCount())) {
+                                throw new IllegalArgumentException("intake waypoint " + intakeWaypoint
+                                        + " is not on the path (waypoints 0 to " + (path.getWaypointCount() - 1) + ")");
+                            }
+                            builder.follow(path, intakeWaypoint);
+                            path = null;
+                            continue;
+                        default:
+                            throw new IllegalArgumentException("expected power, line, spline or follow inside a path");
+                    }
+                }
+
+                switch (command) {
+                    case "name":
+                        name = rest(tokens);
+                        break;
+                    case "group":
+                        group = rest(tokens);
+                        break;
+                    case "alliance":
+                        expect(tokens, 1, 1);
+                        String alliance = tokens.get(1).toLowerCase();
+                        if (!alliance.equals("red") && !alliance.equals("blue")) {
+                            throw new IllegalArgumentException("alliance must be red or blue");
+                        }
+                        blue = alliance.equals("blue");
+                        break;
+                    case "step":
+                        expect(tokens, 2, 2);
+                        builder.step(tokens.get(1), tokens.get(2));
+                        break;
+                    case "spinup":
+                        expect(tokens, 1, 1);
+                        builder.spinUp(number(tokens, 1));
+                        break;
+                    case "hold":
+                        expect(tokens, 1, 1);
+                        if (tokens.get(1).equalsIgnoreCase("current")) {
+                            builder.holdCurrentHeading();
+                        } else {
+                            builder.holdHeading(number(tokens, 1));
+                        }
+                        break;
+                    case "drive":
+                        expect(tokens, 2, 2);
+                        builder.drive(number(tokens, 1), number(tokens, 2));
+                        break;
+                    case "strafe":
+                        expect(tokens, 1, 2);
+                        builder.strafe(number(tokens, 1),
+                                tokens.size() > 2 ? number(tokens, 2) : RoutineRunner.DRIVE_POWER);
+                        break;
+                    case "turn":
+                        expect(tokens, 1, 1);
+                        builder.turn(number(tokens, 1));
+                        break;
+                    case "shoot":
+                        expect(tokens, 2, 2);
+                        builder.shoot((int) number(tokens, 1), number(tokens, 2));
+                        break;
+                    case "collect":
+                        expect(tokens, 0, 0);
+                        builder.collect();
+                        break;
+                    case "stopintakes":
+                        expect(tokens, 0, 0);
+                        builder.stopIntakes();
+                        break;
+                    case "wait":
+                        expect(tokens, 1, 1);
+                        builder.waitMs(number(tokens, 1));
+                        break;
+                    case "path":
+                        expect(tokens, 3, 3);
+                        path = new Path.Builder(number(tokens, 1), number(tokens, 2),
+                                Math.toRadians(number(tokens, 3)));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("unknown instruction '" + tokens.get(0) + "'");
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(source + ":" + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+
+        if (path != null) {
+            throw new IllegalArgumentException(source + ":" + lineNumber + ": path has no follow");
+        }
+        if (builder.size() == 0) {
+            throw new IllegalArgumentException(source + ": no instructions");
+        }
+        return new RoutineFile(name, group, blue, builder);
+    }
+
+    // ========== TOKENS ==========
+
+    /**
+     * Splits a line on whitespace, keeping "quoted text" together and dropping comments.
+     */
+    private static void tokenize(String line, List<String> tokens) {
+        tokens.clear();
+        int i = 0;
+        int n = line.length();
+        while (i < n) {
+            char c = line.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '#') {
+                return;
+            } else if (c == '"') {
+                int end = line.indexOf('"', i + 1);
+                if (end < 0) throw new IllegalArgumentException("unclosed quote");
+                tokens.add(line.substring(i + 1, end));
+                i = end + 1;
+            } else {
+                int start = i;
+                while (i < n && !Character.isWhitespace(line.charAt(i)) && line.charAt(i) != '#') i++;
+                tokens.add(line.substring(start, i));
+            }
+        }
+    }
+
+    private static void expect(List<String> tokens, int min, int max) {
+        int count = tokens.size() - 1;
+        if (count < min || count > max) {
+            String expected = min == max ? String.valueOf(min) : min + "-" + max;
+            throw new IllegalArgumentException(tokens.get(0) + " takes " + expected
+                    + " argument(s), got " + count);
+        }
+    }
+
+    private static double number(List<String> tokens, int index) {
+        try {
+            return Double.parseDouble(tokens.get(index));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("'" + tokens.get(index) + "' is not a number");
+        }
+    }
+
+    private static String rest(List<String> tokens) {
+        if (tokens.size() < 2) throw new IllegalArgumentException(tokens.get(0) + " needs a value");
+        StringBuilder value = new StringBuilder(tokens.get(1));
+        for (int i = 2; i < tokens.size(); i++) value.append(' ').append(tokens.get(i));
+        return value.toString();
+    }
+}
@@ -0,0 +1,194 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Base OpMode for autos described as routines.
+ *
+ * A subclass only says which routine to run and for which alliance:
+ *
+ *   @Autonomous(name = "Red - 6Ball - Back", group = "Red")
+ *   public class AutoRedBack6Ball extends RoutineOpMode {
+ *       protected RoutineBuilder buildRoutine() { return Back6BallRoutine.build(); }
+ *       protected boolean isBlue() { return false; }
+ *   }
+ *
+ * The routine is compiled during init (so Dashboard changes made before
+ * pressing INIT take effect), then RoutineRunner steps it once per loop.
+ * With a camera configured (Visions.create(): Limelight, else webcam), vision
+ * follows the routine: AprilTags during SHOOT, ball detection while the
+ * intake collects, nothing otherwise. The balls feed a BallAligner that
+ * steers collection moves onto them, and the goal tag feeds an AimController
+ * that turns each SHOOT onto the goal. On the webcam, the venue's cached
+ * exposure is applied at init; without one, ExposureOptimizer sweeps for it
+ * while waiting for START.
+ *
+ * A routine that changes with the motif overrides hasMotifVariants() and
+ * buildRoutine(Motif). The init loop then reads the obelisk with a
+ * MotifDetector: the DEFAULT_MOTIF variant is compiled up front, and the
+ * matching one as soon as the vote settles. Each variant is compiled once,
+ * trajectories and all, so START runs it with nothing left to decide or
+ * generate. The camera is switched off once the motif is known and no sweep
+ * is running. Routines without variants skip the vote, so the camera is not
+ * kept on AprilTags through init for nothing.
+ */
+
+package org.firstinspires.ftc.teamcode.routine;
+
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import com.qualcomm.robotcore.util.RobotLog;
+
+import org.firstinspires.ftc.teamcode.control.AimController;
+import org.firstinspires.ftc.teamcode.vision.BallAligner;
+import org.firstinspires.ftc.teamcode.vision.ExposureOptimizer;
+import org.firstinspires.ftc.teamcode.vision.MotifDetector;
+import org.firstinspires.ftc.teamcode.vision.Vision;
+import org.firstinspires.ftc.teamcode.vision.VisionScheduler;
+import org.firstinspires.ftc.teamcode.vision.Visions;
+
+public abstract class RoutineOpMode extends LinearOpMode {
+
+    /**
+     * Describes the routine from the Red side. Called once during init.
+     */
+    protected abstract RoutineBuilder buildRoutine();
+
+    /**
+     * true to compile the routine mirrored for the Blue alliance.
+     */
+    protected abstract boolean isBlue();
+
+    /**
+     * true if buildRoutine(Motif) differs by motif.
+     */
+    protected boolean hasMotifVariants() {
+        return false;
+    }
+
+    /**
+     * The routine for one motif. Give each variant its own builder name, so
+     * each keeps its own trajectory cache file.
+     */
+    protected RoutineBuilder buildRoutine(MotifDetector.Motif motif) {
+        return buildRoutine();
+    }
+
+    @Override
+    public void runOpMode() {
+        telemetry.addLine("Initializing hardware...");
+        telemetry.update();
+
+        RoutineRunner runner = new RoutineRunner(hardwareMap);
+        Vision vision = Visions.create(hardwareMap);
+        try {
+            if (!runRoutine(runner, vision)) return;
+        } finally {
+            // Every exit stops the Limelight polling thread or releases the webcam
+            if (vision != null) vision.close();
+        }
+
+        // Keep telemetry displayed until auto ends
+        while (opModeIsActive()) {
+            telemetry.addData("Status", "Autonomous Complete");
+            telemetry.addData("Step", runner.getStep());
+            telemetry.update();
+            idle();
+        }
+    }
+
+    /**
+     * Compiles the routine, waits through init and runs it.
+     *
+     * @return false if it never started (compile error, or stopped during init)
+     */
+    private boolean runRoutine(RoutineRunner runner, Vision vision) {
+        BallAligner ballAligner = vision != null ? new BallAligner(vision) : null;
+        runner.setBallAligner(ballAligner);
+        runner.setAimController(vision != null ? new AimController(vision.getBridge(), !isBlue()) : null);
+        ExposureOptimizer exposure = vision instanceof VisionScheduler
+                ? new ExposureOptimizer((VisionScheduler) vision) : null;
+        if (exposure != null && !exposure.applyCached()) exposure.startSweep();
+        MotifDetector motifs = vision != null && hasMotifVariants() ? new MotifDetector(vision) : null;
+        Routine[] variants = new Routine[MotifDetector.Motif.values().length];
+        Routine routine;
+        try {
+            routine = compile(MotifDetector.DEFAULT_MOTIF, variants);
+        } catch (RuntimeException e) {
+            // Bad routine file - show why instead of crashing the robot controller
+            RobotLog.ee("RoutineOpMode", e, "Routine failed to compile");
+            telemetry.addData("Routine Error", e.getMessage());
+            telemetry.update();
+            waitForStart();
+            return false;
+        }
+
+        while (opModeInInit()) {
+            boolean sweeping = exposure != null && exposure.update();
+            boolean voting = motifs != null && !motifs.update();
+            if (!voting && motifs != null) routine = select(motifs.getMotif(), variants, routine);
+            if (vision != null) {
+                vision.setPhase(sweeping || voting ? Vision.Phase.SHOOTING : Vision.Phase.IDLE);
+                vision.update();
+            }
+
+            telemetry.addLine("=== Auto " + routine.name + " ===");
+            telemetry.addData("Instructions", routine.size());
+            if (routine.getTrajectoryCount() > 0) {
+                telemetry.addData("Trajectories", "%s %.2f ms (generating takes %.2f ms)",
+                        routine.wereTrajectoriesCached() ? "cached" : "generated",
+                        routine.getTrajectoryLoadMs(), routine.getTrajectoryGenerateMs());
+                telemetry.addData("Planned Paths", "%.1f s", routine.getPlannedPathSeconds());
+            }
+            if (exposure != null) exposure.addTelemetry(telemetry);
+            if (motifs != null) motifs.addTelemetry(telemetry);
+            telemetry.addLine(sweeping ? "Tuning exposure - keep a goal tag in view"
+                    : voting ? "Ready to start (still reading the motif)" : "Ready to start");
+            telemetry.update();
+            idle();
+        }
+        if (exposure != null) exposure.cancel();
+
+        // Exit if stop is pressed during init
+        if (!opModeIsActive()) return false;
+
+        runner.start(routine);
+        if (vision != null) vision.resetStatistics();
+        while (opModeIsActive() && runner.update()) {
+            if (vision != null) {
+                vision.setPhase(runner.isShooting() ? Vision.Phase.SHOOTING
+                        : runner.isCollecting() ? Vision.Phase.COLLECTING : Vision.Phase.IDLE);
+                vision.update();
+            }
+            runner.addTelemetry(telemetry);
+            if (vision != null) {
+                vision.addTelemetry(telemetry);
+                if (runner.isCollecting()) ballAligner.addTelemetry(telemetry);
+            }
+            telemetry.update();
+        }
+        runner.stop();
+        return true;
+    }
+
+    /**
+     * Compiles the motif's variant the first time it is asked for.
+     */
+    private Routine compile(MotifDetector.Motif motif, Routine[] variants) {
+        Routine routine = variants[motif.ordinal()];
+        if (routine == null) {
+            routine = buildRoutine(motif).compile(isBlue());
+            variants[motif.ordinal()] = routine;
+        }
+        return routine;
+    }
+
+    /**
+     * Switches to the decided motif's variant; keeps the current routine if it fails to compile.
+     */
+    private Routine select(MotifDetector.Motif motif, Routine[] variants, Routine current) {
+        try {
+            return compile(motif, variants);
+        } catch (RuntimeException e) {
+            RobotLog.ee("RoutineOpMode", e, "%s variant failed to compile - keeping %s", motif, current.name);
+            variants[motif.ordinal()] = current;
+            return current;
+        }
+    }
+}
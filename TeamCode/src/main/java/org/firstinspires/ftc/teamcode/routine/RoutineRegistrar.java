@@ -0,0 +1,79 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Registers one autonomous OpMode per routine file on the Control Hub.
+ *
+ * At robot startup the SDK calls register() (via @OpModeRegistrar, the
+ * TeamCode-side equivalent of FtcOpModeRegister.register()). It scans
+ *
+ *   /sdcard/FIRST/penguinauts/routines/*.routine
+ *
+ * parses each file (RoutineFile) and registers a FileRoutineOpMode under the
+ * file's name and group. Files that fail to parse are skipped and logged, so
+ * one typo never takes the other OpModes down with it.
+ *
+ * Workflow: edit routines/<name>.routine on the laptop, then
+ * ./push-to-robot.sh routines. Edits to existing files apply on the next INIT;
+ * new or renamed files appear after Restart Robot. No Gradle build needed.
+ */
+
+package org.firstinspires.ftc.teamcode.routine;
+
+import com.qualcomm.robotcore.eventloop.opmode.OpModeManager;
+import com.qualcomm.robotcore.eventloop.opmode.OpModeRegistrar;
+import com.qualcomm.robotcore.util.RobotLog;
+
+import org.firstinspires.ftc.robotcore.internal.opmode.OpModeMeta;
+import org.firstinspires.ftc.teamcode.util.TeamStorage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+public final class RoutineRegistrar {
+
+    private static final String TAG = "RoutineRegistrar";
+    public static final String FOLDER = "routines";
+
+    private RoutineRegistrar() {
+    }
+
+    @OpModeRegistrar
+    public static void register(OpModeManager manager) {
+        File dir;
+        try {
+            dir = TeamStorage.dir(FOLDER);
+        } catch (IllegalStateException e) {
+            RobotLog.ww(TAG, "No routines folder: %s", e.getMessage());
+            return;
+        }
+
+        File[] files = dir.listFiles();
+        if (files == null) return;
+        Arrays.sort(files);
+
+        Set<String> names = new HashSet<>();
+        int registered = 0;
+        for (File file : files) {
+            if (!file.isFile() || !file.getName().endsWith(RoutineFile.EXTENSION)) continue;
+            try {
+                RoutineFile routine = RoutineFile.load(file);
+                if (!names.add(routine.opModeName)) {
+                    RobotLog.ww(TAG, "Skipping %s: name '%s' already used", file.getName(), routine.opModeName);
+                    continue;
+                }
+                manager.register(new OpModeMeta.Builder()
+                                .setName(routine.opModeName)
+                                .setGroup(routine.group)
+                                .setFlavor(OpModeMeta.Flavor.AUTONOMOUS)
+                                .build(),
+                        new FileRoutineOpMode(file, routine.blue));
+                registered++;
+            } catch (IOException | RuntimeException e) {
+                RobotLog.ee(TAG, "Skipping %s: %s", file.getName(), e.getMessage());
+            }
+        }
+        RobotLog.ii(TAG, "Registered %d routine(s) from %s", registered, dir.getAbsolutePath());
+    }
+}
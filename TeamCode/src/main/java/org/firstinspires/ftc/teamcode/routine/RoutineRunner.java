@@ -0,0 +1,746 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Interpreter for compiled autonomous routines.
+ *
+ * start() once after waitForStart(), then update() every loop until it
+ * returns false. Each update reads the IMU once, then advances the current
+ * instruction by one step - nothing blocks, so the OpMode loop keeps
+ * running (telemetry, stop button) the whole time. Instructions that finish
+ * immediately (labels, intake and shooter commands) fall straight through
+ * to the next one in the same cycle.
+ *
+ * Moves behave exactly like the drive methods the per-alliance autos used:
+ * encoder distance with slow approach and IMU heading correction, encoder
+ * RUN_TO_POSITION turns, and a SETTLE_TIME_MS pause after each. Shots wait
+ * for the flywheels (with timeout) before feeding each ball.
+ *
+ * With an AimController set, a SHOOT turns in place toward the goal tag
+ * while the flywheels spin up, and each ball waits for aim lock as well as
+ * speed. If no tag turns up within AIM_ACQUIRE_MS it shoots on speed alone,
+ * as before.
+ *
+ * With a BallAligner set, collection moves steer onto the balls they can see:
+ * a forward DRIVE with the intake running adds a strafe toward the cluster,
+ * and a FOLLOW shifts its collect leg sideways to run through the cluster.
+ * A STRAFE is never steered, intake or not: the cluster's lateral offset lies
+ * along the strafe itself, which the encoder distance already decides.
+ *
+ * No allocation in update() - all state is primitive fields.
+ */
+
+package org.firstinspires.ftc.teamcode.routine;
+
+import com.acmerobotics.dashboard.config.Config;
+import com.qualcomm.hardware.rev.RevHubOrientationOnRobot;
+import com.qualcomm.robotcore.hardware.DcMotor;
+import com.qualcomm.robotcore.hardware.DcMotorEx;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+import com.qualcomm.robotcore.hardware.IMU;
+import com.qualcomm.robotcore.hardware.Servo;
+import com.qualcomm.robotcore.util.ElapsedTime;
+import com.qualcomm.robotcore.util.RobotLog;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.teamcode.control.AimController;
+import org.firstinspires.ftc.teamcode.control.HeadingController;
+import org.firstinspires.ftc.teamcode.control.MecanumDriveBase;
+import org.firstinspires.ftc.teamcode.localization.WheelOdometry;
+import org.firstinspires.ftc.teamcode.path.Path;
+import org.firstinspires.ftc.teamcode.path.PathFollower;
+import org.firstinspires.ftc.teamcode.path.Trajectory;
+import org.firstinspires.ftc.teamcode.util.LoopProfiler;
+import org.firstinspires.ftc.teamcode.vision.BallAligner;
+
+@Config
+public class RoutineRunner {
+
+    private static final String TAG = "RoutineRunner";
+
+    // ========== CONSTANTS - DRIVE ==========
+    private static final double TICKS_PER_REV = 537.6;        // GoBilda 312 RPM motor encoder ticks
+    private static final double WHEEL_DIAMETER_IN = 3.78;     // Mecanum wheel diameter in inches
+    private static final double TICKS_PER_INCH = TICKS_PER_REV / (Math.PI * WHEEL_DIAMETER_IN);
+    private static final double COUNTS_PER_DEGREE = 10.0;     // Encoder counts per degree of rotation
+
+    public static double HEADING_KP = 0.06;                   // Proportional gain for heading correction
+    public static double MAX_CORRECTION = 0.3;                // Maximum heading correction power
+    public static double DRIVE_POWER = 0.8;                   // Default drive power
+    public static double TURN_SPEED = 0.4;                    // Speed for encoder-based turns
+
+    // ========== CONSTANTS - CONSISTENCY ==========
+    public static int SETTLE_TIME_MS = 100;                   // Time to let robot settle after movements
+    public static double SLOW_APPROACH_POWER = 0.3;           // Slower power for final approach
+    public static double SLOW_APPROACH_DISTANCE = 5.0;        // Inches - slow down for last X inches
+
+    // ========== CONSTANTS - SHOOTER ==========
+    public static double P = 10.0;                            // PIDF proportional coefficient
+    public static double I = 0.0;                             // PIDF integral coefficient
+    public static double D = 0.0;                             // PIDF derivative coefficient
+    public static double F = 13.5;                            // PIDF feedforward coefficient
+    public static double SHOOTER_TOLERANCE = 100.0;           // Velocity tolerance in ticks/sec
+    public static int SHOOTER_TIMEOUT_MS = 3000;              // Max wait time for shooter to spin up
+
+    // ========== CONSTANTS - INTAKE ==========
+    public static double INTAKE_POWER = 1.0;                  // Full power for intake
+    public static double BACK_INTAKE_HOLD = -0.5;             // Negative power to hold balls in hopper
+    public static int BALL_INDEX_DELAY_MS = 600;              // Time between shooting each ball
+
+    // ========== CONSTANTS - TRAP DOOR ==========
+    public static double TRAP_DOOR_CLOSED = 1.0;              // Servo position when closed
+
+    // ========== CONSTANTS - PATH FOLLOWING ==========
+    public static double PATH_TIMEOUT_S = 8.0;                // Give up after this long (or 2x the planned time)
+
+    // ========== CONSTANTS - BALL ALIGNMENT ==========
+    public static boolean ALIGN_ENABLED = true;               // false = dead reckoning only (STRAFE never aligns)
+    public static double ALIGN_KP = 0.04;                     // Strafe power per inch of offset (DRIVE)
+    public static double ALIGN_MAX_POWER = 0.3;               // Strafe power cap (DRIVE)
+    public static double ALIGN_MAX_SHIFT_IN = 10.0;           // Largest sideways path shift (FOLLOW)
+    public static double ALIGN_MIN_RANGE_IN = 10.0;           // Closer than this the balls leave the frame
+
+    // ========== CONSTANTS - AIM ==========
+    public static boolean AIM_ENABLED = true;                 // false = shoot at whatever heading the routine left
+    public static int AIM_ACQUIRE_MS = 250;                   // Wait this long for a goal tag before shooting blind
+
+    // ========== HARDWARE ==========
+    private final DcMotor frontLeft, frontRight, backLeft, backRight;
+    private final DcMotorEx shooterLeft, shooterRight;
+    private final DcMotor intakeFront, intakeBack;
+    private final IMU imu;
+    private final MecanumDriveBase drive;
+
+    // ========== PATH FOLLOWING ==========
+    private final WheelOdometry odometry = new WheelOdometry();
+    private final PathFollower follower;
+    private boolean odometryValid = false;                    // Cleared whenever drive encoders are reset
+
+    // ========== LOOP PROFILER ==========
+    private final LoopProfiler profiler = new LoopProfiler();
+    private final int encoderSection = profiler.addSection("encoders");
+    private final int imuSection = profiler.addSection("imu");
+    private final int setPowerSection = profiler.addSection("setPower");
+
+    // ========== PROGRAM STATE ==========
+    private final ElapsedTime clock = new ElapsedTime();
+    private Routine routine;
+    private int pc = 0;                                       // Current instruction
+    private boolean started = false;                          // Current instruction has been set up
+    private boolean finished = true;
+    private String phase = "";
+    private String step = "";
+    private double headingDeg = 0.0;                          // IMU heading read this cycle
+    private double heldHeadingDeg = 0.0;                      // Heading drives and strafes correct toward
+
+    // ========== INSTRUCTION STATE ==========
+    private double opStartMs = 0.0;
+    private boolean settling = false;                         // Move done, waiting SETTLE_TIME_MS
+    private int targetTicks = 0;
+    private int slowApproachTicks = 0;
+    private double direction = 0.0;
+    private double power = 0.0;
+    private double waitMs = 0.0;
+    private int ballsLeft = 0;
+    private double shotVelocity = 0.0;
+    private boolean feeding = false;
+    private double leftVelocity = 0.0;
+    private double rightVelocity = 0.0;
+    private Trajectory trajectory;
+    private double pathTimeoutS = 0.0;
+    private double intakeDistance = -1.0;
+    private boolean intakeStarted = false;
+    private boolean intakesRunning = false;                   // Front intake collecting
+
+    // ========== BALL ALIGNMENT ==========
+    private BallAligner ballAligner = null;
+    private double collectEndDistance = -1.0;                 // End of the collect leg along the path
+    private double alignShiftIn = 0.0;                        // Collect leg shift (inches, positive = right)
+
+    // ========== AIM ==========
+    private AimController aim = null;
+    private final HeadingController aimHeading = new HeadingController();
+    private boolean aimed = false;                            // Last SHOOT cycle's aim state
+    private double shootStartMs = 0.0;                        // Tags switch on when SHOOT starts
+
+    /**
+     * Maps and configures all hardware the same way the autos always have.
+     */
+    public RoutineRunner(HardwareMap hardwareMap) {
+        drive = MecanumDriveBase.fromHardwareMap(hardwareMap);
+        frontLeft = drive.frontLeft;
+        frontRight = drive.frontRight;
+        backLeft = drive.backLeft;
+        backRight = drive.backRight;
+        follower = new PathFollower(drive);
+
+        shooterLeft = hardwareMap.get(DcMotorEx.class, "SL");
+        shooterLeft.setDirection(DcMotor.Direction.REVERSE);
+        shooterLeft.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.FLOAT);  // Coast when stopped
+        shooterLeft.setMode(DcMotor.RunMode.STOP_AND_RESET_ENCODER);
+        shooterLeft.setMode(DcMotor.RunMode.RUN_USING_ENCODER);
+
+        shooterRight = hardwareMap.get(DcMotorEx.class, "SR");
+        shooterRight.setDirection(DcMotor.Direction.FORWARD);
+        shooterRight.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.FLOAT);  // Coast when stopped
+        shooterRight.setMode(DcMotor.RunMode.STOP_AND_RESET_ENCODER);
+        shooterRight.setMode(DcMotor.RunMode.RUN_USING_ENCODER);
+
+        intakeFront = hardwareMap.get(DcMotor.class, "IF");
+        intakeFront.setDirection(DcMotor.Direction.FORWARD);
+        intakeFront.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
+        intakeFront.setMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
+
+        intakeBack = hardwareMap.get(DcMotor.class, "IB");
+        intakeBack.setDirection(DcMotor.Direction.FORWARD);
+        intakeBack.setZeroPowerBehavior(DcMotor.ZeroPowerBehavior.BRAKE);
+        intakeBack.setMode(DcMotor.RunMode.RUN_WITHOUT_ENCODER);
+
+        Servo trapDoor = hardwareMap.get(Servo.class, "TD");
+        trapDoor.setPosition(TRAP_DOOR_CLOSED);
+
+        imu = hardwareMap.get(IMU.class, "imu");
+        imu.initialize(new IMU.Parameters(
+                new RevHubOrientationOnRobot(
+                        RevHubOrientationOnRobot.LogoFacingDirection.RIGHT,
+                        RevHubOrientationOnRobot.UsbFacingDirection.UP
+                )
+        ));
+    }
+
+    /**
+     * Begins a routine from its first instruction. Call right after waitForStart().
+     */
+    public void start(Routine routine) {
+        this.routine = routine;
+        shooterLeft.setVelocityPIDFCoefficients(P, I, D, F);
+        shooterRight.setVelocityPIDFCoefficients(P, I, D, F);
+        imu.resetYaw();
+        pc = 0;
+        started = false;
+        finished = false;
+        heldHeadingDeg = 0.0;
+        phase = "";
+        step = "";
+        profiler.reset();
+        clock.reset();
+        RobotLog.ii(TAG, "Starting %s (%d instructions)", routine.name, routine.size());
+    }
+
+    /**
+     * Advances the routine by one loop.
+     *
+     * @return true while the routine is still running
+     */
+    public boolean update() {
+        if (finished) return false;
+        profiler.loop();
+
+        profiler.start(imuSection);
+        headingDeg = imu.getRobotYawPitchRollAngles().getYaw(AngleUnit.DEGREES);
+        profiler.stop(imuSection);
+        if (aim != null) aim.update(Math.toRadians(headingDeg));   // Every loop, for its heading history
+
+        while (pc < routine.size()) {
+            if (!started) {
+                begin(routine.ops[pc], pc * Routine.ARGS);
+                started = true;
+            }
+            if (!run(routine.ops[pc])) return true;
+            started = false;
+            pc++;
+        }
+
+        finished = true;
+        profiler.pause();
+        stop();
+        RobotLog.ii(TAG, "%s complete in %.2f s", routine.name, clock.seconds());
+        return false;
+    }
+
+    /**
+     * Stops every motor (drive, shooter, intakes). Safe to call at any time.
+     */
+    public void stop() {
+        if (follower.isBusy()) follower.cancel();
+        stopMotors();
+        stopShooter();
+        stopIntakes();
+    }
+
+    // ========== INSTRUCTIONS ==========
+
+    /**
+     * Sets up an instruction the first cycle it runs.
+     */
+    private void begin(int op, int a) {
+        double[] args = routine.args;
+        opStartMs = clock.milliseconds();
+        settling = false;
+
+        switch (op) {
+            case Routine.DRIVE:
+            case Routine.STRAFE:
+                targetTicks = (int) (Math.abs(args[a]) * TICKS_PER_INCH);
+                slowApproachTicks = (int) (SLOW_APPROACH_DISTANCE * TICKS_PER_INCH);
+                direction = Math.signum(args[a]);
+                power = args[a + 1];
+                resetEncoders();
+                break;
+
+            case Routine.TURN:
+                int turnCounts = (int) (args[a] * COUNTS_PER_DEGREE);
+                resetEncoders();
+                // Left wheels forward, right wheels backward = turn left
+                frontLeft.setTargetPosition(turnCounts);
+                backLeft.setTargetPosition(turnCounts);
+                frontRight.setTargetPosition(-turnCounts);
+                backRight.setTargetPosition(-turnCounts);
+                drive.setMode(DcMotor.RunMode.RUN_TO_POSITION);
+                frontLeft.setPower(TURN_SPEED);
+                frontRight.setPower(TURN_SPEED);
+                backLeft.setPower(TURN_SPEED);
+                backRight.setPower(TURN_SPEED);
+                break;
+
+            case Routine.HOLD_HEADING:
+                heldHeadingDeg = Double.isNaN(args[a]) ? headingDeg : args[a];
+                break;
+
+            case Routine.FOLLOW:
+                beginPath(routine.trajectories[(int) args[a]], (int) args[a + 1]);
+                break;
+
+            case Routine.SPIN_UP:
+                startShooter(args[a]);
+                break;
+
+            case Routine.SHOOT:
+                ballsLeft = (int) args[a];
+                shotVelocity = args[a + 1];
+                feeding = false;
+                aimed = false;
+                shootStartMs = opStartMs;
+                aimHeading.release();
+                startShooter(shotVelocity);
+                break;
+
+            case Routine.WAIT:
+                int wait = (int) args[a + 1];
+                waitMs = wait >= 0 ? routine.waits[wait].getAsDouble() * 1000.0 : args[a];
+                break;
+
+            case Routine.COLLECT:
+                intakeFront.setPower(INTAKE_POWER);
+                intakeBack.setPower(BACK_INTAKE_HOLD);
+                intakesRunning = true;
+                break;
+
+            case Routine.STOP_INTAKES:
+                stopIntakes();
+                break;
+
+            case Routine.STEP:
+                phase = routine.strings[(int) args[a]];
+                step = routine.strings[(int) args[a + 1]];
+                break;
+
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Runs one cycle of the current instruction.
+     *
+     * @return true once the instruction is complete
+     */
+    private boolean run(int op) {
+        if (settling) return clock.milliseconds() - opStartMs >= SETTLE_TIME_MS;
+
+        switch (op) {
+            case Routine.DRIVE:
+                return runDrive();
+            case Routine.STRAFE:
+                return runStrafe();
+            case Routine.TURN:
+                if (frontLeft.isBusy() && frontRight.isBusy() && backLeft.isBusy() && backRight.isBusy()) {
+                    return false;
+                }
+                stopMotors();
+                drive.setMode(DcMotor.RunMode.RUN_USING_ENCODER);
+                return settle();
+            case Routine.FOLLOW:
+                return runPath();
+            case Routine.SHOOT:
+                return runShoot();
+            case Routine.WAIT:
+                return clock.milliseconds() - opStartMs >= waitMs;
+            default:
+                return true;
+        }
+    }
+
+    private boolean runDrive() {
+        profiler.start(encoderSection);
+        int fl = Math.abs(frontLeft.getCurrentPosition());
+        int fr = Math.abs(frontRight.getCurrentPosition());
+        profiler.stop(encoderSection);
+        double strafe = alignmentStrafe();
+        // A strafe adds to one front wheel and takes from the other - their mean is still the forward travel
+        boolean done = strafe != 0.0 ? (fl + fr) / 2 >= targetTicks : fl >= targetTicks || fr >= targetTicks;
+        if (done) {
+            stopMotors();
+            return settle();
+        }
+
+        double currentPower = approachPower((fl + fr) / 2);
+        double correction = headingCorrection();
+        double leftPower = (currentPower * direction) - correction;
+        double rightPower = (currentPower * direction) + correction;
+
+        // Normalize power to prevent values > 1.0
+        double maxPower = Math.max(Math.abs(leftPower) + Math.abs(strafe), Math.abs(rightPower) + Math.abs(strafe));
+        if (maxPower > 1.0) {
+            leftPower /= maxPower;
+            rightPower /= maxPower;
+            strafe /= maxPower;
+        }
+
+        profiler.start(setPowerSection);
+        frontLeft.setPower(leftPower + strafe);
+        backLeft.setPower(leftPower - strafe);
+        frontRight.setPower(rightPower - strafe);
+        backRight.setPower(rightPower + strafe);
+        profiler.stop(setPowerSection);
+        return false;
+    }
+
+    /**
+     * Strafe power toward the ball cluster while driving forward into it with
+     * the intake running (positive = right), 0 without a target.
+     */
+    private double alignmentStrafe() {
+        if (ballAligner == null || !ALIGN_ENABLED || !intakesRunning || direction <= 0) return 0.0;
+        if (!ballAligner.update() || ballAligner.getRangeIn() < ALIGN_MIN_RANGE_IN) return 0.0;
+        double strafe = ballAligner.getLateralOffsetIn() * ALIGN_KP;
+        return Math.max(-ALIGN_MAX_POWER, Math.min(ALIGN_MAX_POWER, strafe));
+    }
+
+    private boolean runStrafe() {
+        profiler.start(encoderSection);
+        double avg = (Math.abs(frontLeft.getCurrentPosition())
+                + Math.abs(frontRight.getCurrentPosition())
+                + Math.abs(backLeft.getCurrentPosition())
+                + Math.abs(backRight.getCurrentPosition())) / 4.0;
+        profiler.stop(encoderSection);
+        if (avg >= targetTicks) {
+            stopMotors();
+            return settle();
+        }
+
+        double currentPower = approachPower(avg);
+        double correction = headingCorrection();
+
+        // Mecanum strafe: FL and BR move together, FR and BL move together (opposite)
+        double fl =  currentPower * direction - correction;
+        double fr = -currentPower * direction + correction;
+        double bl = -currentPower * direction - correction;
+        double br =  currentPower * direction + correction;
+
+        double max = Math.max(1.0,
+                Math.max(Math.abs(fl),
+                        Math.max(Math.abs(fr),
+                                Math.max(Math.abs(bl), Math.abs(br)))));
+
+        profiler.start(setPowerSection);
+        frontLeft.setPower(fl / max);
+        frontRight.setPower(fr / max);
+        backLeft.setPower(bl / max);
+        backRight.setPower(br / max);
+        profiler.stop(setPowerSection);
+        return false;
+    }
+
+    /**
+     * Drive power ramped down to SLOW_APPROACH_POWER over the last SLOW_APPROACH_DISTANCE.
+     */
+    private double approachPower(double currentTicks) {
+        double ticksRemaining = targetTicks - currentTicks;
+        if (ticksRemaining >= slowApproachTicks) return power;
+        double rampFactor = ticksRemaining / slowApproachTicks;
+        return SLOW_APPROACH_POWER + (power - SLOW_APPROACH_POWER) * rampFactor;
+    }
+
+    private boolean runShoot() {
+        double now = clock.milliseconds();
+        aimed = updateAim();
+        if (!feeding) {
+            leftVelocity = shooterLeft.getVelocity();
+            rightVelocity = shooterRight.getVelocity();
+            boolean atSpeed = Math.abs(leftVelocity - shotVelocity) < SHOOTER_TOLERANCE
+                    && Math.abs(rightVelocity - shotVelocity) < SHOOTER_TOLERANCE;
+            boolean timedOut = now - opStartMs >= SHOOTER_TIMEOUT_MS;
+            if (!(atSpeed && aimed) && !timedOut) return false;
+            if (!atSpeed) RobotLog.ww(TAG, "Shooter timeout, %d balls left", ballsLeft);
+            if (!aimed) RobotLog.ww(TAG, "Aim timeout (%.1f deg off), %d balls left",
+                    Math.toDegrees(aim.getError()), ballsLeft);
+
+            // Run intakes to feed a ball into the shooter
+            intakeFront.setPower(INTAKE_POWER);
+            intakeBack.setPower(INTAKE_POWER);
+            feeding = true;
+            opStartMs = now;
+            return false;
+        }
+
+        if (now - opStartMs < BALL_INDEX_DELAY_MS) return false;
+        ballsLeft--;
+        feeding = false;
+        opStartMs = now;
+        if (ballsLeft > 0) return false;
+
+        if (aimHeading.isActive()) {
+            aimHeading.release();
+            stopMotors();
+        }
+        stopShooter();
+        stopIntakes();
+        return true;
+    }
+
+    /**
+     * Turns in place toward the goal while shooting.
+     *
+     * @return true if aim-locked, or if no goal tag turned up within AIM_ACQUIRE_MS
+     */
+    private boolean updateAim() {
+        if (aim == null || !AIM_ENABLED) return true;
+        if (!aim.hasTarget()) {
+            if (aimHeading.isActive()) {
+                aimHeading.release();
+                stopMotors();
+            }
+            return clock.milliseconds() - shootStartMs >= AIM_ACQUIRE_MS;
+        }
+        aimHeading.setTarget(aim.getTarget());
+        double turn = aimHeading.update(Math.toRadians(headingDeg));   // Counter-clockwise positive
+
+        profiler.start(setPowerSection);
+        frontLeft.setPower(-turn);
+        backLeft.setPower(-turn);
+        frontRight.setPower(turn);
+        backRight.setPower(turn);
+        profiler.stop(setPowerSection);
+        return aim.isAimed();
+    }
+
+    private boolean settle() {
+        settling = true;
+        opStartMs = clock.milliseconds();
+        return SETTLE_TIME_MS <= 0;
+    }
+
+    // ========== PATH FOLLOWING ==========
+
+    /**
+     * Starts a path. Odometry continues from the previous path unless the
+     * encoders have been reset since, in which case it restarts at the path's start point.
+     */
+    private void beginPath(Trajectory trajectory, int intakeWaypoint) {
+        this.trajectory = trajectory;
+        Path path = trajectory.path;
+        if (!odometryValid) {
+            double yaw = Math.toRadians(headingDeg);
+            odometry.rebase(frontLeft.getCurrentPosition(), frontRight.getCurrentPosition(),
+                    backLeft.getCurrentPosition(), backRight.getCurrentPosition(), yaw);
+            odometry.setPose(path.getStartX(), path.getStartY(), yaw);
+            odometryValid = true;
+        }
+        intakeDistance = intakeWaypoint >= 0 ? path.getWaypointDistance(intakeWaypoint) : -1.0;
+        collectEndDistance = intakeWaypoint >= 0 && intakeWaypoint + 1 < path.getWaypointCount()
+                ? path.getWaypointDistance(intakeWaypoint + 1) : -1.0;
+        alignShiftIn = 0.0;
+        intakeStarted = false;
+        pathTimeoutS = Math.max(PATH_TIMEOUT_S, 2 * trajectory.getDuration());
+        follower.follow(path, trajectory);
+    }
+
+    private boolean runPath() {
+        profiler.start(encoderSection);
+        int fl = frontLeft.getCurrentPosition();
+        int fr = frontRight.getCurrentPosition();
+        int bl = backLeft.getCurrentPosition();
+        int br = backRight.getCurrentPosition();
+        profiler.stop(encoderSection);
+
+        odometry.update(fl, fr, bl, br, Math.toRadians(headingDeg));
+
+        // Intakes on as the robot lines up with the stack
+        if (!intakeStarted && intakeDistance >= 0 && follower.getDistanceAlong() >= intakeDistance - 1.0) {
+            intakeFront.setPower(INTAKE_POWER);
+            intakeBack.setPower(BACK_INTAKE_HOLD);
+            intakeStarted = true;
+            intakesRunning = true;
+        }
+
+        // On the collect leg, report the robot shifted left by the cluster's offset so the
+        // follower steers it right onto the balls (and the other way round)
+        double heading = odometry.getHeading();
+        double shift = updateAlignmentShift();
+        double x = odometry.getX() - shift * Math.sin(heading);
+        double y = odometry.getY() + shift * Math.cos(heading);
+
+        double elapsedS = (clock.milliseconds() - opStartMs) / 1000.0;
+        profiler.start(setPowerSection);
+        boolean busy = elapsedS < pathTimeoutS && follower.update(x, y, heading);
+        profiler.stop(setPowerSection);
+        if (busy) return false;
+
+        follower.cancel();
+        if (intakeDistance >= 0 && !intakeStarted) {
+            intakeFront.setPower(INTAKE_POWER);
+            intakeBack.setPower(BACK_INTAKE_HOLD);
+            intakesRunning = true;
+        }
+        RobotLog.ii(TAG, "Path done in %.2f s (planned %.2f s)", elapsedS, trajectory.getDuration());
+        return true;
+    }
+
+    /**
+     * Sideways shift of the collect leg toward the ball cluster (inches, positive = right).
+     * Each new sighting places the cluster relative to the path: where the
+     * robot really is (the follower's cross-track plus the shift it was given)
+     * plus the cluster's offset from the robot. The shift holds once the balls
+     * are too close to see, and ends with the collect leg.
+     */
+    private double updateAlignmentShift() {
+        if (ballAligner == null || !ALIGN_ENABLED || !intakeStarted || collectEndDistance < 0) return 0.0;
+        if (follower.getDistanceAlong() >= collectEndDistance) return 0.0;
+        if (ballAligner.update() && ballAligner.hasNewTarget() && ballAligner.getRangeIn() >= ALIGN_MIN_RANGE_IN) {
+            double cluster = follower.getCrossTrackRight() + alignShiftIn + ballAligner.getLateralOffsetIn();
+            alignShiftIn = Math.max(-ALIGN_MAX_SHIFT_IN, Math.min(ALIGN_MAX_SHIFT_IN, cluster));
+        }
+        return alignShiftIn;
+    }
+
+    // ========== HARDWARE HELPERS ==========
+
+    private void startShooter(double velocity) {
+        shooterLeft.setVelocity(velocity);
+        shooterRight.setVelocity(velocity);
+    }
+
+    private void stopShooter() {
+        shooterLeft.setVelocity(0);
+        shooterRight.setVelocity(0);
+    }
+
+    private void stopIntakes() {
+        intakeFront.setPower(0);
+        intakeBack.setPower(0);
+        intakesRunning = false;
+    }
+
+    private void stopMotors() {
+        frontLeft.setPower(0);
+        frontRight.setPower(0);
+        backLeft.setPower(0);
+        backRight.setPower(0);
+    }
+
+    private void resetEncoders() {
+        drive.setMode(DcMotor.RunMode.STOP_AND_RESET_ENCODER);
+        drive.setMode(DcMotor.RunMode.RUN_USING_ENCODER);
+        odometryValid = false;
+    }
+
+    /**
+     * Proportional correction toward the held heading, clamped to MAX_CORRECTION.
+     */
+    private double headingCorrection() {
+        double error = AngleUnit.normalizeDegrees(heldHeadingDeg - headingDeg);
+        double correction = error * HEADING_KP;
+        return Math.max(-MAX_CORRECTION, Math.min(MAX_CORRECTION, correction));
+    }
+
+    // ========== TELEMETRY ==========
+
+    /**
+     * Adds the current phase, step and instruction details (does not call update()).
+     */
+    public void addTelemetry(Telemetry telemetry) {
+        telemetry.addData("Phase", phase);
+        telemetry.addData("Step", step);
+        telemetry.addData("Heading", "%.2f degrees", headingDeg);
+        if (finished || routine == null) return;
+
+        int op = routine.ops[pc];
+        telemetry.addData("Instruction", "%d / %d %s", pc + 1, routine.size(), Routine.opName(op));
+        double elapsedS = (clock.milliseconds() - opStartMs) / 1000.0;
+        if (op == Routine.SHOOT && !feeding) {
+            telemetry.addData("Shooter", "Spinning up... %d left", ballsLeft);
+            telemetry.addData("Left Velocity", "%.0f / %.0f", leftVelocity, shotVelocity);
+            telemetry.addData("Right Velocity", "%.0f / %.0f", rightVelocity, shotVelocity);
+            telemetry.addData("Time", "%.1f / %.1f sec", elapsedS, SHOOTER_TIMEOUT_MS / 1000.0);
+            if (aim != null && AIM_ENABLED) {
+                telemetry.addData("Ready", "aim %s | speed %s", aimed ? "LOCKED" : "turning",
+                        Math.abs(leftVelocity - shotVelocity) < SHOOTER_TOLERANCE
+                                && Math.abs(rightVelocity - shotVelocity) < SHOOTER_TOLERANCE
+                                ? "AT SPEED" : "spinning up");
+                aim.addTelemetry(telemetry);
+            }
+        } else if (op == Routine.WAIT) {
+            double remainingS = waitMs / 1000.0 - elapsedS;
+            telemetry.addData("Countdown", "%.0f seconds", Math.ceil(Math.max(0.0, remainingS)));
+        } else if (op == Routine.FOLLOW) {
+            telemetry.addData("Path", "%.1f in left, %.1f in off, power %.2f",
+                    follower.getDistanceRemaining(), follower.getCrossTrackError(),
+                    follower.getCommandedPower());
+        }
+    }
+
+    /**
+     * Steers forward DRIVE and FOLLOW collection moves with vision (null = dead
+     * reckoning); STRAFE is not steered. Set before start().
+     */
+    public void setBallAligner(BallAligner ballAligner) {
+        this.ballAligner = ballAligner;
+    }
+
+    /**
+     * Aims SHOOT instructions at the goal tag (null = shoot at the routine's heading). Set before start().
+     */
+    public void setAimController(AimController aim) {
+        this.aim = aim;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    /**
+     * true while a SHOOT instruction is spinning up or feeding.
+     */
+    public boolean isShooting() {
+        return !finished && routine.ops[pc] == Routine.SHOOT;
+    }
+
+    /**
+     * true while the front intake is collecting.
+     */
+    public boolean isCollecting() {
+        return !finished && intakesRunning;
+    }
+
+    public String getStep() {
+        return step;
+    }
+
+    public double getHeadingDegrees() {
+        return headingDeg;
+    }
+}
@@ -7,9 +7,21 @@
  * DRIVE CONTROLS:
  * - Left stick: Drive in any direction (field-relative)
  * - Right stick: Rotate left/right
- * - Back button: Reset field orientation (set current direction as forward)
+ * - Back button: Reset field orientation (set current direction as forward). The IMU
+ *   is not reset, so odometry and the fused pose keep their field heading
  * - Drive speed: 63% (fixed)
  *
+ * HEADING HOLD (HeadingHold, when HeadingHold.ENABLED):
+ * - Release right stick: Robot holds its current heading (PD on IMU yaw)
+ * - D-Pad Up: Snap to face downfield (0 degrees)
+ * - D-Pad Down: Snap to face the driver (180 degrees)
+ * - D-Pad Left: Snap to face the alliance goal (goal tag bearing, else the fused pose)
+ * - D-Pad Right: Snap to face the intake stack (HeadingHold.SNAP_INTAKE_HEADING)
+ * - Any right stick input cancels the hold/snap
+ *
+ * OPERATOR (gamepad2, when OPERATOR_ENABLED):
+ * - Same shooter, intake and trap door buttons as gamepad1 - either gamepad works
+ *
  * SHOOTER CONTROLS:
  * - Left Bumper: Start shooter at FRONT zone speed (63%) - close shots
  * - Left Trigger: Start shooter at BACK zone speed (73%) - far shots
@@ -23,6 +35,19 @@
  * - Right Bumper: Open trap door + run back intake (outtake ball) - hold to run
  * - A Button: Run reverse (pull back) - hold to run
  *
+ * ONE-BUTTON SHOOT (Right Stick Button):
+ * - Spins up to the selected zone velocity, opens the trap door, feeds balls one at a
+ *   time as the flywheel recovers, closes the door and returns to standby
+ * - Any stick input (after SHOOT_CANCEL_GRACE_MS, so the click itself doesn't count), or
+ *   LB/LT/B/X/Start, cancels it (intake buttons are ignored while it runs)
+ * - With AUTO_AIM the robot turns to the goal while the flywheel spins up, and a
+ *   ball is only fed once the aim is locked and the flywheel is at speed
+ *
+ * RECORDING (when RECORD_ENABLED):
+ * - Every cycle's driver input, button states and odometry pose are saved to
+ *   /sdcard/FIRST/penguinauts/recordings/<RECORDING_NAME>.rec when the OpMode stops
+ * - Play it back with "Penguinauts: Replay Auto"
+ *
  * TRAP DOOR SERVO:
  *   Control Hub Servo Port 0 - "TD"
  *   REV 41-1097 270-degree servo
@@ -43,6 +68,15 @@
  *
  * IMU Configuration:
  *   Control Hub IMU - "imu"
+ *
+ * LOCALIZATION (when USE_VISION and a Limelight "limelight" or webcam
+ * "Webcam 1" is configured; Visions.TYPE picks which):
+ * - Wheel odometry and IMU heading are fused with goal AprilTag poses by
+ *   PoseEstimator; the fused pose drives the goal snap and the field view
+ * - The camera runs AprilTags only while shooting or within
+ *   VISION_SHOOTING_RANGE_IN of the goal, ball detection only while
+ *   collecting (RT), and nothing otherwise
+ * - While collecting, telemetry shows where the nearest ball cluster is
  */
 
 package org.firstinspires.ftc.teamcode.teleop;
@@ -59,9 +93,32 @@ import com.qualcomm.robotcore.hardware.IMU;
 import com.qualcomm.robotcore.hardware.Servo;
 import com.qualcomm.robotcore.hardware.VoltageSensor;
 import com.qualcomm.robotcore.util.ElapsedTime;
+import com.qualcomm.robotcore.util.RobotLog;
 
 import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
-import org.firstinspires.ftc.robotcore.external.navigation.YawPitchRollAngles;
+import org.firstinspires.ftc.teamcode.control.AimController;
+import org.firstinspires.ftc.teamcode.control.HeadingHold;
+import org.firstinspires.ftc.teamcode.control.MecanumDriveBase;
+import org.firstinspires.ftc.teamcode.control.ShootSequence;
+import org.firstinspires.ftc.teamcode.input.GamepadInput;
+import org.firstinspires.ftc.teamcode.input.GamepadInput.Button;
+import org.firstinspires.ftc.teamcode.input.InputRecorder;
+import org.firstinspires.ftc.teamcode.localization.Localizer;
+import org.firstinspires.ftc.teamcode.localization.Localizers;
+import org.firstinspires.ftc.teamcode.localization.PoseEstimator;
+import org.firstinspires.ftc.teamcode.util.FieldConstants;
+import org.firstinspires.ftc.teamcode.util.FieldOverlay;
+import org.firstinspires.ftc.teamcode.util.LoopProfiler;
+import org.firstinspires.ftc.teamcode.util.TeamStorage;
+import org.firstinspires.ftc.teamcode.vision.AprilTagLocalizer;
+import org.firstinspires.ftc.teamcode.vision.BallAligner;
+import org.firstinspires.ftc.teamcode.vision.ExposureOptimizer;
+import org.firstinspires.ftc.teamcode.vision.Vision;
+import org.firstinspires.ftc.teamcode.vision.VisionScheduler;
+import org.firstinspires.ftc.teamcode.vision.Visions;
+
+import java.io.File;
+import java.io.IOException;
 
 @Config
 @TeleOp(name="Penguinauts: Field Relative Drive", group="Penguinauts")
@@ -72,6 +129,7 @@ public class Penguinauts_FieldRelativeDrive extends LinearOpMode {
     private DcMotor frontRightDrive = null;
     private DcMotor backLeftDrive = null;
     private DcMotor backRightDrive = null;
+    private MecanumDriveBase driveBase = null;
     
     // Declare shooter motors (using DcMotorEx for velocity control)
     private DcMotorEx shooterLeft = null;
@@ -119,12 +177,72 @@ public class Penguinauts_FieldRelativeDrive extends LinearOpMode {
     public static double TRAP_DOOR_CLOSED = 1.0;  // Closed position
     public static double TRAP_DOOR_OPEN = 0.85;   // Open position
 
+    // Starting pose for odometry and the Dashboard field view - configurable via FTC Dashboard
+    public static boolean RED_ALLIANCE = true;   // Selects which goal is drawn as the shot target
+    public static double START_X = 0.0;          // inches
+    public static double START_Y = 0.0;          // inches
+    public static double START_HEADING = 0.0;    // degrees
+    public static boolean USE_VISION = true;     // Correct the pose with goal AprilTags (Limelight or webcam)
+    public static double VISION_SHOOTING_RANGE_IN = 90.0;  // AprilTags run within this distance of the goal
+    public static Localizers.Type LOCALIZER = Localizers.Type.WHEEL;  // Odometry source (falls back to WHEEL)
+
+    // Heading hold tunables live in HeadingHold
+    public static boolean AUTO_AIM = true;              // Shoot sequence turns to the goal and waits for aim lock
+
+    // Operator mapping - gamepad2 mirrors the mechanism controls when enabled
+    public static boolean OPERATOR_ENABLED = true;
+
+    // Stick deflection that cancels the automated shoot sequence
+    public static double SHOOT_CANCEL_DEADBAND = 0.3;
+    public static int SHOOT_CANCEL_GRACE_MS = 150;  // Clicking the stick to start a shot often deflects it
+
+    // Teleop recording for the replay autonomous
+    public static boolean RECORD_ENABLED = false;
+    public static String RECORDING_NAME = "teleop_run";
+
     // Track selected shooter zone (LB = FRONT, LT = BACK)
     private double selectedShooterVelocity = SHOOTER_VELOCITY_FRONT;  // Default to front zone
     private String selectedZone = "FRONT";
 
     // Trap door state (default open)
     private boolean trapDoorOpen = true;
+
+    // Loop-time profiler (percentiles graphed on FTC Dashboard)
+    private final LoopProfiler profiler = new LoopProfiler();
+    private final int imuSection = profiler.addSection("imu");
+    private final int driveSection = profiler.addSection("drive");
+    private final int shooterSection = profiler.addSection("shooter");
+    private final int intakeSection = profiler.addSection("intake");
+    private final int odometrySection = profiler.addSection("odometry");
+    private final int visionSection = profiler.addSection("vision");
+    private final int dashboardSection = profiler.addSection("dashboard");
+    private final int telemetrySection = profiler.addSection("telemetry");
+
+    // Gamepad input - snapshotted once per cycle, press handlers run once per press
+    private final GamepadInput driver = new GamepadInput();
+    private final GamepadInput operator = new GamepadInput();
+
+    // Automated shoot cycle (created once hardware is mapped)
+    private ShootSequence shootSequence = null;
+    private boolean shootSequenceWasActive = false;
+
+    // Heading hold state
+    private final HeadingHold headingHold = new HeadingHold();
+    private double driverYawOffset = 0.0;                     // IMU yaw when the driver last pressed Back
+
+    // Odometry (created once the drive is mapped) and FTC Dashboard field view
+    private Localizer odometry = null;
+    private final FieldOverlay fieldOverlay = new FieldOverlay();
+
+    // Fused pose (odometry + IMU + AprilTags); vision and tagLocalizer stay null without a camera
+    private final PoseEstimator poseEstimator = new PoseEstimator();
+    private Vision vision = null;
+    private AprilTagLocalizer tagLocalizer = null;
+    private BallAligner ballAligner = null;
+    private AimController aim = null;
+
+    // Input recorder (allocated in init only when RECORD_ENABLED)
+    private InputRecorder recorder = null;
     
 
     @Override
@@ -141,6 +259,8 @@ public class Penguinauts_FieldRelativeDrive extends LinearOpMode {
         frontRightDrive = hardwareMap.get(DcMotor.class, "FR");
         backLeftDrive = hardwareMap.get(DcMotor.class, "BL");
         backRightDrive = hardwareMap.get(DcMotor.class, "BR");
+        driveBase = new MecanumDriveBase(frontLeftDrive, frontRightDrive, backLeftDrive, backRightDrive);
+        odometry = Localizers.create(LOCALIZER, hardwareMap, driveBase);
 
         // Initialize voltage sensor for battery compensation
         voltageSensor = hardwareMap.voltageSensor.iterator().next();
@@ -275,6 +395,16 @@ public class Penguinauts_FieldRelativeDrive extends LinearOpMode {
         
         imu.initialize(new IMU.Parameters(orientationOnRobot));
 
+        // Open the Limelight or webcam for AprilTag localization (optional)
+        if (USE_VISION) vision = Visions.create(hardwareMap);
+        if (vision != null) {
+            tagLocalizer = new AprilTagLocalizer(vision.getBridge());
+            ballAligner = new BallAligner(vision);
+        }
+        if (vision instanceof VisionScheduler) {
+            new ExposureOptimizer((VisionScheduler) vision).applyCached();   // Sweeps run from the autos' init
+        }
+
         // Wait for the game to start
         telemetry.addData("Status", "Initialized - Team Penguinauts 32240");
         telemetry.addData("Mode", "FIELD RELATIVE DRIVE");
@@ -322,38 +452,95 @@ public class Penguinauts_FieldRelativeDrive extends LinearOpMode {
         
         telemetry.addData("", "");
         telemetry.addData("IMU Status", "Ready");
+        telemetry.addData("Odometry", odometry.getName());
+        telemetry.addData("AprilTags", vision != null ? vision.getName() + " ready" : "OFF (odometry only)");
         telemetry.update();
 
+        shootSequence = new ShootSequence(shooterLeft, shooterRight, intakeFront, intakeBack, trapDoor);
+        aim = new AimController(vision != null ? vision.getBridge() : null, RED_ALLIANCE);
+        registerInputHandlers();
+        if (RECORD_ENABLED) recorder = new InputRecorder();
+
         waitForStart();
         runtime.reset();
         
         // Reset IMU yaw to zero at start
         imu.resetYaw();
+        profiler.reset();
+
+        // Start odometry from the configured starting pose
+        odometry.update(0.0);   // Yaw was just reset - takes the baseline
+        odometry.setPose(START_X, START_Y, Math.toRadians(START_HEADING));
+        poseEstimator.reset(START_X, START_Y, Math.toRadians(START_HEADING), System.nanoTime());
+        fieldOverlay.setTarget(FieldConstants.goalX(RED_ALLIANCE), FieldConstants.goalY(RED_ALLIANCE));
 
         // Run until the driver presses STOP
         while (opModeIsActive()) {
+            profiler.loop();
+
+            // Snapshot both gamepads and run press handlers (Back, shooter zone, trap door)
+            driver.update(gamepad1);
+            if (OPERATOR_ENABLED) operator.update(gamepad2);
             
             // ========== DRIVE CONTROLS ==========
             
             // Get joystick inputs
-            double axial = -gamepad1.left_stick_y;   // Forward/backward
-            double lateral = gamepad1.left_stick_x;   // Strafe left/right
-            double yaw = gamepad1.right_stick_x;      // Rotate left/right
+            double axial = -driver.leftStickY;   // Forward/backward
+            double lateral = driver.leftStickX;   // Strafe left/right
+            double yaw = driver.rightStickX;      // Rotate left/right
 
-            // Reset field orientation with Back button (always available)
-            if (gamepad1.back) {
-                imu.resetYaw();
-            }
+            // Read the robot heading once per cycle - shared by drive, odometry and telemetry
+            profiler.start(imuSection);
+            double imuYaw = imu.getRobotYawPitchRollAngles().getYaw(AngleUnit.RADIANS);
+            profiler.stop(imuSection);
+            // Driver frame for field-relative drive and heading hold; odometry keeps the raw yaw
+            double botHeading = AngleUnit.normalizeRadians(imuYaw - driverYawOffset);
 
             // Fixed drive speed
             double speedMultiplier = DRIVE_SPEED;
             String driveMode = "Field-Relative (63%)";
 
+            // Goal heading from the newest tag frame, or last cycle's fused pose (raw IMU frame)
+            aim.update(imuYaw, poseEstimator.getX(), poseEstimator.getY(), poseEstimator.getHeading());
+
+            // Heading hold replaces the rotation input while the right stick is released
+            double goalHeading = aim.hasTarget() ? aim.getTarget() - driverYawOffset : Double.NaN;
+            yaw = headingHold.update(yaw, botHeading, driver, goalHeading, AUTO_AIM && shootSequence.isActive());
+
             // Field-relative drive
-            driveFieldRelative(axial, lateral, yaw, speedMultiplier);
+            driveFieldRelative(axial, lateral, yaw, speedMultiplier, botHeading);
+
+            // ========== ODOMETRY ==========
+
+            profiler.start(odometrySection);
+            odometry.update(imuYaw);
+            poseEstimator.predict(odometry);
+            if (recorder != null) {
+                recorder.record((long) runtime.milliseconds(), driver, OPERATOR_ENABLED ? operator : null,
+                        odometry.getX(), odometry.getY(), odometry.getHeading());
+            }
+            profiler.stop(odometrySection);
+
+            // Goal tags seen since the last loop correct the pose at their capture time
+            profiler.start(visionSection);
+            if (vision != null) {
+                vision.setPhase(visionPhase());
+                vision.update();
+                tagLocalizer.update(poseEstimator);
+                if (vision.getPhase() == Vision.Phase.COLLECTING) ballAligner.update();
+            }
+            profiler.stop(visionSection);
+
+            // Field view packet, timed on its own so it is not counted as vision
+            profiler.start(dashboardSection);
+            fieldOverlay.setRobotPose(poseEstimator.getX(), poseEstimator.getY(), poseEstimator.getHeading());
+            fieldOverlay.sendIfDue();
+            profiler.stop(dashboardSection);
 
             // ========== SHOOTER CONTROLS ==========
 
+            profiler.start(shooterSection);
+
             // Update PIDF coefficients from Dashboard (allows live tuning)
             if (shooterLeft != null) shooterLeft.setVelocityPIDFCoefficients(P, I, D, F);
             if (shooterRight != null) shooterRight.setVelocityPIDFCoefficients(P, I, D, F);
@@ -364,36 +551,8 @@ public class Penguinauts_FieldRelativeDrive extends LinearOpMode {
             double currentShooterVelocity = 0.0;
 
             // Operate shooter if at least ONE motor is available
+            // (LT/LB zone select and B stop run as press handlers - see registerInputHandlers)
             if (shooterLeft != null || shooterRight != null) {
-                // Left Trigger: SELECT BACK zone and START shooter - far shots
-                if (gamepad1.left_trigger > 0.1) {
-                    selectedShooterVelocity = SHOOTER_VELOCITY_BACK;
-                    selectedZone = "BACK";
-                    // Start shooter at selected velocity
-                    if (shooterLeft != null) shooterLeft.setVelocity(SHOOTER_VELOCITY_BACK);
-                    if (shooterRight != null) shooterRight.setVelocity(SHOOTER_VELOCITY_BACK);
-                }
-                // Left Bumper: SELECT FRONT zone and START shooter - close shots
-                else if (gamepad1.left_bumper) {
-                    selectedShooterVelocity = SHOOTER_VELOCITY_FRONT;
-                    selectedZone = "FRONT";
-                    // Start shooter at selected velocity
-                    if (shooterLeft != null) shooterLeft.setVelocity(SHOOTER_VELOCITY_FRONT);
-                    if (shooterRight != null) shooterRight.setVelocity(SHOOTER_VELOCITY_FRONT);
-                }
-
-                // B Button: Stop shooter motors
-                if (gamepad1.b) {
-                    if (shooterLeft != null) {
-                        shooterLeft.setVelocity(0);
-                    }
-                    if (shooterRight != null) {
-                        shooterRight.setVelocity(0);
-                    }
-                    shooterStatus = "STOPPED";
-                    currentShooterVelocity = 0.0;
-                }
-
                 // Get current shooter velocity (actual measured velocity)
                 if (shooterLeft != null) {
                     currentShooterVelocity = shooterLeft.getVelocity();
@@ -414,6 +573,14 @@ public class Penguinauts_FieldRelativeDrive extends LinearOpMode {
                     shootingZone = selectedZone + " (selected)";
                 }
 
+                // Advance the one-button shoot cycle using this cycle's velocity sample
+                if (shootSequence.isActive() && shootSequence.getRunningMs() >= SHOOT_CANCEL_GRACE_MS
+                        && (driver.sticksActive(SHOOT_CANCEL_DEADBAND)
+                        || (OPERATOR_ENABLED && operator.sticksActive(SHOOT_CANCEL_DEADBAND)))) {
+                    shootSequence.cancel();
+                }
+                shootSequence.update(currentShooterVelocity, !AUTO_AIM || aim.isAimed());
+
                 // Determine shooter mode
                 if (shooterLeft != null && shooterRight != null) {
                     shooterMode = "DUAL (Velocity PID)";
@@ -423,22 +590,28 @@ public class Penguinauts_FieldRelativeDrive extends LinearOpMode {
                     shooterMode = "RIGHT ONLY";
                 }
             }
+
+            profiler.stop(shooterSection);
             
             // ========== FRONT INTAKE CONTROLS (Front + Middle rollers) ==========
+
+            profiler.start(intakeSection);
             
             String frontIntakeStatus = "STOPPED";
             double frontIntakePower = 0.0;
             
-            // Operate front intake independently
-            if (intakeFront != null) {
+            // Operate front intake independently (the shoot sequence owns it while active)
+            if (intakeFront != null && shootSequence.isActive()) {
+                frontIntakeStatus = "AUTO FEED";
+            } else if (intakeFront != null) {
                 // Right Trigger: Run front intake FORWARD (collect) - only while held
-                if (gamepad1.right_trigger > 0.1) {
+                if (mechanismDown(Button.RIGHT_TRIGGER)) {
                     intakeFront.setPower(INTAKE_POWER);
                     frontIntakeStatus = "COLLECTING";
                     frontIntakePower = INTAKE_POWER;
                 }
                 // Y Button: Run front intake REVERSE (eject) - only while held
-                else if (gamepad1.y) {
+                else if (mechanismDown(Button.Y)) {
                     intakeFront.setPower(-INTAKE_POWER);
                     frontIntakeStatus = "EJECTING";
                     frontIntakePower = -INTAKE_POWER;
@@ -456,8 +629,12 @@ public class Penguinauts_FieldRelativeDrive extends LinearOpMode {
             String backIntakeStatus = "STOPPED";
             double backIntakePower = 0.0;
 
+            // Shoot sequence owns the back intake while active
+            if (shootSequence.isActive()) {
+                backIntakeStatus = "AUTO FEED";
+            }
             // Right Bumper: Start shooter + run back intake immediately
-            if (gamepad1.right_bumper) {
+            else if (mechanismDown(Button.RIGHT_BUMPER)) {
                 // Start shooter
                 if (shooterLeft != null) shooterLeft.setVelocity(selectedShooterVelocity);
                 if (shooterRight != null) shooterRight.setVelocity(selectedShooterVelocity);
@@ -469,13 +646,13 @@ public class Penguinauts_FieldRelativeDrive extends LinearOpMode {
                 }
             }
             // A Button: Run back intake REVERSE (pull back)
-            else if (gamepad1.a && intakeBack != null) {
+            else if (mechanismDown(Button.A) && intakeBack != null) {
                 intakeBack.setPower(-INTAKE_POWER);
                 backIntakeStatus = "PULLING BACK";
                 backIntakePower = -INTAKE_POWER;
             }
             // RT pressed (without RB): Run back intake REVERSE at slow speed - holds ball back
-            else if (gamepad1.right_trigger > 0.1 && intakeBack != null) {
+            else if (mechanismDown(Button.RIGHT_TRIGGER) && intakeBack != null) {
                 intakeBack.setPower(-BACK_INTAKE_SLOW_REVERSE);
                 backIntakeStatus = "SLOW REVERSE";
                 backIntakePower = -BACK_INTAKE_SLOW_REVERSE;
@@ -489,26 +666,21 @@ public class Penguinauts_FieldRelativeDrive extends LinearOpMode {
                 }
             }
 
+            profiler.stop(intakeSection);
+
             // ========== TRAP DOOR CONTROLS ==========
-            // X = Close, Start = Open (default open)
+            // X = Close, Start = Open (default open) - moved by press handlers
             String trapDoorStatus = "N/A";
+            if (shootSequence.isActive() || shootSequenceWasActive) {
+                trapDoorOpen = shootSequence.isDoorOpen();
+            }
+            shootSequenceWasActive = shootSequence.isActive();
             if (trapDoor != null) {
-                if (gamepad1.x) {
-                    trapDoor.setPosition(TRAP_DOOR_CLOSED);
-                    trapDoorOpen = false;
-                    trapDoorStatus = "CLOSED";
-                } else if (gamepad1.start) {
-                    trapDoor.setPosition(TRAP_DOOR_OPEN);
-                    trapDoorOpen = true;
-                    trapDoorStatus = "OPEN";
-                } else {
-                    trapDoorStatus = trapDoorOpen ? "OPEN" : "CLOSED";
-                }
+                trapDoorStatus = trapDoorOpen ? "OPEN" : "CLOSED";
             }
 
-            // Get current robot heading for telemetry
-            YawPitchRollAngles orientation = imu.getRobotYawPitchRollAngles();
-            double heading = orientation.getYaw(AngleUnit.DEGREES);
+            // Robot heading for telemetry (from this cycle's IMU sample)
+            double heading = Math.toDegrees(botHeading);
 
             // Display telemetry
             telemetry.addData("Status", "Running - Team 32240");
@@ -516,6 +688,29 @@ public class Penguinauts_FieldRelativeDrive extends LinearOpMode {
             telemetry.addData("", "");
             telemetry.addData("Drive Mode", driveMode);
             telemetry.addData("Robot Heading", "%.1f degrees", heading);
+            telemetry.addData("Odometry", "%s X: %.1f, Y: %.1f in, read p50 %.0f us p99 %.0f us", odometry.getName(),
+                    odometry.getX(), odometry.getY(), odometry.getReadPercentileMicros(50),
+                    odometry.getReadPercentileMicros(99));
+            odometry.addTelemetry(telemetry);
+            telemetry.addData("Pose", "X: %.1f, Y: %.1f in, %.1f deg (±%.1f in)", poseEstimator.getX(),
+                    poseEstimator.getY(), Math.toDegrees(poseEstimator.getHeading()), poseEstimator.getPositionStd());
+            if (vision != null) {
+                telemetry.addData("AprilTags", "%d seen, %d used, %d rejected, %d solve failures",
+                        tagLocalizer.getDetectionCount(), poseEstimator.getAcceptedCount(),
+                        poseEstimator.getRejectedCount(), tagLocalizer.getSolveFailureCount());
+                vision.addTelemetry(telemetry);
+                if (vision.getPhase() == Vision.Phase.COLLECTING) ballAligner.addTelemetry(telemetry);
+            }
+            if (headingHold.isActive()) {
+                telemetry.addData("Heading Hold", "%.1f deg (error %.1f)",
+                        Math.toDegrees(headingHold.getTarget()), Math.toDegrees(headingHold.getError()));
+            } else {
+                telemetry.addData("Heading Hold", headingHold.isRotating() ? "OFF (rotating)" : "OFF");
+            }
+            if (recorder != null) {
+                telemetry.addData("Recording", "%d frames, %d KB%s", recorder.getFrameCount(),
+                        recorder.getByteCount() / 1024, recorder.isFull() ? " (FULL)" : "");
+            }
             telemetry.addData("Joystick", "Axial: %.2f, Lateral: %.2f, Yaw: %.2f", axial, lateral, yaw);
             
             // Shooter telemetry
@@ -531,6 +726,17 @@ public class Penguinauts_FieldRelativeDrive extends LinearOpMode {
                 telemetry.addData("Motor Mode", shooterMode);
                 telemetry.addData("", "");
                 telemetry.addData("Controls", "LB=Front | LT=Back | B=Stop");
+                telemetry.addData("Auto Shoot", "%s (%d balls) - RS button",
+                        shootSequence.getState(), shootSequence.getBallsFed());
+                if (shootSequence.isActive()) {
+                    telemetry.addData("Ready", "aim %s | speed %s",
+                            shootSequence.isAimed() ? "LOCKED" : "turning",
+                            shootSequence.isAtSpeed() ? "AT SPEED" : "spinning up");
+                }
+                aim.addTelemetry(telemetry);
+                telemetry.addData("Cycle Time", "shoot %.0f ms (avg %.0f) | driver %.1f s",
+                        shootSequence.getLastSequenceMs(), shootSequence.getAverageSequenceMs(),
+                        shootSequence.getLastDriverCycleMs() / 1000.0);
             }
             
             // Display Front Intake telemetry
@@ -563,59 +769,134 @@ public class Penguinauts_FieldRelativeDrive extends LinearOpMode {
                 telemetry.addData("", "");
                 telemetry.addData("Intake Config Speed", "%.0f%% (Dashboard)", INTAKE_POWER * 100);
             }
-            
+
+            profiler.start(telemetrySection);
             telemetry.update();
+            profiler.stop(telemetrySection);
         }
+
+        if (vision != null) vision.close();
+        odometry.close();
+        saveRecording();
     }
 
     /**
-     * Drive the robot in field-relative mode
+     * Writes the recorded run to the team storage folder once the loop has ended.
      */
-    private void driveFieldRelative(double axial, double lateral, double yaw, double speedMultiplier) {
-        // Get the current robot heading
-        double botHeading = imu.getRobotYawPitchRollAngles().getYaw(AngleUnit.RADIANS);
+    private void saveRecording() {
+        if (recorder == null || recorder.getFrameCount() == 0) return;
+        try {
+            File file = TeamStorage.file("recordings", RECORDING_NAME + ".rec");
+            recorder.save(file);
+            RobotLog.ii("Recorder", "Saved %d frames (%d bytes%s) to %s", recorder.getFrameCount(),
+                    recorder.getByteCount(), recorder.isFull() ? ", buffer full" : "", file.getAbsolutePath());
+        } catch (IOException | IllegalStateException e) {
+            // IllegalStateException: TeamStorage could not create the recordings folder
+            RobotLog.ee("Recorder", e, "Failed to save %s.rec", RECORDING_NAME);
+        }
+    }
 
-        // Rotate the joystick input by the robot's heading
-        double rotX = lateral * Math.cos(-botHeading) - axial * Math.sin(-botHeading);
-        double rotY = lateral * Math.sin(-botHeading) + axial * Math.cos(-botHeading);
+    /**
+     * Registers the edge-triggered controls. Each runs once per press, so holding a
+     * button no longer repeats the Back re-zero, setVelocity() or setPosition() every loop.
+     */
+    private void registerInputHandlers() {
+        // Back: Reset field orientation (driver only). Offsets the driver frame instead of
+        // resetting the IMU, which would step the odometry heading by the old yaw
+        driver.onPress(Button.BACK, () -> {
+            driverYawOffset = imu.getRobotYawPitchRollAngles().getYaw(AngleUnit.RADIANS);
+            headingHold.release();
+        });
+
+        // Left Trigger: SELECT BACK zone and START shooter - far shots
+        bindMechanism(Button.LEFT_TRIGGER, () -> {
+            selectedShooterVelocity = SHOOTER_VELOCITY_BACK;
+            selectedZone = "BACK";
+            setShooterVelocity(SHOOTER_VELOCITY_BACK);
+        });
+
+        // Left Bumper: SELECT FRONT zone and START shooter - close shots
+        bindMechanism(Button.LEFT_BUMPER, () -> {
+            selectedShooterVelocity = SHOOTER_VELOCITY_FRONT;
+            selectedZone = "FRONT";
+            setShooterVelocity(SHOOTER_VELOCITY_FRONT);
+        });
+
+        // B Button: Stop shooter motors
+        bindMechanism(Button.B, () -> setShooterVelocity(0));
+
+        // Right Stick Button: Run the automated shoot cycle at the selected zone velocity
+        driver.onPress(Button.RIGHT_STICK_BUTTON, () -> shootSequence.start(selectedShooterVelocity));
+        operator.onPress(Button.RIGHT_STICK_BUTTON, () -> shootSequence.start(selectedShooterVelocity));
+
+        // X = Close trap door, Start = Open trap door
+        bindMechanism(Button.X, () -> setTrapDoor(false));
+        bindMechanism(Button.START, () -> setTrapDoor(true));
+    }
 
-        // Calculate motor powers
-        driveRobotRelative(rotY, rotX, yaw, speedMultiplier);
+    /**
+     * Registers a press handler on the driver gamepad and the operator gamepad.
+     * A manual mechanism press cancels the automated shoot sequence first.
+     */
+    private void bindMechanism(Button button, Runnable handler) {
+        Runnable manual = () -> {
+            shootSequence.cancel();
+            handler.run();
+        };
+        driver.onPress(button, manual);
+        operator.onPress(button, manual);
     }
 
     /**
-     * Drive the robot in robot-relative mode
+     * True if a mechanism button is held on either gamepad.
      */
-    private void driveRobotRelative(double axial, double lateral, double yaw, double speedMultiplier) {
-        // Calculate wheel powers using mecanum drive kinematics
-        double frontLeftPower = axial + lateral + yaw;
-        double frontRightPower = axial - lateral - yaw;
-        double backLeftPower = axial - lateral + yaw;
-        double backRightPower = axial + lateral - yaw;
-
-        // Normalize the values so no wheel power exceeds 1.0
-        double maxPower = Math.max(Math.abs(frontLeftPower), Math.abs(frontRightPower));
-        maxPower = Math.max(maxPower, Math.abs(backLeftPower));
-        maxPower = Math.max(maxPower, Math.abs(backRightPower));
-
-        if (maxPower > 1.0) {
-            frontLeftPower /= maxPower;
-            frontRightPower /= maxPower;
-            backLeftPower /= maxPower;
-            backRightPower /= maxPower;
-        }
+    private boolean mechanismDown(Button button) {
+        return driver.isDown(button) || (OPERATOR_ENABLED && operator.isDown(button));
+    }
+
+    /**
+     * What the camera is needed for this cycle: the shoot cycle and the approach
+     * to the goal use AprilTags, holding collect (RT) uses the color locators.
+     */
+    private Vision.Phase visionPhase() {
+        if (shootSequence.isActive()) return Vision.Phase.SHOOTING;
+        if (mechanismDown(Button.RIGHT_TRIGGER)) return Vision.Phase.COLLECTING;
+        double goalDistance = Math.hypot(FieldConstants.goalX(RED_ALLIANCE) - poseEstimator.getX(),
+                FieldConstants.goalY(RED_ALLIANCE) - poseEstimator.getY());
+        if (goalDistance < VISION_SHOOTING_RANGE_IN) return Vision.Phase.SHOOTING;
+        return Vision.Phase.IDLE;
+    }
 
-        // Apply speed multiplier
-        frontLeftPower *= speedMultiplier;
-        frontRightPower *= speedMultiplier;
-        backLeftPower *= speedMultiplier;
-        backRightPower *= speedMultiplier;
-
-        // Send calculated power to wheels
-        frontLeftDrive.setPower(frontLeftPower);
-        frontRightDrive.setPower(frontRightPower);
-        backLeftDrive.setPower(backLeftPower);
-        backRightDrive.setPower(backRightPower);
+    /**
+     * Sets both shooter motors (whichever are present) to a velocity.
+     *
+     * @param velocity Target velocity in ticks/sec
+     */
+    private void setShooterVelocity(double velocity) {
+        if (shooterLeft != null) shooterLeft.setVelocity(velocity);
+        if (shooterRight != null) shooterRight.setVelocity(velocity);
+    }
+
+    /**
+     * Opens or closes the trap door if it is present.
+     */
+    private void setTrapDoor(boolean open) {
+        if (trapDoor == null) return;
+        trapDoor.setPosition(open ? TRAP_DOOR_OPEN : TRAP_DOOR_CLOSED);
+        trapDoorOpen = open;
+    }
+
+    /**
+     * Drive the robot in field-relative mode
+     *
+     * @param botHeading Robot heading in radians, sampled once this cycle
+     */
+    private void driveFieldRelative(double axial, double lateral, double yaw, double speedMultiplier,
+                                    double botHeading) {
+        // Rotate the joystick input by the robot's heading and apply mecanum kinematics
+        profiler.start(driveSection);
+        driveBase.driveFieldRelative(axial, lateral, yaw, speedMultiplier, botHeading);
+        profiler.stop(driveSection);
     }
 }
 
@@ -53,6 +53,8 @@ import com.qualcomm.robotcore.hardware.Servo;
 import com.qualcomm.robotcore.hardware.VoltageSensor;
 import com.qualcomm.robotcore.util.ElapsedTime;
 
+import org.firstinspires.ftc.teamcode.util.LoopProfiler;
+
 @Config
 @TeleOp(name="Penguinauts: Mecanum Drive", group="Penguinauts")
 public class Penguinauts_MecanumDrive extends LinearOpMode {
@@ -113,6 +115,12 @@ public class Penguinauts_MecanumDrive extends LinearOpMode {
     // Trap door state (default open)
     private boolean trapDoorOpen = true;
 
+    // Loop-time profiler (percentiles graphed on FTC Dashboard)
+    private final LoopProfiler profiler = new LoopProfiler();
+    private final int driveSection = profiler.addSection("drive");
+    private final int shooterSection = profiler.addSection("shooter");
+    private final int intakeSection = profiler.addSection("intake");
+    private final int telemetrySection = profiler.addSection("telemetry");
 
     @Override
     public void runOpMode() {
@@ -298,9 +306,11 @@ public class Penguinauts_MecanumDrive extends LinearOpMode {
 
         waitForStart();
         runtime.reset();
+        profiler.reset();
 
         // Run until the driver presses STOP
         while (opModeIsActive()) {
+            profiler.loop();
 
             // ========== DRIVE CONTROLS ==========
 
@@ -339,13 +349,17 @@ public class Penguinauts_MecanumDrive extends LinearOpMode {
             backRightPower *= speedMultiplier;
 
             // Send calculated power to wheels
+            profiler.start(driveSection);
             frontLeftDrive.setPower(frontLeftPower);
             frontRightDrive.setPower(frontRightPower);
             backLeftDrive.setPower(backLeftPower);
             backRightDrive.setPower(backRightPower);
+            profiler.stop(driveSection);
 
             // ========== SHOOTER CONTROLS ==========
 
+            profiler.start(shooterSection);
+
             // Update PIDF coefficients from Dashboard (allows live tuning)
             if (shooterLeft != null) shooterLeft.setVelocityPIDFCoefficients(P, I, D, F);
             if (shooterRight != null) shooterRight.setVelocityPIDFCoefficients(P, I, D, F);
@@ -416,8 +430,12 @@ public class Penguinauts_MecanumDrive extends LinearOpMode {
                 }
             }
 
+            profiler.stop(shooterSection);
+
             // ========== FRONT INTAKE CONTROLS (Front + Middle rollers) ==========
 
+            profiler.start(intakeSection);
+
             String frontIntakeStatus = "STOPPED";
             double frontIntakePower = 0.0;
 
@@ -481,6 +499,8 @@ public class Penguinauts_MecanumDrive extends LinearOpMode {
                 }
             }
 
+            profiler.stop(intakeSection);
+
             // ========== TRAP DOOR CONTROLS ==========
             // X = Close, Start = Open (default open)
             String trapDoorStatus = "N/A";
@@ -553,7 +573,9 @@ public class Penguinauts_MecanumDrive extends LinearOpMode {
                 telemetry.addData("Intake Config Speed", "%.0f%% (Dashboard)", INTAKE_POWER * 100);
             }
 
+            profiler.start(telemetrySection);
             telemetry.update();
+            profiler.stop(telemetrySection);
         }
     }
 }
@@ -0,0 +1,181 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Measures the SparkFun OTOS linear and angular scalars and saves them for
+ * OtosLocalizer, which applies them at every startup.
+ *
+ * Uses the procedure from the SDK's SensorSparkFunOTOS sample, starting from
+ * whatever scalars are currently saved so repeated runs refine them:
+ *
+ * ANGULAR (do this first):
+ * - Line the robot up with a mark, press A
+ * - Spin ANGULAR_TEST_TURNS full turns (either direction) back onto the mark, press A
+ * - Scalar = expected angle / measured angle
+ *
+ * LINEAR:
+ * - Press X, drive or push the robot straight LINEAR_TEST_DISTANCE_IN
+ *   (4 tiles = 94.5 in along a seam), press X
+ * - Scalar = expected distance / measured distance
+ *
+ * Y saves both scalars. Left stick drives, right stick turns (robot-relative).
+ */
+
+package org.firstinspires.ftc.teamcode.teleop;
+
+import com.acmerobotics.dashboard.FtcDashboard;
+import com.acmerobotics.dashboard.config.Config;
+import com.acmerobotics.dashboard.telemetry.MultipleTelemetry;
+import com.qualcomm.hardware.sparkfun.SparkFunOTOS;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import com.qualcomm.robotcore.eventloop.opmode.TeleOp;
+import com.qualcomm.robotcore.util.RobotLog;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.teamcode.control.MecanumDriveBase;
+import org.firstinspires.ftc.teamcode.input.GamepadInput;
+import org.firstinspires.ftc.teamcode.input.GamepadInput.Button;
+import org.firstinspires.ftc.teamcode.localization.OtosLocalizer;
+
+import java.io.File;
+import java.io.IOException;
+
+@Config
+@TeleOp(name="Penguinauts: OTOS Calibration", group="Penguinauts")
+public class Penguinauts_OtosCalibration extends LinearOpMode {
+
+    // ========== TEST SETTINGS - FTC DASHBOARD ==========
+    public static int ANGULAR_TEST_TURNS = 10;                // Full turns for the angular test
+    public static double LINEAR_TEST_DISTANCE_IN = 94.5;      // Known straight-line distance
+    public static double DRIVE_SPEED = 0.4;                   // Slow, so the sensor never loses tracking
+
+    private SparkFunOTOS otos = null;
+    private final SparkFunOTOS.Pose2D position = new SparkFunOTOS.Pose2D();
+    private final SparkFunOTOS.Pose2D velocity = new SparkFunOTOS.Pose2D();
+    private final SparkFunOTOS.Pose2D acceleration = new SparkFunOTOS.Pose2D();
+    private final GamepadInput driver = new GamepadInput();
+
+    private double linearScalar;
+    private double angularScalar;
+
+    // Test state
+    private boolean angularRunning = false;
+    private boolean linearRunning = false;
+    private double unwrappedHeading = 0.0;
+    private double lastHeading = 0.0;
+    private String result = "Press A (angular) or X (linear) to start";
+
+    @Override
+    public void runOpMode() {
+        telemetry = new MultipleTelemetry(telemetry, FtcDashboard.getInstance().getTelemetry());
+
+        otos = hardwareMap.tryGet(SparkFunOTOS.class, OtosLocalizer.DEVICE_NAME);
+        if (otos == null) {
+            telemetry.addData("Error", "No OTOS named \"%s\" in the configuration", OtosLocalizer.DEVICE_NAME);
+            telemetry.update();
+            waitForStart();
+            return;
+        }
+        MecanumDriveBase drive = MecanumDriveBase.fromHardwareMap(hardwareMap);
+
+        double[] scalars = OtosLocalizer.loadCalibration();
+        linearScalar = scalars[0];
+        angularScalar = scalars[1];
+        OtosLocalizer.configure(otos, linearScalar, angularScalar);
+        telemetry.addData("Status", "Calibrating OTOS IMU - keep the robot still");
+        telemetry.update();
+        otos.calibrateImu();
+        otos.resetTracking();
+
+        driver.onPress(Button.A, this::toggleAngularTest);
+        driver.onPress(Button.X, this::toggleLinearTest);
+        driver.onPress(Button.Y, this::save);
+
+        telemetry.addData("Status", "Ready - scalars linear %.3f, angular %.3f", linearScalar, angularScalar);
+        telemetry.update();
+        waitForStart();
+
+        while (opModeIsActive()) {
+            driver.update(gamepad1);
+            drive.driveRobotRelative(-driver.leftStickY, driver.leftStickX, driver.rightStickX, DRIVE_SPEED);
+
+            otos.getPosVelAcc(position, velocity, acceleration);
+            // Accumulate heading across the +/-180 wrap so multiple turns add up
+            unwrappedHeading += AngleUnit.normalizeRadians(position.h - lastHeading);
+            lastHeading = position.h;
+
+            telemetry.addData("Scalars", "linear %.3f | angular %.3f", linearScalar, angularScalar);
+            if (angularRunning) {
+                telemetry.addData("Angular Test", "%.1f turns so far - A when back on the mark",
+                        Math.abs(unwrappedHeading) / (2.0 * Math.PI));
+            } else if (linearRunning) {
+                telemetry.addData("Linear Test", "%.2f in so far - X at %.1f in",
+                        Math.hypot(position.x, position.y), LINEAR_TEST_DISTANCE_IN);
+            }
+            telemetry.addData("Result", result);
+            telemetry.addData("Controls", "A angular | X linear | Y save");
+            telemetry.update();
+        }
+        drive.stop();
+    }
+
+    private void toggleAngularTest() {
+        if (linearRunning) return;
+        if (!angularRunning) {
+            resetTest();
+            angularRunning = true;
+            result = "Spin " + ANGULAR_TEST_TURNS + " turns, then press A";
+            return;
+        }
+        angularRunning = false;
+        double measured = Math.abs(unwrappedHeading);
+        double expected = ANGULAR_TEST_TURNS * 2.0 * Math.PI;
+        if (measured < Math.PI) {
+            result = "Angular: robot barely turned - test ignored";
+            return;
+        }
+        angularScalar = OtosLocalizer.clampScalar(angularScalar * expected / measured);
+        otos.setAngularScalar(angularScalar);
+        result = String.format("Angular: measured %.1f deg of %.0f -> scalar %.3f (Y to save)",
+                Math.toDegrees(measured), Math.toDegrees(expected), angularScalar);
+    }
+
+    private void toggleLinearTest() {
+        if (angularRunning) return;
+        if (!linearRunning) {
+            resetTest();
+            linearRunning = true;
+            result = "Drive " + LINEAR_TEST_DISTANCE_IN + " in straight, then press X";
+            return;
+        }
+        linearRunning = false;
+        double measured = Math.hypot(position.x, position.y);
+        if (measured < LINEAR_TEST_DISTANCE_IN / 2.0) {
+            result = "Linear: robot moved less than half the distance - test ignored";
+            return;
+        }
+        linearScalar = OtosLocalizer.clampScalar(linearScalar * LINEAR_TEST_DISTANCE_IN / measured);
+        otos.setLinearScalar(linearScalar);
+        result = String.format("Linear: measured %.2f in of %.1f -> scalar %.3f (Y to save)",
+                measured, LINEAR_TEST_DISTANCE_IN, linearScalar);
+    }
+
+    private void resetTest() {
+        otos.resetTracking();
+        position.x = 0.0;
+        position.y = 0.0;
+        position.h = 0.0;
+        unwrappedHeading = 0.0;
+        lastHeading = 0.0;
+    }
+
+    private void save() {
+        try {
+            File file = OtosLocalizer.saveCalibration(linearScalar, angularScalar);
+            result = "Saved to " + file.getAbsolutePath();
+            RobotLog.ii("OtosCalibration", "Saved linear %.3f angular %.3f to %s",
+                    linearScalar, angularScalar, file.getAbsolutePath());
+        } catch (IOException e) {
+            result = "Save failed: " + e.getMessage();
+            RobotLog.ee("OtosCalibration", e, "Failed to save OTOS calibration");
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Measures what PoseEstimator costs per control loop on the Control Hub.
+ *
+ * No hardware is used. A synthetic robot drives a circle at 10 ms loops;
+ * every loop calls predict(), and every TAG_EVERY_LOOPS loops a noisy tag
+ * pose captured TAG_LATENCY_MS earlier is passed to correct(), which rewinds
+ * and replays that many loops of history. A second correct() per tag uses
+ * the oldest frame the history still holds (the worst case).
+ *
+ * Press START and read the p50 / p99 / max times from telemetry.
+ */
+
+package org.firstinspires.ftc.teamcode.teleop;
+
+import com.acmerobotics.dashboard.FtcDashboard;
+import com.acmerobotics.dashboard.config.Config;
+import com.acmerobotics.dashboard.telemetry.MultipleTelemetry;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import com.qualcomm.robotcore.eventloop.opmode.TeleOp;
+
+import org.firstinspires.ftc.teamcode.localization.PoseEstimator;
+import org.firstinspires.ftc.teamcode.util.LatencyHistogram;
+
+import java.util.Random;
+
+@Config
+@TeleOp(name="Penguinauts: Pose Estimator Benchmark", group="Penguinauts")
+public class Penguinauts_PoseEstimatorBenchmark extends LinearOpMode {
+
+    // ========== BENCHMARK SETTINGS - FTC DASHBOARD ==========
+    public static int LOOPS = 20000;                          // Timed loops (after warm-up)
+    public static int WARMUP_LOOPS = 5000;                    // Let the JIT settle first
+    public static int TAG_EVERY_LOOPS = 3;                    // ~33 Hz tag rate at 10 ms loops
+    public static int TAG_LATENCY_MS = 100;                   // Capture-to-processing delay
+
+    private static final long LOOP_NANOS = 10_000_000L;
+    private static final int WORST_CASE_LOOPS = 126;          // Just inside the estimator's 128-entry history
+
+    private final LatencyHistogram predictTimes = new LatencyHistogram();
+    private final LatencyHistogram correctTimes = new LatencyHistogram();
+    private final LatencyHistogram worstCaseTimes = new LatencyHistogram();
+    private final Random noise = new Random(32240);
+    private double tagX, tagY, tagHeading;
+
+    @Override
+    public void runOpMode() {
+        telemetry = new MultipleTelemetry(telemetry, FtcDashboard.getInstance().getTelemetry());
+        telemetry.addData("Status", "Press START to run %d loops", LOOPS);
+        telemetry.update();
+        waitForStart();
+        if (!opModeIsActive()) return;
+
+        PoseEstimator estimator = new PoseEstimator();
+        run(estimator, WARMUP_LOOPS);
+        predictTimes.reset();
+        correctTimes.reset();
+        worstCaseTimes.reset();
+        run(estimator, LOOPS);
+
+        while (opModeIsActive()) {
+            telemetry.addData("Status", "Done - %d loops", LOOPS);
+            show("predict", predictTimes);
+            show("correct (" + TAG_LATENCY_MS + " ms rewind)", correctTimes);
+            show("correct (full history)", worstCaseTimes);
+            telemetry.addData("Tags", "%d accepted, %d rejected, %d stale", estimator.getAcceptedCount(),
+                    estimator.getRejectedCount(), estimator.getStaleCount());
+            telemetry.addData("Final Pose", "X: %.1f, Y: %.1f in (±%.2f in)", estimator.getX(),
+                    estimator.getY(), estimator.getPositionStd());
+            telemetry.update();
+            idle();
+        }
+    }
+
+    /**
+     * Drives a 40 in radius circle at 30 in/s, timing each estimator call.
+     */
+    private void run(PoseEstimator estimator, int loops) {
+        double radius = 40.0;
+        double step = 30.0 * LOOP_NANOS / 1e9;                // inches per loop
+        double turn = step / radius;                          // radians per loop
+        int latencyLoops = (int) (TAG_LATENCY_MS * 1_000_000L / LOOP_NANOS);
+
+        long now = 0;
+        estimator.reset(radius, 0.0, Math.PI / 2.0, now);
+        double angle = 0.0;
+        for (int i = 0; i < loops && !isStopRequested(); i++) {
+            now += LOOP_NANOS;
+            angle += turn;
+
+            long start = System.nanoTime();
+            estimator.predict(step * 1.01, 0.0, turn, now);
+            predictTimes.record(System.nanoTime() - start);
+
+            if (i % TAG_EVERY_LOOPS == 0 && i > WORST_CASE_LOOPS) {
+                seeTag(radius, angle - latencyLoops * turn);
+                start = System.nanoTime();
+                estimator.correct(tagX, tagY, tagHeading, 60.0, now - latencyLoops * LOOP_NANOS);
+                correctTimes.record(System.nanoTime() - start);
+
+                seeTag(radius, angle - WORST_CASE_LOOPS * turn);
+                start = System.nanoTime();
+                estimator.correct(tagX, tagY, tagHeading, 60.0, now - WORST_CASE_LOOPS * LOOP_NANOS);
+                worstCaseTimes.record(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Noisy tag pose for where the robot really was at a point on the circle.
+     */
+    private void seeTag(double radius, double angle) {
+        tagX = radius * Math.cos(angle) + noise.nextGaussian();
+        tagY = radius * Math.sin(angle) + noise.nextGaussian();
+        tagHeading = angle + Math.PI / 2.0 + Math.toRadians(2.0 * noise.nextGaussian());
+    }
+
+    private void show(String name, LatencyHistogram histogram) {
+        telemetry.addData(name, "p50 %.1f us | p99 %.1f us | max %.1f us",
+                histogram.percentile(50) / 1e3, histogram.percentile(99) / 1e3,
+                histogram.getMaxNanos() / 1e3);
+    }
+}
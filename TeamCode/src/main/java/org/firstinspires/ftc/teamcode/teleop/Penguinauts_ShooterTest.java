@@ -39,6 +39,9 @@ import com.qualcomm.robotcore.hardware.DcMotorEx;
 import com.qualcomm.robotcore.hardware.VoltageSensor;
 import com.qualcomm.robotcore.util.ElapsedTime;
 
+import org.firstinspires.ftc.teamcode.input.GamepadInput;
+import org.firstinspires.ftc.teamcode.input.GamepadInput.Button;
+
 @Config
 @TeleOp(name="Penguinauts: Shooter Test", group="Penguinauts")
 @Disabled
@@ -74,9 +77,8 @@ public class Penguinauts_ShooterTest extends LinearOpMode {
     private double currentSpeed = 1.0;
     private double currentVelocity = 2800.0;
     
-    // Debounce for button presses
-    private boolean dpadUpPressed = false;
-    private boolean dpadDownPressed = false;
+    // Edge-detected gamepad input (handlers run once per press)
+    private final GamepadInput input = new GamepadInput();
 
     @Override
     public void runOpMode() {
@@ -151,28 +153,24 @@ public class Penguinauts_ShooterTest extends LinearOpMode {
         telemetry.addData("Current Speed", "%.0f%%", currentSpeed * 100);
         telemetry.update();
         
+        // Speed adjustment controls - run once per press
+        input.onPress(Button.DPAD_UP, () -> {
+            currentSpeed = Math.min(1.0, currentSpeed + 0.1);
+            currentVelocity = Math.min(TEST_VELOCITY, currentVelocity + 280.0);  // +10% of max velocity
+        });
+        input.onPress(Button.DPAD_DOWN, () -> {
+            currentSpeed = Math.max(0.0, currentSpeed - 0.1);
+            currentVelocity = Math.max(0.0, currentVelocity - 280.0);  // -10% of max velocity
+        });
+
         waitForStart();
         runtime.reset();
         
         // Main loop
         while (opModeIsActive()) {
-            
-            // Speed adjustment controls with debounce
-            if (gamepad1.dpad_up && !dpadUpPressed) {
-                currentSpeed = Math.min(1.0, currentSpeed + 0.1);
-                currentVelocity = Math.min(TEST_VELOCITY, currentVelocity + 280.0);  // +10% of max velocity
-                dpadUpPressed = true;
-            } else if (!gamepad1.dpad_up) {
-                dpadUpPressed = false;
-            }
 
-            if (gamepad1.dpad_down && !dpadDownPressed) {
-                currentSpeed = Math.max(0.0, currentSpeed - 0.1);
-                currentVelocity = Math.max(0.0, currentVelocity - 280.0);  // -10% of max velocity
-                dpadDownPressed = true;
-            } else if (!gamepad1.dpad_down) {
-                dpadDownPressed = false;
-            }
+            // Snapshot gamepad and run press handlers
+            input.update(gamepad1);
 
             // Use TEST_VELOCITY from dashboard if not manually adjusted
             double targetVelocity = (currentVelocity == TEST_VELOCITY) ? TEST_VELOCITY : currentVelocity;
@@ -184,49 +182,49 @@ public class Penguinauts_ShooterTest extends LinearOpMode {
             String action = "Waiting for input...";
 
             // Right Trigger: Run both motors at target velocity
-            if (gamepad1.right_trigger > 0.1) {
+            if (input.isDown(Button.RIGHT_TRIGGER)) {
                 shooterLeft.setVelocity(targetVelocity);
                 shooterRight.setVelocity(targetVelocity);
                 status = "SHOOTING";
                 action = "Both motors at " + String.format("%.0f", targetVelocity) + " ticks/sec";
             }
             // A Button: Stop all
-            else if (gamepad1.a) {
+            else if (input.isDown(Button.A)) {
                 shooterLeft.setVelocity(0);
                 shooterRight.setVelocity(0);
                 status = "STOPPED";
                 action = "All motors stopped";
             }
             // X Button: Test LEFT motor only
-            else if (gamepad1.x) {
+            else if (input.isDown(Button.X)) {
                 shooterLeft.setVelocity(targetVelocity);
                 shooterRight.setVelocity(0);
                 status = "TEST LEFT";
                 action = "LEFT motor only at " + String.format("%.0f", targetVelocity) + " ticks/sec";
             }
             // B Button: Test RIGHT motor only
-            else if (gamepad1.b) {
+            else if (input.isDown(Button.B)) {
                 shooterLeft.setVelocity(0);
                 shooterRight.setVelocity(targetVelocity);
                 status = "TEST RIGHT";
                 action = "RIGHT motor only at " + String.format("%.0f", targetVelocity) + " ticks/sec";
             }
             // Y Button: Run both at 50% velocity (safe test)
-            else if (gamepad1.y) {
+            else if (input.isDown(Button.Y)) {
                 shooterLeft.setVelocity(TEST_VELOCITY * 0.5);
                 shooterRight.setVelocity(TEST_VELOCITY * 0.5);
                 status = "TEST 50%";
                 action = "Both motors at 50% velocity";
             }
             // Left Bumper: Test FRONT zone velocity
-            else if (gamepad1.left_bumper) {
+            else if (input.isDown(Button.LEFT_BUMPER)) {
                 shooterLeft.setVelocity(FRONT_ZONE_VELOCITY);
                 shooterRight.setVelocity(FRONT_ZONE_VELOCITY);
                 status = "FRONT ZONE";
                 action = "Both motors at FRONT zone (" + String.format("%.0f", FRONT_ZONE_VELOCITY) + " ticks/sec)";
             }
             // Right Bumper: Test BACK zone velocity
-            else if (gamepad1.right_bumper) {
+            else if (input.isDown(Button.RIGHT_BUMPER)) {
                 shooterLeft.setVelocity(BACK_ZONE_VELOCITY);
                 shooterRight.setVelocity(BACK_ZONE_VELOCITY);
                 status = "BACK ZONE";
@@ -0,0 +1,340 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Replays captured camera frames through our vision pipelines and measures
+ * what each frame costs on the Control Hub. No camera is used.
+ *
+ * Frames: PNGs saved with portal.saveNextFrameRaw() or the SDK's
+ * UtilityCameraFrameCapture, copied (adb push) into
+ * /sdcard/FIRST/penguinauts/frames/. They are replayed in file-name order,
+ * so TrackingLocator follows the balls across them as it would live. Every
+ * frame must have the resolution it was captured at (CAMERA_WIDTH x HEIGHT).
+ *
+ * Pipelines, each built exactly as VisionScheduler builds it:
+ *   artifacts adaptive  ScaledProcessor + TrackingLocator, ADAPTIVE_ROI on
+ *   artifacts fixed     the same with ADAPTIVE_ROI off (full-frame ROI)
+ *   apriltag            AprilTag processor + VisionBridge.TagWriter
+ *                       (includes MultiTagSolver, also timed on its own)
+ *
+ * Measured the JMH way: WARMUP_ITERATIONS passes over every frame for the
+ * JIT, then ITERATIONS timed passes. Telemetry shows the score (mean ms per
+ * frame, +/- the spread between iterations), p50 / p99 / max wall time,
+ * frame-thread CPU, and what each pipeline detected.
+ *
+ * Y saves the p50s as the baseline; later runs show their change against
+ * it, so a slowdown shows up before the code reaches a match. The full
+ * report, with per-frame detections, goes to
+ * /sdcard/FIRST/penguinauts/benchmarks/vision.txt.
+ */
+
+package org.firstinspires.ftc.teamcode.teleop;
+
+import com.acmerobotics.dashboard.FtcDashboard;
+import com.acmerobotics.dashboard.config.Config;
+import com.acmerobotics.dashboard.telemetry.MultipleTelemetry;
+import com.qualcomm.robotcore.eventloop.opmode.LinearOpMode;
+import com.qualcomm.robotcore.eventloop.opmode.TeleOp;
+import com.qualcomm.robotcore.util.RobotLog;
+
+import org.firstinspires.ftc.teamcode.input.GamepadInput;
+import org.firstinspires.ftc.teamcode.input.GamepadInput.Button;
+import org.firstinspires.ftc.teamcode.util.TeamStorage;
+import org.firstinspires.ftc.teamcode.vision.AprilTagLocalizer;
+import org.firstinspires.ftc.teamcode.vision.MultiTagSolver;
+import org.firstinspires.ftc.teamcode.vision.ScaledProcessor;
+import org.firstinspires.ftc.teamcode.vision.TimedProcessor;
+import org.firstinspires.ftc.teamcode.vision.TrackingLocator;
+import org.firstinspires.ftc.teamcode.vision.VisionBridge;
+import org.firstinspires.ftc.teamcode.vision.VisionScheduler;
+import org.opencv.core.Mat;
+import org.opencv.imgcodecs.Imgcodecs;
+import org.opencv.imgproc.Imgproc;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+@Config
+@TeleOp(name="Penguinauts: Vision Benchmark", group="Penguinauts")
+public class Penguinauts_VisionBenchmark extends LinearOpMode {
+
+    private static final String TAG = "VisionBenchmark";
+
+    // ========== BENCHMARK SETTINGS - FTC DASHBOARD ==========
+    public static int WARMUP_ITERATIONS = 3;                  // Passes over every frame before timing
+    public static int ITERATIONS = 10;                        // Timed passes
+    public static int MAX_FRAMES = 60;                        // Frames kept in memory (~1 MB each at 640x480)
+
+    private static final String FRAME_CATEGORY = "frames";
+    private static final String REPORT_CATEGORY = "benchmarks";
+    private static final String REPORT_FILE = "vision.txt";
+    private static final String BASELINE_FILE = "vision-baseline.properties";
+
+    /**
+     * One pipeline under test, with its results from the last timed pass.
+     */
+    private static final class Pipeline {
+        final String name;
+        final TimedProcessor processor;
+        final VisionBridge bridge;
+        final boolean adaptiveRoi;
+        final double[] iterationMeanMs;
+        final int[] detections;                               // Per frame, last timed pass
+
+        Pipeline(String name, TimedProcessor processor, VisionBridge bridge, boolean adaptiveRoi, int frames) {
+            this.name = name;
+            this.processor = processor;
+            this.bridge = bridge;
+            this.adaptiveRoi = adaptiveRoi;
+            iterationMeanMs = new double[ITERATIONS];
+            detections = new int[frames];
+        }
+
+        double score() {
+            double sum = 0.0;
+            for (double mean : iterationMeanMs) sum += mean;
+            return sum / iterationMeanMs.length;
+        }
+
+        double spread() {
+            double score = score();
+            double sum = 0.0;
+            for (double mean : iterationMeanMs) sum += (mean - score) * (mean - score);
+            return iterationMeanMs.length > 1 ? Math.sqrt(sum / (iterationMeanMs.length - 1)) : 0.0;
+        }
+
+        int framesWithDetections() {
+            int count = 0;
+            for (int detection : detections) if (detection > 0) count++;
+            return count;
+        }
+    }
+
+    private final List<Mat> frames = new ArrayList<>();
+    private final List<String> frameNames = new ArrayList<>();
+    private final List<Pipeline> pipelines = new ArrayList<>();
+    private final Properties baseline = new Properties();
+    private MultiTagSolver tagSolver = null;
+    private final GamepadInput driver = new GamepadInput();
+    private String result = "";
+
+    @Override
+    public void runOpMode() {
+        telemetry = new MultipleTelemetry(telemetry, FtcDashboard.getInstance().getTelemetry());
+
+        File frameDir = TeamStorage.dir(FRAME_CATEGORY);
+        loadFrames(frameDir);
+        if (frames.isEmpty()) {
+            telemetry.addData("Error", "No %dx%d PNG frames in %s", VisionScheduler.CAMERA_WIDTH,
+                    VisionScheduler.CAMERA_HEIGHT, frameDir.getAbsolutePath());
+            telemetry.update();
+            waitForStart();
+            return;
+        }
+        loadBaseline();
+        driver.onPress(Button.Y, this::saveBaseline);
+
+        telemetry.addData("Status", "%d frames loaded - press START to run %d + %d passes",
+                frames.size(), WARMUP_ITERATIONS, ITERATIONS);
+        telemetry.update();
+        waitForStart();
+        if (!opModeIsActive()) {
+            releaseFrames();
+            return;
+        }
+
+        boolean adaptiveRoi = TrackingLocator.ADAPTIVE_ROI;
+        try {
+            buildPipelines();
+            for (Pipeline pipeline : pipelines) {
+                telemetry.addData("Status", "Running %s", pipeline.name);
+                telemetry.update();
+                run(pipeline);
+            }
+        } finally {
+            TrackingLocator.ADAPTIVE_ROI = adaptiveRoi;
+        }
+        writeReport();
+
+        while (opModeIsActive()) {
+            driver.update(gamepad1);
+            telemetry.addData("Status", "Done - %d frames x %d passes", frames.size(), ITERATIONS);
+            for (Pipeline pipeline : pipelines) show(pipeline);
+            telemetry.addData("multi-tag solve", "p50 %.0f | p99 %.0f us, %d solved, %d rejected",
+                    tagSolver.getSolvePercentileUs(50), tagSolver.getSolvePercentileUs(99),
+                    tagSolver.getSolvedFrameCount(), tagSolver.getRejectedFrameCount());
+            telemetry.addData("Result", result);
+            telemetry.addData("Controls", "Y save p50s as baseline");
+            telemetry.update();
+            idle();
+        }
+        releaseFrames();
+    }
+
+    // ========== FRAMES ==========
+
+    private void loadFrames(File dir) {
+        File[] files = dir.listFiles((folder, name) -> name.toLowerCase().endsWith(".png"));
+        if (files == null) return;
+        Arrays.sort(files);
+
+        for (File file : files) {
+            if (frames.size() >= MAX_FRAMES) break;
+            Mat bgr = Imgcodecs.imread(file.getAbsolutePath());
+            if (bgr.empty() || bgr.width() != VisionScheduler.CAMERA_WIDTH
+                    || bgr.height() != VisionScheduler.CAMERA_HEIGHT) {
+                RobotLog.ww(TAG, "Skipping %s - unreadable or not %dx%d", file.getName(),
+                        VisionScheduler.CAMERA_WIDTH, VisionScheduler.CAMERA_HEIGHT);
+                bgr.release();
+                continue;
+            }
+            // The portal hands processors RGB frames; imread returns BGR
+            Mat rgb = new Mat();
+            Imgproc.cvtColor(bgr, rgb, Imgproc.COLOR_BGR2RGB);
+            bgr.release();
+            frames.add(rgb);
+            frameNames.add(file.getName());
+        }
+    }
+
+    private void releaseFrames() {
+        for (Mat frame : frames) frame.release();
+        frames.clear();
+    }
+
+    // ========== PIPELINES ==========
+
+    private void buildPipelines() {
+        addArtifactPipeline("artifacts adaptive", true);
+        addArtifactPipeline("artifacts fixed", false);
+
+        VisionBridge bridge = new VisionBridge();
+        VisionBridge.TagWriter tagWriter = new VisionBridge.TagWriter(AprilTagLocalizer.buildProcessor(), bridge);
+        tagSolver = tagWriter.getSolver();
+        TimedProcessor aprilTag = new TimedProcessor("apriltag", tagWriter, VisionScheduler.CAMERA_FPS);
+        pipelines.add(new Pipeline("apriltag", aprilTag, bridge, TrackingLocator.ADAPTIVE_ROI, frames.size()));
+
+        for (Pipeline pipeline : pipelines) {
+            // No calibration: AprilTag poses use estimated intrinsics, which is fine for timing
+            pipeline.processor.init(VisionScheduler.CAMERA_WIDTH, VisionScheduler.CAMERA_HEIGHT, null);
+        }
+    }
+
+    private void addArtifactPipeline(String name, boolean adaptiveRoi) {
+        VisionBridge bridge = new VisionBridge();
+        TimedProcessor artifacts = new TimedProcessor(name, new ScaledProcessor(VisionScheduler.LOCATOR_WIDTH,
+                VisionScheduler.LOCATOR_HEIGHT, new TrackingLocator(bridge)), VisionScheduler.CAMERA_FPS);
+        pipelines.add(new Pipeline(name, artifacts, bridge, adaptiveRoi, frames.size()));
+    }
+
+    /**
+     * Warm-up passes, then timed passes. Capture times advance one camera
+     * period per frame, so no frame counts as dropped.
+     */
+    private void run(Pipeline pipeline) {
+        TrackingLocator.ADAPTIVE_ROI = pipeline.adaptiveRoi;
+        long periodNanos = (long) (1e9 / VisionScheduler.CAMERA_FPS);
+        long captureNanos = 0;
+
+        for (int iteration = -WARMUP_ITERATIONS; iteration < ITERATIONS && !isStopRequested(); iteration++) {
+            if (iteration == 0) {
+                pipeline.processor.resetStatistics();
+                if (tagSolver != null) tagSolver.resetStatistics();
+            }
+            long passNanos = 0;
+            for (int i = 0; i < frames.size(); i++) {
+                captureNanos += periodNanos;
+                long start = System.nanoTime();
+                pipeline.processor.processFrame(frames.get(i), captureNanos);
+                passNanos += System.nanoTime() - start;
+
+                VisionBridge.TagFrame tags = pipeline.bridge.tags();
+                VisionBridge.BallFrame balls = pipeline.bridge.balls();
+                pipeline.detections[i] = tags.captureNanos == captureNanos ? tags.count
+                        : balls.captureNanos == captureNanos ? balls.count : 0;
+            }
+            if (iteration >= 0) pipeline.iterationMeanMs[iteration] = passNanos / 1e6 / frames.size();
+        }
+    }
+
+    // ========== RESULTS ==========
+
+    private void show(Pipeline pipeline) {
+        TimedProcessor timed = pipeline.processor;
+        telemetry.addData(pipeline.name, "%.2f ± %.2f ms/frame%s", pipeline.score(), pipeline.spread(),
+                baselineChange(pipeline));
+        telemetry.addData("  wall", "p50 %.2f | p99 %.2f ms, cpu p50 %.2f ms",
+                timed.getWallPercentileMs(50), timed.getWallPercentileMs(99), timed.getCpuPercentileMs(50));
+        telemetry.addData("  found", "%d of %d frames", pipeline.framesWithDetections(), frames.size());
+    }
+
+    private String baselineChange(Pipeline pipeline) {
+        String saved = baseline.getProperty(pipeline.name);
+        if (saved == null) return "";
+        double before = Double.parseDouble(saved);
+        double now = pipeline.processor.getWallPercentileMs(50);
+        return before <= 0.0 ? "" : String.format(" (p50 %+.0f%% vs baseline)", (now / before - 1.0) * 100.0);
+    }
+
+    private void writeReport() {
+        File file = TeamStorage.file(REPORT_CATEGORY, REPORT_FILE);
+        try (PrintWriter out = new PrintWriter(new FileOutputStream(file))) {
+            out.printf("# %d frames, %d warmup + %d timed passes%n", frames.size(), WARMUP_ITERATIONS, ITERATIONS);
+            out.println("Benchmark                Score (ms/frame)   p50     p99     max     cpu p50");
+            for (Pipeline pipeline : pipelines) {
+                TimedProcessor timed = pipeline.processor;
+                out.printf("%-24s %7.3f ± %6.3f  %7.3f %7.3f %7.3f %7.3f%n", pipeline.name, pipeline.score(),
+                        pipeline.spread(), timed.getWallPercentileMs(50), timed.getWallPercentileMs(99),
+                        timed.getWallPercentileMs(100), timed.getCpuPercentileMs(50));
+            }
+            out.printf("%-24s %7.3f ms p50, %7.3f ms p99 (%d solved, %d rejected)%n", "multi-tag solve",
+                    tagSolver.getSolvePercentileUs(50) / 1e3, tagSolver.getSolvePercentileUs(99) / 1e3,
+                    tagSolver.getSolvedFrameCount(), tagSolver.getRejectedFrameCount());
+            out.println();
+            out.print("frame");
+            for (Pipeline pipeline : pipelines) out.print("," + pipeline.name);
+            out.println();
+            for (int i = 0; i < frames.size(); i++) {
+                out.print(frameNames.get(i));
+                for (Pipeline pipeline : pipelines) out.print("," + pipeline.detections[i]);
+                out.println();
+            }
+            result = "Report: " + file.getAbsolutePath();
+        } catch (IOException e) {
+            result = "Report failed: " + e.getMessage();
+            RobotLog.ee(TAG, e, "Failed to write the vision benchmark report");
+        }
+    }
+
+    private void loadBaseline() {
+        File file = TeamStorage.file(REPORT_CATEGORY, BASELINE_FILE);
+        if (!file.isFile()) return;
+        try (InputStream in = new FileInputStream(file)) {
+            baseline.load(in);
+        } catch (IOException e) {
+            RobotLog.ww(TAG, "Ignoring unreadable baseline %s: %s", file.getAbsolutePath(), e.getMessage());
+        }
+    }
+
+    private void saveBaseline() {
+        baseline.clear();
+        for (Pipeline pipeline : pipelines) {
+            baseline.setProperty(pipeline.name, Double.toString(pipeline.processor.getWallPercentileMs(50)));
+        }
+        File file = TeamStorage.file(REPORT_CATEGORY, BASELINE_FILE);
+        try (OutputStream out = new FileOutputStream(file)) {
+            baseline.store(out, "Vision benchmark p50 wall time per frame (ms)");
+            result = "Baseline saved to " + file.getAbsolutePath();
+        } catch (IOException e) {
+            result = "Baseline save failed: " + e.getMessage();
+            RobotLog.ee(TAG, e, "Failed to save the vision benchmark baseline");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Field positions shared by TeleOp and Autonomous code.
+ *
+ * Coordinates are in inches in the same field frame used by WheelOdometry
+ * (+X = robot forward at heading 0, +Y = robot left). Goal positions are the
+ * centers of the goal AprilTags; adjust them in FTC Dashboard if the field
+ * origin used for a routine differs.
+ */
+
+package org.firstinspires.ftc.teamcode.util;
+
+import com.acmerobotics.dashboard.config.Config;
+
+@Config
+public class FieldConstants {
+
+    // ========== GOALS ==========
+    public static double RED_GOAL_X = -58.4;
+    public static double RED_GOAL_Y = 55.6;
+    public static double BLUE_GOAL_X = -58.4;
+    public static double BLUE_GOAL_Y = -55.6;
+
+    // ========== FIELD ==========
+    public static final double FIELD_HALF_WIDTH_IN = 72.0;    // 12 ft field, origin at center
+
+    private FieldConstants() {
+    }
+
+    public static double goalX(boolean redAlliance) {
+        return redAlliance ? RED_GOAL_X : BLUE_GOAL_X;
+    }
+
+    public static double goalY(boolean redAlliance) {
+        return redAlliance ? RED_GOAL_Y : BLUE_GOAL_Y;
+    }
+}
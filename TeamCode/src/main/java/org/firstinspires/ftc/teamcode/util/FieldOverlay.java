@@ -0,0 +1,214 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Draws the robot on the FTC Dashboard field view.
+ *
+ * Renders the robot footprint with a heading line, the recent pose trail,
+ * the active trajectory and the shot target using TelemetryPacket.fieldOverlay().
+ *
+ * The control loop calls setRobotPose() every cycle, which is cheap: the pose
+ * is stored in primitive fields and only appended to the trail ring buffer
+ * once the robot has moved TRAIL_SPACING_IN. Packets are only built and sent
+ * every SEND_INTERVAL_MS. Drawing is incremental - the trajectory arrays are
+ * built once when the path changes and reused by every packet, so a send only
+ * copies the trail and emits a handful of canvas ops.
+ *
+ * Arrays handed to the Canvas are serialized later on the Dashboard thread,
+ * which is why the trail is copied into fresh arrays per send instead of
+ * passing the live ring buffer.
+ */
+
+package org.firstinspires.ftc.teamcode.util;
+
+import com.acmerobotics.dashboard.FtcDashboard;
+import com.acmerobotics.dashboard.canvas.Canvas;
+import com.acmerobotics.dashboard.config.Config;
+import com.acmerobotics.dashboard.telemetry.TelemetryPacket;
+
+@Config
+public class FieldOverlay {
+
+    // ========== CONFIGURATION - FTC DASHBOARD ==========
+    public static boolean ENABLED = true;                     // Turn off to skip all drawing
+    public static int SEND_INTERVAL_MS = 100;                 // 10 Hz field updates
+    public static double TRAIL_SPACING_IN = 1.0;              // Min distance between trail points
+    public static double ROBOT_SIZE_IN = 18.0;                // Robot footprint (square)
+
+    private static final int TRAIL_CAPACITY = 250;
+    private static final String ROBOT_COLOR = "#3F51B5";
+    private static final String TRAIL_COLOR = "#4CAF50";
+    private static final String PATH_COLOR = "#FF9800";
+    private static final String TARGET_COLOR = "#F44336";
+
+    // Unit footprint corners in robot frame: front-left, back-left, back-right, front-right
+    private static final double[] CORNER_FORWARD = {1, -1, -1, 1};
+    private static final double[] CORNER_LEFT = {1, 1, -1, -1};
+
+    // ========== ROBOT POSE ==========
+    private double robotX, robotY, robotHeading;
+    private boolean hasPose = false;
+
+    // ========== TRAIL RING BUFFER ==========
+    private final double[] trailX = new double[TRAIL_CAPACITY];
+    private final double[] trailY = new double[TRAIL_CAPACITY];
+    private int trailHead = 0;                                // Index of the next write
+    private int trailCount = 0;
+
+    // ========== TRAJECTORY (immutable once set, shared by every packet) ==========
+    private double[] pathX = null;
+    private double[] pathY = null;
+
+    // ========== SHOT TARGET ==========
+    private double targetX, targetY;
+    private boolean hasTarget = false;
+
+    private long lastSendNanos = 0;
+
+    /**
+     * Updates the live pose. Adds a trail point once the robot has moved far enough.
+     *
+     * @param x          Field X in inches
+     * @param y          Field Y in inches
+     * @param headingRad Heading in radians (counter-clockwise positive)
+     */
+    public void setRobotPose(double x, double y, double headingRad) {
+        robotX = x;
+        robotY = y;
+        robotHeading = headingRad;
+        hasPose = true;
+
+        int last = (trailHead + TRAIL_CAPACITY - 1) % TRAIL_CAPACITY;
+        if (trailCount == 0 || Math.hypot(x - trailX[last], y - trailY[last]) >= TRAIL_SPACING_IN) {
+            trailX[trailHead] = x;
+            trailY[trailHead] = y;
+            trailHead = (trailHead + 1) % TRAIL_CAPACITY;
+            if (trailCount < TRAIL_CAPACITY) trailCount++;
+        }
+    }
+
+    /**
+     * Sets the trajectory to draw. Copies the points once; later packets reuse the copy.
+     * Call when a new path becomes active, not every loop.
+     *
+     * @param xs    Path X coordinates in inches
+     * @param ys    Path Y coordinates in inches
+     * @param count Number of points to use from the arrays
+     */
+    public void setPath(double[] xs, double[] ys, int count) {
+        double[] newX = new double[count];
+        double[] newY = new double[count];
+        System.arraycopy(xs, 0, newX, 0, count);
+        System.arraycopy(ys, 0, newY, 0, count);
+        pathX = newX;
+        pathY = newY;
+    }
+
+    public void clearPath() {
+        pathX = null;
+        pathY = null;
+    }
+
+    /**
+     * Sets the shot target (e.g. the alliance goal) drawn as a crosshair.
+     */
+    public void setTarget(double x, double y) {
+        targetX = x;
+        targetY = y;
+        hasTarget = true;
+    }
+
+    public void clearTarget() {
+        hasTarget = false;
+    }
+
+    /**
+     * Clears the pose trail, e.g. after the pose has been reset.
+     */
+    public void clearTrail() {
+        trailHead = 0;
+        trailCount = 0;
+    }
+
+    /**
+     * Sends a field overlay packet if SEND_INTERVAL_MS has passed since the last one.
+     *
+     * @return true if a packet was sent this call
+     */
+    public boolean sendIfDue() {
+        if (!ENABLED) return false;
+
+        long now = System.nanoTime();
+        if (lastSendNanos != 0 && now - lastSendNanos < SEND_INTERVAL_MS * 1_000_000L) {
+            return false;
+        }
+        lastSendNanos = now;
+
+        FtcDashboard dashboard = FtcDashboard.getInstance();
+        if (dashboard == null) return false;
+
+        TelemetryPacket packet = new TelemetryPacket();
+        draw(packet.fieldOverlay());
+        dashboard.sendTelemetryPacket(packet);
+        return true;
+    }
+
+    /**
+     * Draws everything onto a canvas. Use this directly when an OpMode already
+     * builds its own TelemetryPacket.
+     */
+    public void draw(Canvas canvas) {
+        if (pathX != null && pathX.length > 1) {
+            canvas.setStroke(PATH_COLOR);
+            canvas.setStrokeWidth(1);
+            canvas.strokePolyline(pathX, pathY);
+        }
+
+        if (trailCount > 1) {
+            double[] xs = new double[trailCount];
+            double[] ys = new double[trailCount];
+            int start = (trailHead + TRAIL_CAPACITY - trailCount) % TRAIL_CAPACITY;
+            int firstRun = Math.min(trailCount, TRAIL_CAPACITY - start);
+            System.arraycopy(trailX, start, xs, 0, firstRun);
+            System.arraycopy(trailY, start, ys, 0, firstRun);
+            System.arraycopy(trailX, 0, xs, firstRun, trailCount - firstRun);
+            System.arraycopy(trailY, 0, ys, firstRun, trailCount - firstRun);
+            canvas.setStroke(TRAIL_COLOR);
+            canvas.setStrokeWidth(1);
+            canvas.strokePolyline(xs, ys);
+        }
+
+        if (hasTarget) {
+            canvas.setStroke(TARGET_COLOR);
+            canvas.setStrokeWidth(1);
+            canvas.strokeCircle(targetX, targetY, 4);
+            canvas.strokeLine(targetX - 6, targetY, targetX + 6, targetY);
+            canvas.strokeLine(targetX, targetY - 6, targetX, targetY + 6);
+        }
+
+        if (hasPose) {
+            drawRobot(canvas);
+        }
+    }
+
+    /**
+     * Draws the robot footprint as a rotated square with a line toward the front.
+     */
+    private void drawRobot(Canvas canvas) {
+        double half = ROBOT_SIZE_IN / 2.0;
+        double cos = Math.cos(robotHeading);
+        double sin = Math.sin(robotHeading);
+
+        double[] xs = new double[4];
+        double[] ys = new double[4];
+        for (int i = 0; i < 4; i++) {
+            double forward = CORNER_FORWARD[i] * half;
+            double left = CORNER_LEFT[i] * half;
+            xs[i] = robotX + forward * cos - left * sin;
+            ys[i] = robotY + forward * sin + left * cos;
+        }
+
+        canvas.setStroke(ROBOT_COLOR);
+        canvas.setStrokeWidth(1);
+        canvas.strokePolygon(xs, ys);
+        canvas.strokeLine(robotX, robotY, robotX + half * cos, robotY + half * sin);
+    }
+}
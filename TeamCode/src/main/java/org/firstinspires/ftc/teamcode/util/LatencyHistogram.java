@@ -0,0 +1,110 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Fixed-bucket log-linear latency histogram.
+ *
+ * Values are nanosecond durations. Each power of two is split into 16 linear
+ * sub-buckets, so a reported percentile is never more than ~6% away from the
+ * real value. All storage is allocated once in the constructor - recording a
+ * sample is a couple of bit operations and an array increment, which makes it
+ * safe to call from inside the control loop.
+ */
+
+package org.firstinspires.ftc.teamcode.util;
+
+public class LatencyHistogram {
+
+    // ========== BUCKET LAYOUT ==========
+    private static final int SUB_BUCKET_BITS = 4;                       // 16 sub-buckets per power of two
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount = 0;
+    private long totalNanos = 0;
+    private long maxNanos = 0;
+
+    /**
+     * Records one duration sample.
+     *
+     * @param nanos Duration in nanoseconds (negative values are clamped to 0)
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts[bucketIndex(nanos)]++;
+        totalCount++;
+        totalNanos += nanos;
+        if (nanos > maxNanos) maxNanos = nanos;
+    }
+
+    /**
+     * Clears all samples without releasing the bucket storage.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = 0;
+        }
+        totalCount = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+
+    /**
+     * Returns the value at the given percentile.
+     * The result is the upper edge of the bucket holding that sample, capped at the exact max.
+     *
+     * @param percentile Percentile between 0 and 100
+     * @return Duration in nanoseconds, or 0 if no samples were recorded
+     */
+    public long percentile(double percentile) {
+        if (totalCount == 0) return 0;
+
+        long rank = (long) Math.ceil(percentile / 100.0 * totalCount);
+        if (rank < 1) rank = 1;
+
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    public long getCount() {
+        return totalCount;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public double getMeanNanos() {
+        return totalCount == 0 ? 0.0 : (double) totalNanos / totalCount;
+    }
+
+    // ========== BUCKET MATH ==========
+
+    /**
+     * Maps a value to its bucket. Values below SUB_BUCKETS get one bucket each,
+     * everything above is split into SUB_BUCKETS linear steps per power of two.
+     */
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int shift = msb - SUB_BUCKET_BITS;
+        int sub = (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+        return (shift + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Largest value that still maps to the given bucket.
+     */
+    private static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = index / SUB_BUCKETS - 1;
+        long sub = index % SUB_BUCKETS;
+        long lower = (SUB_BUCKETS + sub) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,191 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Loop-time profiler for TeleOp and Autonomous control loops.
+ *
+ * Wrap named sections of the loop (IMU read, encoder reads, setPower calls,
+ * telemetry.update, ...) with start()/stop(). Every duration is recorded into
+ * a LatencyHistogram, and the overall loop period is recorded by calling
+ * loop() once per iteration. At PUBLISH_INTERVAL_MS the p50/p95/p99/max of
+ * every section is sent to FTC Dashboard as graphable numbers and the
+ * histograms are cleared, so each graph point covers one publish window.
+ *
+ * USAGE:
+ *   LoopProfiler profiler = new LoopProfiler();
+ *   int imuSection = profiler.addSection("imu");     // during init
+ *   ...
+ *   while (opModeIsActive()) {
+ *       profiler.loop();                             // once per iteration
+ *       profiler.start(imuSection);
+ *       double heading = imu.getRobotYawPitchRollAngles().getYaw(AngleUnit.DEGREES);
+ *       profiler.stop(imuSection);
+ *       ...
+ *   }
+ *
+ * Sections must be added before the loop starts. Recording never allocates;
+ * only the throttled publish builds a TelemetryPacket.
+ */
+
+package org.firstinspires.ftc.teamcode.util;
+
+import com.acmerobotics.dashboard.FtcDashboard;
+import com.acmerobotics.dashboard.config.Config;
+import com.acmerobotics.dashboard.telemetry.TelemetryPacket;
+
+@Config
+public class LoopProfiler {
+
+    // ========== CONFIGURATION - FTC DASHBOARD ==========
+    public static boolean ENABLED = true;                     // Turn off to skip all recording
+    public static int PUBLISH_INTERVAL_MS = 250;              // How often percentiles are sent to Dashboard
+
+    private static final int MAX_SECTIONS = 16;
+    private static final double NANOS_PER_MS = 1e6;
+    private static final String LOOP_SECTION = "loop";
+
+    // ========== SECTION STATE ==========
+    private final String[] names = new String[MAX_SECTIONS];
+    private final String[] p50Keys = new String[MAX_SECTIONS];
+    private final String[] p95Keys = new String[MAX_SECTIONS];
+    private final String[] p99Keys = new String[MAX_SECTIONS];
+    private final String[] maxKeys = new String[MAX_SECTIONS];
+    private final LatencyHistogram[] histograms = new LatencyHistogram[MAX_SECTIONS];
+    private final long[] startNanos = new long[MAX_SECTIONS];
+    private int sectionCount = 0;
+
+    // ========== LOOP PERIOD STATE ==========
+    private final int loopSection;
+    private long lastLoopNanos = 0;
+    private long lastPublishNanos = 0;
+
+    public LoopProfiler() {
+        loopSection = addSection(LOOP_SECTION);
+    }
+
+    /**
+     * Registers a named section. Call during init, not inside the loop.
+     *
+     * @param name Section name shown on Dashboard (e.g. "imu", "telemetry")
+     * @return Section id to pass to start()/stop()
+     */
+    public int addSection(String name) {
+        if (sectionCount >= MAX_SECTIONS) {
+            throw new IllegalStateException("LoopProfiler supports at most " + MAX_SECTIONS + " sections");
+        }
+        int id = sectionCount++;
+        names[id] = name;
+        p50Keys[id] = "profile/" + name + "/p50 (ms)";
+        p95Keys[id] = "profile/" + name + "/p95 (ms)";
+        p99Keys[id] = "profile/" + name + "/p99 (ms)";
+        maxKeys[id] = "profile/" + name + "/max (ms)";
+        histograms[id] = new LatencyHistogram();
+        return id;
+    }
+
+    /**
+     * Marks the start of a control loop iteration.
+     * Records the period since the previous call and publishes to Dashboard when due.
+     */
+    public void loop() {
+        if (!ENABLED) return;
+
+        long now = System.nanoTime();
+        if (lastLoopNanos != 0) {
+            histograms[loopSection].record(now - lastLoopNanos);
+        }
+        lastLoopNanos = now;
+
+        if (lastPublishNanos == 0) {
+            lastPublishNanos = now;
+        } else if (now - lastPublishNanos >= PUBLISH_INTERVAL_MS * 1_000_000L) {
+            publish();
+            lastPublishNanos = now;
+        }
+    }
+
+    /**
+     * Ends a run of loop iterations, e.g. when an auto drive loop exits.
+     * The gap until the next loop() call is not recorded as a loop period.
+     */
+    public void pause() {
+        lastLoopNanos = 0;
+    }
+
+    /**
+     * Starts timing a section.
+     *
+     * @param section Id returned by addSection()
+     */
+    public void start(int section) {
+        if (!ENABLED) return;
+        startNanos[section] = System.nanoTime();
+    }
+
+    /**
+     * Stops timing a section and records its duration.
+     *
+     * @param section Id returned by addSection()
+     */
+    public void stop(int section) {
+        if (!ENABLED) return;
+        histograms[section].record(System.nanoTime() - startNanos[section]);
+    }
+
+    /**
+     * Clears every histogram and restarts loop period tracking.
+     * Call after waitForStart() so init time is not counted as one giant loop.
+     */
+    public void reset() {
+        for (int i = 0; i < sectionCount; i++) {
+            histograms[i].reset();
+        }
+        lastLoopNanos = 0;
+        lastPublishNanos = 0;
+    }
+
+    /**
+     * Returns the histogram for a section, e.g. to show a value on Driver Station telemetry.
+     *
+     * @param section Id returned by addSection()
+     */
+    public LatencyHistogram getHistogram(int section) {
+        return histograms[section];
+    }
+
+    /**
+     * Returns the id of the built-in loop period section.
+     */
+    public int getLoopSection() {
+        return loopSection;
+    }
+
+    public String getName(int section) {
+        return names[section];
+    }
+
+    public int getSectionCount() {
+        return sectionCount;
+    }
+
+    // ========== DASHBOARD ==========
+
+    /**
+     * Sends percentiles for every section to FTC Dashboard and starts a new window.
+     */
+    private void publish() {
+        FtcDashboard dashboard = FtcDashboard.getInstance();
+        if (dashboard == null) return;
+
+        TelemetryPacket packet = new TelemetryPacket();
+        for (int i = 0; i < sectionCount; i++) {
+            LatencyHistogram histogram = histograms[i];
+            if (histogram.getCount() == 0) continue;
+
+            packet.put(p50Keys[i], histogram.percentile(50) / NANOS_PER_MS);
+            packet.put(p95Keys[i], histogram.percentile(95) / NANOS_PER_MS);
+            packet.put(p99Keys[i], histogram.percentile(99) / NANOS_PER_MS);
+            packet.put(maxKeys[i], histogram.getMaxNanos() / NANOS_PER_MS);
+            histogram.reset();
+        }
+        dashboard.sendTelemetryPacket(packet);
+    }
+}
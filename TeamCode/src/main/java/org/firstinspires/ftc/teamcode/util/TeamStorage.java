@@ -0,0 +1,40 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Team data folder on the Control Hub.
+ *
+ * Files that must survive between OpModes (recordings, caches, calibration)
+ * live under /sdcard/FIRST/penguinauts/<category>/ so they can be pulled or
+ * cleared over adb without touching the SDK's own settings files.
+ */
+
+package org.firstinspires.ftc.teamcode.util;
+
+import org.firstinspires.ftc.robotcore.internal.system.AppUtil;
+
+import java.io.File;
+
+public final class TeamStorage {
+
+    public static final String TEAM_FOLDER = "penguinauts";
+
+    private TeamStorage() {
+    }
+
+    /**
+     * Returns the folder for a category of team files, creating it if needed.
+     */
+    public static File dir(String category) {
+        File dir = new File(new File(AppUtil.FIRST_FOLDER, TEAM_FOLDER), category);
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IllegalStateException("Cannot create " + dir.getAbsolutePath());
+        }
+        return dir;
+    }
+
+    /**
+     * Returns a file inside a category folder (the file itself may not exist yet).
+     */
+    public static File file(String category, String name) {
+        return new File(dir(category), name);
+    }
+}
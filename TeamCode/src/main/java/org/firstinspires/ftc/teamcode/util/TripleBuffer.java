@@ -0,0 +1,81 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Lock-free handoff of a mutable result from one writer thread to one reader
+ * thread, without allocating.
+ *
+ * Three preallocated slots rotate between the writer, the reader and a
+ * middle position. The writer fills its slot and publish() swaps it with the
+ * middle one. The reader's latest() swaps its slot with the middle one only
+ * if something new was published since. Neither side ever waits on the
+ * other or sees a slot the other is writing, so the reader always gets a
+ * complete result - the newest one, with any older unread ones skipped.
+ *
+ * One thread writes and one thread reads. Several consumers on the reader's
+ * thread can share it; they all see the same slot until the next latest().
+ * Code that only displays the result (telemetry) uses peek(), which never
+ * swaps, so it cannot move the slot under a consumer.
+ */
+
+package org.firstinspires.ftc.teamcode.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TripleBuffer<T> {
+
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4;                       // Set in middle when the writer has published into it
+
+    private final Object[] slots;
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;                                     // Writer thread only
+    private int front = 2;                                    // Reader thread only
+
+    /**
+     * @param first  Slot the writer fills first
+     * @param second Spare slot
+     * @param third  Slot latest() returns until the first publish()
+     */
+    public TripleBuffer(T first, T second, T third) {
+        slots = new Object[] {first, second, third};
+    }
+
+    // ========== WRITER THREAD ==========
+
+    /**
+     * Slot to fill for the next publish(). Holds whatever was written into it
+     * two publishes ago, so every field must be overwritten.
+     */
+    @SuppressWarnings("unchecked")
+    public T back() {
+        return (T) slots[back];
+    }
+
+    /**
+     * Hands the filled back() slot to the reader and takes a free one.
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    // ========== READER THREAD ==========
+
+    /**
+     * Newest published slot. It stays untouched by the writer until the next
+     * call, so it can be read field by field.
+     */
+    @SuppressWarnings("unchecked")
+    public T latest() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return (T) slots[front];
+    }
+
+    /**
+     * Slot the last latest() returned, without taking anything newer.
+     */
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        return (T) slots[front];
+    }
+}
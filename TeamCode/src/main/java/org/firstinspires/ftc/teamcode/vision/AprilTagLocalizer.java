@@ -0,0 +1,142 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * AprilTag field localization feeding the PoseEstimator.
+ *
+ * Same setup as the SDK's ConceptAprilTagLocalization sample: the processor
+ * knows where the camera sits on the robot and solves each goal tag for the
+ * robot's field pose (detection.robotPose). Detections reach the loop as a
+ * VisionBridge.TagFrame. Each goal tag in a new frame is passed to
+ * PoseEstimator.correct() with the frame's capture time, so the estimator can
+ * rewind to when the image was taken rather than when it was processed.
+ *
+ * When MultiTagSolver has intrinsics, its one pose per frame (all goal tags,
+ * outliers removed) goes to the estimator with the solver's covariance.
+ * Otherwise, or when the solver fails on a frame with tags in it (every tag
+ * rejected, or no convergence), each goal tag's robotPose is passed on its
+ * own. Those failures are counted for telemetry.
+ *
+ * Obelisk tags (21-23) are skipped: their position on the field is not fixed.
+ * The processor runs on VisionScheduler's portal, which only enables it while
+ * the robot is in the SHOOTING phase.
+ *
+ * Camera pose uses the SDK robot axes (X right, Y forward, Z up, inches);
+ * pitch -90 is a camera facing straight forward. The SDK reports robot yaw
+ * relative to its own robot Y axis, so HEADING_OFFSET_DEG converts it to our
+ * heading convention (0 = facing field +X) - check it against a known heading.
+ */
+
+package org.firstinspires.ftc.teamcode.vision;
+
+import com.acmerobotics.dashboard.config.Config;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.DistanceUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.Position;
+import org.firstinspires.ftc.robotcore.external.navigation.YawPitchRollAngles;
+import org.firstinspires.ftc.teamcode.localization.PoseEstimator;
+import org.firstinspires.ftc.vision.apriltag.AprilTagProcessor;
+
+@Config
+public class AprilTagLocalizer {
+
+    // ========== CAMERA - FTC DASHBOARD (read when the OpMode initializes) ==========
+    public static double CAMERA_X = 0.0;                      // inches right of robot center
+    public static double CAMERA_Y = 0.0;                      // inches forward of robot center
+    public static double CAMERA_Z = 0.0;                      // inches above the floor
+    public static double CAMERA_YAW = 0.0;                    // degrees
+    public static double CAMERA_PITCH = -90.0;                // degrees (-90 = facing forward)
+    public static double CAMERA_ROLL = 0.0;                   // degrees
+
+    // ========== FILTERING - FTC DASHBOARD ==========
+    public static double HEADING_OFFSET_DEG = 90.0;           // SDK robot yaw -> field heading
+    public static double MAX_RANGE_IN = 120.0;                // Ignore tags farther than this
+
+    private static final int FIRST_OBELISK_ID = 21;
+    private static final int LAST_OBELISK_ID = 23;
+
+    static boolean isObelisk(int id) {
+        return id >= FIRST_OBELISK_ID && id <= LAST_OBELISK_ID;
+    }
+
+    private final VisionBridge bridge;
+
+    private int detectionCount = 0;
+    private int solveFailureCount = 0;
+    private long lastSequence = 0;
+    private long lastCaptureNanos = 0;
+
+    /**
+     * @param bridge Bridge a buildProcessor() processor publishes to (VisionScheduler.getBridge())
+     */
+    public AprilTagLocalizer(VisionBridge bridge) {
+        this.bridge = bridge;
+    }
+
+    /**
+     * AprilTag processor that knows where the camera sits on the robot.
+     */
+    public static AprilTagProcessor buildProcessor() {
+        return new AprilTagProcessor.Builder()
+                .setCameraPose(
+                        new Position(DistanceUnit.INCH, CAMERA_X, CAMERA_Y, CAMERA_Z, 0),
+                        new YawPitchRollAngles(AngleUnit.DEGREES, CAMERA_YAW, CAMERA_PITCH, CAMERA_ROLL, 0))
+                .setOutputUnits(DistanceUnit.INCH, AngleUnit.DEGREES)
+                .build();
+    }
+
+    /**
+     * Feeds every new goal-tag pose to the estimator. Call once per loop.
+     *
+     * @return Number of measurements the estimator accepted this call
+     */
+    public int update(PoseEstimator estimator) {
+        VisionBridge.TagFrame frame = bridge.tags();
+        if (frame.sequence == lastSequence) return 0;
+        lastSequence = frame.sequence;
+
+        if (frame.solverReady && frame.solved) {
+            detectionCount += frame.tagsUsed;
+            lastCaptureNanos = frame.captureNanos;
+            return estimator.correct(frame.solvedX, frame.solvedY, frame.solvedHeading, frame.covariance,
+                    frame.captureNanos) ? 1 : 0;
+        }
+        if (frame.solverReady && frame.count > 0) solveFailureCount++;
+
+        double headingOffset = Math.toRadians(HEADING_OFFSET_DEG);
+        int accepted = 0;
+        for (int i = 0; i < frame.count; i++) {
+            if (!frame.hasRobotPose[i]) continue;
+            if (isObelisk(frame.id[i])) continue;
+            if (frame.range[i] > MAX_RANGE_IN) continue;
+
+            detectionCount++;
+            lastCaptureNanos = frame.captureNanos;
+            if (estimator.correct(frame.robotX[i], frame.robotY[i], frame.robotYaw[i] + headingOffset,
+                    frame.range[i], frame.captureNanos)) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Goal-tag detections seen since the OpMode started.
+     */
+    public int getDetectionCount() {
+        return detectionCount;
+    }
+
+    /**
+     * Frames with tags the multi-tag solver could not solve (per-tag poses used instead).
+     */
+    public int getSolveFailureCount() {
+        return solveFailureCount;
+    }
+
+    /**
+     * Age of the newest frame that produced a detection (ms), or -1 if none yet.
+     */
+    public double getLastDetectionAgeMs() {
+        return lastCaptureNanos == 0 ? -1.0 : (System.nanoTime() - lastCaptureNanos) / 1e6;
+    }
+}
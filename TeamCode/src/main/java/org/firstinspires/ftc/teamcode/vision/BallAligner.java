@@ -0,0 +1,185 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Finds the nearest ball cluster in front of the intake from the artifact
+ * color locators, and reports where it is relative to the robot.
+ *
+ * Every purple and green blob that passes the area and circularity filters
+ * (as in ConceptVisionColorLocator_Circle) is treated as one ball. The
+ * filtering runs on the frame thread in TrackingLocator (or in the
+ * Limelight's pipeline); this class reads the newest BallFrame from the
+ * VisionBridge, so the loop thread allocates nothing. The circle fit's
+ * radius gives its range: a BALL_DIAMETER_IN ball that appears r pixels in
+ * radius is f * D / 2r away, where f is the focal length in locator pixels,
+ * computed from CAMERA_HFOV_DEG. The circle's center column gives the
+ * bearing, and so the lateral offset.
+ *
+ * The nearest ball anchors the cluster. Balls within CLUSTER_WIDTH_IN of it
+ * sideways and CLUSTER_DEPTH_IN farther away join it. The reported lateral
+ * offset is the cluster's mean, so a stack is approached at its middle
+ * rather than at whichever ball happens to look biggest.
+ *
+ * Offsets are robot-relative from the robot center: lateral positive to the
+ * right, range forward. The camera is assumed to face straight ahead; its
+ * mounting position comes from AprilTagLocalizer's CAMERA_X / CAMERA_Y /
+ * CAMERA_Z.
+ */
+
+package org.firstinspires.ftc.teamcode.vision;
+
+import com.acmerobotics.dashboard.config.Config;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+@Config
+public class BallAligner {
+
+    // ========== OPTICS - FTC DASHBOARD ==========
+    public static double CAMERA_HFOV_DEG = 70.4;              // Horizontal field of view (Logitech C920)
+    public static double BALL_DIAMETER_IN = 5.0;
+
+    // ========== FILTERING - FTC DASHBOARD ==========
+    public static double MIN_AREA_PX = 50.0;                  // Contour area at 320x240 (applied in TrackingLocator)
+    public static double MAX_AREA_PX = 20000.0;
+    public static double MIN_CIRCULARITY = 0.6;               // Lower it under harsh shadows
+    public static double MAX_RANGE_IN = 48.0;                 // Ignore balls farther than this
+    public static double CLUSTER_WIDTH_IN = 8.0;              // Sideways reach of the nearest ball's cluster
+    public static double CLUSTER_DEPTH_IN = 12.0;             // ...and how much farther back it reaches
+    public static int STALE_MS = 200;                         // Target dropped after this long without a frame
+
+    private static final int MAX_BALLS = 16;
+
+    private final VisionBridge bridge;
+    private final double[] ballLateral = new double[MAX_BALLS];
+    private final double[] ballRange = new double[MAX_BALLS];
+
+    private long lastSequence = 0;
+    private long lastFrameNanos = 0;
+    private boolean hasTarget = false;
+    private boolean newTarget = false;                        // Solved from a new frame this update()
+    private double lateralOffsetIn = 0.0;
+    private double rangeIn = 0.0;
+    private int clusterSize = 0;
+    private int ballsSeen = 0;
+    private double latencyMs = 0.0;                           // Capture to solve, for the newest frame
+
+    public BallAligner(Vision vision) {
+        bridge = vision.getBridge();
+    }
+
+    /**
+     * Re-solves the target when the tracker has processed a new frame. Call
+     * once per loop while COLLECTING.
+     *
+     * @return true while a target is known
+     */
+    public boolean update() {
+        long now = System.nanoTime();
+        VisionBridge.BallFrame frame = bridge.balls();
+        newTarget = false;
+        if (frame.sequence == lastSequence) {
+            if (now - lastFrameNanos > STALE_MS * 1_000_000L) hasTarget = false;
+            return hasTarget;
+        }
+        lastSequence = frame.sequence;
+        lastFrameNanos = now;
+        latencyMs = (now - frame.captureNanos) / 1e6;
+
+        addBalls(frame);
+        solveCluster();
+        newTarget = hasTarget;
+        return hasTarget;
+    }
+
+    private void addBalls(VisionBridge.BallFrame frame) {
+        double frameWidth = frame.frameWidth;
+        double focalPx = (frameWidth / 2.0) / Math.tan(Math.toRadians(CAMERA_HFOV_DEG) / 2.0);
+        double height = AprilTagLocalizer.CAMERA_Z - BALL_DIAMETER_IN / 2.0;
+        ballsSeen = 0;
+        for (int i = 0; i < frame.count && ballsSeen < MAX_BALLS; i++) {
+            if (frame.radius[i] <= 0) continue;
+
+            // Slant distance from apparent size, then flattened onto the floor
+            double slant = focalPx * BALL_DIAMETER_IN / (2.0 * frame.radius[i]);
+            double floor = Math.sqrt(Math.max(0.0, slant * slant - height * height));
+            double lateral = (frame.x[i] - frameWidth / 2.0) * slant / focalPx;
+            double range = floor + AprilTagLocalizer.CAMERA_Y;
+            if (range > MAX_RANGE_IN) continue;
+
+            ballLateral[ballsSeen] = lateral + AprilTagLocalizer.CAMERA_X;
+            ballRange[ballsSeen] = range;
+            ballsSeen++;
+        }
+    }
+
+    private void solveCluster() {
+        if (ballsSeen == 0) {
+            hasTarget = false;
+            clusterSize = 0;
+            return;
+        }
+
+        int nearest = 0;
+        for (int i = 1; i < ballsSeen; i++) {
+            if (ballRange[i] < ballRange[nearest]) nearest = i;
+        }
+
+        double lateralSum = 0.0;
+        clusterSize = 0;
+        for (int i = 0; i < ballsSeen; i++) {
+            if (Math.abs(ballLateral[i] - ballLateral[nearest]) <= CLUSTER_WIDTH_IN
+                    && ballRange[i] - ballRange[nearest] <= CLUSTER_DEPTH_IN) {
+                lateralSum += ballLateral[i];
+                clusterSize++;
+            }
+        }
+        lateralOffsetIn = lateralSum / clusterSize;
+        rangeIn = ballRange[nearest];
+        hasTarget = true;
+    }
+
+    public boolean hasTarget() {
+        return hasTarget;
+    }
+
+    /**
+     * true if the last update() solved the target from a frame not seen before.
+     */
+    public boolean hasNewTarget() {
+        return newTarget;
+    }
+
+    /**
+     * Sideways distance from the robot center to the cluster (inches, positive = right).
+     */
+    public double getLateralOffsetIn() {
+        return lateralOffsetIn;
+    }
+
+    /**
+     * Forward distance from the robot center to the nearest ball (inches).
+     */
+    public double getRangeIn() {
+        return rangeIn;
+    }
+
+    /**
+     * Time from frame capture to the last solve (ms).
+     */
+    public double getLatencyMs() {
+        return latencyMs;
+    }
+
+    public int getClusterSize() {
+        return clusterSize;
+    }
+
+    public void addTelemetry(Telemetry telemetry) {
+        if (hasTarget) {
+            telemetry.addData("Balls", "%d in cluster (%d seen), %.1f in %s, %.1f in ahead, %.0f ms old",
+                    clusterSize, ballsSeen, Math.abs(lateralOffsetIn), lateralOffsetIn >= 0 ? "right" : "left",
+                    rangeIn, latencyMs);
+        } else {
+            telemetry.addData("Balls", "no target");
+        }
+    }
+}
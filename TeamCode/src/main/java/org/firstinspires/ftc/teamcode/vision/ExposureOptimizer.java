@@ -0,0 +1,313 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Finds the shortest webcam exposure that still reads AprilTags reliably
+ * under this venue's lighting, and remembers it per venue.
+ *
+ * Auto exposure picks long exposures indoors, and a long exposure blurs
+ * tags as soon as the robot moves. ConceptAprilTagOptimizeExposure sets
+ * exposure and gain by hand; this automates that during init, with a goal
+ * tag in view:
+ *
+ * - Exposures from MIN_EXPOSURE_MS to MAX_EXPOSURE_MS (EXPOSURE_STEPS,
+ *   evenly spaced on a log scale) are tried shortest first. At each one,
+ *   GAIN_STEPS gains from the camera's minimum to its maximum are tried,
+ *   lowest first (less noise).
+ * - Each setting waits SETTLE_FRAMES frames, then scores MEASURE_FRAMES
+ *   frames: the fraction with a tag, and the tags' mean decision margin.
+ * - The first setting with a detection rate of at least MIN_DETECTION_RATE
+ *   and a margin of at least MIN_DECISION_MARGIN wins. If none qualifies,
+ *   the best-scoring setting is used but not cached.
+ *
+ * The result is saved to /sdcard/FIRST/penguinauts/camera/exposure.properties
+ * under VENUE. Later inits at the same venue apply it through
+ * VisionScheduler.setManualExposure() without sweeping. Set VENUE from
+ * Dashboard at each event; RESWEEP forces a new sweep.
+ */
+
+package org.firstinspires.ftc.teamcode.vision;
+
+import com.acmerobotics.dashboard.config.Config;
+import com.qualcomm.robotcore.util.RobotLog;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.robotcore.external.hardware.camera.controls.ExposureControl;
+import org.firstinspires.ftc.robotcore.external.hardware.camera.controls.GainControl;
+import org.firstinspires.ftc.teamcode.util.TeamStorage;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+@Config
+public class ExposureOptimizer {
+
+    private static final String TAG = "ExposureOptimizer";
+
+    // ========== VENUE - FTC DASHBOARD ==========
+    public static String VENUE = "home";                      // Cache key - change at each event
+    public static boolean RESWEEP = false;                    // Sweep even when this venue is cached
+
+    // ========== SWEEP - FTC DASHBOARD ==========
+    public static double MIN_EXPOSURE_MS = 1.0;
+    public static double MAX_EXPOSURE_MS = 20.0;
+    public static int EXPOSURE_STEPS = 8;
+    public static int GAIN_STEPS = 4;
+    public static int SETTLE_FRAMES = 3;                      // Frames ignored after each change
+    public static int MEASURE_FRAMES = 15;                    // Frames scored per setting
+    public static double MIN_DETECTION_RATE = 0.9;            // Fraction of frames with a tag
+    public static double MIN_DECISION_MARGIN = 30.0;          // Mean decoder margin of those tags
+
+    private static final String CACHE_CATEGORY = "camera";
+    private static final String CACHE_FILE = "exposure.properties";
+
+    private enum State {
+        IDLE, WAITING_FOR_CAMERA, SETTLING, MEASURING, DONE
+    }
+
+    private final VisionScheduler vision;
+    private State state = State.IDLE;
+
+    // Candidates, built once the camera streams
+    private long[] exposures;
+    private int[] gains;
+    private int exposureIndex, gainIndex;
+
+    // Current setting's score
+    private long lastSequence = 0;
+    private int frames = 0;
+    private int framesWithTag = 0;
+    private int tagCount = 0;
+    private double marginSum = 0.0;
+
+    // Best so far
+    private long bestExposureMicros = 0;
+    private int bestGain = 0;
+    private double bestScore = -1.0;
+    private String result = "";
+
+    public ExposureOptimizer(VisionScheduler vision) {
+        this.vision = vision;
+    }
+
+    /**
+     * Applies the cached setting for VENUE, unless RESWEEP is set.
+     *
+     * @return false if there is nothing cached - call startSweep()
+     */
+    public boolean applyCached() {
+        if (RESWEEP) return false;
+        Properties cache = loadCache();
+        String exposure = cache.getProperty(key("exposure_us"));
+        String gain = cache.getProperty(key("gain"));
+        if (exposure == null || gain == null) return false;
+        try {
+            bestExposureMicros = Long.parseLong(exposure);
+            bestGain = Integer.parseInt(gain);
+        } catch (NumberFormatException e) {
+            RobotLog.ww(TAG, "Ignoring bad cache entry for \"%s\"", VENUE);
+            return false;
+        }
+        vision.setManualExposure(bestExposureMicros, bestGain);
+        state = State.DONE;
+        result = String.format(Locale.US, "%s: cached %.1f ms, gain %d", VENUE, bestExposureMicros / 1e3,
+                bestGain);
+        return true;
+    }
+
+    /**
+     * Begins a sweep; update() runs it. A goal tag must stay in view.
+     */
+    public void startSweep() {
+        state = State.WAITING_FOR_CAMERA;
+        bestScore = -1.0;
+        result = "waiting for the camera";
+    }
+
+    /**
+     * Ends a sweep early (START pressed): keeps the best setting so far, uncached.
+     */
+    public void cancel() {
+        if (!isSweeping()) return;
+        if (bestScore > 0.0) {
+            finish(bestExposureMicros, bestGain, false);
+        } else {
+            vision.setManualExposure(0, 0);
+            state = State.DONE;
+            result = "sweep cut short - camera left on auto exposure";
+        }
+    }
+
+    public boolean isSweeping() {
+        return state != State.IDLE && state != State.DONE;
+    }
+
+    /**
+     * Advances the sweep. Call once per init loop, with the scheduler kept in
+     * SHOOTING (AprilTags on) and updated while this returns true.
+     *
+     * @return true while the sweep is still running
+     */
+    public boolean update() {
+        switch (state) {
+            case WAITING_FOR_CAMERA:
+                ExposureControl exposure = vision.getExposureControl();
+                GainControl gain = vision.getGainControl();
+                if (exposure == null) break;
+                if (!exposure.isExposureSupported()) {
+                    result = "camera has no manual exposure";
+                    state = State.DONE;
+                    break;
+                }
+                buildCandidates(exposure, gain);
+                exposureIndex = 0;
+                gainIndex = 0;
+                applyCandidate();
+                break;
+
+            case SETTLING:
+            case MEASURING:
+                if (vision.isExposurePending()) break;
+                VisionBridge.TagFrame frame = vision.getBridge().tags();
+                if (frame.sequence == lastSequence) break;
+                lastSequence = frame.sequence;
+                if (state == State.SETTLING) {
+                    if (++frames >= SETTLE_FRAMES) {
+                        state = State.MEASURING;
+                        frames = 0;
+                    }
+                    break;
+                }
+                score(frame);
+                if (frames >= MEASURE_FRAMES) nextCandidate();
+                break;
+
+            default:
+                break;
+        }
+        return isSweeping();
+    }
+
+    private void buildCandidates(ExposureControl exposure, GainControl gain) {
+        long minMicros = Math.max(exposure.getMinExposure(TimeUnit.MICROSECONDS), (long) (MIN_EXPOSURE_MS * 1e3));
+        long maxMicros = Math.min(exposure.getMaxExposure(TimeUnit.MICROSECONDS), (long) (MAX_EXPOSURE_MS * 1e3));
+        maxMicros = Math.max(minMicros, maxMicros);
+        int exposureSteps = Math.max(1, EXPOSURE_STEPS);
+        exposures = new long[exposureSteps];
+        for (int i = 0; i < exposureSteps; i++) {
+            double t = exposureSteps == 1 ? 0.0 : (double) i / (exposureSteps - 1);
+            exposures[i] = Math.round(minMicros * Math.pow((double) maxMicros / minMicros, t));
+        }
+
+        int minGain = gain != null ? gain.getMinGain() : 0;
+        int maxGain = gain != null ? gain.getMaxGain() : 0;
+        int gainSteps = gain != null ? Math.max(1, GAIN_STEPS) : 1;
+        gains = new int[gainSteps];
+        for (int i = 0; i < gainSteps; i++) {
+            gains[i] = gainSteps == 1 ? maxGain : minGain + (maxGain - minGain) * i / (gainSteps - 1);
+        }
+    }
+
+    private void applyCandidate() {
+        vision.setManualExposure(exposures[exposureIndex], gains[gainIndex]);
+        state = State.SETTLING;
+        frames = 0;
+        framesWithTag = 0;
+        tagCount = 0;
+        marginSum = 0.0;
+        result = String.format(Locale.US, "trying %.1f ms, gain %d (%d/%d)", exposures[exposureIndex] / 1e3,
+                gains[gainIndex], exposureIndex * gains.length + gainIndex + 1, exposures.length * gains.length);
+    }
+
+    private void score(VisionBridge.TagFrame frame) {
+        frames++;
+        if (frame.count > 0) framesWithTag++;
+        for (int i = 0; i < frame.count; i++) {
+            marginSum += frame.decisionMargin[i];
+            tagCount++;
+        }
+    }
+
+    private void nextCandidate() {
+        double rate = (double) framesWithTag / frames;
+        double margin = tagCount > 0 ? marginSum / tagCount : 0.0;
+        long exposure = exposures[exposureIndex];
+        int gain = gains[gainIndex];
+        RobotLog.ii(TAG, "%.1f ms gain %d: %.0f%% of frames, margin %.1f", exposure / 1e3, gain, rate * 100,
+                margin);
+
+        if (rate >= MIN_DETECTION_RATE && margin >= MIN_DECISION_MARGIN) {
+            finish(exposure, gain, true);
+            return;
+        }
+        if (rate * margin > bestScore) {
+            bestScore = rate * margin;
+            bestExposureMicros = exposure;
+            bestGain = gain;
+        }
+
+        if (++gainIndex >= gains.length) {
+            gainIndex = 0;
+            exposureIndex++;
+        }
+        if (exposureIndex < exposures.length) {
+            applyCandidate();
+        } else if (bestScore > 0.0) {
+            finish(bestExposureMicros, bestGain, false);
+        } else {
+            vision.setManualExposure(0, 0);
+            state = State.DONE;
+            result = "no tag seen - camera left on auto exposure";
+        }
+    }
+
+    private void finish(long exposureMicros, int gain, boolean reliable) {
+        bestExposureMicros = exposureMicros;
+        bestGain = gain;
+        vision.setManualExposure(exposureMicros, gain);
+        state = State.DONE;
+        result = String.format(Locale.US, "%s: %.1f ms, gain %d%s", VENUE, exposureMicros / 1e3, gain,
+                reliable ? "" : " (best found, below target - not cached)");
+        if (reliable) saveCache(exposureMicros, gain);
+    }
+
+    // ========== CACHE ==========
+
+    private static String key(String name) {
+        return VENUE.trim().toLowerCase(Locale.US).replaceAll("[^a-z0-9]+", "_") + "." + name;
+    }
+
+    private static Properties loadCache() {
+        Properties cache = new Properties();
+        File file = TeamStorage.file(CACHE_CATEGORY, CACHE_FILE);
+        if (!file.isFile()) return cache;
+        try (InputStream in = new FileInputStream(file)) {
+            cache.load(in);
+        } catch (IOException e) {
+            RobotLog.ww(TAG, "Ignoring unreadable exposure cache: %s", e.getMessage());
+        }
+        return cache;
+    }
+
+    private void saveCache(long exposureMicros, int gain) {
+        Properties cache = loadCache();
+        cache.setProperty(key("exposure_us"), Long.toString(exposureMicros));
+        cache.setProperty(key("gain"), Integer.toString(gain));
+        File file = TeamStorage.file(CACHE_CATEGORY, CACHE_FILE);
+        try (OutputStream out = new FileOutputStream(file)) {
+            cache.store(out, "Webcam exposure per venue (ExposureOptimizer)");
+            RobotLog.ii(TAG, "Saved %s to %s", result, file.getAbsolutePath());
+        } catch (IOException e) {
+            RobotLog.ee(TAG, e, "Failed to save the exposure cache");
+        }
+    }
+
+    public void addTelemetry(Telemetry telemetry) {
+        telemetry.addData("Exposure", result.isEmpty() ? "auto" : result);
+    }
+}
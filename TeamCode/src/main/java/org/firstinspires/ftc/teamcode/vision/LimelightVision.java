@@ -0,0 +1,353 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Vision on a Limelight 3A, set up as in the SDK's SensorLimelight3A sample.
+ *
+ * The Limelight runs the pipelines on its own processor, so AprilTags and
+ * ball detection cost the Control Hub nothing but fetching and parsing
+ * results. Even that stays off the control loop: a polling thread calls
+ * getLatestResult(), converts each new result once into the VisionBridge's
+ * preallocated frames and publishes it. The loop reads the bridge exactly
+ * as it does on the webcam, so AprilTagLocalizer and BallAligner work with
+ * either camera.
+ *
+ * Pipelines follow the phase, switched from the polling thread (the switch
+ * is a network request):
+ *
+ *   SHOOTING    APRILTAG_PIPELINE (AprilTag, field map of the goal tags)
+ *   COLLECTING  BALL_PIPELINE (color or neural detector)
+ *   IDLE        nothing polled
+ *
+ * Results still in flight from the previous pipeline, and results older
+ * than MAX_STALENESS_MS, are dropped. A result's capture time is its
+ * arrival on the hub minus the Limelight's capture and targeting latency,
+ * so PoseEstimator rewinds to when the image was taken.
+ *
+ * Tags: the Limelight's MegaTag botpose (all tags in view, one pose) fills
+ * the same fields MultiTagSolver does, with noise from PoseEstimator's
+ * TAG_* model at the tags' mean distance. Leave the obelisk tags (21-23)
+ * out of the Limelight's field map. Camera mounting for botpose is set in
+ * the Limelight web UI.
+ *
+ * Balls: each target's angles and area are projected onto the webcam's
+ * locator image (LOCATOR_WIDTH at BallAligner.CAMERA_HFOV_DEG), so
+ * BallAligner's range and bearing come out unchanged. Area and shape
+ * filtering happen in the Limelight pipeline. Detector classes named
+ * "green" count as GREEN; everything else, including color pipeline
+ * targets, as PURPLE. The Limelight is assumed to sit where the webcam
+ * did (AprilTagLocalizer's CAMERA_X / CAMERA_Y / CAMERA_Z).
+ *
+ * Device: Limelight 3A on a Control Hub USB port, named "limelight".
+ */
+
+package org.firstinspires.ftc.teamcode.vision;
+
+import com.acmerobotics.dashboard.config.Config;
+import com.qualcomm.hardware.limelightvision.LLResult;
+import com.qualcomm.hardware.limelightvision.LLResultTypes;
+import com.qualcomm.hardware.limelightvision.LLStatus;
+import com.qualcomm.hardware.limelightvision.Limelight3A;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+import com.qualcomm.robotcore.util.RobotLog;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.Pose3D;
+import org.firstinspires.ftc.robotcore.external.navigation.Position;
+import org.firstinspires.ftc.teamcode.localization.PoseEstimator;
+import org.firstinspires.ftc.teamcode.util.LatencyHistogram;
+
+import java.util.List;
+import java.util.Locale;
+
+@Config
+public class LimelightVision implements Vision {
+
+    private static final String TAG = "LimelightVision";
+
+    // ========== DEVICE - FTC DASHBOARD (read when the OpMode initializes) ==========
+    public static String DEVICE_NAME = "limelight";
+    public static int POLL_RATE_HZ = 100;                     // Limelight driver's own fetch rate
+    public static double HFOV_DEG = 54.5;                     // Limelight 3A field of view
+    public static double VFOV_DEG = 42.0;
+
+    // ========== PIPELINES - FTC DASHBOARD ==========
+    public static int APRILTAG_PIPELINE = 0;
+    public static int BALL_PIPELINE = 1;
+    public static int POLL_PERIOD_MS = 5;                     // Polling thread sleep between checks
+    public static int MAX_STALENESS_MS = 100;                 // Drop results that sat on the hub longer
+    public static int STATUS_PERIOD_MS = 1000;                // How often fps / cpu / temperature are read
+    public static double HEADING_OFFSET_DEG = 0.0;            // botpose yaw -> field heading
+
+    private final Limelight3A limelight;
+    private final VisionBridge bridge = new VisionBridge();
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile Phase phase = Phase.IDLE;
+
+    // ========== POLLING THREAD STATE ==========
+    private volatile int activePipeline = -1;                 // Also shown on telemetry
+    private long lastResultStamp = 0;
+    private long lastStatusNanos = 0;
+
+    // Read by the loop thread for telemetry
+    private volatile int resultCount = 0;
+    private volatile int staleCount = 0;
+    private volatile int pipelineSwitches = 0;
+    private volatile double fps, cpu, temperature;
+    private final LatencyHistogram latencies = new LatencyHistogram();  // Capture to publish; guarded by itself
+
+    private LimelightVision(Limelight3A limelight) {
+        this.limelight = limelight;
+        thread = new Thread(this::poll, TAG);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Starts the Limelight polling and the conversion thread, IDLE.
+     *
+     * @return null if no Limelight named DEVICE_NAME is configured
+     */
+    public static LimelightVision create(HardwareMap hardwareMap) {
+        Limelight3A limelight = hardwareMap.tryGet(Limelight3A.class, DEVICE_NAME);
+        if (limelight == null) {
+            RobotLog.ww(TAG, "No Limelight \"%s\" configured", DEVICE_NAME);
+            return null;
+        }
+        limelight.setPollRateHz(POLL_RATE_HZ);
+        limelight.start();
+        return new LimelightVision(limelight);
+    }
+
+    // ========== POLLING THREAD ==========
+
+    private void poll() {
+        try {
+            while (running) {
+                Phase current = phase;
+                if (current != Phase.IDLE) {
+                    int pipeline = current == Phase.SHOOTING ? APRILTAG_PIPELINE : BALL_PIPELINE;
+                    if (pipeline != activePipeline && limelight.pipelineSwitch(pipeline)) {
+                        activePipeline = pipeline;
+                        pipelineSwitches++;
+                    }
+                    LLResult result = limelight.getLatestResult();
+                    if (result != null && result.getControlHubTimeStamp() != lastResultStamp) {
+                        lastResultStamp = result.getControlHubTimeStamp();
+                        convert(result, current, pipeline);
+                    }
+                }
+                if (System.nanoTime() - lastStatusNanos >= STATUS_PERIOD_MS * 1_000_000L) readStatus();
+                Thread.sleep(POLL_PERIOD_MS);
+            }
+        } catch (InterruptedException e) {
+            // close() - fall through and exit
+        } catch (RuntimeException e) {
+            // The SDK throws once the OpMode is stopping; anything else is worth a log line
+            if (running) RobotLog.ee(TAG, e, "Limelight polling stopped");
+        }
+    }
+
+    private void convert(LLResult result, Phase current, int pipeline) {
+        long staleness = result.getStaleness();
+        if (result.getPipelineIndex() != pipeline || staleness > MAX_STALENESS_MS) {
+            staleCount++;
+            return;
+        }
+        double latencyMs = staleness + result.getCaptureLatency() + result.getTargetingLatency();
+        long captureNanos = System.nanoTime() - (long) (latencyMs * 1e6);
+
+        if (current == Phase.SHOOTING) {
+            publishTags(result, captureNanos);
+        } else {
+            publishBalls(result, captureNanos);
+        }
+        synchronized (latencies) {
+            latencies.record(System.nanoTime() - captureNanos);
+        }
+        resultCount++;
+    }
+
+    private void publishTags(LLResult result, long captureNanos) {
+        VisionBridge.TagFrame frame = bridge.tagSlot();
+        int count = 0;
+        List<LLResultTypes.FiducialResult> fiducials = result.isValid() ? result.getFiducialResults() : null;
+        for (int i = 0; fiducials != null && i < fiducials.size() && count < VisionBridge.MAX_TAGS; i++) {
+            LLResultTypes.FiducialResult fiducial = fiducials.get(i);
+            Pose3D target = fiducial.getTargetPoseCameraSpace();
+            frame.id[count] = fiducial.getFiducialId();
+            frame.hasRobotPose[count] = false;                // Only the combined botpose is used
+            frame.range[count] = target != null ? rangeInches(target.getPosition()) : 0.0;
+            frame.bearing[count] = -fiducial.getTargetXDegrees();
+            frame.decisionMargin[count] = 0.0;
+            count++;
+        }
+        frame.count = count;
+
+        Pose3D botpose = result.isValid() ? result.getBotpose() : null;
+        frame.solverReady = true;
+        frame.solved = botpose != null && result.getBotposeTagCount() > 0;
+        frame.tagsUsed = frame.solved ? result.getBotposeTagCount() : 0;
+        frame.tagsRejected = 0;
+        frame.reprojectionErrorPx = 0.0;
+        if (frame.solved) {
+            Position position = botpose.getPosition();
+            frame.solvedX = position.unit.toInches(position.x);
+            frame.solvedY = position.unit.toInches(position.y);
+            frame.solvedHeading = AngleUnit.normalizeRadians(botpose.getOrientation().getYaw(AngleUnit.RADIANS)
+                    + Math.toRadians(HEADING_OFFSET_DEG));
+            double rangeIn = result.getBotposeAvgDist() / 0.0254;
+            double xyStd = PoseEstimator.TAG_XY_STD + PoseEstimator.TAG_XY_STD_PER_IN * rangeIn;
+            double headingStd = Math.toRadians(PoseEstimator.TAG_HEADING_STD_DEG);
+            for (int i = 0; i < 9; i++) frame.covariance[i] = 0.0;
+            frame.covariance[0] = xyStd * xyStd;
+            frame.covariance[4] = xyStd * xyStd;
+            frame.covariance[8] = headingStd * headingStd;
+        }
+        bridge.publishTags(captureNanos);
+    }
+
+    private static double rangeInches(Position position) {
+        double x = position.unit.toInches(position.x);
+        double y = position.unit.toInches(position.y);
+        double z = position.unit.toInches(position.z);
+        return Math.sqrt(x * x + y * y + z * z);
+    }
+
+    private void publishBalls(LLResult result, long captureNanos) {
+        VisionBridge.BallFrame frame = bridge.ballSlot();
+        int width = VisionScheduler.LOCATOR_WIDTH;
+        int height = VisionScheduler.LOCATOR_HEIGHT;
+        frame.frameWidth = width;
+        frame.frameHeight = height;
+        frame.windowX = 0;
+        frame.windowY = 0;
+        frame.windowWidth = width;
+        frame.windowHeight = height;
+        frame.count = 0;
+        if (result.isValid()) {
+            List<LLResultTypes.ColorResult> colors = result.getColorResults();
+            for (int i = 0; colors != null && i < colors.size(); i++) {
+                LLResultTypes.ColorResult color = colors.get(i);
+                addBall(frame, color.getTargetXDegrees(), color.getTargetYDegrees(), color.getTargetArea(),
+                        TrackingLocator.PURPLE);
+            }
+            List<LLResultTypes.DetectorResult> detections = result.getDetectorResults();
+            for (int i = 0; detections != null && i < detections.size(); i++) {
+                LLResultTypes.DetectorResult detection = detections.get(i);
+                int color = detection.getClassName().toLowerCase(Locale.US).contains("green")
+                        ? TrackingLocator.GREEN : TrackingLocator.PURPLE;
+                addBall(frame, detection.getTargetXDegrees(), detection.getTargetYDegrees(),
+                        detection.getTargetArea(), color);
+            }
+        }
+        bridge.publishBalls(captureNanos);
+    }
+
+    /**
+     * Projects one target onto the locator image BallAligner expects.
+     *
+     * @param areaPercent Target area as a percentage of the Limelight image
+     */
+    private static void addBall(VisionBridge.BallFrame frame, double txDeg, double tyDeg, double areaPercent,
+                                int color) {
+        if (frame.count >= VisionBridge.MAX_BALLS || areaPercent <= 0.0) return;
+        double focalPx = (frame.frameWidth / 2.0) / Math.tan(Math.toRadians(BallAligner.CAMERA_HFOV_DEG) / 2.0);
+
+        // Radius of a circle covering that share of the image, as a tangent of its angular size
+        double tanRadius = 2.0 * Math.sqrt(areaPercent / 100.0 * Math.tan(Math.toRadians(HFOV_DEG) / 2.0)
+                * Math.tan(Math.toRadians(VFOV_DEG) / 2.0) / Math.PI);
+
+        int i = frame.count++;
+        frame.x[i] = (float) (frame.frameWidth / 2.0 + focalPx * Math.tan(Math.toRadians(txDeg)));
+        frame.y[i] = (float) (frame.frameHeight / 2.0 - focalPx * Math.tan(Math.toRadians(tyDeg)));
+        frame.radius[i] = (float) (focalPx * tanRadius);
+        frame.color[i] = color;
+    }
+
+    private void readStatus() {
+        lastStatusNanos = System.nanoTime();
+        LLStatus status = limelight.getStatus();
+        if (status == null) return;
+        fps = status.getFps();
+        cpu = status.getCpu();
+        temperature = status.getTemp();
+    }
+
+    // ========== CONTROL LOOP ==========
+
+    /**
+     * Selects the pipeline; the polling thread switches it.
+     */
+    @Override
+    public void setPhase(Phase newPhase) {
+        phase = newPhase;
+    }
+
+    @Override
+    public Phase getPhase() {
+        return phase;
+    }
+
+    /**
+     * Nothing to do: polling and conversion run on the Limelight thread.
+     */
+    @Override
+    public void update() {
+    }
+
+    @Override
+    public VisionBridge getBridge() {
+        return bridge;
+    }
+
+    @Override
+    public String getName() {
+        return "limelight";
+    }
+
+    // ========== DIAGNOSTICS ==========
+
+    /**
+     * Capture to publish latency as a percentile (ms).
+     */
+    public double getLatencyPercentileMs(double percentile) {
+        synchronized (latencies) {
+            return latencies.percentile(percentile) / 1e6;
+        }
+    }
+
+    @Override
+    public void resetStatistics() {
+        synchronized (latencies) {
+            latencies.reset();
+        }
+        resultCount = 0;
+        staleCount = 0;
+        pipelineSwitches = 0;
+    }
+
+    @Override
+    public void addTelemetry(Telemetry telemetry) {
+        telemetry.addData("Vision", "%s, limelight pipeline %d, %.0f fps, cpu %.0f%%, %.0f C", phase,
+                activePipeline, fps, cpu, temperature);
+        telemetry.addData("  limelight", "%d results, %d stale, %d switches, latency p50 %.0f ms p99 %.0f ms",
+                resultCount, staleCount, pipelineSwitches, getLatencyPercentileMs(50), getLatencyPercentileMs(99));
+        bridge.addTelemetry(telemetry);
+    }
+
+    /**
+     * Stops the polling thread, then the Limelight.
+     */
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        limelight.stop();
+    }
+}
@@ -0,0 +1,142 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Reads the match's randomized motif from the obelisk AprilTags during INIT.
+ *
+ * The obelisk shows one of tags 21 (GPP), 22 (PGP) or 23 (PPG). A single
+ * frame can misread, so every new TagFrame votes instead: each obelisk tag
+ * in it adds its weight to that motif, and all totals decay by VOTE_DECAY
+ * per frame, so an early misread fades. A tag's weight is its decision
+ * margin over FULL_WEIGHT_MARGIN, capped at 1; a Limelight reports no
+ * margin, so its tags weigh 1.
+ *
+ * The motif is decided once the leader holds MIN_CONFIDENCE of the total
+ * weight and at least MIN_VOTE_WEIGHT of its own. After that the vote
+ * stops and update() returns true, so RoutineOpMode can commit to the
+ * matching routine and turn the camera off before START.
+ *
+ * Runs on whichever Vision is fitted; the camera must be in SHOOTING (tags on).
+ */
+
+package org.firstinspires.ftc.teamcode.vision;
+
+import com.acmerobotics.dashboard.config.Config;
+import com.qualcomm.robotcore.util.RobotLog;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+@Config
+public class MotifDetector {
+
+    private static final String TAG = "MotifDetector";
+
+    // ========== VOTING - FTC DASHBOARD ==========
+    public static double MIN_CONFIDENCE = 0.8;                // Leader's share of the total weight
+    public static double MIN_VOTE_WEIGHT = 5.0;               // Leader's weight (clean frames) before deciding
+    public static double VOTE_DECAY = 0.95;                   // Per frame; older votes count less
+    public static double FULL_WEIGHT_MARGIN = 50.0;           // Decision margin that counts as a full vote
+    public static Motif DEFAULT_MOTIF = Motif.PPG;            // Assumed when nothing was decided by START
+
+    public enum Motif {
+        GPP(21), PGP(22), PPG(23);
+
+        public final int tagId;
+
+        Motif(int tagId) {
+            this.tagId = tagId;
+        }
+
+        /**
+         * @return null if the tag is not an obelisk tag
+         */
+        public static Motif fromTag(int id) {
+            for (Motif motif : values()) {
+                if (motif.tagId == id) return motif;
+            }
+            return null;
+        }
+    }
+
+    private final VisionBridge bridge;
+    private final double[] weights = new double[Motif.values().length];
+    private long lastSequence = 0;
+    private int frames = 0;
+    private Motif decided = null;
+
+    public MotifDetector(Vision vision) {
+        bridge = vision.getBridge();
+    }
+
+    /**
+     * Adds the newest tag frame to the vote. Call once per init loop.
+     *
+     * @return true once the motif is decided
+     */
+    public boolean update() {
+        if (decided != null) return true;
+        VisionBridge.TagFrame frame = bridge.tags();
+        if (frame.sequence == lastSequence) return false;
+        lastSequence = frame.sequence;
+        frames++;
+
+        for (int i = 0; i < weights.length; i++) weights[i] *= VOTE_DECAY;
+        for (int i = 0; i < frame.count; i++) {
+            Motif motif = Motif.fromTag(frame.id[i]);
+            if (motif == null) continue;
+            double margin = frame.decisionMargin[i];
+            weights[motif.ordinal()] += margin > 0.0 ? Math.min(1.0, margin / FULL_WEIGHT_MARGIN) : 1.0;
+        }
+
+        Motif leader = getLeader();
+        if (leader != null && weights[leader.ordinal()] >= MIN_VOTE_WEIGHT && getConfidence() >= MIN_CONFIDENCE) {
+            decided = leader;
+            RobotLog.ii(TAG, "Motif %s after %d frames (%.0f%% of the vote)", decided, frames,
+                    getConfidence() * 100);
+        }
+        return decided != null;
+    }
+
+    /**
+     * Motif with the most weight so far, or null before any obelisk tag.
+     */
+    public Motif getLeader() {
+        int best = -1;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] > 0.0 && (best < 0 || weights[i] > weights[best])) best = i;
+        }
+        return best < 0 ? null : Motif.values()[best];
+    }
+
+    /**
+     * Leader's share of the total weight (0 before any obelisk tag).
+     */
+    public double getConfidence() {
+        Motif leader = getLeader();
+        if (leader == null) return 0.0;
+        double total = 0.0;
+        for (double weight : weights) total += weight;
+        return weights[leader.ordinal()] / total;
+    }
+
+    public boolean isDecided() {
+        return decided != null;
+    }
+
+    /**
+     * The decided motif, or DEFAULT_MOTIF if the vote has not settled.
+     */
+    public Motif getMotif() {
+        return decided != null ? decided : DEFAULT_MOTIF;
+    }
+
+    public void addTelemetry(Telemetry telemetry) {
+        Motif leader = getLeader();
+        if (decided != null) {
+            telemetry.addData("Motif", "%s (decided after %d frames)", decided, frames);
+        } else if (leader != null) {
+            telemetry.addData("Motif", "%s? %.0f%% of %d frames - keep the obelisk in view", leader,
+                    getConfidence() * 100, frames);
+        } else {
+            telemetry.addData("Motif", "no obelisk tag yet (%d frames) - %s if unseen", frames, DEFAULT_MOTIF);
+        }
+    }
+}
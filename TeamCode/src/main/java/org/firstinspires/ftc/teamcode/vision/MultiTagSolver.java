@@ -0,0 +1,501 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Solves the robot's field pose from every goal tag in a frame at once.
+ *
+ * ConceptAprilTagLocalization uses each detection's robotPose on its own, so
+ * two visible tags give two separate, slightly different answers. This solves
+ * one planar pose (x, y, heading) that best reprojects all the tags' corners:
+ *
+ * - Each tag's four corners are placed on the field from the tag library
+ *   (fieldPosition, fieldOrientation, tagsize). The camera pose on the robot
+ *   comes from AprilTagLocalizer.
+ * - Gauss-Newton minimizes the weighted pixel error between the detected
+ *   corners (undistorted with the calibration) and the projected ones. The
+ *   highest-margin tag's robotPose is the starting guess.
+ * - A corner's weight is 1 / sigma^2. Sigma is CORNER_STD_PX, inflated for
+ *   tags whose decision margin is below REFERENCE_MARGIN.
+ * - Rejected: tags under MIN_DECISION_MARGIN, tags seen more obliquely than
+ *   MAX_VIEW_ANGLE_DEG, and, one at a time and worst first, tags whose RMS
+ *   reprojection error exceeds MAX_REPROJECTION_PX. A single tag that fails
+ *   the reprojection check rejects the frame.
+ * - The covariance is (J^T W J)^-1, scaled up when the residuals are larger
+ *   than the weights predict, plus a floor. PoseEstimator uses it in place
+ *   of its range-based tag noise.
+ *
+ * The intrinsics are the ones the SDK passes to processors: the built-in
+ * calibration for the webcam, or /sdcard/FIRST/teamwebcamcalibrations.xml
+ * when it has an entry for the camera. Without either, the FALLBACK_*
+ * values (Logitech C920 at 640x480, scaled to the frame width) are used.
+ *
+ * Runs on the frame thread from VisionBridge.TagWriter; nothing allocates per
+ * frame. Solve time is recorded for telemetry and the vision benchmark.
+ *
+ * Tag frame (library quaternion): x right, y down, z into the tag. Corners
+ * are in AprilTag order: (-s/2, +s/2), (+s/2, +s/2), (+s/2, -s/2), (-s/2, -s/2).
+ */
+
+package org.firstinspires.ftc.teamcode.vision;
+
+import com.acmerobotics.dashboard.config.Config;
+
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.Quaternion;
+import org.firstinspires.ftc.robotcore.internal.camera.calibration.CameraCalibration;
+import org.firstinspires.ftc.teamcode.util.LatencyHistogram;
+import org.firstinspires.ftc.vision.apriltag.AprilTagDetection;
+import org.firstinspires.ftc.vision.apriltag.AprilTagMetadata;
+
+import java.util.ArrayList;
+
+@Config
+public class MultiTagSolver {
+
+    public static boolean ENABLED = true;                     // false = per-tag robotPose only
+
+    // ========== WEIGHTING - FTC DASHBOARD ==========
+    public static double CORNER_STD_PX = 1.0;                 // Corner noise of a clean detection
+    public static double REFERENCE_MARGIN = 60.0;             // Margins below this inflate the noise
+
+    // ========== REJECTION - FTC DASHBOARD ==========
+    public static double MIN_DECISION_MARGIN = 20.0;
+    public static double MAX_VIEW_ANGLE_DEG = 60.0;           // Between the tag's normal and the camera
+    public static double MAX_REPROJECTION_PX = 3.0;           // RMS per tag after the solve
+
+    // ========== COVARIANCE FLOOR - FTC DASHBOARD ==========
+    public static double MIN_XY_STD = 0.5;                    // inches
+    public static double MIN_HEADING_STD_DEG = 0.5;
+
+    // ========== FALLBACK INTRINSICS (no SDK calibration) ==========
+    public static double FALLBACK_FX = 622.001;               // Logitech C920, 640x480
+    public static double FALLBACK_FY = 622.001;
+    public static double FALLBACK_CX = 319.803;
+    public static double FALLBACK_CY = 241.251;
+
+    private static final int MAX_TAGS = VisionBridge.MAX_TAGS;
+    private static final int MAX_ITERATIONS = 10;
+    private static final double CONVERGED = 1e-4;             // Step size (inches / radians) to stop at
+    private static final double MIN_DEPTH_IN = 1.0;           // Corners closer than this are behind the lens
+    private static final double[] CORNER_X = {-0.5, 0.5, 0.5, -0.5};
+    private static final double[] CORNER_Y = {0.5, 0.5, -0.5, -0.5};
+
+    // ========== CAMERA ==========
+    private boolean ready = false;
+    private double fx, fy, cx, cy;
+    private double k1, k2, p1, p2, k3;
+    private final double[] cameraPosition = new double[3];    // Robot frame: +X forward, +Y left, +Z up
+    private final double[] cameraRight = new double[3];
+    private final double[] cameraDown = new double[3];
+    private final double[] cameraForward = new double[3];
+
+    // ========== PER FRAME SCRATCH ==========
+    private int tagCount = 0;
+    private final boolean[] active = new boolean[MAX_TAGS];
+    private final double[] weight = new double[MAX_TAGS];
+    private final double[] cornerField = new double[MAX_TAGS * 12]; // 4 corners x (x, y, z)
+    private final double[] cornerPixel = new double[MAX_TAGS * 8];  // 4 corners x (u, v), undistorted
+    private final double[] tagCenter = new double[MAX_TAGS * 3];
+    private final double[] tagNormal = new double[MAX_TAGS * 3];    // Out of the tag face
+    private final double[] tagError = new double[MAX_TAGS];         // RMS reprojection error (px)
+    private final double[] rotation = new double[9];
+    private final double[] normal = new double[9];                  // J^T W J
+    private final double[] inverse = new double[9];
+    private final double[] gradient = new double[3];                // J^T W r
+    private final double[] projected = new double[2];
+    private final double[] jacobian = new double[6];                // d(u, v) / d(x, y, heading)
+    private double poseX, poseY, poseHeading;
+    private double weightedError;                                   // Sum of w r^2 at the solution
+
+    // ========== STATISTICS (guarded by this) ==========
+    private final LatencyHistogram solveTimes = new LatencyHistogram();
+    private long solvedFrames = 0;
+    private long rejectedFrames = 0;
+    private long rejectedTags = 0;
+
+    /**
+     * Takes the intrinsics for this frame size and the camera mounting from
+     * AprilTagLocalizer. Call from the processor's init().
+     */
+    public void init(int width, int height, CameraCalibration calibration) {
+        if (calibration != null && calibration.focalLengthX > 0) {
+            fx = calibration.focalLengthX;
+            fy = calibration.focalLengthY;
+            cx = calibration.principalPointX;
+            cy = calibration.principalPointY;
+            float[] distortion = calibration.distortionCoefficients;
+            k1 = distortion != null && distortion.length > 0 ? distortion[0] : 0.0;
+            k2 = distortion != null && distortion.length > 1 ? distortion[1] : 0.0;
+            p1 = distortion != null && distortion.length > 2 ? distortion[2] : 0.0;
+            p2 = distortion != null && distortion.length > 3 ? distortion[3] : 0.0;
+            k3 = distortion != null && distortion.length > 4 ? distortion[4] : 0.0;
+        } else {
+            double scale = width / 640.0;
+            fx = FALLBACK_FX * scale;
+            fy = FALLBACK_FY * scale;
+            cx = FALLBACK_CX * scale;
+            cy = FALLBACK_CY * scale;
+            k1 = k2 = p1 = p2 = k3 = 0.0;
+        }
+
+        // Camera axes in the robot frame. SDK mounting: X right, Y forward; pitch -90 = level
+        double yaw = Math.toRadians(AprilTagLocalizer.CAMERA_YAW);
+        double tilt = Math.toRadians(AprilTagLocalizer.CAMERA_PITCH + 90.0);     // Positive = tilted up
+        double roll = Math.toRadians(AprilTagLocalizer.CAMERA_ROLL);
+        cameraPosition[0] = AprilTagLocalizer.CAMERA_Y;
+        cameraPosition[1] = -AprilTagLocalizer.CAMERA_X;
+        cameraPosition[2] = AprilTagLocalizer.CAMERA_Z;
+        set(cameraForward, Math.cos(tilt) * Math.cos(yaw), Math.cos(tilt) * Math.sin(yaw), Math.sin(tilt));
+        double rightX = Math.sin(yaw), rightY = -Math.cos(yaw);
+        // down = forward x right
+        double downX = cameraForward[1] * 0.0 - cameraForward[2] * rightY;
+        double downY = cameraForward[2] * rightX - cameraForward[0] * 0.0;
+        double downZ = cameraForward[0] * rightY - cameraForward[1] * rightX;
+        set(cameraRight, rightX * Math.cos(roll) + downX * Math.sin(roll),
+                rightY * Math.cos(roll) + downY * Math.sin(roll), downZ * Math.sin(roll));
+        set(cameraDown, downX * Math.cos(roll) - rightX * Math.sin(roll),
+                downY * Math.cos(roll) - rightY * Math.sin(roll), downZ * Math.cos(roll));
+        ready = true;
+    }
+
+    /**
+     * Solves one frame into the tag frame's solved* fields.
+     */
+    public void solve(ArrayList<AprilTagDetection> detections, VisionBridge.TagFrame frame) {
+        frame.solverReady = ENABLED && ready;
+        frame.solved = false;
+        frame.tagsUsed = 0;
+        frame.tagsRejected = 0;
+        if (!frame.solverReady || detections == null) return;
+
+        long start = System.nanoTime();
+        int rejected = collect(detections);
+        boolean solved = false;
+        while (activeCount() > 0) {
+            if (!gaussNewton()) break;
+            int worst = measure();
+            if (worst < 0) {
+                solved = true;
+                break;
+            }
+            active[worst] = false;                            // Drop the worst tag and solve again
+            rejected++;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        frame.tagsRejected = rejected;
+        if (solved) {
+            frame.solved = true;
+            frame.tagsUsed = activeCount();
+            frame.solvedX = poseX;
+            frame.solvedY = poseY;
+            frame.solvedHeading = AngleUnit.normalizeRadians(poseHeading);
+            frame.reprojectionErrorPx = rmsError();
+            covariance(frame.covariance);
+        }
+
+        synchronized (this) {
+            if (tagCount > 0) solveTimes.record(elapsed);
+            if (solved) solvedFrames++;
+            else if (tagCount > 0) rejectedFrames++;
+            rejectedTags += rejected;
+        }
+    }
+
+    /**
+     * Loads the usable goal tags and the starting guess.
+     *
+     * @return Tags dropped for a low decision margin
+     */
+    private int collect(ArrayList<AprilTagDetection> detections) {
+        tagCount = 0;
+        int rejected = 0;
+        double bestMargin = -1.0;
+        for (int i = 0; i < detections.size() && tagCount < MAX_TAGS; i++) {
+            AprilTagDetection detection = detections.get(i);
+            AprilTagMetadata metadata = detection.metadata;
+            if (metadata == null || metadata.fieldPosition == null || metadata.fieldOrientation == null) continue;
+            if (AprilTagLocalizer.isObelisk(detection.id) || detection.corners == null) continue;
+            if (detection.decisionMargin < MIN_DECISION_MARGIN) {
+                rejected++;
+                continue;
+            }
+
+            int t = tagCount++;
+            active[t] = true;
+            double std = CORNER_STD_PX * Math.max(1.0, REFERENCE_MARGIN / detection.decisionMargin);
+            weight[t] = 1.0 / (std * std);
+
+            quaternionToMatrix(metadata.fieldOrientation, rotation);
+            double size = metadata.distanceUnit.toInches(metadata.tagsize);
+            double centerX = metadata.distanceUnit.toInches(metadata.fieldPosition.get(0));
+            double centerY = metadata.distanceUnit.toInches(metadata.fieldPosition.get(1));
+            double centerZ = metadata.distanceUnit.toInches(metadata.fieldPosition.get(2));
+            tagCenter[t * 3] = centerX;
+            tagCenter[t * 3 + 1] = centerY;
+            tagCenter[t * 3 + 2] = centerZ;
+            tagNormal[t * 3] = -rotation[2];
+            tagNormal[t * 3 + 1] = -rotation[5];
+            tagNormal[t * 3 + 2] = -rotation[8];
+            for (int c = 0; c < 4; c++) {
+                double ox = CORNER_X[c] * size, oy = CORNER_Y[c] * size;
+                cornerField[t * 12 + c * 3] = centerX + rotation[0] * ox + rotation[1] * oy;
+                cornerField[t * 12 + c * 3 + 1] = centerY + rotation[3] * ox + rotation[4] * oy;
+                cornerField[t * 12 + c * 3 + 2] = centerZ + rotation[6] * ox + rotation[7] * oy;
+                undistort(detection.corners[c].x, detection.corners[c].y, t * 8 + c * 2);
+            }
+
+            if (detection.robotPose != null && detection.decisionMargin > bestMargin) {
+                bestMargin = detection.decisionMargin;
+                poseX = detection.robotPose.getPosition().x;
+                poseY = detection.robotPose.getPosition().y;
+                poseHeading = detection.robotPose.getOrientation().getYaw(AngleUnit.RADIANS)
+                        + Math.toRadians(AprilTagLocalizer.HEADING_OFFSET_DEG);
+            }
+        }
+        if (bestMargin < 0.0) tagCount = 0;                   // No starting guess
+        return rejected;
+    }
+
+    // ========== SOLVER ==========
+
+    /**
+     * Gauss-Newton over the active tags' corners, from the current pose.
+     *
+     * @return false if it diverged or a corner went behind the camera
+     */
+    private boolean gaussNewton() {
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            if (!accumulate()) return false;
+            if (!invert(normal, inverse)) return false;
+            double stepX = inverse[0] * gradient[0] + inverse[1] * gradient[1] + inverse[2] * gradient[2];
+            double stepY = inverse[3] * gradient[0] + inverse[4] * gradient[1] + inverse[5] * gradient[2];
+            double stepHeading = inverse[6] * gradient[0] + inverse[7] * gradient[1] + inverse[8] * gradient[2];
+            poseX += stepX;
+            poseY += stepY;
+            poseHeading += stepHeading;
+            if (Math.abs(stepX) + Math.abs(stepY) + Math.abs(stepHeading) < CONVERGED) break;
+        }
+        return accumulate() && invert(normal, inverse);       // Normal matrix and error at the solution
+    }
+
+    /**
+     * Builds J^T W J and J^T W r for the active tags at the current pose.
+     */
+    private boolean accumulate() {
+        for (int i = 0; i < 9; i++) normal[i] = 0.0;
+        gradient[0] = gradient[1] = gradient[2] = 0.0;
+        weightedError = 0.0;
+        for (int t = 0; t < tagCount; t++) {
+            if (!active[t]) continue;
+            double error = 0.0;
+            for (int c = 0; c < 4; c++) {
+                if (!project(t * 12 + c * 3)) return false;
+                double ru = cornerPixel[t * 8 + c * 2] - projected[0];
+                double rv = cornerPixel[t * 8 + c * 2 + 1] - projected[1];
+                double w = weight[t];
+                for (int row = 0; row < 3; row++) {
+                    gradient[row] += w * (jacobian[row] * ru + jacobian[3 + row] * rv);
+                    for (int col = 0; col < 3; col++) {
+                        normal[row * 3 + col] += w * (jacobian[row] * jacobian[col]
+                                + jacobian[3 + row] * jacobian[3 + col]);
+                    }
+                }
+                error += ru * ru + rv * rv;
+            }
+            tagError[t] = Math.sqrt(error / 4.0);
+            weightedError += weight[t] * error;
+        }
+        return true;
+    }
+
+    /**
+     * Projects one field point at the current pose into projected[], and its
+     * derivatives into jacobian[] (u row, then v row).
+     */
+    private boolean project(int point) {
+        double c = Math.cos(poseHeading), s = Math.sin(poseHeading);
+        double dx = cornerField[point] - poseX;
+        double dy = cornerField[point + 1] - poseY;
+        double robotX = c * dx + s * dy;
+        double robotY = -s * dx + c * dy;
+        double qx = robotX - cameraPosition[0];
+        double qy = robotY - cameraPosition[1];
+        double qz = cornerField[point + 2] - cameraPosition[2];
+        double xc = dot(cameraRight, qx, qy, qz);
+        double yc = dot(cameraDown, qx, qy, qz);
+        double zc = dot(cameraForward, qx, qy, qz);
+        if (zc < MIN_DEPTH_IN) return false;
+        projected[0] = fx * xc / zc + cx;
+        projected[1] = fy * yc / zc + cy;
+
+        // d(robot point) / d(x, y, heading); z does not change
+        derivative(0, -c, s, xc, yc, zc);
+        derivative(1, -s, -c, xc, yc, zc);
+        derivative(2, robotY, -robotX, xc, yc, zc);
+        return true;
+    }
+
+    private void derivative(int k, double dRobotX, double dRobotY, double xc, double yc, double zc) {
+        double dxc = cameraRight[0] * dRobotX + cameraRight[1] * dRobotY;
+        double dyc = cameraDown[0] * dRobotX + cameraDown[1] * dRobotY;
+        double dzc = cameraForward[0] * dRobotX + cameraForward[1] * dRobotY;
+        jacobian[k] = fx * (dxc * zc - xc * dzc) / (zc * zc);
+        jacobian[3 + k] = fy * (dyc * zc - yc * dzc) / (zc * zc);
+    }
+
+    /**
+     * Checks the solved pose against each active tag.
+     *
+     * @return Index of the tag to drop (too oblique, or the worst reprojection
+     *         over the limit), or -1 if every tag passes
+     */
+    private int measure() {
+        double c = Math.cos(poseHeading), s = Math.sin(poseHeading);
+        double cameraX = poseX + c * cameraPosition[0] - s * cameraPosition[1];
+        double cameraY = poseY + s * cameraPosition[0] + c * cameraPosition[1];
+        double cosLimit = Math.cos(Math.toRadians(MAX_VIEW_ANGLE_DEG));
+
+        int worst = -1;
+        double worstError = MAX_REPROJECTION_PX;
+        for (int t = 0; t < tagCount; t++) {
+            if (!active[t]) continue;
+            double vx = cameraX - tagCenter[t * 3];
+            double vy = cameraY - tagCenter[t * 3 + 1];
+            double vz = cameraPosition[2] - tagCenter[t * 3 + 2];
+            double length = Math.sqrt(vx * vx + vy * vy + vz * vz);
+            double facing = (vx * tagNormal[t * 3] + vy * tagNormal[t * 3 + 1] + vz * tagNormal[t * 3 + 2]) / length;
+            if (facing < cosLimit) return t;
+            if (tagError[t] > worstError) {
+                worstError = tagError[t];
+                worst = t;
+            }
+        }
+        return worst;
+    }
+
+    /**
+     * (J^T W J)^-1, inflated by the reduced chi-square when the fit is worse
+     * than the corner noise predicts, plus the floor.
+     */
+    private void covariance(double[] out) {
+        int residuals = 8 * activeCount();
+        double scale = residuals > 3 ? Math.max(1.0, weightedError / (residuals - 3)) : 1.0;
+        for (int i = 0; i < 9; i++) out[i] = inverse[i] * scale;
+        double headingFloor = Math.toRadians(MIN_HEADING_STD_DEG);
+        out[0] += MIN_XY_STD * MIN_XY_STD;
+        out[4] += MIN_XY_STD * MIN_XY_STD;
+        out[8] += headingFloor * headingFloor;
+    }
+
+    private double rmsError() {
+        double sum = 0.0;
+        int count = 0;
+        for (int t = 0; t < tagCount; t++) {
+            if (!active[t]) continue;
+            sum += tagError[t] * tagError[t];
+            count++;
+        }
+        return count == 0 ? 0.0 : Math.sqrt(sum / count);
+    }
+
+    private int activeCount() {
+        int count = 0;
+        for (int t = 0; t < tagCount; t++) if (active[t]) count++;
+        return count;
+    }
+
+    // ========== GEOMETRY HELPERS ==========
+
+    /**
+     * Removes lens distortion from a detected corner (OpenCV's iterative
+     * inverse of k1, k2, p1, p2, k3), in pixels.
+     */
+    private void undistort(double u, double v, int out) {
+        double xd = (u - cx) / fx, yd = (v - cy) / fy;
+        double x = xd, y = yd;
+        for (int i = 0; i < 5; i++) {
+            double r2 = x * x + y * y;
+            double radial = 1.0 + r2 * (k1 + r2 * (k2 + r2 * k3));
+            double tangentialX = 2.0 * p1 * x * y + p2 * (r2 + 2.0 * x * x);
+            double tangentialY = p1 * (r2 + 2.0 * y * y) + 2.0 * p2 * x * y;
+            x = (xd - tangentialX) / radial;
+            y = (yd - tangentialY) / radial;
+        }
+        cornerPixel[out] = fx * x + cx;
+        cornerPixel[out + 1] = fy * y + cy;
+    }
+
+    private static void quaternionToMatrix(Quaternion q, double[] m) {
+        double w = q.w, x = q.x, y = q.y, z = q.z;
+        m[0] = 1 - 2 * (y * y + z * z);
+        m[1] = 2 * (x * y - w * z);
+        m[2] = 2 * (x * z + w * y);
+        m[3] = 2 * (x * y + w * z);
+        m[4] = 1 - 2 * (x * x + z * z);
+        m[5] = 2 * (y * z - w * x);
+        m[6] = 2 * (x * z - w * y);
+        m[7] = 2 * (y * z + w * x);
+        m[8] = 1 - 2 * (x * x + y * y);
+    }
+
+    private static void set(double[] v, double x, double y, double z) {
+        v[0] = x;
+        v[1] = y;
+        v[2] = z;
+    }
+
+    private static double dot(double[] v, double x, double y, double z) {
+        return v[0] * x + v[1] * y + v[2] * z;
+    }
+
+    /**
+     * Inverts a 3x3 matrix by cofactors.
+     *
+     * @return false if the matrix is singular
+     */
+    private static boolean invert(double[] m, double[] out) {
+        double c00 = m[4] * m[8] - m[5] * m[7];
+        double c01 = m[5] * m[6] - m[3] * m[8];
+        double c02 = m[3] * m[7] - m[4] * m[6];
+        double det = m[0] * c00 + m[1] * c01 + m[2] * c02;
+        if (Math.abs(det) < 1e-12) return false;
+        double inv = 1.0 / det;
+        out[0] = c00 * inv;
+        out[1] = (m[2] * m[7] - m[1] * m[8]) * inv;
+        out[2] = (m[1] * m[5] - m[2] * m[4]) * inv;
+        out[3] = c01 * inv;
+        out[4] = (m[0] * m[8] - m[2] * m[6]) * inv;
+        out[5] = (m[2] * m[3] - m[0] * m[5]) * inv;
+        out[6] = c02 * inv;
+        out[7] = (m[1] * m[6] - m[0] * m[7]) * inv;
+        out[8] = (m[0] * m[4] - m[1] * m[3]) * inv;
+        return true;
+    }
+
+    // ========== STATISTICS (any thread) ==========
+
+    /**
+     * Solve time per frame with at least one usable tag (microseconds).
+     */
+    public synchronized double getSolvePercentileUs(double percentile) {
+        return solveTimes.percentile(percentile) / 1e3;
+    }
+
+    public synchronized long getSolvedFrameCount() {
+        return solvedFrames;
+    }
+
+    public synchronized long getRejectedFrameCount() {
+        return rejectedFrames;
+    }
+
+    public synchronized long getRejectedTagCount() {
+        return rejectedTags;
+    }
+
+    public synchronized void resetStatistics() {
+        solveTimes.reset();
+        solvedFrames = 0;
+        rejectedFrames = 0;
+        rejectedTags = 0;
+    }
+}
@@ -0,0 +1,76 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Runs one or more processors on a downscaled copy of each camera frame.
+ *
+ * The webcam streams at the resolution AprilTags need for range. The color
+ * locators get no benefit from that - their blur, erode/dilate and contour
+ * passes only cost more per pixel. This wrapper resizes the frame once
+ * (INTER_AREA, into a reused Mat) and hands the small frame to every processor
+ * it wraps. The processors are initialized with the small size, so
+ * blob coordinates are in scaled pixels. Drawing is rescaled for the preview.
+ */
+
+package org.firstinspires.ftc.teamcode.vision;
+
+import android.graphics.Canvas;
+
+import org.firstinspires.ftc.robotcore.internal.camera.calibration.CameraCalibration;
+import org.firstinspires.ftc.vision.VisionProcessor;
+import org.opencv.core.Mat;
+import org.opencv.core.Size;
+import org.opencv.imgproc.Imgproc;
+
+public class ScaledProcessor implements VisionProcessor {
+
+    private final VisionProcessor[] processors;
+    private final int width;
+    private final int height;
+    private final Size size;
+    private final Mat scaled = new Mat();
+    private float sourcePxPerScaledPx = 1.0f;
+
+    /**
+     * @param width  Frame width the processors see (pixels)
+     * @param height Frame height the processors see (pixels)
+     */
+    public ScaledProcessor(int width, int height, VisionProcessor... processors) {
+        this.processors = processors;
+        this.width = width;
+        this.height = height;
+        size = new Size(width, height);
+    }
+
+    @Override
+    public void init(int sourceWidth, int sourceHeight, CameraCalibration calibration) {
+        sourcePxPerScaledPx = (float) sourceWidth / width;
+        for (VisionProcessor processor : processors) processor.init(width, height, calibration);
+    }
+
+    @Override
+    public Object processFrame(Mat frame, long captureTimeNanos) {
+        Imgproc.resize(frame, scaled, size, 0, 0, Imgproc.INTER_AREA);
+        Object[] contexts = new Object[processors.length];
+        for (int i = 0; i < processors.length; i++) {
+            contexts[i] = processors[i].processFrame(scaled, captureTimeNanos);
+        }
+        return contexts;
+    }
+
+    @Override
+    public void onDrawFrame(Canvas canvas, int onscreenWidth, int onscreenHeight, float scaleBmpPxToCanvasPx,
+                            float scaleCanvasDensity, Object userContext) {
+        Object[] contexts = (Object[]) userContext;
+        for (int i = 0; i < processors.length; i++) {
+            processors[i].onDrawFrame(canvas, onscreenWidth, onscreenHeight,
+                    scaleBmpPxToCanvasPx * sourcePxPerScaledPx, scaleCanvasDensity, contexts[i]);
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
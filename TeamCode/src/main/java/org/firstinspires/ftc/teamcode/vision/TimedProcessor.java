@@ -0,0 +1,128 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Wraps a VisionProcessor and measures what each frame costs.
+ *
+ * The VisionPortal calls processFrame() on its own frame thread. This
+ * wrapper times the wrapped call twice: wall time, and CPU time of the frame
+ * thread (Debug.threadCpuTimeNanos). CPU time is the Control Hub capacity
+ * the control loop loses. Worker threads the processor starts itself (the
+ * AprilTag decoder's setNumThreads) are not counted.
+ *
+ * Dropped frames are inferred from capture timestamps. When processing falls
+ * behind, the portal skips frames, which shows up as a gap longer than one
+ * camera period. Gaps over PAUSE_GAP_NANOS mean the processor was disabled
+ * or the stream stopped, and are not counted.
+ *
+ * The portal adds and enables this wrapper, not the inner processor. Results
+ * are still read through the inner processor (VisionBridge).
+ * Statistics are written on the frame thread and read on the loop thread,
+ * so both sides synchronize on this object once per frame.
+ */
+
+package org.firstinspires.ftc.teamcode.vision;
+
+import android.graphics.Canvas;
+import android.os.Debug;
+
+import org.firstinspires.ftc.robotcore.internal.camera.calibration.CameraCalibration;
+import org.firstinspires.ftc.teamcode.util.LatencyHistogram;
+import org.firstinspires.ftc.vision.VisionProcessor;
+import org.opencv.core.Mat;
+
+public class TimedProcessor implements VisionProcessor {
+
+    private static final long PAUSE_GAP_NANOS = 500_000_000L;
+
+    private final String name;
+    private final VisionProcessor processor;
+    private final long framePeriodNanos;
+
+    private final LatencyHistogram cpuTimes = new LatencyHistogram();
+    private final LatencyHistogram wallTimes = new LatencyHistogram();
+    private long frames = 0;
+    private long droppedFrames = 0;
+    private long lastCaptureNanos = 0;
+
+    /**
+     * @param cameraFps Frame rate the camera delivers, used to spot dropped frames
+     */
+    public TimedProcessor(String name, VisionProcessor processor, double cameraFps) {
+        this.name = name;
+        this.processor = processor;
+        framePeriodNanos = (long) (1e9 / cameraFps);
+    }
+
+    @Override
+    public void init(int width, int height, CameraCalibration calibration) {
+        processor.init(width, height, calibration);
+    }
+
+    @Override
+    public Object processFrame(Mat frame, long captureTimeNanos) {
+        long cpuStart = Debug.threadCpuTimeNanos();
+        long wallStart = System.nanoTime();
+        Object result = processor.processFrame(frame, captureTimeNanos);
+        long wall = System.nanoTime() - wallStart;
+        long cpu = Debug.threadCpuTimeNanos() - cpuStart;
+
+        synchronized (this) {
+            frames++;
+            wallTimes.record(wall);
+            if (cpuStart >= 0) cpuTimes.record(cpu);   // -1 where the kernel has no per-thread clock
+
+            long gap = captureTimeNanos - lastCaptureNanos;
+            if (lastCaptureNanos != 0 && gap > framePeriodNanos * 3 / 2 && gap < PAUSE_GAP_NANOS) {
+                droppedFrames += Math.round((double) gap / framePeriodNanos) - 1;
+            }
+            lastCaptureNanos = captureTimeNanos;
+        }
+        return result;
+    }
+
+    @Override
+    public void onDrawFrame(Canvas canvas, int onscreenWidth, int onscreenHeight, float scaleBmpPxToCanvasPx,
+                            float scaleCanvasDensity, Object userContext) {
+        processor.onDrawFrame(canvas, onscreenWidth, onscreenHeight, scaleBmpPxToCanvasPx, scaleCanvasDensity,
+                userContext);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public VisionProcessor getProcessor() {
+        return processor;
+    }
+
+    // ========== STATISTICS (any thread) ==========
+
+    public synchronized long getFrameCount() {
+        return frames;
+    }
+
+    public synchronized long getDroppedFrameCount() {
+        return droppedFrames;
+    }
+
+    /**
+     * Frame-thread CPU time per processed frame (milliseconds).
+     */
+    public synchronized double getCpuPercentileMs(double percentile) {
+        return cpuTimes.percentile(percentile) / 1e6;
+    }
+
+    /**
+     * Wall time per processed frame (milliseconds).
+     */
+    public synchronized double getWallPercentileMs(double percentile) {
+        return wallTimes.percentile(percentile) / 1e6;
+    }
+
+    public synchronized void resetStatistics() {
+        cpuTimes.reset();
+        wallTimes.reset();
+        frames = 0;
+        droppedFrames = 0;
+        lastCaptureNanos = 0;
+    }
+}
@@ -0,0 +1,313 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Artifact color locators that only search where the balls were last seen.
+ *
+ * A ColorBlobLocatorProcessor's region is fixed when it is built, so every
+ * frame pays for blur, color conversion, erode/dilate and contours over the
+ * whole region. Once the balls have been found they fill a small part of the
+ * frame. This processor searches a window around them instead:
+ *
+ * - With balls found, the next window is their bounding box plus
+ *   ROI_MARGIN_PX, rounded up to the nearest window size.
+ * - With nothing found, the window grows one size per frame, back to the
+ *   full frame.
+ * - Every FULL_SEARCH_INTERVAL frames the full frame is searched anyway, so
+ *   balls that appear outside the window are picked up.
+ *
+ * Moving a region would mean rebuilding a locator and its pipeline. Instead,
+ * a purple and green locator pair is built once for each window size in
+ * WINDOW_SCALES, each with its own reused window Mat. Each frame, the chosen
+ * window is copied out of the frame into that size's Mat and run through
+ * that size's pair. The pixel buffers are reused; per frame only the
+ * window's submat header is allocated, plus, with LIVE_VIEW on, a small
+ * DrawContext for the preview. The preview draws on another thread, so the
+ * contexts cannot be shared between frames.
+ *
+ * Balls that pass the area and circularity filters are published in frame
+ * coordinates as a VisionBridge.BallFrame.
+ *
+ * Locator time per frame is recorded separately for full-frame and windowed
+ * searches. Telemetry then compares the adaptive ROI against the fixed
+ * full-frame region in the same run. ADAPTIVE_ROI=false always searches the
+ * full frame.
+ */
+
+package org.firstinspires.ftc.teamcode.vision;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+
+import com.acmerobotics.dashboard.config.Config;
+
+import org.firstinspires.ftc.robotcore.internal.camera.calibration.CameraCalibration;
+import org.firstinspires.ftc.teamcode.util.LatencyHistogram;
+import org.firstinspires.ftc.vision.VisionProcessor;
+import org.firstinspires.ftc.vision.opencv.Circle;
+import org.firstinspires.ftc.vision.opencv.ColorBlobLocatorProcessor;
+import org.firstinspires.ftc.vision.opencv.ColorRange;
+import org.firstinspires.ftc.vision.opencv.ImageRegion;
+import org.opencv.core.Mat;
+import org.opencv.core.Rect;
+
+import java.util.List;
+
+@Config
+public class TrackingLocator implements VisionProcessor {
+
+    // ========== TRACKING - FTC DASHBOARD ==========
+    public static boolean ADAPTIVE_ROI = true;                // false = search the full frame every time
+    public static int ROI_MARGIN_PX = 16;                     // Added around the balls' bounding box
+    public static int FULL_SEARCH_INTERVAL = 15;              // Full-frame search every N frames
+
+    // Window sizes as fractions of the frame, largest (the full frame) first
+    private static final double[] WINDOW_SCALES = {1.0, 0.75, 0.5, 0.375, 0.25};
+    private static final int MAX_BALLS = VisionBridge.MAX_BALLS;
+
+    public static final int PURPLE = 0;
+    public static final int GREEN = 1;
+
+    private final VisionBridge bridge;
+    private ColorBlobLocatorProcessor[][] locators;           // [window size][PURPLE, GREEN]
+    private Mat[] windows;
+    private Rect[] windowRects;
+    private int frameWidth, frameHeight;
+    private boolean drawing;                                  // LIVE_VIEW when built
+
+    // ========== FRAME THREAD STATE ==========
+    private int level = 0;                                    // Window size used for the next frame
+    private int centerX, centerY;
+    private long frames = 0;
+    private final float[] ballX = new float[MAX_BALLS];
+    private final float[] ballY = new float[MAX_BALLS];
+    private final float[] ballRadius = new float[MAX_BALLS];
+    private final int[] ballColor = new int[MAX_BALLS];
+    private int ballCount = 0;
+
+    // ========== STATISTICS (guarded by this) ==========
+    private final LatencyHistogram fullTimes = new LatencyHistogram();
+    private final LatencyHistogram windowTimes = new LatencyHistogram();
+    private double windowAreaSum = 0.0;
+    private long windowFrames = 0;
+
+    /**
+     * Locator set up like ConceptVisionColorLocator_Circle, searching the whole
+     * frame it is given. Sizes suit a 320x240 frame.
+     */
+    public static ColorBlobLocatorProcessor buildLocator(ColorRange range, boolean drawing) {
+        return new ColorBlobLocatorProcessor.Builder()
+                .setTargetColorRange(range)
+                .setContourMode(ColorBlobLocatorProcessor.ContourMode.EXTERNAL_ONLY)
+                .setRoi(ImageRegion.entireFrame())
+                .setDrawContours(drawing)                     // Drawing is CPU spent on every frame
+                .setBoxFitColor(0)
+                .setCircleFitColor(drawing ? Color.rgb(255, 255, 0) : 0)
+                .setBlurSize(5)
+                .setDilateSize(15)                            // Close the divots in each ball's outline
+                .setErodeSize(15)
+                .setMorphOperationType(ColorBlobLocatorProcessor.MorphOperationType.CLOSING)
+                .build();
+    }
+
+    /**
+     * @param bridge Where each frame's balls are published
+     */
+    public TrackingLocator(VisionBridge bridge) {
+        this.bridge = bridge;
+    }
+
+    @Override
+    public void init(int width, int height, CameraCalibration calibration) {
+        frameWidth = width;
+        frameHeight = height;
+        drawing = VisionScheduler.LIVE_VIEW;
+        centerX = width / 2;
+        centerY = height / 2;
+
+        locators = new ColorBlobLocatorProcessor[WINDOW_SCALES.length][2];
+        windows = new Mat[WINDOW_SCALES.length];
+        windowRects = new Rect[WINDOW_SCALES.length];
+        for (int i = 0; i < WINDOW_SCALES.length; i++) {
+            int w = (int) Math.round(width * WINDOW_SCALES[i]);
+            int h = (int) Math.round(height * WINDOW_SCALES[i]);
+            locators[i][PURPLE] = buildLocator(ColorRange.ARTIFACT_PURPLE, drawing);
+            locators[i][GREEN] = buildLocator(ColorRange.ARTIFACT_GREEN, drawing);
+            locators[i][PURPLE].init(w, h, calibration);
+            locators[i][GREEN].init(w, h, calibration);
+            windows[i] = new Mat();
+            windowRects[i] = new Rect(0, 0, w, h);
+        }
+    }
+
+    @Override
+    public Object processFrame(Mat frame, long captureTimeNanos) {
+        if (!ADAPTIVE_ROI || frames++ % Math.max(1, FULL_SEARCH_INTERVAL) == 0) level = 0;
+        int searched = level;
+        Rect rect = windowRects[searched];
+        rect.x = clamp(centerX - rect.width / 2, 0, frameWidth - rect.width);
+        rect.y = clamp(centerY - rect.height / 2, 0, frameHeight - rect.height);
+
+        long start = System.nanoTime();
+        Mat input = frame;
+        if (searched > 0) {
+            Mat view = frame.submat(rect);
+            view.copyTo(windows[searched]);                   // Same size every time - no reallocation
+            view.release();
+            input = windows[searched];
+        }
+        Object purpleContext = locators[searched][PURPLE].processFrame(input, captureTimeNanos);
+        Object greenContext = locators[searched][GREEN].processFrame(input, captureTimeNanos);
+
+        ballCount = 0;
+        collect(locators[searched][PURPLE].getBlobs(), PURPLE, rect);
+        collect(locators[searched][GREEN].getBlobs(), GREEN, rect);
+        long elapsed = System.nanoTime() - start;
+
+        publish(captureTimeNanos, rect);
+        nextWindow(searched);
+
+        synchronized (this) {
+            if (searched == 0) {
+                fullTimes.record(elapsed);
+            } else {
+                windowTimes.record(elapsed);
+                windowAreaSum += WINDOW_SCALES[searched] * WINDOW_SCALES[searched];
+                windowFrames++;
+            }
+        }
+        return drawing ? new DrawContext(searched, rect.x, rect.y, purpleContext, greenContext) : null;
+    }
+
+    /**
+     * Adds blobs that pass BallAligner's filters, moved from window to frame coordinates.
+     */
+    private void collect(List<ColorBlobLocatorProcessor.Blob> blobs, int color, Rect rect) {
+        ColorBlobLocatorProcessor.Util.filterByCriteria(ColorBlobLocatorProcessor.BlobCriteria.BY_CONTOUR_AREA,
+                BallAligner.MIN_AREA_PX, BallAligner.MAX_AREA_PX, blobs);
+        ColorBlobLocatorProcessor.Util.filterByCriteria(ColorBlobLocatorProcessor.BlobCriteria.BY_CIRCULARITY,
+                BallAligner.MIN_CIRCULARITY, 1.0, blobs);
+        for (int i = 0; i < blobs.size() && ballCount < MAX_BALLS; i++) {
+            Circle circle = blobs.get(i).getCircle();
+            ballX[ballCount] = circle.getX() + rect.x;
+            ballY[ballCount] = circle.getY() + rect.y;
+            ballRadius[ballCount] = circle.getRadius();
+            ballColor[ballCount] = color;
+            ballCount++;
+        }
+    }
+
+    private void publish(long captureTimeNanos, Rect rect) {
+        VisionBridge.BallFrame frame = bridge.ballSlot();
+        frame.frameWidth = frameWidth;
+        frame.frameHeight = frameHeight;
+        frame.count = ballCount;
+        System.arraycopy(ballX, 0, frame.x, 0, ballCount);
+        System.arraycopy(ballY, 0, frame.y, 0, ballCount);
+        System.arraycopy(ballRadius, 0, frame.radius, 0, ballCount);
+        System.arraycopy(ballColor, 0, frame.color, 0, ballCount);
+        frame.windowX = rect.x;
+        frame.windowY = rect.y;
+        frame.windowWidth = rect.width;
+        frame.windowHeight = rect.height;
+        bridge.publishBalls(captureTimeNanos);
+    }
+
+    /**
+     * Smallest window that holds every ball plus the margin, or one size up after a miss.
+     */
+    private void nextWindow(int searched) {
+        if (ballCount == 0) {
+            level = Math.max(0, searched - 1);
+            return;
+        }
+
+        float left = Float.MAX_VALUE, top = Float.MAX_VALUE, right = -Float.MAX_VALUE, bottom = -Float.MAX_VALUE;
+        for (int i = 0; i < ballCount; i++) {
+            left = Math.min(left, ballX[i] - ballRadius[i]);
+            top = Math.min(top, ballY[i] - ballRadius[i]);
+            right = Math.max(right, ballX[i] + ballRadius[i]);
+            bottom = Math.max(bottom, ballY[i] + ballRadius[i]);
+        }
+        double needWidth = right - left + 2 * ROI_MARGIN_PX;
+        double needHeight = bottom - top + 2 * ROI_MARGIN_PX;
+
+        level = 0;
+        for (int i = WINDOW_SCALES.length - 1; i > 0; i--) {
+            if (windowRects[i].width >= needWidth && windowRects[i].height >= needHeight) {
+                level = i;
+                break;
+            }
+        }
+        centerX = Math.round((left + right) / 2);
+        centerY = Math.round((top + bottom) / 2);
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static final class DrawContext {
+        final int level;
+        final int x, y;
+        final Object purple, green;
+
+        DrawContext(int level, int x, int y, Object purple, Object green) {
+            this.level = level;
+            this.x = x;
+            this.y = y;
+            this.purple = purple;
+            this.green = green;
+        }
+    }
+
+    @Override
+    public void onDrawFrame(Canvas canvas, int onscreenWidth, int onscreenHeight, float scaleBmpPxToCanvasPx,
+                            float scaleCanvasDensity, Object userContext) {
+        DrawContext context = (DrawContext) userContext;
+        if (context == null) return;                          // No live view
+        canvas.save();
+        canvas.translate(context.x * scaleBmpPxToCanvasPx, context.y * scaleBmpPxToCanvasPx);
+        locators[context.level][PURPLE].onDrawFrame(canvas, onscreenWidth, onscreenHeight, scaleBmpPxToCanvasPx,
+                scaleCanvasDensity, context.purple);
+        locators[context.level][GREEN].onDrawFrame(canvas, onscreenWidth, onscreenHeight, scaleBmpPxToCanvasPx,
+                scaleCanvasDensity, context.green);
+        canvas.restore();
+    }
+
+    // ========== STATISTICS (any thread) ==========
+
+    /**
+     * Locator time per full-frame search (milliseconds) - what a fixed ROI costs every frame.
+     */
+    public synchronized double getFullFramePercentileMs(double percentile) {
+        return fullTimes.percentile(percentile) / 1e6;
+    }
+
+    /**
+     * Locator time per windowed search, including the window copy (milliseconds).
+     */
+    public synchronized double getWindowPercentileMs(double percentile) {
+        return windowTimes.percentile(percentile) / 1e6;
+    }
+
+    /**
+     * Share of frames searched through a window rather than the full frame.
+     */
+    public synchronized double getWindowedFraction() {
+        long total = fullTimes.getCount() + windowTimes.getCount();
+        return total == 0 ? 0.0 : (double) windowTimes.getCount() / total;
+    }
+
+    /**
+     * Mean window area as a fraction of the frame, over windowed searches.
+     */
+    public synchronized double getMeanWindowArea() {
+        return windowFrames == 0 ? 1.0 : windowAreaSum / windowFrames;
+    }
+
+    public synchronized void resetStatistics() {
+        fullTimes.reset();
+        windowTimes.reset();
+        windowAreaSum = 0.0;
+        windowFrames = 0;
+    }
+}
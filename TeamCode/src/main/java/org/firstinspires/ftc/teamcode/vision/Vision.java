@@ -0,0 +1,62 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * A camera pipeline that the control loop steers by phase and reads through
+ * a VisionBridge.
+ *
+ * Implementations: VisionScheduler (webcam, processors run on the Control
+ * Hub) and LimelightVision (Limelight 3A, processing on the Limelight).
+ * Pick one with Visions.create() so OpModes, AprilTagLocalizer and
+ * BallAligner don't care which camera is fitted.
+ *
+ * Both publish the same frames: AprilTagLocalizer reads TagFrames and
+ * BallAligner reads BallFrames from getBridge(), each stamped with its
+ * capture time. Neither call blocks the loop.
+ */
+
+package org.firstinspires.ftc.teamcode.vision;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+
+public interface Vision {
+
+    enum Phase {
+        IDLE,                                                 // Nothing needed
+        COLLECTING,                                           // Balls in front of the intake
+        SHOOTING                                              // Goal AprilTags for pose correction
+    }
+
+    /**
+     * Says what the robot is doing. Cheap to call every loop - only a change
+     * of phase does any work.
+     */
+    void setPhase(Phase phase);
+
+    Phase getPhase();
+
+    /**
+     * Housekeeping for the current phase. Call once per loop.
+     */
+    void update();
+
+    /**
+     * Latest tag and ball results, for the loop thread.
+     */
+    VisionBridge getBridge();
+
+    /**
+     * Short name for telemetry, e.g. "webcam" or "limelight".
+     */
+    String getName();
+
+    void resetStatistics();
+
+    /**
+     * Adds camera state, processing cost and result age to telemetry.
+     */
+    void addTelemetry(Telemetry telemetry);
+
+    /**
+     * Releases the camera and any threads. Call when the OpMode ends.
+     */
+    void close();
+}
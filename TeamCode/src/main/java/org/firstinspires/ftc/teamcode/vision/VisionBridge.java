@@ -0,0 +1,224 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Hands vision results from the portal's frame thread to the control loop
+ * without locks and without allocating.
+ *
+ * getDetections() and getBlobs() build new lists on every call and say
+ * nothing about which frame they came from. Here, each processed frame is
+ * copied on the frame thread into preallocated primitive arrays (a TagFrame
+ * or BallFrame), stamped with the frame's capture time and a sequence
+ * number, and published through a TripleBuffer. The loop reads the newest
+ * complete frame with tags()/balls(). That call is one atomic read and
+ * swap, and the frame's capture time gives the exact latency for
+ * PoseEstimator.correct().
+ *
+ * Writers: TagWriter (wraps the AprilTag processor and runs MultiTagSolver
+ * on each frame) and TrackingLocator on the webcam, or LimelightVision's
+ * polling thread. Each bridge has exactly one writer thread.
+ * Readers: AprilTagLocalizer and BallAligner, both on the loop thread.
+ */
+
+package org.firstinspires.ftc.teamcode.vision;
+
+import android.graphics.Canvas;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.robotcore.external.navigation.AngleUnit;
+import org.firstinspires.ftc.robotcore.external.navigation.Pose3D;
+import org.firstinspires.ftc.robotcore.internal.camera.calibration.CameraCalibration;
+import org.firstinspires.ftc.teamcode.util.TripleBuffer;
+import org.firstinspires.ftc.vision.VisionProcessor;
+import org.firstinspires.ftc.vision.apriltag.AprilTagDetection;
+import org.firstinspires.ftc.vision.apriltag.AprilTagProcessor;
+import org.opencv.core.Mat;
+
+import java.util.ArrayList;
+
+public class VisionBridge {
+
+    public static final int MAX_TAGS = 8;
+    public static final int MAX_BALLS = 16;
+
+    /**
+     * AprilTag detections from one frame. Robot pose is the SDK's
+     * detection.robotPose (inches; yaw in radians about the SDK robot axes).
+     */
+    public static final class TagFrame {
+        public long sequence;                                 // 0 = nothing published yet
+        public long captureNanos;
+        public int count;
+        public final int[] id = new int[MAX_TAGS];
+        public final boolean[] hasRobotPose = new boolean[MAX_TAGS];  // false for tags not in the library
+        public final double[] robotX = new double[MAX_TAGS];
+        public final double[] robotY = new double[MAX_TAGS];
+        public final double[] robotYaw = new double[MAX_TAGS];
+        public final double[] range = new double[MAX_TAGS];   // inches, camera to tag
+        public final double[] bearing = new double[MAX_TAGS]; // degrees, positive = left
+        public final double[] decisionMargin = new double[MAX_TAGS];  // Decoder confidence, higher is cleaner
+
+        // MultiTagSolver result over all goal tags (field frame, our heading convention)
+        public boolean solverReady;                           // false = use the per-tag robot poses
+        public boolean solved;
+        public int tagsUsed;
+        public int tagsRejected;
+        public double solvedX, solvedY, solvedHeading;
+        public final double[] covariance = new double[9];     // x, y, heading; row major
+        public double reprojectionErrorPx;                    // RMS over the tags used
+
+        public double getAgeMs() {
+            return sequence == 0 ? -1.0 : (System.nanoTime() - captureNanos) / 1e6;
+        }
+    }
+
+    /**
+     * Balls from one frame, in locator pixels (LimelightVision projects its
+     * targets onto the same LOCATOR_WIDTH x LOCATOR_HEIGHT image).
+     */
+    public static final class BallFrame {
+        public long sequence;
+        public long captureNanos;
+        public int frameWidth, frameHeight;
+        public int count;
+        public final float[] x = new float[MAX_BALLS];
+        public final float[] y = new float[MAX_BALLS];
+        public final float[] radius = new float[MAX_BALLS];
+        public final int[] color = new int[MAX_BALLS];        // TrackingLocator.PURPLE or GREEN
+        public int windowX, windowY, windowWidth, windowHeight;
+
+        public double getAgeMs() {
+            return sequence == 0 ? -1.0 : (System.nanoTime() - captureNanos) / 1e6;
+        }
+    }
+
+    private final TripleBuffer<TagFrame> tags =
+            new TripleBuffer<>(new TagFrame(), new TagFrame(), new TagFrame());
+    private final TripleBuffer<BallFrame> balls =
+            new TripleBuffer<>(new BallFrame(), new BallFrame(), new BallFrame());
+    private long tagSequence = 0;                             // Frame thread only
+    private long ballSequence = 0;
+
+    // ========== FRAME THREAD ==========
+
+    /**
+     * Copies one frame's detections into the next tag slot and publishes it.
+     */
+    void publishTags(ArrayList<AprilTagDetection> detections, long captureNanos, MultiTagSolver solver) {
+        TagFrame frame = tags.back();
+        solver.solve(detections, frame);
+        int count = 0;
+        for (int i = 0; detections != null && i < detections.size() && count < MAX_TAGS; i++) {
+            AprilTagDetection detection = detections.get(i);
+            frame.id[count] = detection.id;
+            frame.decisionMargin[count] = detection.decisionMargin;
+            frame.range[count] = detection.ftcPose != null ? detection.ftcPose.range : 0.0;
+            frame.bearing[count] = detection.ftcPose != null ? detection.ftcPose.bearing : 0.0;
+            Pose3D pose = detection.robotPose;
+            frame.hasRobotPose[count] = detection.metadata != null && pose != null;
+            if (frame.hasRobotPose[count]) {
+                frame.robotX[count] = pose.getPosition().x;
+                frame.robotY[count] = pose.getPosition().y;
+                frame.robotYaw[count] = pose.getOrientation().getYaw(AngleUnit.RADIANS);
+            }
+            count++;
+        }
+        frame.count = count;
+        publishTags(captureNanos);
+    }
+
+    /**
+     * Slot a writer without a processor (LimelightVision) fills before
+     * publishTags(captureNanos). Every field must be written.
+     */
+    TagFrame tagSlot() {
+        return tags.back();
+    }
+
+    void publishTags(long captureNanos) {
+        TagFrame frame = tags.back();
+        frame.captureNanos = captureNanos;
+        frame.sequence = ++tagSequence;
+        tags.publish();
+    }
+
+    /**
+     * Slot TrackingLocator fills before publishBalls(). Every field must be written.
+     */
+    BallFrame ballSlot() {
+        return balls.back();
+    }
+
+    void publishBalls(long captureNanos) {
+        BallFrame frame = balls.back();
+        frame.captureNanos = captureNanos;
+        frame.sequence = ++ballSequence;
+        balls.publish();
+    }
+
+    // ========== LOOP THREAD ==========
+
+    /**
+     * Newest tag frame (sequence 0 before the first). Valid until the next call.
+     */
+    public TagFrame tags() {
+        return tags.latest();
+    }
+
+    /**
+     * Newest ball frame (sequence 0 before the first). Valid until the next call.
+     */
+    public BallFrame balls() {
+        return balls.latest();
+    }
+
+    /**
+     * Shows the frames the readers last took. Peeks, so telemetry never
+     * takes a frame ahead of AprilTagLocalizer or BallAligner.
+     */
+    public void addTelemetry(Telemetry telemetry) {
+        TagFrame tagFrame = tags.peek();
+        BallFrame ballFrame = balls.peek();
+        telemetry.addData("  bridge", "tags #%d (%d) %.0f ms old, balls #%d (%d) %.0f ms old",
+                tagFrame.sequence, tagFrame.count, tagFrame.getAgeMs(),
+                ballFrame.sequence, ballFrame.count, ballFrame.getAgeMs());
+    }
+
+    /**
+     * Runs the AprilTag processor and publishes each frame's detections, even
+     * an empty frame, so readers know the tag was looked for.
+     */
+    public static final class TagWriter implements VisionProcessor {
+
+        private final AprilTagProcessor processor;
+        private final VisionBridge bridge;
+        private final MultiTagSolver solver = new MultiTagSolver();
+
+        public TagWriter(AprilTagProcessor processor, VisionBridge bridge) {
+            this.processor = processor;
+            this.bridge = bridge;
+        }
+
+        @Override
+        public void init(int width, int height, CameraCalibration calibration) {
+            processor.init(width, height, calibration);
+            solver.init(width, height, calibration);
+        }
+
+        @Override
+        public Object processFrame(Mat frame, long captureTimeNanos) {
+            Object result = processor.processFrame(frame, captureTimeNanos);
+            bridge.publishTags(processor.getDetections(), captureTimeNanos, solver);
+            return result;
+        }
+
+        public MultiTagSolver getSolver() {
+            return solver;
+        }
+
+        @Override
+        public void onDrawFrame(Canvas canvas, int onscreenWidth, int onscreenHeight, float scaleBmpPxToCanvasPx,
+                                float scaleCanvasDensity, Object userContext) {
+            processor.onDrawFrame(canvas, onscreenWidth, onscreenHeight, scaleBmpPxToCanvasPx, scaleCanvasDensity,
+                    userContext);
+        }
+    }
+}
@@ -0,0 +1,315 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Owns the webcam's VisionPortal and runs each processor only while the
+ * robot needs it.
+ *
+ * The SDK samples (ConceptAprilTag, ConceptVisionColorLocator_*) process
+ * every frame for the whole OpMode. That CPU comes out of the same Control
+ * Hub the control loop runs on. Here the OpMode reports what the robot is
+ * doing each loop with setPhase(), and the scheduler enables only what that
+ * phase uses:
+ *
+ *   SHOOTING    AprilTag (pose correction near the goal)
+ *   COLLECTING  Artifact color locators (purple and green, BallAligner)
+ *   IDLE        nothing - the stream stops after STOP_STREAM_DELAY_MS
+ *
+ * Processors change with setProcessorEnabled() the moment the phase changes.
+ * Stopping and resuming the stream takes the camera a few hundred ms, so
+ * the stream only stops after the robot has stayed idle for a while. It
+ * resumes as soon as a phase needs a processor.
+ *
+ * The color locators are set up like ConceptVisionColorLocator_Circle and
+ * run inside a TrackingLocator, which searches only around the balls it last
+ * found. It sits in a ScaledProcessor, so it runs on a LOCATOR_WIDTH x
+ * LOCATOR_HEIGHT copy of the frame while AprilTags keep the full camera
+ * resolution.
+ *
+ * Results reach the control loop through a VisionBridge: each frame is
+ * copied into preallocated slots on the frame thread, stamped with its
+ * capture time.
+ *
+ * Manual exposure and gain (setManualExposure(), from ExposureOptimizer)
+ * are applied once the camera streams, and again after every resume.
+ *
+ * Each of the two (AprilTag, artifacts) is wrapped in a TimedProcessor.
+ * Telemetry shows frame-thread CPU per frame and dropped frames for each.
+ *
+ * This is the webcam Vision; Visions.create() prefers a Limelight when one
+ * is configured.
+ *
+ * Device: UVC webcam named "Webcam 1".
+ */
+
+package org.firstinspires.ftc.teamcode.vision;
+
+import android.util.Size;
+
+import com.acmerobotics.dashboard.config.Config;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+import com.qualcomm.robotcore.util.RobotLog;
+
+import org.firstinspires.ftc.robotcore.external.Telemetry;
+import org.firstinspires.ftc.robotcore.external.hardware.camera.WebcamName;
+import org.firstinspires.ftc.robotcore.external.hardware.camera.controls.ExposureControl;
+import org.firstinspires.ftc.robotcore.external.hardware.camera.controls.GainControl;
+import org.firstinspires.ftc.vision.VisionPortal;
+import org.firstinspires.ftc.vision.apriltag.AprilTagProcessor;
+
+import java.util.concurrent.TimeUnit;
+
+@Config
+public class VisionScheduler implements Vision {
+
+    private static final String TAG = "VisionScheduler";
+
+    // ========== CAMERA - FTC DASHBOARD (read when the OpMode initializes) ==========
+    public static String WEBCAM_NAME = "Webcam 1";
+    public static int CAMERA_WIDTH = 640;
+    public static int CAMERA_HEIGHT = 480;
+    public static double CAMERA_FPS = 30.0;                   // Frame rate at this resolution (drop detection)
+    public static boolean LIVE_VIEW = false;                  // Driver Station preview - costs CPU, tuning only
+    public static int LOCATOR_WIDTH = 320;                    // Frame size the color locators run at
+    public static int LOCATOR_HEIGHT = 240;
+
+    // ========== SCHEDULING - FTC DASHBOARD ==========
+    public static int STOP_STREAM_DELAY_MS = 1500;            // Idle this long before the stream stops
+
+    private final VisionPortal portal;
+    private final AprilTagProcessor aprilTag;
+    private final TrackingLocator artifactTracker;
+    private final VisionBridge bridge;
+    private final MultiTagSolver tagSolver;
+    private final TimedProcessor[] timed;
+    private final TimedProcessor timedAprilTag;
+    private final TimedProcessor timedArtifacts;
+
+    private Phase phase = null;                               // Forces the first setPhase() to apply
+    private long idleSinceNanos = 0;
+    private int streamStops = 0;
+    private int streamResumes = 0;
+
+    // Manual exposure; 0 = leave the camera on auto exposure
+    private long exposureMicros = 0;
+    private int gain = 0;
+    private boolean exposurePending = false;
+
+    private VisionScheduler(VisionPortal portal, AprilTagProcessor aprilTag, TrackingLocator artifactTracker,
+                            VisionBridge bridge, MultiTagSolver tagSolver, TimedProcessor timedAprilTag,
+                            TimedProcessor timedArtifacts) {
+        this.portal = portal;
+        this.aprilTag = aprilTag;
+        this.artifactTracker = artifactTracker;
+        this.bridge = bridge;
+        this.tagSolver = tagSolver;
+        this.timedAprilTag = timedAprilTag;
+        this.timedArtifacts = timedArtifacts;
+        timed = new TimedProcessor[] {timedAprilTag, timedArtifacts};
+    }
+
+    /**
+     * Opens the webcam with every processor added, all disabled (IDLE).
+     *
+     * @return null if no webcam named WEBCAM_NAME is configured
+     */
+    public static VisionScheduler create(HardwareMap hardwareMap) {
+        WebcamName webcam = hardwareMap.tryGet(WebcamName.class, WEBCAM_NAME);
+        if (webcam == null) {
+            RobotLog.ww(TAG, "No webcam \"%s\" - vision disabled", WEBCAM_NAME);
+            return null;
+        }
+
+        AprilTagProcessor aprilTag = AprilTagLocalizer.buildProcessor();
+        VisionBridge bridge = new VisionBridge();
+        TrackingLocator tracker = new TrackingLocator(bridge);
+        VisionBridge.TagWriter tagWriter = new VisionBridge.TagWriter(aprilTag, bridge);
+        TimedProcessor timedAprilTag = new TimedProcessor("apriltag", tagWriter, CAMERA_FPS);
+        TimedProcessor timedArtifacts = new TimedProcessor("artifacts",
+                new ScaledProcessor(LOCATOR_WIDTH, LOCATOR_HEIGHT, tracker), CAMERA_FPS);
+
+        VisionPortal portal = new VisionPortal.Builder()
+                .setCamera(webcam)
+                .setCameraResolution(new Size(CAMERA_WIDTH, CAMERA_HEIGHT))
+                .enableLiveView(LIVE_VIEW)
+                .addProcessors(timedAprilTag, timedArtifacts)
+                .build();
+
+        VisionScheduler scheduler = new VisionScheduler(portal, aprilTag, tracker, bridge,
+                tagWriter.getSolver(), timedAprilTag, timedArtifacts);
+        scheduler.setPhase(Phase.IDLE);
+        return scheduler;
+    }
+
+    // ========== SCHEDULING ==========
+
+    /**
+     * Enables the processors this phase uses. Cheap to call every loop - only
+     * a change of phase touches the portal.
+     */
+    @Override
+    public void setPhase(Phase newPhase) {
+        if (newPhase == phase) return;
+        phase = newPhase;
+        portal.setProcessorEnabled(timedAprilTag, newPhase == Phase.SHOOTING);
+        portal.setProcessorEnabled(timedArtifacts, newPhase == Phase.COLLECTING);
+        idleSinceNanos = System.nanoTime();
+    }
+
+    /**
+     * Stops the stream once idle long enough, and resumes it when a phase
+     * needs frames. Call once per loop.
+     */
+    @Override
+    public void update() {
+        VisionPortal.CameraState state = portal.getCameraState();
+        if (phase != Phase.IDLE) {
+            if (state == VisionPortal.CameraState.CAMERA_DEVICE_READY) {
+                portal.resumeStreaming();
+                streamResumes++;
+                exposurePending = exposureMicros > 0;
+            }
+        } else if (state == VisionPortal.CameraState.STREAMING
+                && System.nanoTime() - idleSinceNanos >= STOP_STREAM_DELAY_MS * 1_000_000L) {
+            portal.stopStreaming();
+            streamStops++;
+        }
+        if (exposurePending && state == VisionPortal.CameraState.STREAMING) applyExposure();
+    }
+
+    @Override
+    public Phase getPhase() {
+        return phase;
+    }
+
+    @Override
+    public String getName() {
+        return "webcam";
+    }
+
+    public boolean isStreaming() {
+        return portal.getCameraState() == VisionPortal.CameraState.STREAMING;
+    }
+
+    // ========== EXPOSURE ==========
+
+    /**
+     * Switches the camera to manual exposure and gain, or back to auto
+     * exposure with exposureMicros 0. Applied by update() as soon as the
+     * camera streams; values are clamped to what it supports.
+     */
+    public void setManualExposure(long exposureMicros, int gain) {
+        this.exposureMicros = exposureMicros;
+        this.gain = gain;
+        exposurePending = true;
+    }
+
+    /**
+     * true until update() has sent the last setManualExposure() to the camera.
+     */
+    public boolean isExposurePending() {
+        return exposurePending;
+    }
+
+    /**
+     * Exposure control while the camera streams, else null (controls only work while streaming).
+     */
+    public ExposureControl getExposureControl() {
+        return isStreaming() ? portal.getCameraControl(ExposureControl.class) : null;
+    }
+
+    /**
+     * Gain control while the camera streams, else null.
+     */
+    public GainControl getGainControl() {
+        return isStreaming() ? portal.getCameraControl(GainControl.class) : null;
+    }
+
+    private void applyExposure() {
+        exposurePending = false;
+        ExposureControl exposure = portal.getCameraControl(ExposureControl.class);
+        GainControl gainControl = portal.getCameraControl(GainControl.class);
+        if (exposure == null || !exposure.isExposureSupported()) {
+            RobotLog.ww(TAG, "Camera has no manual exposure - left on auto");
+            return;
+        }
+        if (exposureMicros <= 0) {
+            exposure.setMode(ExposureControl.Mode.Auto);
+            return;
+        }
+        if (exposure.getMode() != ExposureControl.Mode.Manual) exposure.setMode(ExposureControl.Mode.Manual);
+        long micros = Math.max(exposure.getMinExposure(TimeUnit.MICROSECONDS),
+                Math.min(exposure.getMaxExposure(TimeUnit.MICROSECONDS), exposureMicros));
+        exposure.setExposure(micros, TimeUnit.MICROSECONDS);
+        if (gainControl != null) {
+            gainControl.setGain(Math.max(gainControl.getMinGain(), Math.min(gainControl.getMaxGain(), gain)));
+        }
+    }
+
+    // ========== PROCESSORS ==========
+
+    public AprilTagProcessor getAprilTagProcessor() {
+        return aprilTag;
+    }
+
+    /**
+     * Latest tag and ball results, for the loop thread.
+     */
+    @Override
+    public VisionBridge getBridge() {
+        return bridge;
+    }
+
+    /**
+     * Purple and green ball locator (window statistics; results go through getBridge()).
+     */
+    public TrackingLocator getArtifactTracker() {
+        return artifactTracker;
+    }
+
+    // ========== DIAGNOSTICS ==========
+
+    /**
+     * Per-processor statistics, in the order apriltag, artifacts.
+     */
+    public TimedProcessor[] getTimedProcessors() {
+        return timed;
+    }
+
+    @Override
+    public void resetStatistics() {
+        for (TimedProcessor processor : timed) processor.resetStatistics();
+        artifactTracker.resetStatistics();
+        tagSolver.resetStatistics();
+        streamStops = 0;
+        streamResumes = 0;
+    }
+
+    @Override
+    public void addTelemetry(Telemetry telemetry) {
+        telemetry.addData("Vision", "%s, %s %.0f fps, %d stops / %d resumes", phase,
+                portal.getCameraState(), portal.getFps(), streamStops, streamResumes);
+        for (TimedProcessor processor : timed) {
+            if (processor.getFrameCount() == 0) continue;
+            telemetry.addData("  " + processor.getName(), "%d frames, cpu p50 %.1f ms p99 %.1f ms, %d dropped",
+                    processor.getFrameCount(), processor.getCpuPercentileMs(50),
+                    processor.getCpuPercentileMs(99), processor.getDroppedFrameCount());
+        }
+        if (timedArtifacts.getFrameCount() > 0) {
+            telemetry.addData("  roi", "%s, %.0f%% windowed (%.0f%% of frame), p50 %.1f ms vs %.1f ms full",
+                    TrackingLocator.ADAPTIVE_ROI ? "adaptive" : "fixed",
+                    artifactTracker.getWindowedFraction() * 100, artifactTracker.getMeanWindowArea() * 100,
+                    artifactTracker.getWindowPercentileMs(50), artifactTracker.getFullFramePercentileMs(50));
+        }
+        if (tagSolver.getSolvedFrameCount() + tagSolver.getRejectedFrameCount() > 0) {
+            telemetry.addData("  multi-tag", "%d solved, %d rejected (%d tags dropped), p50 %.0f us p99 %.0f us",
+                    tagSolver.getSolvedFrameCount(), tagSolver.getRejectedFrameCount(),
+                    tagSolver.getRejectedTagCount(), tagSolver.getSolvePercentileUs(50),
+                    tagSolver.getSolvePercentileUs(99));
+        }
+        bridge.addTelemetry(telemetry);
+    }
+
+    @Override
+    public void close() {
+        portal.close();
+    }
+}
@@ -0,0 +1,45 @@
+/* Copyright (c) 2025 Team Penguinauts 32240. All rights reserved.
+ *
+ * Picks the Vision implementation for an OpMode.
+ *
+ * With a Limelight configured, LimelightVision does the work on the
+ * Limelight and the webcam pipelines never start, so the Control Hub
+ * gets its CPU back. Without one, the webcam's VisionScheduler is used. A
+ * missing camera never stops the OpMode: create() returns null and the
+ * robot runs on odometry alone.
+ */
+
+package org.firstinspires.ftc.teamcode.vision;
+
+import com.acmerobotics.dashboard.config.Config;
+import com.qualcomm.robotcore.hardware.HardwareMap;
+import com.qualcomm.robotcore.util.RobotLog;
+
+@Config
+public final class Visions {
+
+    private static final String TAG = "Visions";
+
+    public enum Type {
+        WEBCAM,                                               // VisionScheduler on "Webcam 1"
+        LIMELIGHT                                             // LimelightVision, falls back to the webcam
+    }
+
+    // ========== SOURCE - FTC DASHBOARD (read when the OpMode initializes) ==========
+    public static Type TYPE = Type.LIMELIGHT;
+
+    private Visions() {
+    }
+
+    /**
+     * @return null if neither camera is configured
+     */
+    public static Vision create(HardwareMap hardwareMap) {
+        if (TYPE == Type.LIMELIGHT) {
+            Vision limelight = LimelightVision.create(hardwareMap);
+            if (limelight != null) return limelight;
+            RobotLog.ii(TAG, "No Limelight - using the webcam");
+        }
+        return VisionScheduler.create(hardwareMap);
+    }
+}
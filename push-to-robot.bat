@@ -8,6 +8,7 @@ REM
 REM Usage:
 REM   push-to-robot.bat          - Connect only
 REM   push-to-robot.bat deploy   - Connect and install APK
+REM   push-to-robot.bat routines - Connect and copy routines\*.routine (no build)
 REM ============================================
 
 SETLOCAL EnableDelayedExpansion
@@ -133,8 +134,27 @@ del connect_output.tmp devices_output.tmp 2>nul
 REM Check if we should deploy
 if /I "%~1"=="deploy" goto :deploy
 if /I "%~1"=="install" goto :deploy
+if /I "%~1"=="routines" goto :routines
 goto :connect_only
 
+:routines
+echo ========================================
+echo Pushing Routine Files
+echo ========================================
+echo.
+adb -s %ROBOT_IP% shell mkdir -p /sdcard/FIRST/penguinauts/routines
+for %%f in (routines\*.routine) do (
+    adb -s %ROBOT_IP% push "%%f" /sdcard/FIRST/penguinauts/routines/
+    if !ERRORLEVEL! NEQ 0 (
+        echo [FAILED] Push failed for %%f
+        exit /b 1
+    )
+)
+echo.
+echo [SUCCESS] Routines pushed. Edited routines apply on the next INIT.
+echo New or renamed routines appear after Restart Robot.
+goto :end
+
 :deploy
 echo ========================================
 echo Building and Installing APK
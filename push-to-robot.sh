@@ -8,6 +8,7 @@
 # Usage:
 #   ./push-to-robot.sh          - Connect only
 #   ./push-to-robot.sh deploy   - Connect and install APK
+#   ./push-to-robot.sh routines - Connect and copy routines/*.routine (no build)
 # ============================================
 
 # Robot IP address (change if needed)
@@ -140,6 +141,27 @@ elif ! echo "$DEVICES_OUTPUT" | grep -q "192.168.43.1:5555.*device$"; then
     echo ""
 fi
 
+# Routine files only - no build, no APK install
+ROUTINES_DIR="/sdcard/FIRST/penguinauts/routines"
+if [ "$1" == "routines" ]; then
+    echo -e "${BLUE}========================================${NC}"
+    echo -e "${BLUE}Pushing Routine Files${NC}"
+    echo -e "${BLUE}========================================${NC}"
+    echo ""
+
+    adb -s $ROBOT_IP shell mkdir -p $ROUTINES_DIR
+    if adb -s $ROBOT_IP push routines/*.routine $ROUTINES_DIR/; then
+        echo ""
+        echo -e "${GREEN}✓ Routines pushed to ${ROUTINES_DIR}${NC}"
+        echo -e "Edited routines apply on the next INIT."
+        echo -e "New or renamed routines appear after ${YELLOW}Restart Robot${NC}."
+    else
+        echo -e "${RED}✗ Push failed!${NC}"
+        exit 1
+    fi
+    exit 0
+fi
+
 # Check if we should deploy
 if [ "$1" == "deploy" ] || [ "$1" == "install" ]; then
     echo -e "${BLUE}========================================${NC}"